@@ -0,0 +1,246 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.ap;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which writes the registry bootstrap index. Every
+ * concrete registry module compiled alongside the processor gets a line
+ * describing the phase of its default registration, its custom catalog
+ * registration method, its catalog mapping field and its additional
+ * registration method, which lets the registry module loader skip scanning
+ * the module reflectively at startup.
+ * 
+ * <p>Each line of the index has the form</p>
+ * 
+ * <pre>&lt;module&gt; defaults=&lt;phase&gt; [custom=&lt;method&gt;@&lt;phase&gt;]
+ * [catalog=&lt;field&gt;@&lt;catalog class&gt;] [additional=&lt;method&gt;]</pre>
+ * 
+ * <p>This must be kept in sync with the reader in
+ * <tt>org.spongepowered.common.registry.util.RegistryModuleIndex</tt>.</p>
+ */
+@SupportedAnnotationTypes("*")
+public class RegistryModuleProcessor extends AbstractProcessor {
+
+    public static final String INDEX_RESOURCE = "META-INF/sponge/registry-modules.index";
+
+    private static final String REGISTRY_MODULE = "org.spongepowered.api.registry.RegistryModule";
+    private static final String CUSTOM_REGISTRATION = "org.spongepowered.api.registry.util.CustomCatalogRegistration";
+    private static final String DELAYED_REGISTRATION = "org.spongepowered.api.registry.util.DelayedRegistration";
+    private static final String ADDITIONAL_REGISTRATION = "org.spongepowered.api.registry.util.AdditionalRegistration";
+    private static final String REGISTER_CATALOG = "org.spongepowered.api.registry.util.RegisterCatalog";
+    private static final String DEFAULT_PHASE = "PRE_REGISTRY";
+
+    private final Map<String, String> entries = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            this.writeIndex();
+            return false;
+        }
+
+        TypeElement registryModule = this.processingEnv.getElementUtils().getTypeElement(REGISTRY_MODULE);
+        if (registryModule == null) {
+            return false;
+        }
+        TypeMirror moduleType = this.processingEnv.getTypeUtils().erasure(registryModule.asType());
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            this.processType(type, moduleType);
+        }
+        return false;
+    }
+
+    private void processType(TypeElement type, TypeMirror moduleType) {
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            this.processType(nested, moduleType);
+        }
+
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                || (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER)
+                || !this.processingEnv.getTypeUtils().isAssignable(this.processingEnv.getTypeUtils().erasure(type.asType()), moduleType)) {
+            return;
+        }
+
+        StringBuilder entry = new StringBuilder("defaults=").append(this.getDefaultsPhase(type));
+
+        ExecutableElement custom = this.findPublicMethod(type, CUSTOM_REGISTRATION);
+        if (custom != null) {
+            entry.append(" custom=").append(custom.getSimpleName()).append('@').append(this.getPhase(custom));
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            AnnotationMirror catalog = this.getAnnotation(field, REGISTER_CATALOG);
+            if (catalog != null) {
+                TypeMirror catalogType = (TypeMirror) this.getValue(catalog);
+                if (catalogType == null || catalogType.getKind() != TypeKind.DECLARED) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "Could not resolve the catalog class of a registry module, it will be scanned at runtime", field);
+                    return;
+                }
+                TypeElement catalogClass = (TypeElement) ((DeclaredType) catalogType).asElement();
+                entry.append(" catalog=").append(field.getSimpleName()).append('@')
+                        .append(this.processingEnv.getElementUtils().getBinaryName(catalogClass));
+                break;
+            }
+        }
+
+        ExecutableElement additional = this.findPublicMethod(type, ADDITIONAL_REGISTRATION);
+        if (additional != null) {
+            entry.append(" additional=").append(additional.getSimpleName());
+        }
+
+        this.entries.put(this.processingEnv.getElementUtils().getBinaryName(type).toString(), entry.toString());
+    }
+
+    /**
+     * Finds the phase of the <tt>registerDefaults</tt> method which would be
+     * returned by <tt>Class.getMethod</tt> for the module.
+     */
+    private String getDefaultsPhase(TypeElement type) {
+        for (TypeElement current = type; current != null; current = this.getSuperclass(current)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (method.getSimpleName().contentEquals("registerDefaults") && method.getParameters().isEmpty()
+                        && method.getModifiers().contains(Modifier.PUBLIC)) {
+                    return this.getPhase(method);
+                }
+            }
+        }
+        return DEFAULT_PHASE;
+    }
+
+    /**
+     * Finds the first public method visible on the module which carries the
+     * specified annotation, overridden methods are skipped in favour of their
+     * overrides in the same way as <tt>Class.getMethods</tt>.
+     */
+    private ExecutableElement findPublicMethod(TypeElement type, String annotation) {
+        Set<String> seen = new HashSet<>();
+        for (TypeElement current = type; current != null; current = this.getSuperclass(current)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                if (!seen.add(method.getSimpleName() + this.processingEnv.getTypeUtils().erasure(method.asType()).toString())) {
+                    continue;
+                }
+                if (this.getAnnotation(method, annotation) != null) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    private TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private String getPhase(ExecutableElement method) {
+        AnnotationMirror delay = this.getAnnotation(method, DELAYED_REGISTRATION);
+        if (delay == null) {
+            return DEFAULT_PHASE;
+        }
+        Object value = this.getValue(delay);
+        return value instanceof VariableElement ? ((VariableElement) value).getSimpleName().toString() : DEFAULT_PHASE;
+    }
+
+    private AnnotationMirror getAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Object getValue(AnnotationMirror mirror) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private void writeIndex() {
+        if (this.entries.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject index = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Writer writer = index.openWriter()) {
+                for (Map.Entry<String, String> entry : this.entries.entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write(' ');
+                    writer.write(entry.getValue());
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write the registry module index: " + e);
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Timing state of a thread other than the server thread. Nested timings are
+ * tracked in flat arrays indexed by handler id, so no state is shared with
+ * other threads until the server thread collects the recorded time.
+ */
+final class ThreadTimings {
+
+    private static final int INITIAL_SIZE = 256;
+    private static final Queue<ThreadTimings> THREADS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<ThreadTimings> CURRENT = ThreadLocal.withInitial(() -> {
+        final ThreadTimings timings = new ThreadTimings(Thread.currentThread());
+        THREADS.add(timings);
+        return timings;
+    });
+
+    private final Thread thread;
+    private final TimingHandler root;
+    private long[] starts = new long[INITIAL_SIZE];
+    private int[] depths = new int[INITIAL_SIZE];
+    private int activeTimings;
+
+    // Recorded since the last collection, guarded by this
+    private TimingHandler[] handlers = new TimingHandler[INITIAL_SIZE];
+    private long[] totals = new long[INITIAL_SIZE];
+    private int[] counts = new int[INITIAL_SIZE];
+    private long rootTotal;
+    private int rootCount;
+
+    private ThreadTimings(Thread thread) {
+        this.thread = thread;
+        this.root = TimingsManager.getThreadRoot(thread);
+    }
+
+    static ThreadTimings get() {
+        return CURRENT.get();
+    }
+
+    void start(TimingHandler handler) {
+        final int id = handler.id;
+        if (id >= this.depths.length) {
+            final int size = Math.max(id + 1, this.depths.length * 2);
+            this.starts = Arrays.copyOf(this.starts, size);
+            this.depths = Arrays.copyOf(this.depths, size);
+        }
+        if (++this.depths[id] == 1) {
+            this.activeTimings++;
+            this.starts[id] = System.nanoTime();
+        }
+    }
+
+    void stop(TimingHandler handler) {
+        final int id = handler.id;
+        if (id >= this.depths.length || this.depths[id] == 0 || --this.depths[id] != 0) {
+            return;
+        }
+        this.activeTimings--;
+        final long start = this.starts[id];
+        if (start == 0) {
+            return;
+        }
+        this.starts[id] = 0;
+        this.record(handler, System.nanoTime() - start, this.activeTimings == 0);
+    }
+
+    void abort(TimingHandler handler) {
+        final int id = handler.id;
+        if (id < this.starts.length && this.depths[id] > 0) {
+            this.starts[id] = 0;
+        }
+    }
+
+    private synchronized void record(TimingHandler handler, long diff, boolean outermost) {
+        final int id = handler.id;
+        if (id >= this.totals.length) {
+            final int size = Math.max(id + 1, this.totals.length * 2);
+            this.handlers = Arrays.copyOf(this.handlers, size);
+            this.totals = Arrays.copyOf(this.totals, size);
+            this.counts = Arrays.copyOf(this.counts, size);
+        }
+        this.handlers[id] = handler;
+        this.totals[id] += diff;
+        this.counts[id]++;
+        if (outermost) {
+            // Only outermost timings count towards the root, nested ones are
+            // already part of them
+            this.rootTotal += diff;
+            this.rootCount++;
+        }
+    }
+
+    private synchronized void collect() {
+        for (int id = 0; id < this.counts.length; id++) {
+            if (this.counts[id] != 0) {
+                this.handlers[id].addThreadDiff(this.root, this.totals[id], this.counts[id]);
+                this.totals[id] = 0;
+                this.counts[id] = 0;
+            }
+        }
+        if (this.rootCount != 0) {
+            this.root.addThreadDiff(null, this.rootTotal, this.rootCount);
+            this.rootTotal = 0;
+            this.rootCount = 0;
+        }
+    }
+
+    /**
+     * Adds the time recorded by all other threads since the last call to the
+     * handlers. Must be called from the server thread.
+     */
+    static void collectAll() {
+        for (Iterator<ThreadTimings> iterator = THREADS.iterator(); iterator.hasNext();) {
+            final ThreadTimings timings = iterator.next();
+            // Check first so nothing recorded by a dying thread is lost
+            final boolean alive = timings.thread.isAlive();
+            timings.collect();
+            if (!alive) {
+                iterator.remove();
+            }
+        }
+    }
+
+}
@@ -49,7 +49,7 @@ public TimingData apply(Integer input) {
     private long lagTotalTime = 0;
 
     int curTickCount = 0;
-    int curTickTotal = 0;
+    long curTickTotal = 0;
 
     TimingData(int id) {
         this.id = id;
@@ -68,6 +68,11 @@ void add(long diff) {
         this.curTickTotal += diff;
     }
 
+    void add(long diff, int count) {
+        this.curTickCount += count;
+        this.curTickTotal += diff;
+    }
+
     void processTick(boolean violated) {
         this.totalTime += this.curTickTotal;
         this.count += this.curTickCount;
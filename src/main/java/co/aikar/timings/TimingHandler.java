@@ -26,13 +26,15 @@
 
 import co.aikar.util.LoadingIntMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
-import net.minecraft.server.MinecraftServer;
-import org.spongepowered.common.SpongeImpl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
 
 class TimingHandler implements Timing {
 
-    private static int idPool = 1;
-    final int id = idPool++;
+    private static final AtomicInteger ID_POOL = new AtomicInteger(1);
+    final int id = ID_POOL.getAndIncrement();
 
     final String name;
     private final boolean verbose;
@@ -84,21 +86,26 @@ void processTick(boolean violated) {
 
     @Override
     public void startTimingIfSync() {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (this.enabled && TimingsManager.isServerThread()) {
             startTiming();
         }
     }
 
     @Override
     public void stopTimingIfSync() {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (this.enabled && TimingsManager.isServerThread()) {
             stopTiming();
         }
     }
 
     @Override
     public TimingHandler startTiming() {
-        if (this.enabled && ++this.timingDepth == 1) {
+        if (!this.enabled) {
+            return this;
+        }
+        if (!TimingsManager.isServerThread()) {
+            ThreadTimings.get().start(this);
+        } else if (++this.timingDepth == 1) {
             this.start = System.nanoTime();
             this.parent = TimingsManager.CURRENT;
             TimingsManager.CURRENT = this;
@@ -108,13 +115,12 @@ public TimingHandler startTiming() {
 
     @Override
     public void stopTiming() {
-        if (this.enabled && --this.timingDepth == 0 && this.start != 0) {
-            if (!MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeImpl.getLogger().fatal("stopTiming called async for " + this.name);
-                new Throwable().printStackTrace();
-                this.start = 0;
-                return;
-            }
+        if (!this.enabled) {
+            return;
+        }
+        if (!TimingsManager.isServerThread()) {
+            ThreadTimings.get().stop(this);
+        } else if (--this.timingDepth == 0 && this.start != 0) {
             addDiff(System.nanoTime() - this.start);
             this.start = 0;
         }
@@ -122,7 +128,12 @@ public void stopTiming() {
 
     @Override
     public void abort() {
-        if (this.enabled && this.timingDepth > 0) {
+        if (!this.enabled) {
+            return;
+        }
+        if (!TimingsManager.isServerThread()) {
+            ThreadTimings.get().abort(this);
+        } else if (this.timingDepth > 0) {
             this.start = 0;
         }
     }
@@ -135,15 +146,38 @@ void addDiff(long diff) {
             }
         }
         this.record.add(diff);
+        markTimed();
+        if (this.groupHandler != null) {
+            this.groupHandler.addDiff(diff);
+            this.groupHandler.children.get(this.id).add(diff);
+        }
+    }
+
+    /**
+     * Adds time recorded by another thread. Called from the server thread.
+     *
+     * @param root The timing root of the thread, or null if this is the root
+     * @param diff The total time recorded
+     * @param count The number of times recorded
+     */
+    void addThreadDiff(@Nullable TimingHandler root, long diff, int count) {
+        if (root != null) {
+            root.children.get(this.id).add(diff, count);
+        }
+        this.record.add(diff, count);
+        markTimed();
+        if (this.groupHandler != null) {
+            this.groupHandler.addThreadDiff(null, diff, count);
+            this.groupHandler.children.get(this.id).add(diff, count);
+        }
+    }
+
+    private void markTimed() {
         if (!this.added) {
             this.added = true;
             this.timed = true;
             TimingsManager.HANDLERS.add(this);
         }
-        if (this.groupHandler != null) {
-            this.groupHandler.addDiff(diff);
-            this.groupHandler.children.get(this.id).add(diff);
-        }
     }
 
     /**
@@ -179,7 +213,7 @@ public int hashCode() {
      */
     @Override
     public void close() {
-        stopTimingIfSync();
+        stopTiming();
     }
 
     public boolean isSpecial() {
@@ -29,25 +29,29 @@
 
 import co.aikar.util.JSONUtil;
 import co.aikar.util.LoadingMap;
-import co.aikar.util.MRUMapCache;
-import com.google.common.collect.Maps;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
 import net.minecraft.block.Block;
 import org.spongepowered.api.block.BlockType;
-import org.spongepowered.api.block.tileentity.TileEntity;
-import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.world.Chunk;
+import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.interfaces.IMixinChunk;
+import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 
 import java.lang.management.ManagementFactory;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
 
 public class TimingHistory {
 
@@ -69,7 +73,7 @@ public class TimingHistory {
     final TimingHistoryEntry[] entries;
     final Set<BlockType> blockTypeSet = Sets.newHashSet();
     final Set<EntityType> entityTypeSet = Sets.newHashSet();
-    final JsonObject worlds;
+    final WorldCounts[] worlds;
 
     TimingHistory() {
         this.endTime = System.currentTimeMillis() / 1000;
@@ -93,43 +97,37 @@ public class TimingHistory {
             this.entries[i++] = new TimingHistoryEntry(handler);
         }
 
-        final Map<EntityType, Counter> entityCounts = MRUMapCache.of(LoadingMap.of(Maps.newHashMap(), Counter.loader()));
-        final Map<BlockType, Counter> tileEntityCounts = MRUMapCache.of(LoadingMap.of(Maps.newHashMap(), Counter.loader()));
-        // Information about all loaded chunks/entities
-        this.worlds = JSONUtil.mapArrayToObject(SpongeImpl.getGame().getServer().getWorlds(), (world) -> {
-            return JSONUtil.singleObjectPair(String.valueOf(worldMap.get(world.getName())), JSONUtil.mapArray(world.getLoadedChunks(), (chunk) -> {
-                entityCounts.clear();
-                tileEntityCounts.clear();
-
-                for (Entity entity : chunk.getEntities()) {
-                    if (entity.getType() == null) {
-                        SpongeImpl.getLogger().error("Entity is not registered {}", entity);
-                        continue;
-                    }
-                    entityCounts.get(entity.getType()).increment();
-                }
-
-                for (TileEntity tileEntity : chunk.getTileEntities()) {
-                    tileEntityCounts.get(tileEntity.getBlock().getType()).increment();
+        // Information about all loaded chunks/entities. Chunks keep their own
+        // counts up to date, so only copy them here and build the json later.
+        final TIntSet entityTypeIds = new TIntHashSet();
+        final TIntSet blockIds = new TIntHashSet();
+        final List<WorldCounts> worlds = Lists.newArrayList();
+        for (World world : SpongeImpl.getGame().getServer().getWorlds()) {
+            final List<ChunkCounts> chunks = Lists.newArrayList();
+            for (Chunk chunk : world.getLoadedChunks()) {
+                final TIntIntMap entityCounts = ((IMixinChunk) chunk).getEntityTypeCounts();
+                final TIntIntMap tileEntityCounts = ((IMixinChunk) chunk).getTileEntityTypeCounts();
+                if (entityCounts.isEmpty() && tileEntityCounts.isEmpty()) {
+                    continue;
                 }
+                final ChunkCounts counts = new ChunkCounts(chunk.getPosition().getX(), chunk.getPosition().getZ(), entityCounts, tileEntityCounts);
+                entityTypeIds.addAll(counts.entityTypeIds);
+                blockIds.addAll(counts.blockIds);
+                chunks.add(counts);
+            }
+            worlds.add(new WorldCounts(worldMap.get(world.getName()), chunks.toArray(new ChunkCounts[chunks.size()])));
+        }
+        this.worlds = worlds.toArray(new WorldCounts[worlds.size()]);
 
-                if (tileEntityCounts.isEmpty() && entityCounts.isEmpty()) {
-                    return null;
-                }
-                return JSONUtil.arrayOf(
-                        chunk.getPosition().getX(),
-                        chunk.getPosition().getZ(),
-                        JSONUtil.mapArrayToObject(entityCounts.entrySet(), (entry) -> {
-                            this.entityTypeSet.add(entry.getKey());
-                            return JSONUtil.singleObjectPair(((SpongeEntityType) entry.getKey()).entityTypeId, entry.getValue().count());
-                        }),
-                        JSONUtil.mapArrayToObject(tileEntityCounts.entrySet(), (entry) -> {
-                            this.blockTypeSet.add(entry.getKey());
-                            return JSONUtil.singleObjectPair(Block.getIdFromBlock((Block) entry.getKey()), entry.getValue().count());
-                        }));
-            }));
+        for (EntityType type : EntityTypeRegistryModule.getInstance().getAll()) {
+            if (type instanceof SpongeEntityType && entityTypeIds.contains(((SpongeEntityType) type).entityTypeId)) {
+                this.entityTypeSet.add(type);
+            }
+        }
+        blockIds.forEach(id -> {
+            this.blockTypeSet.add((BlockType) Block.getBlockById(id));
+            return true;
         });
-
     }
 
     public static void resetTicks(boolean fullReset) {
@@ -150,7 +148,7 @@ JsonObject export() {
                 .add("e", this.endTime)
                 .add("tk", this.totalTicks)
                 .add("tm", this.totalTime)
-                .add("w", this.worlds)
+                .add("w", JSONUtil.mapArrayToObject(this.worlds, WorldCounts::export))
                 .add("h", JSONUtil.mapArray(this.entries, (entry) -> entry.data.count == 0 ? null : entry.export()))
                 .add("mp", JSONUtil.mapArray(this.minuteReports, MinuteReport::export))
                 .build();
@@ -217,28 +215,54 @@ static class PingRecord {
         }
     }
 
-    static class Counter {
+    static class WorldCounts {
 
-        int count = 0;
-        private static final Function<?, Counter> LOADER = new LoadingMap.Feeder<Counter>() {
+        final int worldId;
+        final ChunkCounts[] chunks;
 
-            @Override
-            public Counter apply() {
-                return new Counter();
-            }
-        };
+        WorldCounts(int worldId, ChunkCounts[] chunks) {
+            this.worldId = worldId;
+            this.chunks = chunks;
+        }
 
-        @SuppressWarnings("unchecked")
-        static <T> Function<T, Counter> loader() {
-            return (Function<T, Counter>) LOADER;
+        JsonObject export() {
+            return JSONUtil.singleObjectPair(String.valueOf(this.worldId), JSONUtil.mapArray(this.chunks, ChunkCounts::export));
         }
+    }
 
-        public int increment() {
-            return ++this.count;
+    static class ChunkCounts {
+
+        final int x;
+        final int z;
+        final int[] entityTypeIds;
+        final int[] entityCounts;
+        final int[] blockIds;
+        final int[] tileEntityCounts;
+
+        ChunkCounts(int x, int z, TIntIntMap entityCounts, TIntIntMap tileEntityCounts) {
+            this.x = x;
+            this.z = z;
+            // keys() and values() of a trove map share the same order
+            this.entityTypeIds = entityCounts.keys();
+            this.entityCounts = entityCounts.values();
+            this.blockIds = tileEntityCounts.keys();
+            this.tileEntityCounts = tileEntityCounts.values();
         }
 
-        public int count() {
-            return this.count;
+        JsonArray export() {
+            return JSONUtil.arrayOf(
+                    this.x,
+                    this.z,
+                    export(this.entityTypeIds, this.entityCounts),
+                    export(this.blockIds, this.tileEntityCounts));
+        }
+
+        private static JsonObject export(int[] ids, int[] counts) {
+            final JSONUtil.JsonObjectBuilder builder = JSONUtil.objectBuilder();
+            for (int i = 0; i < ids.length; i++) {
+                builder.add(ids[i], counts[i]);
+            }
+            return builder.build();
         }
     }
 }
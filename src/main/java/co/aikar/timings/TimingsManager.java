@@ -26,6 +26,7 @@
 
 import co.aikar.util.LoadingMap;
 import com.google.common.collect.EvictingQueue;
+import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.command.CommandMapping;
 import org.spongepowered.common.SpongeImpl;
@@ -45,6 +46,10 @@ public final class TimingsManager {
     public static final FullServerTickHandler FULL_SERVER_TICK = new FullServerTickHandler();
     public static final TimingHandler TIMINGS_TICK = SpongeTimingsFactory.ofSafe("Timings Tick", FULL_SERVER_TICK);
     public static final Timing PLUGIN_GROUP_HANDLER = SpongeTimingsFactory.ofSafe("Plugins");
+    // Roots for timings recorded off the server thread
+    static final TimingHandler ASYNC_SCHEDULER = SpongeTimingsFactory.ofSafe("Async Scheduler");
+    static final TimingHandler NETWORK = SpongeTimingsFactory.ofSafe("Network");
+    static final TimingHandler ASYNC = SpongeTimingsFactory.ofSafe("Async");
     public static List<String> hiddenConfigs = new ArrayList<>();
     public static boolean privacy = false;
 
@@ -74,6 +79,7 @@ static void reset() {
      */
     static void tick() {
         if (Timings.isTimingsEnabled()) {
+            ThreadTimings.collectAll();
             boolean violated = FULL_SERVER_TICK.isViolated();
 
             for (TimingHandler handler : HANDLERS) {
@@ -133,6 +139,26 @@ static void resetTimings() {
         historyStart = System.currentTimeMillis();
     }
 
+    static boolean isServerThread() {
+        return MinecraftServer.getServer().isCallingFromMinecraftThread();
+    }
+
+    /**
+     * Gets the handler that timings of the given thread are grouped under.
+     *
+     * @param thread The thread, not the server thread
+     * @return The root handler of the thread
+     */
+    static TimingHandler getThreadRoot(Thread thread) {
+        final String name = thread.getName();
+        if (name.startsWith("Sponge Async Scheduler")) {
+            return ASYNC_SCHEDULER;
+        } else if (name.startsWith("Netty")) {
+            return NETWORK;
+        }
+        return ASYNC;
+    }
+
     static TimingHandler getHandler(String group, String name, Timing parent, boolean protect) {
         return TIMING_MAP.get(new TimingIdentifier(group, name, parent, protect));
     }
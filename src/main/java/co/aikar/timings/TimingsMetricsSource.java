@@ -0,0 +1,51 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import org.spongepowered.common.metrics.MetricsSource;
+import org.spongepowered.common.metrics.MetricsWriter;
+
+/**
+ * Total time and count of every handler that was timed since the last
+ * timings history was taken. Nothing is written while timings are disabled.
+ */
+public final class TimingsMetricsSource implements MetricsSource {
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        if (!Timings.isTimingsEnabled()) {
+            return;
+        }
+        writer.family("sponge_timings_seconds", MetricsWriter.GAUGE, "Time spent in a timings handler since the last timings history");
+        for (TimingHandler handler : TimingsManager.HANDLERS) {
+            writer.sample(handler.record.totalTime / 1e9, "id", String.valueOf(handler.id), "handler", handler.name);
+        }
+        writer.family("sponge_timings_count", MetricsWriter.GAUGE, "Number of times a timings handler ran since the last timings history");
+        for (TimingHandler handler : TimingsManager.HANDLERS) {
+            writer.sample(handler.record.count, "id", String.valueOf(handler.id), "handler", handler.name);
+        }
+    }
+
+}
@@ -24,8 +24,6 @@
  */
 package co.aikar.timings;
 
-import net.minecraft.server.MinecraftServer;
-
 class UnsafeTimingHandler extends TimingHandler {
 
     UnsafeTimingHandler(TimingIdentifier id) {
@@ -33,21 +31,25 @@ class UnsafeTimingHandler extends TimingHandler {
     }
 
     private static void checkThread() {
-        if (!MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (!TimingsManager.isServerThread()) {
             throw new IllegalStateException("Calling Timings from Async Operation");
         }
     }
 
     @Override
     public TimingHandler startTiming() {
-        checkThread();
+        if (this.enabled) {
+            checkThread();
+        }
         super.startTiming();
         return this;
     }
 
     @Override
     public void stopTiming() {
-        checkThread();
+        if (this.enabled) {
+            checkThread();
+        }
         super.stopTiming();
     }
 }
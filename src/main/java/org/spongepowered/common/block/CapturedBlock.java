@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.world.CaptureType;
+
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * A block change captured by the {@link org.spongepowered.common.event.CauseTracker}.
+ *
+ * <p>Only the parts of the original block that may change before the capture
+ * is processed are resolved when the block is captured: the actual state,
+ * which depends on neighbours that may be captured right after this block,
+ * and the notifier, which is rewritten by neighbour notifications. The owner
+ * is only assigned once captures are processed, so it is looked up together
+ * with the {@link SpongeBlockSnapshot} when that is first requested, which
+ * is skipped entirely for changes that are discarded before an event is
+ * fired. Blocks with tile entities are snapshotted immediately, as their
+ * data would be lost once the block changes.</p>
+ */
+public final class CapturedBlock {
+
+    private final BlockPos pos;
+    private final IBlockState state;
+    private final IBlockState extendedState;
+    @Nullable private final UUID notifier;
+    private final int updateFlag;
+    private final CaptureType captureType;
+    @Nullable private SpongeBlockSnapshot snapshot;
+
+    public CapturedBlock(IMixinWorld world, BlockPos pos, IBlockState state, int updateFlag, CaptureType captureType) {
+        // The position may be mutable, so keep our own copy
+        this.pos = new BlockPos(pos.getX(), pos.getY(), pos.getZ());
+        this.state = checkNotNull(state, "state");
+        this.extendedState = state.getBlock().getActualState(state, (IBlockAccess) world, this.pos);
+        this.notifier = ((World) world).getNotifier(pos.getX(), pos.getY(), pos.getZ()).orElse(null);
+        this.updateFlag = updateFlag;
+        this.captureType = checkNotNull(captureType, "captureType");
+    }
+
+    public CapturedBlock(BlockPos pos, SpongeBlockSnapshot snapshot, CaptureType captureType) {
+        this.pos = new BlockPos(pos.getX(), pos.getY(), pos.getZ());
+        this.state = (IBlockState) snapshot.getState();
+        this.extendedState = (IBlockState) snapshot.getExtendedState();
+        this.notifier = snapshot.getNotifier().orElse(null);
+        this.updateFlag = snapshot.getUpdateFlag();
+        this.captureType = checkNotNull(captureType, "captureType");
+        this.snapshot = snapshot;
+        this.snapshot.captureType = captureType;
+    }
+
+    public BlockPos getPos() {
+        return this.pos;
+    }
+
+    public IBlockState getState() {
+        return this.state;
+    }
+
+    public int getUpdateFlag() {
+        return this.updateFlag;
+    }
+
+    public CaptureType getCaptureType() {
+        return this.captureType;
+    }
+
+    /**
+     * Gets the snapshot of the original block, creating it if necessary.
+     *
+     * @param world The world the block was captured in
+     * @return The snapshot
+     */
+    public SpongeBlockSnapshot getSnapshot(IMixinWorld world) {
+        if (this.snapshot == null) {
+            final UUID creator = ((World) world).getCreator(this.pos.getX(), this.pos.getY(), this.pos.getZ()).orElse(null);
+            this.snapshot = world.createSpongeBlockSnapshot(this.state, this.extendedState, this.pos, this.updateFlag, creator,
+                    this.notifier);
+            this.snapshot.captureType = this.captureType;
+        }
+        return this.snapshot;
+    }
+
+}
@@ -30,6 +30,7 @@
 import org.spongepowered.api.command.CommandMapping;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.source.LocatedSource;
+import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.SubjectCollection;
@@ -47,6 +48,7 @@
 import org.spongepowered.common.util.VecHelper;
 
 import java.util.Optional;
+import java.util.Set;
 
 public class WrapperCommandSource extends SpongeSubject implements CommandSource {
 
@@ -93,6 +95,12 @@ public MemorySubjectData getSubjectData() {
         return this.data;
     }
 
+    @Override
+    public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        // Changes to our data don't invalidate resolved permissions, so don't keep any
+        return resolvePermissionValue(contexts, permission);
+    }
+
     @Override
     public String getName() {
         return this.sender.getName();
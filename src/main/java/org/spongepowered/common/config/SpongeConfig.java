@@ -43,6 +43,7 @@
 import org.spongepowered.api.util.Functional;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.util.IpSet;
+import org.spongepowered.common.util.IpTrie;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -92,6 +93,8 @@ public enum Type {
     public static final String ENTITY_ACTIVATION_RANGE_MISC = "misc-activation-range";
     public static final String ENTITY_HUMAN_PLAYER_LIST_REMOVE_DELAY = "human-player-list-remove-delay";
     public static final String ENTITY_PAINTING_RESPAWN_DELAY = "entity-painting-respawn-delay";
+    public static final String ENTITY_MOVEMENT_EVENT_MIN_DISTANCE = "movement-event-min-distance";
+    public static final String ENTITY_MOVEMENT_EVENT_BLOCK_CHANGE_ONLY = "movement-event-block-change-only";
 
     // BUNGEECORD
     public static final String BUNGEECORD_IP_FORWARDING = "ip-forwarding";
@@ -122,11 +125,38 @@ public enum Type {
     public static final String BLOCK_TRACKING = "block-tracking";
     public static final String BLOCK_TRACKING_BLACKLIST = "block-blacklist";
     public static final String BLOCK_TRACKING_ENABLED = "enabled";
+    public static final String BLOCK_TRACKING_USER_CACHE_SIZE = "user-cache-size";
 
     // MODULES
     public static final String MODULE_ENTITY_ACTIVATION_RANGE = "entity-activation-range";
     public static final String MODULE_BUNGEECORD = "bungeecord";
 
+    // METRICS
+    public static final String METRICS_ENABLED = "enabled";
+    public static final String METRICS_ADDRESS = "address";
+    public static final String METRICS_PORT = "port";
+    public static final String METRICS_INTERVAL = "interval";
+    public static final String METRICS_FILES_ENABLED = "files-enabled";
+    public static final String METRICS_FILES_DIRECTORY = "files-directory";
+    public static final String METRICS_FILES_MAX = "files-max";
+
+    // CHUNK TICKETS
+    public static final String CHUNK_TICKETS_MAX_TICKETS = "max-tickets";
+    public static final String CHUNK_TICKETS_MAX_CHUNKS = "max-chunks-per-ticket";
+    public static final String CHUNK_TICKETS_PLAYER_TICKETS = "player-tickets";
+
+    // PROFILE LOOKUPS
+    public static final String PROFILE_LOOKUP_THREADS = "threads";
+    public static final String PROFILE_LOOKUP_BATCH_WINDOW = "batch-window";
+    public static final String PROFILE_LOOKUP_BATCH_SIZE = "batch-size";
+    public static final String PROFILE_LOOKUP_RATE_LIMIT = "rate-limit";
+    public static final String PROFILE_LOOKUP_NEGATIVE_CACHE_TTL = "negative-cache-ttl";
+    public static final String PROFILE_LOOKUP_FAILURE_BACKOFF = "failure-backoff";
+
+    // OPTIMIZATIONS
+    public static final String OPTIMIZATION_GENERATED_EVENT_DISPATCHERS = "generated-event-dispatchers";
+    public static final String OPTIMIZATION_PARALLEL_VOLUME_WORKERS = "parallel-volume-workers";
+
     // WORLD
     public static final String WORLD_PVP_ENABLED = "pvp-enabled";
     public static final String WORLD_ENABLED = "world-enabled";
@@ -244,12 +274,27 @@ public static class GlobalConfig extends ConfigBase {
         @Setting("ip-sets")
         private Map<String, List<IpSet>> ipSets = new HashMap<>();
 
+        private Map<String, List<IpSet>> compiledIpSets;
+        private IpTrie<String> ipSetTrie;
+
         @Setting(value = MODULE_BUNGEECORD)
         private BungeeCordCategory bungeeCord = new BungeeCordCategory();
 
         @Setting
         private ExploitCategory exploits = new ExploitCategory();
 
+        @Setting
+        private OptimizationCategory optimizations = new OptimizationCategory();
+
+        @Setting(comment = "Export of server metrics to a local endpoint and to files on disk")
+        private MetricsCategory metrics = new MetricsCategory();
+
+        @Setting(value = "profile-lookups", comment = "Lookups of game profiles from the Mojang servers")
+        private ProfileLookupCategory profileLookups = new ProfileLookupCategory();
+
+        @Setting(value = "chunk-tickets", comment = "Tickets used by plugins to keep chunks loaded")
+        private ChunkTicketCategory chunkTickets = new ChunkTicketCategory();
+
         public BungeeCordCategory getBungeeCord() {
             return this.bungeeCord;
         }
@@ -276,11 +321,53 @@ public Predicate<InetAddress> apply(List<IpSet> input) {
             }));
         }
 
+        /**
+         * Gets the configured ip-sets compiled into a trie mapping prefixes
+         * to set names. The trie is rebuilt only after the ip-sets change.
+         *
+         * @return The compiled ip-sets
+         */
+        public synchronized IpTrie<String> getIpSetTrie() {
+            if (this.ipSetTrie == null || this.compiledIpSets != this.ipSets) {
+                IpTrie.Builder<String> builder = IpTrie.builder();
+                for (Map.Entry<String, List<IpSet>> entry : this.ipSets.entrySet()) {
+                    if (entry.getValue().isEmpty()) {
+                        // Matches like an empty conjunction, so every address is in the set
+                        builder.put(IpSet.fromCidr("0.0.0.0/0"), entry.getKey());
+                        builder.put(IpSet.fromCidr("::/0"), entry.getKey());
+                        continue;
+                    }
+                    IpSet set = IpSet.intersection(entry.getValue());
+                    if (set != null) {
+                        builder.put(set, entry.getKey());
+                    }
+                }
+                this.ipSetTrie = builder.build();
+                this.compiledIpSets = this.ipSets;
+            }
+            return this.ipSetTrie;
+        }
 
         public ExploitCategory getExploits() {
             return this.exploits;
         }
 
+        public OptimizationCategory getOptimizations() {
+            return this.optimizations;
+        }
+
+        public MetricsCategory getMetrics() {
+            return this.metrics;
+        }
+
+        public ProfileLookupCategory getProfileLookups() {
+            return this.profileLookups;
+        }
+
+        public ChunkTicketCategory getChunkTickets() {
+            return this.chunkTickets;
+        }
+
         public Predicate<InetAddress> getIpSet(String name) {
             return this.ipSets.containsKey(name) ? Predicates.and(this.ipSets.get(name)) : null;
         }
@@ -496,6 +583,13 @@ public static class EntityCategory extends Category {
         @Setting(value = ENTITY_PAINTING_RESPAWN_DELAY,
                 comment = "Number of ticks before a painting is respawned on clients when their art is changed")
         private int paintingRespawnDelaly = 2;
+        @Setting(value = ENTITY_MOVEMENT_EVENT_MIN_DISTANCE,
+                comment = "Distance a non-player entity has to move before a movement event is fired for it. Smaller movements are "
+                        + "combined into one event and rotations alone are not reported. Set to 0 to report every movement")
+        private double movementEventMinDistance = 0;
+        @Setting(value = ENTITY_MOVEMENT_EVENT_BLOCK_CHANGE_ONLY,
+                comment = "If enabled, movement events are only fired for non-player entities moving into another block")
+        private boolean movementEventBlockChangeOnly = false;
 
         public int getMaxBoundingBoxSize() {
             return this.maxBoundingBoxSize;
@@ -552,6 +646,22 @@ public int getPaintingRespawnDelaly() {
         public void setPaintingRespawnDelaly(int paintingRespawnDelaly) {
             this.paintingRespawnDelaly = Math.min(paintingRespawnDelaly, 1);
         }
+
+        public double getMovementEventMinDistance() {
+            return this.movementEventMinDistance;
+        }
+
+        public void setMovementEventMinDistance(double distance) {
+            this.movementEventMinDistance = Math.max(0, distance);
+        }
+
+        public boolean isMovementEventBlockChangeOnly() {
+            return this.movementEventBlockChangeOnly;
+        }
+
+        public void setMovementEventBlockChangeOnly(boolean blockChangeOnly) {
+            this.movementEventBlockChangeOnly = blockChangeOnly;
+        }
     }
 
     @ConfigSerializable
@@ -819,6 +929,9 @@ public static class BlockTrackingCategory extends Category {
         @Setting(value = BLOCK_TRACKING_BLACKLIST, comment = "Add block ids you wish to blacklist for player block placement tracking.")
         private List<String> blockBlacklist = new ArrayList<>();
 
+        @Setting(value = BLOCK_TRACKING_USER_CACHE_SIZE, comment = "The maximum number of offline block owners and notifiers to keep resolved per world.")
+        private int userCacheSize = 1024;
+
         public boolean isEnabled() {
             return this.enabled;
         }
@@ -830,6 +943,10 @@ public void setEnabled(boolean flag) {
         public List<String> getBlockBlacklist() {
             return this.blockBlacklist;
         }
+
+        public int getUserCacheSize() {
+            return this.userCacheSize;
+        }
     }
 
     @ConfigSerializable
@@ -993,6 +1110,159 @@ public void setPreventSignExploit(boolean preventSignExploit) {
         }
     }
 
+    @ConfigSerializable
+    public static class OptimizationCategory extends Category {
+
+        @Setting(value = OPTIMIZATION_GENERATED_EVENT_DISPATCHERS,
+                comment = "Generates dispatcher classes which call all listeners of an event type directly. Requires a restart to take effect")
+        private boolean generatedEventDispatchers = false;
+
+        @Setting(value = OPTIMIZATION_PARALLEL_VOLUME_WORKERS,
+                comment = "Splits block and biome worker operations on large buffers across multiple threads. "
+                        + "Mappers, mergers, reducers and fillers passed to workers must then be thread safe")
+        private boolean parallelVolumeWorkers = false;
+
+        public boolean useGeneratedEventDispatchers() {
+            return this.generatedEventDispatchers;
+        }
+
+        public void setGeneratedEventDispatchers(boolean generatedEventDispatchers) {
+            this.generatedEventDispatchers = generatedEventDispatchers;
+        }
+
+        public boolean useParallelVolumeWorkers() {
+            return this.parallelVolumeWorkers;
+        }
+
+        public void setParallelVolumeWorkers(boolean parallelVolumeWorkers) {
+            this.parallelVolumeWorkers = parallelVolumeWorkers;
+        }
+    }
+
+    @ConfigSerializable
+    public static class MetricsCategory extends Category {
+
+        @Setting(value = METRICS_ENABLED, comment = "If enabled, samples server metrics and serves them in the Prometheus text format")
+        private boolean enabled = false;
+
+        @Setting(value = METRICS_ADDRESS, comment = "The address to serve metrics on. Leave empty to disable the endpoint")
+        private String address = "127.0.0.1";
+
+        @Setting(value = METRICS_PORT, comment = "The port to serve metrics on, at the path /metrics")
+        private int port = 9225;
+
+        @Setting(value = METRICS_INTERVAL, comment = "Number of ticks between two samples")
+        private int interval = 300;
+
+        @Setting(value = METRICS_FILES_ENABLED, comment = "If enabled, appends every sample to a daily file")
+        private boolean filesEnabled = true;
+
+        @Setting(value = METRICS_FILES_DIRECTORY, comment = "The directory for metric files, relative to the game directory")
+        private String filesDirectory = "metrics";
+
+        @Setting(value = METRICS_FILES_MAX, comment = "Number of daily metric files to keep")
+        private int filesMax = 14;
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public String getAddress() {
+            return this.address;
+        }
+
+        public int getPort() {
+            return this.port;
+        }
+
+        public int getInterval() {
+            return this.interval;
+        }
+
+        public boolean isFilesEnabled() {
+            return this.filesEnabled;
+        }
+
+        public String getFilesDirectory() {
+            return this.filesDirectory;
+        }
+
+        public int getFilesMax() {
+            return this.filesMax;
+        }
+    }
+
+    @ConfigSerializable
+    public static class ChunkTicketCategory extends Category {
+
+        @Setting(value = CHUNK_TICKETS_MAX_TICKETS, comment = "Maximum number of tickets a plugin can have in each world")
+        private int maxTickets = 200;
+
+        @Setting(value = CHUNK_TICKETS_MAX_CHUNKS, comment = "Maximum number of chunks a single ticket can keep loaded")
+        private int maxChunksPerTicket = 25;
+
+        @Setting(value = CHUNK_TICKETS_PLAYER_TICKETS, comment = "Maximum number of tickets bound to a single player, across all worlds")
+        private int playerTickets = 500;
+
+        public int getMaxTickets() {
+            return this.maxTickets;
+        }
+
+        public int getMaxChunksPerTicket() {
+            return this.maxChunksPerTicket;
+        }
+
+        public int getPlayerTickets() {
+            return this.playerTickets;
+        }
+    }
+
+    @ConfigSerializable
+    public static class ProfileLookupCategory extends Category {
+
+        @Setting(value = PROFILE_LOOKUP_THREADS, comment = "Maximum number of profile lookups running at the same time")
+        private int threads = 2;
+
+        @Setting(value = PROFILE_LOOKUP_BATCH_WINDOW, comment = "Milliseconds to wait for more lookups to merge into a single query")
+        private int batchWindow = 50;
+
+        @Setting(value = PROFILE_LOOKUP_BATCH_SIZE, comment = "Maximum number of profiles looked up in a single query")
+        private int batchSize = 100;
+
+        @Setting(value = PROFILE_LOOKUP_RATE_LIMIT, comment = "Maximum number of queries per second. 0 to disable the limit")
+        private double rateLimit = 10;
+
+        @Setting(value = PROFILE_LOOKUP_NEGATIVE_CACHE_TTL, comment = "Minutes to remember profiles which could not be found. 0 to disable")
+        private int negativeCacheTtl = 60;
+
+        @Setting(value = PROFILE_LOOKUP_FAILURE_BACKOFF, comment = "Seconds to wait before retrying profiles whose lookup failed. 0 to disable")
+        private int failureBackoff = 30;
+
+        public int getThreads() {
+            return this.threads;
+        }
+
+        public int getBatchWindow() {
+            return this.batchWindow;
+        }
+
+        public int getBatchSize() {
+            return this.batchSize;
+        }
+
+        public double getRateLimit() {
+            return this.rateLimit;
+        }
+
+        public int getNegativeCacheTtl() {
+            return this.negativeCacheTtl;
+        }
+
+        public int getFailureBackoff() {
+            return this.failureBackoff;
+        }
+    }
+
     @ConfigSerializable
     private static class Category {
     }
@@ -121,7 +121,31 @@ private NbtDataUtil() {
     public static final String SPONGE_ENTITY_CREATOR = "Creator";
     public static final String SPONGE_ENTITY_NOTIFIER = "Notifier";
     public static final String SPONGE_BLOCK_POS_TABLE = "BlockPosTable";
+    public static final String SPONGE_BLOCK_POS_SHORT_TABLE = "BlockPosShortTable";
+    public static final String SPONGE_BLOCK_POS_INT_TABLE = "BlockPosIntTable";
     public static final String SPONGE_PLAYER_UUID_TABLE = "PlayerIdTable";
+    public static final String SPONGE_CHUNK_PRE_GENERATE = "ChunkPreGenerate";
+    public static final String SPONGE_CHUNK_TICKETS = "ChunkTickets";
+    public static final String CHUNK_TICKET_PLUGIN = "Plugin";
+    public static final String CHUNK_TICKET_PLAYER = "Player";
+    public static final String CHUNK_TICKET_ENTITY = "Entity";
+    public static final String CHUNK_TICKET_IS_ENTITY = "IsEntity";
+    public static final String CHUNK_TICKET_NUM_CHUNKS = "NumChunks";
+    public static final String CHUNK_TICKET_CHUNKS = "Chunks";
+    public static final String CHUNK_TICKET_DATA = "Data";
+    public static final String PRE_GENERATE_CENTER_X = "CenterX";
+    public static final String PRE_GENERATE_CENTER_Z = "CenterZ";
+    public static final String PRE_GENERATE_RADIUS = "Radius";
+    public static final String PRE_GENERATE_POSITION_X = "PositionX";
+    public static final String PRE_GENERATE_POSITION_Z = "PositionZ";
+    public static final String PRE_GENERATE_LAYER_INDEX = "LayerIndex";
+    public static final String PRE_GENERATE_LAYER_SIZE = "LayerSize";
+    public static final String PRE_GENERATE_INDEX_IN_LAYER = "IndexInLayer";
+    public static final String PRE_GENERATE_TOTAL_COUNT = "TotalCount";
+
+    // Vanilla chunk data
+    public static final String CHUNK_DATA_LEVEL = "Level";
+    public static final String CHUNK_DATA_TERRAIN_POPULATED = "TerrainPopulated";
     public static final String CUSTOM_MANIPULATOR_TAG_LIST = "CustomManipulators";
     public static final String PROJECTILE_DAMAGE_AMOUNT = "damageAmount";
     public static final String BOAT_MAX_SPEED = "maxSpeed";
@@ -0,0 +1,214 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import gnu.trove.map.hash.TIntLongHashMap;
+import gnu.trove.map.hash.TShortLongHashMap;
+import gnu.trove.set.TIntSet;
+
+/**
+ * Stores the owner and notifier indices of tracked block positions within a
+ * chunk.
+ *
+ * <p>Positions are keyed by the packed short (y &lt;= 255) or int position
+ * used by the chunk, and both indices are packed into a single long value,
+ * so no objects are allocated per tracked block. An index of {@code -1}
+ * means that no user is tracked for that role.</p>
+ */
+public final class PlayerTrackerStore {
+
+    public static final int NO_INDEX = -1;
+    private static final long EMPTY = pack(NO_INDEX, NO_INDEX);
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5F;
+
+    private final TShortLongHashMap shortPositions = new TShortLongHashMap(DEFAULT_CAPACITY, LOAD_FACTOR, (short) 0, EMPTY);
+    private final TIntLongHashMap intPositions = new TIntLongHashMap(DEFAULT_CAPACITY, LOAD_FACTOR, 0, EMPTY);
+
+    static long pack(int ownerIndex, int notifierIndex) {
+        return ((long) ownerIndex << 32) | (notifierIndex & 0xFFFFFFFFL);
+    }
+
+    static int ownerOf(long value) {
+        return (int) (value >>> 32);
+    }
+
+    static int notifierOf(long value) {
+        return (int) value;
+    }
+
+    public int size() {
+        return this.shortPositions.size() + this.intPositions.size();
+    }
+
+    public boolean isEmpty() {
+        return this.shortPositions.isEmpty() && this.intPositions.isEmpty();
+    }
+
+    public boolean contains(short pos) {
+        return this.shortPositions.containsKey(pos);
+    }
+
+    public boolean contains(int pos) {
+        return this.intPositions.containsKey(pos);
+    }
+
+    public int getOwner(short pos) {
+        return ownerOf(this.shortPositions.get(pos));
+    }
+
+    public int getOwner(int pos) {
+        return ownerOf(this.intPositions.get(pos));
+    }
+
+    public int getNotifier(short pos) {
+        return notifierOf(this.shortPositions.get(pos));
+    }
+
+    public int getNotifier(int pos) {
+        return notifierOf(this.intPositions.get(pos));
+    }
+
+    public void set(short pos, int ownerIndex, int notifierIndex) {
+        this.shortPositions.put(pos, pack(ownerIndex, notifierIndex));
+    }
+
+    public void set(int pos, int ownerIndex, int notifierIndex) {
+        this.intPositions.put(pos, pack(ownerIndex, notifierIndex));
+    }
+
+    public void setOwner(short pos, int ownerIndex) {
+        set(pos, ownerIndex, getNotifier(pos));
+    }
+
+    public void setOwner(int pos, int ownerIndex) {
+        set(pos, ownerIndex, getNotifier(pos));
+    }
+
+    public void setNotifier(short pos, int notifierIndex) {
+        set(pos, getOwner(pos), notifierIndex);
+    }
+
+    public void setNotifier(int pos, int notifierIndex) {
+        set(pos, getOwner(pos), notifierIndex);
+    }
+
+    public void clear() {
+        this.shortPositions.clear();
+        this.intPositions.clear();
+    }
+
+    /**
+     * Adds every owner and notifier index tracked in this store to the set.
+     *
+     * @param indices The set to add the indices to
+     */
+    public void collectIndices(TIntSet indices) {
+        this.shortPositions.forEachValue(value -> {
+            addIndices(indices, value);
+            return true;
+        });
+        this.intPositions.forEachValue(value -> {
+            addIndices(indices, value);
+            return true;
+        });
+    }
+
+    private static void addIndices(TIntSet indices, long value) {
+        if (ownerOf(value) != NO_INDEX) {
+            indices.add(ownerOf(value));
+        }
+        if (notifierOf(value) != NO_INDEX) {
+            indices.add(notifierOf(value));
+        }
+    }
+
+    /**
+     * Writes all short keyed positions as consecutive
+     * {@code position, owner, notifier} triples.
+     *
+     * @return The packed positions
+     */
+    public int[] writeShortPositions() {
+        int[] data = new int[this.shortPositions.size() * 3];
+        int[] i = {0};
+        this.shortPositions.forEachEntry((pos, value) -> {
+            data[i[0]++] = pos;
+            data[i[0]++] = ownerOf(value);
+            data[i[0]++] = notifierOf(value);
+            return true;
+        });
+        return data;
+    }
+
+    /**
+     * Writes all int keyed positions as consecutive
+     * {@code position, owner, notifier} triples.
+     *
+     * @return The packed positions
+     */
+    public int[] writeIntPositions() {
+        int[] data = new int[this.intPositions.size() * 3];
+        int[] i = {0};
+        this.intPositions.forEachEntry((pos, value) -> {
+            data[i[0]++] = pos;
+            data[i[0]++] = ownerOf(value);
+            data[i[0]++] = notifierOf(value);
+            return true;
+        });
+        return data;
+    }
+
+    /**
+     * Reads short keyed positions previously written by
+     * {@link #writeShortPositions()}.
+     *
+     * @param data The packed positions
+     */
+    public void readShortPositions(int[] data) {
+        this.shortPositions.ensureCapacity(data.length / 3);
+        for (int i = 0; i + 2 < data.length; i += 3) {
+            if (data[i + 1] != NO_INDEX || data[i + 2] != NO_INDEX) {
+                set((short) data[i], data[i + 1], data[i + 2]);
+            }
+        }
+    }
+
+    /**
+     * Reads int keyed positions previously written by
+     * {@link #writeIntPositions()}.
+     *
+     * @param data The packed positions
+     */
+    public void readIntPositions(int[] data) {
+        this.intPositions.ensureCapacity(data.length / 3);
+        for (int i = 0; i + 2 < data.length; i += 3) {
+            if (data[i + 1] != NO_INDEX || data[i + 2] != NO_INDEX) {
+                set(data[i], data[i + 1], data[i + 2]);
+            }
+        }
+    }
+
+}
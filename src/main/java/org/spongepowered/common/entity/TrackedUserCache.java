@@ -0,0 +1,241 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.service.user.UserStorageService;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.service.user.SpongeUserStorageService;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Resolves the offline {@link User}s behind the tracked owner and notifier
+ * indices of a world.
+ *
+ * <p>Resolved users are kept in a bounded LRU keyed by the world's tracked
+ * unique id index, so repeated lookups for the same owner never hit the
+ * {@link UserStorageService}. Indices without a user are remembered for
+ * {@link #MISSING_USER_TTL_MINUTES} minutes, so they are not looked up again
+ * on every chunk load.</p>
+ *
+ * <p>{@link #get} resolves a miss on the calling thread, so event causes
+ * always carry the owner. {@link #prefetch} and {@link #getAsync} resolve
+ * in the background to warm the cache, a lookup which is already in flight
+ * is shared rather than started again. Background lookups go through
+ * {@link SpongeUserStorageService#getAsync(UUID)}, which only does its file
+ * I/O off the main thread, or run on the main thread for any other storage
+ * service.</p>
+ *
+ * <p>The index to {@link UUID} mapping of the world info is not thread safe,
+ * so all methods must be called from the main thread.</p>
+ */
+public final class TrackedUserCache {
+
+    public static final long MISSING_USER_TTL_MINUTES = 5;
+
+    private final IMixinWorldInfo worldInfo;
+    private final Function<UUID, CompletableFuture<Optional<User>>> lookup;
+    private final Function<UUID, Optional<User>> syncLookup;
+    private final Cache<Integer, User> users;
+    private final Cache<Integer, Boolean> missing;
+    private final ConcurrentMap<Integer, CompletableFuture<Optional<User>>> pending = new ConcurrentHashMap<>();
+
+    public TrackedUserCache(IMixinWorldInfo worldInfo, int maximumSize) {
+        this(worldInfo, maximumSize, TrackedUserCache::lookup, TrackedUserCache::lookupNow, Ticker.systemTicker());
+    }
+
+    TrackedUserCache(IMixinWorldInfo worldInfo, int maximumSize, Function<UUID, CompletableFuture<Optional<User>>> lookup,
+            Function<UUID, Optional<User>> syncLookup, Ticker ticker) {
+        this.worldInfo = worldInfo;
+        this.lookup = lookup;
+        this.syncLookup = syncLookup;
+        this.users = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.missing = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(MISSING_USER_TTL_MINUTES, TimeUnit.MINUTES)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Gets the user for the index if it was already resolved, without ever
+     * blocking.
+     *
+     * @param index The tracked unique id index
+     * @return The cached user, if present
+     */
+    public Optional<User> getIfResolved(int index) {
+        if (index == PlayerTrackerStore.NO_INDEX) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(this.users.getIfPresent(index));
+    }
+
+    /**
+     * Gets the user for the index, looking it up from the
+     * {@link UserStorageService} on the calling thread if it is neither
+     * cached nor known to be missing. {@link #prefetch} warms the cache so
+     * this rarely has to.
+     *
+     * @param index The tracked unique id index
+     * @return The user, if one exists
+     */
+    public Optional<User> get(int index) {
+        Optional<User> user = getIfResolved(index);
+        if (user.isPresent() || index == PlayerTrackerStore.NO_INDEX || this.missing.getIfPresent(index) != null) {
+            return user;
+        }
+        Optional<UUID> uuid = this.worldInfo.getUniqueIdForIndex(index);
+        if (!uuid.isPresent()) {
+            return Optional.empty();
+        }
+        user = this.syncLookup.apply(uuid.get());
+        if (user.isPresent()) {
+            this.users.put(index, user.get());
+        } else {
+            this.missing.put(index, Boolean.TRUE);
+        }
+        return user;
+    }
+
+    /**
+     * Gets the user for the index. The returned future is already completed
+     * if the user was cached or is known to be missing, otherwise the user
+     * is resolved in the background.
+     *
+     * @param index The tracked unique id index
+     * @return The future user
+     */
+    public CompletableFuture<Optional<User>> getAsync(int index) {
+        Optional<User> user = getIfResolved(index);
+        if (user.isPresent() || index == PlayerTrackerStore.NO_INDEX || this.missing.getIfPresent(index) != null) {
+            return CompletableFuture.completedFuture(user);
+        }
+        Optional<UUID> uuid = this.worldInfo.getUniqueIdForIndex(index);
+        if (!uuid.isPresent()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return resolve(index, uuid.get());
+    }
+
+    /**
+     * Starts resolving every owner and notifier tracked in the store which
+     * is neither cached nor known to be missing.
+     *
+     * @param store The tracked block positions of a chunk
+     */
+    public void prefetch(PlayerTrackerStore store) {
+        if (store.isEmpty()) {
+            return;
+        }
+        TIntSet indices = new TIntHashSet();
+        store.collectIndices(indices);
+        indices.forEach(index -> {
+            startResolve(index);
+            return true;
+        });
+    }
+
+    private void startResolve(int index) {
+        if (this.users.getIfPresent(index) != null || this.missing.getIfPresent(index) != null || this.pending.containsKey(index)) {
+            return;
+        }
+        Optional<UUID> uuid = this.worldInfo.getUniqueIdForIndex(index);
+        if (uuid.isPresent()) {
+            resolve(index, uuid.get());
+        }
+    }
+
+    private CompletableFuture<Optional<User>> resolve(int index, UUID uuid) {
+        CompletableFuture<Optional<User>> future = this.pending.get(index);
+        if (future != null) {
+            return future;
+        }
+        // Register the future before starting the lookup, so a lookup
+        // finishing right away cannot leave a stale pending entry behind
+        CompletableFuture<Optional<User>> result = new CompletableFuture<>();
+        this.pending.put(index, result);
+        CompletableFuture<Optional<User>> lookup;
+        try {
+            lookup = this.lookup.apply(uuid);
+        } catch (Exception e) {
+            lookup = new CompletableFuture<>();
+            lookup.completeExceptionally(e);
+        }
+        lookup.whenComplete((user, throwable) -> {
+            if (throwable == null) {
+                if (user.isPresent()) {
+                    this.users.put(index, user.get());
+                } else {
+                    this.missing.put(index, Boolean.TRUE);
+                }
+            }
+            this.pending.remove(index, result);
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(user);
+            }
+        });
+        return result;
+    }
+
+    private static CompletableFuture<Optional<User>> lookup(UUID uuid) {
+        Optional<UserStorageService> service = SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class);
+        if (!service.isPresent()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        if (service.get() instanceof SpongeUserStorageService) {
+            return ((SpongeUserStorageService) service.get()).getAsync(uuid);
+        }
+        // Other storage services make no promise about thread safety
+        return SpongeScheduler.getInstance().submitSyncTask(() -> service.get().get(uuid));
+    }
+
+    private static Optional<User> lookupNow(UUID uuid) {
+        Optional<UserStorageService> service = SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class);
+        if (!service.isPresent()) {
+            return Optional.empty();
+        }
+        return service.get().get(uuid);
+    }
+
+}
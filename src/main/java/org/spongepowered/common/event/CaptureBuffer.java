@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.common.world.CaptureType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Reusable lists used by {@link CauseTracker} while turning captured block
+ * changes into events. The lists are cleared instead of reallocated, and
+ * immutable copies are only made for events that are actually fired.
+ */
+public final class CaptureBuffer {
+
+    private static final CaptureType[] CAPTURE_TYPES = CaptureType.values();
+
+    private final EnumMap<CaptureType, List<Transaction<BlockSnapshot>>> transactionsByType = new EnumMap<>(CaptureType.class);
+    private final List<Transaction<BlockSnapshot>> transactions = new ArrayList<>();
+    private final List<ChangeBlockEvent> blockEvents = new ArrayList<>();
+
+    CaptureBuffer() {
+        for (CaptureType type : CAPTURE_TYPES) {
+            this.transactionsByType.put(type, new ArrayList<>());
+        }
+    }
+
+    public void add(CaptureType type, Transaction<BlockSnapshot> transaction) {
+        this.transactionsByType.get(type).add(transaction);
+        this.transactions.add(transaction);
+    }
+
+    public boolean hasTransactions(CaptureType type) {
+        return !this.transactionsByType.get(type).isEmpty();
+    }
+
+    public ImmutableList<Transaction<BlockSnapshot>> copyTransactions(CaptureType type) {
+        return ImmutableList.copyOf(this.transactionsByType.get(type));
+    }
+
+    public ImmutableList<Transaction<BlockSnapshot>> copyTransactions() {
+        return ImmutableList.copyOf(this.transactions);
+    }
+
+    public List<ChangeBlockEvent> getBlockEvents() {
+        return this.blockEvents;
+    }
+
+    public void clear() {
+        for (List<Transaction<BlockSnapshot>> list : this.transactionsByType.values()) {
+            list.clear();
+        }
+        this.transactions.clear();
+        this.blockEvents.clear();
+    }
+
+}
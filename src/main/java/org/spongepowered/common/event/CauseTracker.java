@@ -84,6 +84,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.block.CapturedBlock;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.entity.PlayerTracker;
@@ -127,8 +128,12 @@ public final class CauseTracker {
     @Nullable private Entity currentTickEntity;
     @Nullable private TileEntity currentTickTileEntity;
     @Nullable private Cause pluginCause;
-    private List<BlockSnapshot> capturedSpongeBlockSnapshots = new ArrayList<>();
+    private List<CapturedBlock> capturedBlocks = new ArrayList<>();
     private List<Transaction<BlockSnapshot>> invalidTransactions = new ArrayList<>();
+    private final List<CaptureBuffer> captureBuffers = new ArrayList<>();
+    private int captureBufferDepth;
+    private final List<EntitySnapshot> capturedEntitySnapshots = new ArrayList<>();
+    private final List<NamedCause> spawnCauses = new ArrayList<>();
     private boolean worldSpawnerRunning;
     private boolean chunkSpawnerRunning;
 
@@ -264,8 +269,8 @@ public void setCurrentTickTileEntity(TileEntity currentTickTileEntity) {
         this.currentTickTileEntity = currentTickTileEntity;
     }
 
-    public List<BlockSnapshot> getCapturedSpongeBlockSnapshots() {
-        return this.capturedSpongeBlockSnapshots;
+    public List<CapturedBlock> getCapturedBlocks() {
+        return this.capturedBlocks;
     }
 
     public List<Transaction<BlockSnapshot>> getInvalidTransactions() {
@@ -305,8 +310,10 @@ public boolean hasPluginCause() {
     }
 
     public void handleEntitySpawns(Cause cause) {
+        // Snapshots and the spawn cause are only needed if someone receives the event
+        final boolean hasListeners = SpongeImpl.hasListeners(SpawnEntityEvent.class);
         Iterator<Entity> iter = this.capturedEntities.iterator();
-        ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
+        this.capturedEntitySnapshots.clear();
         while (iter.hasNext()) {
             Entity currentEntity = iter.next();
             if (this.invalidTransactions != null) {
@@ -335,13 +342,21 @@ public void handleEntitySpawns(Cause cause) {
                     ((IMixinEntity) currentEntity).trackEntityUniqueId(NbtDataUtil.SPONGE_ENTITY_CREATOR, owner.get().getUniqueId());
                 }
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (hasListeners) {
+                this.capturedEntitySnapshots.add(currentEntity.createSnapshot());
+            }
         }
 
-        List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
-        if (entitySnapshots.isEmpty()) {
+        if (!hasListeners) {
+            spawnCapturedEntities(this.capturedEntities.iterator(), cause);
             return;
         }
+
+        if (this.capturedEntitySnapshots.isEmpty()) {
+            return;
+        }
+        List<EntitySnapshot> entitySnapshots = ImmutableList.copyOf(this.capturedEntitySnapshots);
+        this.capturedEntitySnapshots.clear();
         SpawnEntityEvent event;
 
         if (this.worldSpawnerRunning) {
@@ -349,7 +364,8 @@ public void handleEntitySpawns(Cause cause) {
         } else if (this.chunkSpawnerRunning) {
             event = SpongeEventFactory.createSpawnEntityEventChunkLoad(cause, this.capturedEntities, entitySnapshots, this.getWorld());
         } else {
-            List<NamedCause> namedCauses = new ArrayList<>();
+            final List<NamedCause> namedCauses = this.spawnCauses;
+            namedCauses.clear();
             for (Map.Entry<String, Object> entry : cause.getNamedCauses().entrySet()) {
                 if (entry.getKey().equalsIgnoreCase(NamedCause.SOURCE)) {
                     if (!(entry.getValue() instanceof SpawnCause)) {
@@ -362,40 +378,54 @@ public void handleEntitySpawns(Cause cause) {
                 }
             }
             cause = Cause.of(namedCauses);
-            event = SpongeEventFactory.createSpawnEntityEvent(cause, this.capturedEntities, entitySnapshotBuilder.build(), this.getWorld());
+            namedCauses.clear();
+            event = SpongeEventFactory.createSpawnEntityEvent(cause, this.capturedEntities, entitySnapshots, this.getWorld());
         }
 
         if (!(SpongeImpl.postEvent(event))) {
-            Iterator<Entity> iterator = event.getEntities().iterator();
-            while (iterator.hasNext()) {
-                Entity entity = iterator.next();
-                if (entity.isRemoved()) { // Entity removed in an event handler
-                    iterator.remove();
-                    continue;
-                }
-                net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
-                if (nmsEntity instanceof EntityWeatherEffect) {
-                    addWeatherEffect(nmsEntity, cause);
-                } else {
-                    int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
-                    int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
-                    this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
-                    this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
-                    this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
-                    SpongeHooks.logEntitySpawn(cause, nmsEntity);
-                }
-                iterator.remove();
-            }
+            spawnCapturedEntities(event.getEntities().iterator(), cause);
         } else {
             this.capturedEntities.clear();
         }
     }
 
+    private void spawnCapturedEntities(Iterator<Entity> iterator, Cause cause) {
+        while (iterator.hasNext()) {
+            Entity entity = iterator.next();
+            if (entity.isRemoved()) { // Entity removed in an event handler
+                iterator.remove();
+                continue;
+            }
+            net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
+            if (nmsEntity instanceof EntityWeatherEffect) {
+                addWeatherEffect(nmsEntity, cause);
+            } else {
+                int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
+                int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
+                this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
+                this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
+                this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
+                SpongeHooks.logEntitySpawn(cause, nmsEntity);
+            }
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Checks if {@link #handlePostTickCaptures(Cause)} has anything to
+     * process, so callers can avoid creating a cause otherwise.
+     *
+     * @return True if there are captures to process
+     */
+    public boolean hasCaptures() {
+        return !this.capturedEntities.isEmpty() || !this.capturedEntityItems.isEmpty() || !this.capturedBlocks.isEmpty()
+               || StaticMixinHelper.packetPlayer != null;
+    }
+
     public void handlePostTickCaptures(Cause cause) {
         if (this.getMinecraftWorld().isRemote || this.restoringBlocks || this.spawningDeathDrops || cause == null) {
             return;
-        } else if (this.capturedEntities.size() == 0 && this.capturedEntityItems.size() == 0 && this.capturedSpongeBlockSnapshots.size() == 0
-                   && StaticMixinHelper.packetPlayer == null) {
+        } else if (!hasCaptures()) {
             return; // nothing was captured, return
         }
 
@@ -403,9 +433,8 @@ public void handlePostTickCaptures(Cause cause) {
         Packet<?> packetIn = StaticMixinHelper.processingPacket;
 
         // Attempt to find a Player cause if we do not have one
-        if (!cause.first(User.class).isPresent() && !(this.capturedSpongeBlockSnapshots.size() > 0
-                                                      && ((SpongeBlockSnapshot) this.capturedSpongeBlockSnapshots.get(0)).captureType
-                                                         == CaptureType.DECAY)) {
+        if (!cause.first(User.class).isPresent() && !(this.capturedBlocks.size() > 0
+                                                      && this.capturedBlocks.get(0).getCaptureType() == CaptureType.DECAY)) {
             if ((cause.first(BlockSnapshot.class).isPresent() || cause.first(TileEntity.class).isPresent())) {
                 // Check for player at pos of first transaction
                 Optional<BlockSnapshot> snapshot = cause.first(BlockSnapshot.class);
@@ -521,8 +550,10 @@ public void handlePostTickCaptures(Cause cause) {
     }
 
     public void handleDroppedItems(Cause cause) {
+        // Snapshots and the drop cause are only needed if someone receives the event
+        final boolean hasListeners = SpongeImpl.hasListeners(DropItemEvent.class);
         Iterator<Entity> iter = this.capturedEntityItems.iterator();
-        ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
+        this.capturedEntitySnapshots.clear();
         while (iter.hasNext()) {
             Entity currentEntity = iter.next();
             if (this.invalidTransactions != null) {
@@ -563,13 +594,23 @@ public void handleDroppedItems(Cause cause) {
                     }
                 }
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (hasListeners) {
+                this.capturedEntitySnapshots.add(currentEntity.createSnapshot());
+            }
+        }
+
+        if (!hasListeners) {
+            if (!this.capturedEntityItems.isEmpty()) {
+                spawnDroppedItems(this.capturedEntityItems, cause);
+            }
+            return;
         }
 
-        List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
-        if (entitySnapshots.isEmpty()) {
+        if (this.capturedEntitySnapshots.isEmpty()) {
             return;
         }
+        List<EntitySnapshot> entitySnapshots = ImmutableList.copyOf(this.capturedEntitySnapshots);
+        this.capturedEntitySnapshots.clear();
         DropItemEvent event = null;
 
         if (StaticMixinHelper.destructItemDrop) {
@@ -589,43 +630,46 @@ public void handleDroppedItems(Cause cause) {
         }
 
         if (!(SpongeImpl.postEvent(event))) {
-            // Handle player deaths
-            for (Player causePlayer : cause.allOf(Player.class)) {
-                EntityPlayerMP playermp = (EntityPlayerMP) causePlayer;
-                if (playermp.getHealth() <= 0 || playermp.isDead) {
-                    if (!playermp.worldObj.getGameRules().getBoolean("keepInventory")) {
-                        playermp.inventory.clear();
-                    } else {
-                        // don't drop anything if keepInventory is enabled
-                        this.capturedEntityItems.clear();
-                    }
-                }
+            spawnDroppedItems(event instanceof DropItemEvent.Destruct ? ((DropItemEvent.Destruct) event).getEntities()
+                                                                      : ((DropItemEvent.Dispense) event).getEntities(), cause);
+        } else {
+            if (cause.root() == StaticMixinHelper.packetPlayer) {
+                sendItemChangeToPlayer(StaticMixinHelper.packetPlayer);
             }
+            this.capturedEntityItems.clear();
+        }
+    }
 
-            Iterator<Entity> iterator =
-                event instanceof DropItemEvent.Destruct ? ((DropItemEvent.Destruct) event).getEntities().iterator()
-                                                        : ((DropItemEvent.Dispense) event).getEntities().iterator();
-            while (iterator.hasNext()) {
-                Entity entity = iterator.next();
-                if (entity.isRemoved()) { // Entity removed in an event handler
-                    iterator.remove();
-                    continue;
+    private void spawnDroppedItems(List<Entity> items, Cause cause) {
+        // Handle player deaths
+        for (Player causePlayer : cause.allOf(Player.class)) {
+            EntityPlayerMP playermp = (EntityPlayerMP) causePlayer;
+            if (playermp.getHealth() <= 0 || playermp.isDead) {
+                if (!playermp.worldObj.getGameRules().getBoolean("keepInventory")) {
+                    playermp.inventory.clear();
+                } else {
+                    // don't drop anything if keepInventory is enabled
+                    this.capturedEntityItems.clear();
                 }
+            }
+        }
 
-                net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
-                int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
-                int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
-                this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
-                this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
-                this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
-                SpongeHooks.logEntitySpawn(cause, nmsEntity);
+        Iterator<Entity> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            Entity entity = iterator.next();
+            if (entity.isRemoved()) { // Entity removed in an event handler
                 iterator.remove();
+                continue;
             }
-        } else {
-            if (cause.root() == StaticMixinHelper.packetPlayer) {
-                sendItemChangeToPlayer(StaticMixinHelper.packetPlayer);
-            }
-            this.capturedEntityItems.clear();
+
+            net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
+            int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
+            int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
+            this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
+            this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
+            this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
+            SpongeHooks.logEntitySpawn(cause, nmsEntity);
+            iterator.remove();
         }
     }
 
@@ -643,65 +687,63 @@ private boolean addWeatherEffect(net.minecraft.entity.Entity entity, Cause cause
     }
 
     public void handleBlockCaptures(Cause cause) {
+        // Block captures are processed recursively through markAndNotifyBlockPost,
+        // so each depth gets its own buffer
+        final CaptureBuffer buffer = acquireCaptureBuffer();
+        try {
+            handleBlockCaptures(cause, buffer);
+        } finally {
+            releaseCaptureBuffer(buffer);
+        }
+    }
+
+    private CaptureBuffer acquireCaptureBuffer() {
+        if (this.captureBufferDepth == this.captureBuffers.size()) {
+            this.captureBuffers.add(new CaptureBuffer());
+        }
+        return this.captureBuffers.get(this.captureBufferDepth++);
+    }
+
+    private void releaseCaptureBuffer(CaptureBuffer buffer) {
+        buffer.clear();
+        this.captureBufferDepth--;
+    }
+
+    private void handleBlockCaptures(Cause cause, CaptureBuffer buffer) {
         EntityPlayerMP player = StaticMixinHelper.packetPlayer;
         Packet<?> packetIn = StaticMixinHelper.processingPacket;
 
-        ImmutableList<Transaction<BlockSnapshot>> blockBreakTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockModifyTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockPlaceTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockDecayTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockMultiTransactions = null;
-        ImmutableList.Builder<Transaction<BlockSnapshot>> breakBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> placeBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> decayBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> modifyBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> multiBuilder = new ImmutableList.Builder<>();
         ChangeBlockEvent.Break breakEvent = null;
         ChangeBlockEvent.Modify modifyEvent = null;
         ChangeBlockEvent.Place placeEvent = null;
-        List<ChangeBlockEvent> blockEvents = new ArrayList<>();
+        List<ChangeBlockEvent> blockEvents = buffer.getBlockEvents();
 
-        Iterator<BlockSnapshot> iterator = this.capturedSpongeBlockSnapshots.iterator();
-        while (iterator.hasNext()) {
-            SpongeBlockSnapshot blockSnapshot = (SpongeBlockSnapshot) iterator.next();
-            CaptureType captureType = blockSnapshot.captureType;
-            BlockPos pos = VecHelper.toBlockPos(blockSnapshot.getPosition());
+        for (CapturedBlock capturedBlock : this.capturedBlocks) {
+            SpongeBlockSnapshot blockSnapshot = capturedBlock.getSnapshot(this.getMixinWorld());
+            CaptureType captureType = capturedBlock.getCaptureType();
+            BlockPos pos = capturedBlock.getPos();
             IBlockState currentState = this.getMinecraftWorld().getBlockState(pos);
             Transaction<BlockSnapshot> transaction = new Transaction<>(blockSnapshot, this.getMixinWorld().createSpongeBlockSnapshot(currentState, currentState.getBlock()
                 .getActualState(currentState, this.getMinecraftWorld(), pos), pos, 0));
-            if (captureType == CaptureType.BREAK) {
-                breakBuilder.add(transaction);
-            } else if (captureType == CaptureType.DECAY) {
-                decayBuilder.add(transaction);
-            } else if (captureType == CaptureType.PLACE) {
-                placeBuilder.add(transaction);
-            } else if (captureType == CaptureType.MODIFY) {
-                modifyBuilder.add(transaction);
-            }
-            multiBuilder.add(transaction);
-            iterator.remove();
+            buffer.add(captureType, transaction);
         }
+        this.capturedBlocks.clear();
 
-        blockBreakTransactions = breakBuilder.build();
-        blockDecayTransactions = decayBuilder.build();
-        blockModifyTransactions = modifyBuilder.build();
-        blockPlaceTransactions = placeBuilder.build();
-        blockMultiTransactions = multiBuilder.build();
         ChangeBlockEvent changeBlockEvent;
-        if (blockBreakTransactions.size() > 0) {
-            changeBlockEvent = SpongeEventFactory.createChangeBlockEventBreak(cause, this.getWorld(), blockBreakTransactions);
+        if (buffer.hasTransactions(CaptureType.BREAK)) {
+            changeBlockEvent = SpongeEventFactory.createChangeBlockEventBreak(cause, this.getWorld(), buffer.copyTransactions(CaptureType.BREAK));
             SpongeImpl.postEvent(changeBlockEvent);
             breakEvent = (ChangeBlockEvent.Break) changeBlockEvent;
             blockEvents.add(changeBlockEvent);
         }
-        if (blockModifyTransactions.size() > 0) {
-            changeBlockEvent = SpongeEventFactory.createChangeBlockEventModify(cause, this.getWorld(), blockModifyTransactions);
+        if (buffer.hasTransactions(CaptureType.MODIFY)) {
+            changeBlockEvent = SpongeEventFactory.createChangeBlockEventModify(cause, this.getWorld(), buffer.copyTransactions(CaptureType.MODIFY));
             SpongeImpl.postEvent(changeBlockEvent);
             modifyEvent = (ChangeBlockEvent.Modify) changeBlockEvent;
             blockEvents.add(changeBlockEvent);
         }
-        if (blockPlaceTransactions.size() > 0) {
-            changeBlockEvent = SpongeEventFactory.createChangeBlockEventPlace(cause, this.getWorld(), blockPlaceTransactions);
+        if (buffer.hasTransactions(CaptureType.PLACE)) {
+            changeBlockEvent = SpongeEventFactory.createChangeBlockEventPlace(cause, this.getWorld(), buffer.copyTransactions(CaptureType.PLACE));
             SpongeImpl.postEvent(changeBlockEvent);
             placeEvent = (ChangeBlockEvent.Place) changeBlockEvent;
             blockEvents.add(changeBlockEvent);
@@ -722,7 +764,7 @@ public void handleBlockCaptures(Cause cause) {
                 String namedCause = "PlaceEvent" + (count != 0 ? count : "");
                 cause = cause.with(NamedCause.of(namedCause, placeEvent));
             }
-            changeBlockEvent = SpongeEventFactory.createChangeBlockEventPost(cause, this.getWorld(), blockMultiTransactions);
+            changeBlockEvent = SpongeEventFactory.createChangeBlockEventPost(cause, this.getWorld(), buffer.copyTransactions());
             SpongeImpl.postEvent(changeBlockEvent);
             if (changeBlockEvent.isCancelled()) {
                 // Restore original blocks
@@ -750,8 +792,8 @@ public void handleBlockCaptures(Cause cause) {
             }
         }
 
-        if (blockDecayTransactions.size() > 0) {
-            changeBlockEvent = SpongeEventFactory.createChangeBlockEventDecay(cause, this.getWorld(), blockDecayTransactions);
+        if (buffer.hasTransactions(CaptureType.DECAY)) {
+            changeBlockEvent = SpongeEventFactory.createChangeBlockEventDecay(cause, this.getWorld(), buffer.copyTransactions(CaptureType.DECAY));
             SpongeImpl.postEvent(changeBlockEvent);
             blockEvents.add(changeBlockEvent);
         }
@@ -1073,7 +1115,9 @@ public void randomTickBlock(Block block, BlockPos pos, IBlockState state, Random
         this.processingBlockRandomTicks = true;
         this.currentTickBlock = this.getMixinWorld().createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, this.getMinecraftWorld(), pos), pos, 0);
         block.randomTick(this.getMinecraftWorld(), pos, state, random);
-        this.handlePostTickCaptures(Cause.of(NamedCause.source(this.currentTickBlock)));
+        if (hasCaptures()) {
+            this.handlePostTickCaptures(Cause.of(NamedCause.source(this.currentTickBlock)));
+        }
         this.currentTickBlock = null;
         this.processingCaptureCause = false;
         this.processingBlockRandomTicks = false;
@@ -1083,7 +1127,9 @@ public void updateTickBlock(Block block, BlockPos pos, IBlockState state, Random
         this.processingCaptureCause = true;
         this.currentTickBlock = this.getMixinWorld().createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, this.getMinecraftWorld(), pos), pos, 0);
         block.updateTick(this.getMinecraftWorld(), pos, state, rand);
-        this.handlePostTickCaptures(Cause.of(NamedCause.source(this.currentTickBlock)));
+        if (hasCaptures()) {
+            this.handlePostTickCaptures(Cause.of(NamedCause.source(this.currentTickBlock)));
+        }
         this.currentTickBlock = null;
         this.processingCaptureCause = false;
     }
@@ -1188,7 +1234,7 @@ public void markAndNotifyBlockPost(List<Transaction<BlockSnapshot>> transactions
 
             // Handle any additional captures during notify
             // This is to ensure new captures do not leak into next tick with wrong cause
-            if (this.getCapturedSpongeBlockSnapshots().size() > 0 && this.pluginCause == null) {
+            if (this.capturedBlocks.size() > 0 && this.pluginCause == null) {
                 this.handlePostTickCaptures(cause);
             }
 
@@ -0,0 +1,186 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates {@link EventDispatcher} classes which call each listener of a
+ * baked handler set directly, instead of iterating over the handler list
+ * and going through {@link RegisteredListener#handle}. One class is defined
+ * per distinct sequence of listener classes and reused for every handler set
+ * with that shape, the listeners themselves are bound through the
+ * constructor.
+ */
+public final class ClassEventDispatcherFactory {
+
+    /**
+     * Handler sets larger than this are not inlined, to stay well below the
+     * maximum method size.
+     */
+    public static final int MAX_INLINE_LISTENERS = 512;
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final Map<List<Class<?>>, Class<? extends EventDispatcher>> dispatcherClasses = new ConcurrentHashMap<>();
+    private final DefineableClassLoader classLoader;
+    private final String targetPackage;
+
+    public ClassEventDispatcherFactory(String targetPackage, DefineableClassLoader classLoader) {
+        checkNotNull(targetPackage, "targetPackage");
+        checkArgument(!targetPackage.isEmpty(), "targetPackage cannot be empty");
+        this.targetPackage = targetPackage + '.';
+        this.classLoader = checkNotNull(classLoader, "classLoader");
+    }
+
+    public EventDispatcher create(Class<?> eventClass, List<RegisteredListener<?>> handlers) throws Exception {
+        checkArgument(handlers.size() <= MAX_INLINE_LISTENERS, "Too many listeners to inline: %s", handlers.size());
+        RegisteredListener<?>[] listeners = handlers.toArray(new RegisteredListener<?>[handlers.size()]);
+        return this.getDispatcherClass(listeners).getConstructor(RegisteredListener[].class).newInstance((Object) listeners);
+    }
+
+    /**
+     * Gets the dispatcher class for the specified listeners. The generated
+     * code only depends on the number of listeners, classes are shared
+     * between all handler sets with the same listener classes in the same
+     * order so that rebuilding the handler caches doesn't define new classes.
+     */
+    private Class<? extends EventDispatcher> getDispatcherClass(RegisteredListener<?>[] listeners) {
+        List<Class<?>> key = new ArrayList<>(listeners.length);
+        for (RegisteredListener<?> listener : listeners) {
+            key.add(listener.getListener().getClass());
+        }
+        return this.dispatcherClasses.computeIfAbsent(key, listenerClasses -> {
+            String name = this.targetPackage + "Dispatcher_" + listenerClasses.size() + '_' + this.id.incrementAndGet();
+            return this.classLoader.defineClass(name, generateClass(name, listenerClasses.size()));
+        });
+    }
+
+    private static final String BASE_DISPATCHER = Type.getInternalName(EventDispatcher.class);
+    private static final String LISTENER_DESCRIPTOR = Type.getDescriptor(EventListener.class);
+    private static final String LISTENERS_DESCRIPTOR = Type.getDescriptor(RegisteredListener[].class);
+    private static final String DISPATCH_METHOD_DESCRIPTOR = '(' + Type.getDescriptor(Event.class) + ")V";
+    private static final String EXCEPTION_METHOD_DESCRIPTOR = '(' + Type.getDescriptor(Event.class) + "ILjava/lang/Throwable;)V";
+
+    private static byte[] generateClass(String name, int listenerCount) {
+        name = name.replace('.', '/');
+        final String registeredName = Type.getInternalName(RegisteredListener.class);
+        final String listenerName = Type.getInternalName(EventListener.class);
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+        FieldVisitor fv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, BASE_DISPATCHER, null);
+
+        for (int i = 0; i < listenerCount; i++) {
+            fv = cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, LISTENER_DESCRIPTOR, null, null);
+            fv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", '(' + LISTENERS_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKESPECIAL, BASE_DISPATCHER, "<init>", '(' + LISTENERS_DESCRIPTOR + ")V", false);
+            for (int i = 0; i < listenerCount; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitLdcInsn(i);
+                mv.visitInsn(AALOAD);
+                mv.visitTypeInsn(CHECKCAST, registeredName);
+                mv.visitMethodInsn(INVOKEVIRTUAL, registeredName, "getListener", "()" + LISTENER_DESCRIPTOR, false);
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, LISTENER_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "dispatch", DISPATCH_METHOD_DESCRIPTOR, null, null);
+            mv.visitCode();
+            for (int i = 0; i < listenerCount; i++) {
+                Label start = new Label();
+                Label end = new Label();
+                Label handler = new Label();
+                Label next = new Label();
+                mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+                mv.visitLabel(start);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, listenerName, "handle", DISPATCH_METHOD_DESCRIPTOR, true);
+                mv.visitLabel(end);
+                mv.visitJumpInsn(GOTO, next);
+                mv.visitLabel(handler);
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitLdcInsn(i);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKEVIRTUAL, name, "handleException", EXCEPTION_METHOD_DESCRIPTOR, false);
+                mv.visitLabel(next);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+}
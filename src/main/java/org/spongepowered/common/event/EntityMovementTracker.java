@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import com.flowpowered.math.vector.Vector3d;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.MathHelper;
+import org.spongepowered.api.entity.Transform;
+import org.spongepowered.api.world.World;
+
+/**
+ * Holds the position and rotation an entity was last reported at in a
+ * {@link org.spongepowered.api.event.entity.DisplaceEntityEvent.Move}, so
+ * movements below the configured thresholds can be coalesced into a single
+ * event. Kept per entity and reused every tick.
+ */
+public final class EntityMovementTracker {
+
+    private boolean valid;
+    private double x;
+    private double y;
+    private double z;
+    private float pitch;
+    private float yaw;
+
+    public boolean isValid() {
+        return this.valid;
+    }
+
+    /**
+     * Forgets the last reported transform, the next movement will be
+     * reported from the position the entity had at the start of its tick.
+     */
+    public void invalidate() {
+        this.valid = false;
+    }
+
+    public void setToPrevious(Entity entity) {
+        set(entity.prevPosX, entity.prevPosY, entity.prevPosZ, entity.prevRotationPitch, entity.prevRotationYaw);
+    }
+
+    public void setToCurrent(Entity entity) {
+        set(entity.posX, entity.posY, entity.posZ, entity.rotationPitch, entity.rotationYaw);
+    }
+
+    /**
+     * Moves the entity back to the last reported transform, which is the
+     * from-transform of the movement event that was cancelled.
+     *
+     * @param entity The entity
+     */
+    public void revert(Entity entity) {
+        entity.posX = this.x;
+        entity.posY = this.y;
+        entity.posZ = this.z;
+        entity.rotationPitch = this.pitch;
+        entity.rotationYaw = this.yaw;
+    }
+
+    private void set(double x, double y, double z, float pitch, float yaw) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.pitch = pitch;
+        this.yaw = yaw;
+        this.valid = true;
+    }
+
+    /**
+     * Gets whether the entity moved far enough from the last reported
+     * transform to be reported again.
+     *
+     * @param entity The entity
+     * @param minDistance The distance to move before reporting, rotations
+     *     are only reported if this is 0 and blockChangeOnly is false
+     * @param blockChangeOnly Whether only movements into another block
+     *     are reported
+     * @return Whether the movement should be reported
+     */
+    public boolean hasMoved(Entity entity, double minDistance, boolean blockChangeOnly) {
+        if (blockChangeOnly) {
+            return MathHelper.floor_double(this.x) != MathHelper.floor_double(entity.posX)
+                    || MathHelper.floor_double(this.y) != MathHelper.floor_double(entity.posY)
+                    || MathHelper.floor_double(this.z) != MathHelper.floor_double(entity.posZ);
+        }
+        if (minDistance > 0) {
+            double dx = entity.posX - this.x;
+            double dy = entity.posY - this.y;
+            double dz = entity.posZ - this.z;
+            return dx * dx + dy * dy + dz * dz >= minDistance * minDistance;
+        }
+        return this.x != entity.posX || this.y != entity.posY || this.z != entity.posZ
+                || this.pitch != entity.rotationPitch || this.yaw != entity.rotationYaw;
+    }
+
+    public Transform<World> toTransform(World world) {
+        return new Transform<>(world, new Vector3d(this.x, this.y, this.z), new Vector3d(this.pitch, this.yaw, 0));
+    }
+
+}
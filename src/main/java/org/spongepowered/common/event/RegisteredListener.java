@@ -37,6 +37,8 @@
 import java.util.EnumMap;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
     private final PluginContainer plugin;
@@ -72,6 +74,10 @@ public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
 
+    public EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     @Override
     public Object getHandle() {
         if (this.listener instanceof SpongeEventListener) {
@@ -95,11 +101,17 @@ public static final class Cache {
 
         private final List<RegisteredListener<?>> listeners;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
+        @Nullable private final EventDispatcher dispatcher;
 
         private static final Order[] ORDERS = Order.values();
 
         Cache(List<RegisteredListener<?>> listeners) {
+            this(listeners, null);
+        }
+
+        Cache(List<RegisteredListener<?>> listeners, @Nullable EventDispatcher dispatcher) {
             this.listeners = listeners;
+            this.dispatcher = dispatcher;
 
             this.listenersByOrder = Maps.newEnumMap(Order.class);
             for (Order order : ORDERS) {
@@ -118,6 +130,17 @@ public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             return this.listenersByOrder.get(checkNotNull(order, "order"));
         }
 
+        /**
+         * Gets the generated dispatcher for all listeners of this cache, if
+         * dispatchers are enabled and one could be generated.
+         *
+         * @return The dispatcher, or null if the listener list should be used
+         */
+        @Nullable
+        public EventDispatcher getDispatcher() {
+            return this.dispatcher;
+        }
+
     }
 
 }
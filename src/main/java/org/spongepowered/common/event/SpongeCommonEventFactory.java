@@ -94,6 +94,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.gen.PopulatorType;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinContainer;
@@ -103,6 +104,7 @@
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
 import org.spongepowered.common.registry.provider.DirectionFacingProvider;
 import org.spongepowered.common.registry.type.event.InternalSpawnTypes;
+import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.gen.InternalPopulatorTypes;
@@ -630,53 +632,60 @@ public static void handleEntityMovement(net.minecraft.entity.Entity entity) {
         if (entity instanceof Player) {
             return; // this is handled elsewhere
         }
-        if (entity.lastTickPosX != entity.posX || entity.lastTickPosY != entity.posY || entity.lastTickPosZ != entity.posZ
-            || entity.rotationPitch != entity.prevRotationPitch || entity.rotationYaw != entity.prevRotationYaw) {
+        final EntityMovementTracker tracker = ((IMixinEntity) entity).getMovementTracker();
+        final Class<? extends DisplaceEntityEvent.Move> eventClass = entity instanceof Humanoid ? DisplaceEntityEvent.Move.TargetHumanoid.class
+                : entity instanceof Living ? DisplaceEntityEvent.Move.TargetLiving.class : DisplaceEntityEvent.Move.class;
+        if (!SpongeImpl.hasListeners(eventClass)) {
+            // Nobody listens to this kind of entity moving, don't build any event
+            tracker.invalidate();
+            return;
+        }
+        final SpongeConfig.EntityCategory config = SpongeHooks.getActiveConfig(entity.worldObj).getConfig().getEntity();
+        final double minDistance = config.getMovementEventMinDistance();
+        final boolean blockChangeOnly = config.isMovementEventBlockChangeOnly();
+        if (!tracker.isValid() || (minDistance <= 0 && !blockChangeOnly)) {
+            tracker.setToPrevious(entity);
+        }
+        if (tracker.hasMoved(entity, minDistance, blockChangeOnly)) {
             // yes we have a move event.
             final double currentPosX = entity.posX;
             final double currentPosY = entity.posY;
             final double currentPosZ = entity.posZ;
-            final Vector3d currentPositionVector = new Vector3d(currentPosX, currentPosY, currentPosZ);
             final double currentRotPitch = entity.rotationPitch;
             final double currentRotYaw = entity.rotationYaw;
-            Vector3d currentRotationVector = new Vector3d(currentRotPitch, currentRotYaw, 0);
             DisplaceEntityEvent.Move event;
-            Transform<World> previous = new Transform<>(((World) entity.worldObj),
-                    new Vector3d(entity.prevPosX, entity.prevPosY, entity.prevPosZ), new Vector3d(entity.prevRotationPitch, entity.prevRotationYaw,
-                    0));
+            Transform<World> previous = tracker.toTransform((World) entity.worldObj);
             Location<World> currentLocation = new Location<>(((World) entity.worldObj), currentPosX, currentPosY, currentPosZ);
-            Transform<World> current = new Transform<>(currentLocation, currentRotationVector, ((Entity) entity).getScale());
-
-            if (entity instanceof Humanoid) {
-                event = SpongeEventFactory.createDisplaceEntityEventMoveTargetHumanoid(Cause.of(NamedCause.source(entity)), previous, current,
-                        (Humanoid) entity);
-            } else if (entity instanceof Living) {
-                event = SpongeEventFactory.createDisplaceEntityEventMoveTargetLiving(Cause.of(NamedCause.source(entity)), previous, current,
-                        (Living) entity);
+            Transform<World> current = new Transform<>(currentLocation, new Vector3d(currentRotPitch, currentRotYaw, 0), ((Entity) entity).getScale());
+            final Cause cause = Cause.of(NamedCause.source(entity));
+
+            if (eventClass == DisplaceEntityEvent.Move.TargetHumanoid.class) {
+                event = SpongeEventFactory.createDisplaceEntityEventMoveTargetHumanoid(cause, previous, current, (Humanoid) entity);
+            } else if (eventClass == DisplaceEntityEvent.Move.TargetLiving.class) {
+                event = SpongeEventFactory.createDisplaceEntityEventMoveTargetLiving(cause, previous, current, (Living) entity);
             } else {
-                event = SpongeEventFactory.createDisplaceEntityEventMove(Cause.of(NamedCause.source(entity)), previous, current,
-                        (Entity) entity);
+                event = SpongeEventFactory.createDisplaceEntityEventMove(cause, previous, current, (Entity) entity);
             }
             SpongeImpl.postEvent(event);
             if (event.isCancelled()) {
-                entity.posX = entity.lastTickPosX;
-                entity.posY = entity.lastTickPosY;
-                entity.posZ = entity.lastTickPosZ;
-                entity.rotationPitch = entity.prevRotationPitch;
-                entity.rotationYaw = entity.prevRotationYaw;
+                // Back to the from-transform, which may be several ticks old if movements are coalesced
+                tracker.revert(entity);
             } else {
                 Transform<World> worldTransform = event.getToTransform();
-                Vector3d eventPosition = worldTransform.getPosition();
-                Vector3d eventRotation = worldTransform.getRotation();
-                if (!eventPosition.equals(currentPositionVector)) {
-                    entity.posX = eventPosition.getX();
-                    entity.posY = eventPosition.getY();
-                    entity.posZ = eventPosition.getZ();
-                }
-                if (!eventRotation.equals(currentRotationVector)) {
-                    entity.rotationPitch = (float) currentRotationVector.getX();
-                    entity.rotationYaw = (float) currentRotationVector.getY();
+                if (worldTransform != current) {
+                    Vector3d eventPosition = worldTransform.getPosition();
+                    Vector3d eventRotation = worldTransform.getRotation();
+                    if (eventPosition.getX() != currentPosX || eventPosition.getY() != currentPosY || eventPosition.getZ() != currentPosZ) {
+                        entity.posX = eventPosition.getX();
+                        entity.posY = eventPosition.getY();
+                        entity.posZ = eventPosition.getZ();
+                    }
+                    if (eventRotation.getX() != currentRotPitch || eventRotation.getY() != currentRotYaw) {
+                        entity.rotationPitch = (float) eventRotation.getX();
+                        entity.rotationYaw = (float) eventRotation.getY();
+                    }
                 }
+                tracker.setToCurrent(entity);
                 //entity.setPositionAndRotation(position.getX(), position.getY(), position.getZ(), rotation.getFloorX(), rotation.getFloorY());
                 /*
                 Some thoughts from gabizou: The interesting thing here is that while this is only called
@@ -52,10 +52,14 @@
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -68,6 +72,8 @@ public class SpongeEventManager implements EventManager {
     private final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
     private final AnnotatedEventListener.Factory handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
             new FilterFactory("org.spongepowered.common.event.filters", classLoader), classLoader);
+    private final ClassEventDispatcherFactory dispatcherFactory = new ClassEventDispatcherFactory("org.spongepowered.common.event.dispatcher",
+            this.classLoader);
     private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
     private final Set<Object> registeredListeners = Sets.newHashSet();
 
@@ -84,9 +90,27 @@ public RegisteredListener.Cache load(Class<? extends Event> eventClass) throws E
                 }
             });
 
+    /**
+     * A cache of whether any handler may receive an event of a type, see
+     * {@link #hasListeners(Class)}.
+     * <p>The cache is invalidated together with {@link #handlersCache}.</p>
+     */
+    private final Map<Class<?>, Boolean> hasListenersCache = new ConcurrentHashMap<>();
+
+    private final boolean useDispatchers;
+
+    // Number of posts by event class, only counted while metrics are enabled
+    private final Map<Class<?>, LongAdder> postCounts = new ConcurrentHashMap<>();
+    private volatile boolean countPosts;
+
     @Inject
     public SpongeEventManager(PluginManager pluginManager) {
+        this(pluginManager, SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useGeneratedEventDispatchers());
+    }
+
+    public SpongeEventManager(PluginManager pluginManager, boolean useDispatchers) {
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
+        this.useDispatchers = useDispatchers;
     }
 
     RegisteredListener.Cache bakeHandlers(Class<?> rootEvent) {
@@ -103,7 +127,21 @@ RegisteredListener.Cache bakeHandlers(Class<?> rootEvent) {
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        return new RegisteredListener.Cache(handlers, createDispatcher(rootEvent, handlers));
+    }
+
+    @Nullable
+    private EventDispatcher createDispatcher(Class<?> rootEvent, List<RegisteredListener<?>> handlers) {
+        if (!this.useDispatchers || handlers.isEmpty() || handlers.size() > ClassEventDispatcherFactory.MAX_INLINE_LISTENERS) {
+            return null;
+        }
+
+        try {
+            return this.dispatcherFactory.create(rootEvent, handlers);
+        } catch (Exception e) {
+            SpongeImpl.getLogger().error("Failed to generate event dispatcher for {}, falling back to the listener list", rootEvent.getName(), e);
+            return null;
+        }
     }
 
     private static boolean isValidHandler(Method method) {
@@ -134,6 +172,7 @@ private void register(List<RegisteredListener<?>> handlers) {
 
             if (changed) {
                 this.handlersCache.invalidateAll();
+                this.hasListenersCache.clear();
             }
         }
     }
@@ -230,6 +269,7 @@ private void unregister(Predicate<RegisteredListener<?>> unregister) {
 
             if (changed) {
                 this.handlersCache.invalidateAll();
+                this.hasListenersCache.clear();
             }
         }
     }
@@ -247,6 +287,38 @@ public void unregisterPluginListeners(Object pluginObj) {
         unregister(handler -> plugin.equals(handler.getPlugin()));
     }
 
+    /**
+     * Checks whether any registered handler could receive an event of the
+     * given type, either because it listens to the type or one of its
+     * supertypes, or to one of its subtypes which may be posted instead.
+     *
+     * <p>Callers may use this to avoid constructing causes, snapshots and
+     * the event itself if nobody would receive it. Implementations which
+     * also forward events to other event buses must override this.</p>
+     *
+     * @param eventClass The event type
+     * @return True if a handler may receive the event
+     */
+    public boolean hasListeners(Class<?> eventClass) {
+        Boolean hasListeners = this.hasListenersCache.get(checkNotNull(eventClass, "eventClass"));
+        if (hasListeners != null) {
+            return hasListeners;
+        }
+
+        synchronized (this.lock) {
+            hasListeners = false;
+            for (Class<?> type : this.handlersByEvent.keySet()) {
+                if (type.isAssignableFrom(eventClass) || eventClass.isAssignableFrom(type)) {
+                    hasListeners = true;
+                    break;
+                }
+            }
+            // Stored while holding the lock so a concurrent registration can't be missed
+            this.hasListenersCache.put(eventClass, hasListeners);
+        }
+        return hasListeners;
+    }
+
     protected RegisteredListener.Cache getHandlerCache(Event event) {
         return this.handlersCache.getUnchecked(checkNotNull(event, "event").getClass());
     }
@@ -264,9 +336,38 @@ protected static boolean post(Event event, List<RegisteredListener<?>> handlers)
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
+    public void setCountPosts(boolean countPosts) {
+        this.countPosts = countPosts;
+    }
+
+    public Map<Class<?>, LongAdder> getPostCounts() {
+        return Collections.unmodifiableMap(this.postCounts);
+    }
+
+    private void countPost(Event event) {
+        LongAdder count = this.postCounts.get(event.getClass());
+        if (count == null) {
+            final LongAdder newCount = new LongAdder();
+            count = this.postCounts.putIfAbsent(event.getClass(), newCount);
+            if (count == null) {
+                count = newCount;
+            }
+        }
+        count.increment();
+    }
+
     @Override
     public boolean post(Event event) {
-        return post(event, getHandlerCache(event).getListeners());
+        if (this.countPosts) {
+            countPost(event);
+        }
+        RegisteredListener.Cache cache = getHandlerCache(event);
+        EventDispatcher dispatcher = cache.getDispatcher();
+        if (dispatcher != null) {
+            dispatcher.dispatch(event);
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        }
+        return post(event, cache.getListeners());
     }
     
     public boolean post(Event event, boolean allowClientThread) {
@@ -274,6 +375,9 @@ public boolean post(Event event, boolean allowClientThread) {
     }
 
     public boolean post(Event event, Order order) {
+        if (this.countPosts) {
+            countPost(event);
+        }
         return post(event, getHandlerCache(event).getListenersByOrder(order));
     }
 
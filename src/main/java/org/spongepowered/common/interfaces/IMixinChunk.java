@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.interfaces;
 
+import gnu.trove.map.TIntIntMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.BlockPos;
@@ -31,23 +32,58 @@
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerStore;
 
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface IMixinChunk {
 
     Cause getCurrentPopulateCause();
 
-    Map<Short, PlayerTracker> getTrackedShortPlayerPositions();
-
-    Map<Integer, PlayerTracker> getTrackedIntPlayerPositions();
+    PlayerTrackerStore getTrackedBlockPositions();
 
+    /**
+     * Gets the owner of the block. An offline owner which is not cached yet
+     * is looked up from user storage on the calling thread.
+     *
+     * @param pos The block position
+     * @return The owner, if any
+     */
     Optional<User> getBlockOwner(BlockPos pos);
 
+    /**
+     * Gets the notifier of the block. An offline notifier which is not
+     * cached yet is looked up from user storage on the calling thread.
+     *
+     * @param pos The block position
+     * @return The notifier, if any
+     */
     Optional<User> getBlockNotifier(BlockPos pos);
 
+    Optional<UUID> getBlockOwnerUniqueId(BlockPos pos);
+
+    Optional<UUID> getBlockNotifierUniqueId(BlockPos pos);
+
+    /**
+     * Gets the owner of the block, resolving them in the background if they
+     * are neither online nor cached.
+     *
+     * @param pos The block position
+     * @return The future owner
+     */
+    CompletableFuture<Optional<User>> getBlockOwnerAsync(BlockPos pos);
+
+    /**
+     * Gets the notifier of the block, resolving them in the background if
+     * they are neither online nor cached.
+     *
+     * @param pos The block position
+     * @return The future notifier
+     */
+    CompletableFuture<Optional<User>> getBlockNotifierAsync(BlockPos pos);
+
     IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState currentState, BlockSnapshot newBlockSnapshot);
 
     void setBlockNotifier(BlockPos pos, UUID uuid);
@@ -56,8 +92,21 @@ public interface IMixinChunk {
 
     void addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType);
 
-    void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPlayerPositions);
+    /**
+     * Gets the number of entities in this chunk by entity type id. The map
+     * is updated as entities enter and leave the chunk.
+     *
+     * @return The entity counts, not to be modified
+     */
+    TIntIntMap getEntityTypeCounts();
 
-    void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
+    /**
+     * Gets the number of tile entities in this chunk by the id of the block
+     * they were placed with. The map is updated as tile entities are added
+     * and removed.
+     *
+     * @return The tile entity counts, not to be modified
+     */
+    TIntIntMap getTileEntityTypeCounts();
 
 }
@@ -83,4 +83,20 @@ default NBTTagCompound getSpongeData() {
 
     void markDirty();
 
+    /**
+     * Gets the id of the block this tile entity is counted under by the chunk
+     * containing it.
+     *
+     * @return The counted block id, or -1 if the tile entity is not counted
+     */
+    int getCountedBlockId();
+
+    /**
+     * Sets the id of the block this tile entity is counted under by the chunk
+     * containing it.
+     *
+     * @param blockId The counted block id, or -1 if no longer counted
+     */
+    void setCountedBlockId(int blockId);
+
 }
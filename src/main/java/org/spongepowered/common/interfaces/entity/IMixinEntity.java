@@ -31,6 +31,7 @@
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.event.EntityMovementTracker;
 
 import java.util.List;
 import java.util.Optional;
@@ -111,4 +112,12 @@ default void supplyVanillaManipulators(List<DataManipulator<?, ?>> manipulators)
 
     void setDisplayName(@Nullable Text displayName);
 
+    EntityMovementTracker getMovementTracker();
+
+    /**
+     * Applies the rotation set through the API during this tick, after the
+     * entity update which may have overwritten it.
+     */
+    void applyPendingRotation();
+
 }
@@ -28,6 +28,8 @@
 
 import java.util.Locale;
 
+import javax.annotation.Nullable;
+
 public interface IMixinText {
 
     IChatComponent toComponent();
@@ -36,6 +38,26 @@ public interface IMixinText {
 
     String toJson();
 
+    /**
+     * Gets the component sent for this text with the given chat type, which
+     * is shared and must not be modified. Use {@link #toComponent()} to get
+     * a mutable copy.
+     *
+     * @param type The chat type id
+     * @return The shared component
+     */
+    IChatComponent getSharedComponent(byte type);
+
+    /**
+     * Gets the encoded body of a chat packet sending this text, cached per
+     * chat type so a broadcast encodes it only once.
+     *
+     * @param type The chat type id
+     * @return The encoded packet body, or null if it can't be encoded
+     */
+    @Nullable
+    byte[] toChatPacket(byte type);
+
     String getLegacyFormatting();
 
     String toLegacy(char code);
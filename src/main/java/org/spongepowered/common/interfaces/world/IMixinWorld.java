@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.interfaces.world;
 
-import com.flowpowered.math.vector.Vector3d;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.command.ICommand;
@@ -33,6 +32,7 @@
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.data.Transaction;
 import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.event.CauseTracker;
 import org.spongepowered.common.world.CaptureType;
@@ -40,6 +40,7 @@
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
 
 import java.util.List;
+import java.util.UUID;
 
 import javax.annotation.Nullable;
 
@@ -51,14 +52,15 @@ public interface IMixinWorld {
 
     BlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag);
 
+    SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag, @Nullable UUID creator,
+            @Nullable UUID notifier);
+
     void updateWorldGenerator();
 
     long getWeatherStartTime();
 
     void setWeatherStartTime(long weatherStartTime);
 
-    void addEntityRotationUpdate(net.minecraft.entity.Entity entity, Vector3d rotation);
-
     @Nullable
     EntityPlayer getClosestPlayerToEntityWhoAffectsSpawning(net.minecraft.entity.Entity entity, double d1tance);
 
@@ -29,6 +29,7 @@
 import org.spongepowered.api.world.DimensionType;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.SpongeConfig.WorldConfig;
+import org.spongepowered.common.entity.TrackedUserCache;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -43,6 +44,8 @@ public interface IMixinWorldInfo {
 
     Optional<UUID> getUniqueIdForIndex(int index);
 
+    TrackedUserCache getTrackedUserCache();
+
     int getDimensionId();
 
     boolean getIsMod();
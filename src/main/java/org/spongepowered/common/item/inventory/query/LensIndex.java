@@ -0,0 +1,318 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory.query;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.spongepowered.api.item.inventory.Inventory;
+import org.spongepowered.api.item.inventory.InventoryProperty;
+import org.spongepowered.common.item.inventory.lens.Fabric;
+import org.spongepowered.common.item.inventory.lens.Lens;
+import org.spongepowered.common.item.inventory.lens.impl.ObservableLens;
+import org.spongepowered.common.item.inventory.lens.slots.SlotLens;
+import org.spongepowered.common.item.inventory.observer.InventoryEventArgs;
+import org.spongepowered.common.util.observer.Observer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * Immutable index over a lens tree, mapping lens adapter types and child
+ * properties to the (parent, child) edges which carry them. The index lets a
+ * {@link Query} visit only the branches of the tree which can contain matches
+ * instead of evaluating its strategy against every lens.
+ * 
+ * <p>Indices are built lazily and attached to the root lens as an observer, a
+ * change to the root's children discards the index so that it is rebuilt on
+ * the next query.</p>
+ *
+ * @param <TInventory>
+ * @param <TStack>
+ */
+public final class LensIndex<TInventory, TStack> {
+
+    /**
+     * A parent lens and one of its direct children
+     */
+    static final class Edge<TInventory, TStack> {
+        
+        final Lens<TInventory, TStack> parent;
+        
+        final Lens<TInventory, TStack> child;
+        
+        Edge(Lens<TInventory, TStack> parent, Lens<TInventory, TStack> child) {
+            this.parent = parent;
+            this.child = child;
+        }
+        
+    }
+    
+    /**
+     * Set of edges selected from an index, along with every lens which has a
+     * selected edge somewhere beneath it.
+     */
+    public static final class Selection<TInventory, TStack> {
+        
+        private final LensIndex<TInventory, TStack> index;
+        
+        private final Map<Lens<TInventory, TStack>, Set<Lens<TInventory, TStack>>> matches = Maps.newIdentityHashMap();
+        
+        private final Set<Lens<TInventory, TStack>> branches = Sets.newIdentityHashSet();
+        
+        Selection(LensIndex<TInventory, TStack> index) {
+            this.index = index;
+        }
+        
+        void add(Lens<TInventory, TStack> parent, Lens<TInventory, TStack> child) {
+            Set<Lens<TInventory, TStack>> children = this.matches.get(parent);
+            if (children == null) {
+                children = Sets.newIdentityHashSet();
+                this.matches.put(parent, children);
+            }
+            children.add(child);
+            this.addBranch(parent);
+        }
+        
+        private void addBranch(Lens<TInventory, TStack> lens) {
+            if (!this.branches.add(lens)) {
+                return;
+            }
+            for (Lens<TInventory, TStack> parent : this.index.getParents(lens)) {
+                this.addBranch(parent);
+            }
+        }
+        
+        public boolean isEmpty() {
+            return this.matches.isEmpty();
+        }
+        
+        /**
+         * Returns true if the specified lens has a selected edge somewhere in
+         * its subtree.
+         */
+        public boolean isBranch(Lens<TInventory, TStack> lens) {
+            return this.branches.contains(lens);
+        }
+        
+        /**
+         * Returns true if the specified edge was selected.
+         */
+        public boolean matches(Lens<TInventory, TStack> parent, Lens<TInventory, TStack> child) {
+            Set<Lens<TInventory, TStack>> children = this.matches.get(parent);
+            return children != null && children.contains(child);
+        }
+        
+    }
+    
+    /**
+     * Observer attached to the root lens which holds its index
+     */
+    private static final class Holder<TInventory, TStack> implements Observer<InventoryEventArgs> {
+        
+        private final Lens<TInventory, TStack> root;
+        
+        private LensIndex<TInventory, TStack> index;
+        
+        Holder(Lens<TInventory, TStack> root) {
+            this.root = root;
+        }
+        
+        LensIndex<TInventory, TStack> get() {
+            if (this.index == null) {
+                this.index = new LensIndex<TInventory, TStack>(this.root);
+            }
+            return this.index;
+        }
+        
+        @Override
+        public void notify(Object source, InventoryEventArgs eventArgs) {
+            if (eventArgs.type == InventoryEventArgs.Type.LENS_ADDED || eventArgs.type == InventoryEventArgs.Type.LENS_REMOVED
+                    || eventArgs.type == InventoryEventArgs.Type.LENS_INVALIDATED) {
+                this.index = null;
+            }
+        }
+        
+    }
+    
+    private final Map<Lens<TInventory, TStack>, List<Lens<TInventory, TStack>>> parents;
+    
+    private final ListMultimap<Class<? extends Inventory>, Lens<TInventory, TStack>> lensesByType;
+    
+    private final ListMultimap<InventoryProperty<?, ?>, Edge<TInventory, TStack>> edgesByProperty;
+    
+    private final List<Edge<TInventory, TStack>> slotEdges;
+    
+    LensIndex(Lens<TInventory, TStack> root) {
+        Map<Lens<TInventory, TStack>, ImmutableList.Builder<Lens<TInventory, TStack>>> parents = Maps.newIdentityHashMap();
+        ImmutableListMultimap.Builder<Class<? extends Inventory>, Lens<TInventory, TStack>> lensesByType = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<InventoryProperty<?, ?>, Edge<TInventory, TStack>> edgesByProperty = ImmutableListMultimap.builder();
+        ImmutableList.Builder<Edge<TInventory, TStack>> slotEdges = ImmutableList.builder();
+        
+        this.walk(root, parents, lensesByType, edgesByProperty, slotEdges);
+        
+        Map<Lens<TInventory, TStack>, List<Lens<TInventory, TStack>>> parentLists = Maps.newIdentityHashMap();
+        for (Map.Entry<Lens<TInventory, TStack>, ImmutableList.Builder<Lens<TInventory, TStack>>> entry : parents.entrySet()) {
+            parentLists.put(entry.getKey(), entry.getValue().build());
+        }
+        this.parents = Collections.unmodifiableMap(parentLists);
+        this.lensesByType = lensesByType.build();
+        this.edgesByProperty = edgesByProperty.build();
+        this.slotEdges = slotEdges.build();
+    }
+
+    private void walk(Lens<TInventory, TStack> lens, Map<Lens<TInventory, TStack>, ImmutableList.Builder<Lens<TInventory, TStack>>> parents,
+            ImmutableListMultimap.Builder<Class<? extends Inventory>, Lens<TInventory, TStack>> lensesByType,
+            ImmutableListMultimap.Builder<InventoryProperty<?, ?>, Edge<TInventory, TStack>> edgesByProperty,
+            ImmutableList.Builder<Edge<TInventory, TStack>> slotEdges) {
+        for (Lens<TInventory, TStack> child : lens.getChildren()) {
+            if (child == null) {
+                continue;
+            }
+            
+            Edge<TInventory, TStack> edge = new Edge<TInventory, TStack>(lens, child);
+            try {
+                for (InventoryProperty<?, ?> property : lens.getProperties(child)) {
+                    edgesByProperty.put(property, edge);
+                }
+            } catch (NoSuchElementException ex) {
+                // Not a direct descendant as far as the parent is concerned
+            }
+            if (child instanceof SlotLens) {
+                slotEdges.add(edge);
+            }
+            
+            ImmutableList.Builder<Lens<TInventory, TStack>> childParents = parents.get(child);
+            if (childParents != null) {
+                // Lens is shared between several parents, its subtree was already indexed
+                childParents.add(lens);
+                continue;
+            }
+            childParents = ImmutableList.builder();
+            childParents.add(lens);
+            parents.put(child, childParents);
+            
+            lensesByType.put(child.getAdapterType(), child);
+            this.walk(child, parents, lensesByType, edgesByProperty, slotEdges);
+        }
+    }
+    
+    List<Lens<TInventory, TStack>> getParents(Lens<TInventory, TStack> lens) {
+        List<Lens<TInventory, TStack>> lensParents = this.parents.get(lens);
+        return lensParents != null ? lensParents : Collections.<Lens<TInventory, TStack>>emptyList();
+    }
+    
+    /**
+     * Select every edge whose child lens has an adapter type assignable to
+     * one of the specified classes.
+     */
+    public Selection<TInventory, TStack> selectByClass(Collection<Class<?>> classes) {
+        Selection<TInventory, TStack> selection = new Selection<TInventory, TStack>(this);
+        for (Class<? extends Inventory> adapterType : this.lensesByType.keySet()) {
+            if (!LensIndex.isAssignable(classes, adapterType)) {
+                continue;
+            }
+            for (Lens<TInventory, TStack> lens : this.lensesByType.get(adapterType)) {
+                for (Lens<TInventory, TStack> parent : this.getParents(lens)) {
+                    selection.add(parent, lens);
+                }
+            }
+        }
+        return selection;
+    }
+    
+    /**
+     * Select every edge which the parent lens tags with one of the specified
+     * properties.
+     */
+    public Selection<TInventory, TStack> selectByProperty(Collection<InventoryProperty<?, ?>> properties) {
+        Selection<TInventory, TStack> selection = new Selection<TInventory, TStack>(this);
+        for (InventoryProperty<?, ?> property : properties) {
+            for (Edge<TInventory, TStack> edge : this.edgesByProperty.get(property)) {
+                selection.add(edge.parent, edge.child);
+            }
+        }
+        return selection;
+    }
+    
+    /**
+     * Select the slot edges matched by the supplied strategy. Slot contents
+     * are not indexed since they change underneath the lens tree, the
+     * strategy is evaluated once per slot edge instead of once per lens.
+     */
+    public Selection<TInventory, TStack> selectSlots(QueryStrategy<TInventory, TStack, ?> strategy, Fabric<TInventory> inventory) {
+        Selection<TInventory, TStack> selection = new Selection<TInventory, TStack>(this);
+        for (Edge<TInventory, TStack> edge : this.slotEdges) {
+            if (strategy.matches(edge.child, edge.parent, inventory)) {
+                selection.add(edge.parent, edge.child);
+            }
+        }
+        return selection;
+    }
+    
+    private static boolean isAssignable(Collection<Class<?>> classes, Class<?> type) {
+        for (Class<?> candidate : classes) {
+            if (candidate.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Get the index for the specified root lens, building it if required.
+     * Returns null if the lens cannot carry an index.
+     * 
+     * @param root root lens
+     * @return index for the lens tree
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static <TInventory, TStack> LensIndex<TInventory, TStack> of(Lens<TInventory, TStack> root) {
+        if (!(root instanceof ObservableLens)) {
+            return null;
+        }
+        
+        ObservableLens<TInventory, TStack> observable = (ObservableLens<TInventory, TStack>) root;
+        for (Observer<InventoryEventArgs> observer : observable.getObservers()) {
+            if (observer instanceof Holder) {
+                return ((Holder<TInventory, TStack>) observer).get();
+            }
+        }
+        
+        Holder<TInventory, TStack> holder = new Holder<TInventory, TStack>(root);
+        observable.addObserver(holder);
+        return holder.get();
+    }
+    
+}
@@ -54,6 +54,8 @@
 import java.util.Collection;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 public class Query<TInventory, TStack> {
     
     public static enum Type {
@@ -127,8 +129,38 @@ public Inventory execute(ResultAdapterProvider<TInventory, TStack> resultProvide
             return this.adapter;
         }
         
+        LensIndex.Selection<TInventory, TStack> selection = this.select();
+        if (selection != null) {
+            return this.toResult(resultProvider, this.indexedSearch(this.lens, selection));
+        }
+        
         return this.toResult(resultProvider, this.depthFirstSearch(this.lens));
     }
+    
+    /**
+     * Select the matching edges from the lens index, returns null if the
+     * strategy cannot be served by the index.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private LensIndex.Selection<TInventory, TStack> select() {
+        Class<?> strategyClass = this.strategy.getClass();
+        if (strategyClass != ClassStrategy.class && strategyClass != PropertyStrategy.class && strategyClass != ItemTypeStrategy.class) {
+            return null;
+        }
+        
+        LensIndex<TInventory, TStack> index = LensIndex.of(this.lens);
+        if (index == null) {
+            return null;
+        }
+        
+        if (strategyClass == ClassStrategy.class) {
+            return index.selectByClass(((ClassStrategy<TInventory, TStack>) this.strategy).getClasses());
+        } else if (strategyClass == PropertyStrategy.class) {
+            return index.selectByProperty(((PropertyStrategy<TInventory, TStack>) this.strategy).getProperties());
+        }
+        return index.selectSlots(this.strategy, this.inventory);
+    }
 
     @SuppressWarnings("unchecked")
     private Inventory toResult(ResultAdapterProvider<TInventory, TStack> resultProvider, MutableLensSet<TInventory, TStack> matches) {
@@ -170,6 +202,32 @@ private MutableLensSet<TInventory, TStack> depthFirstSearch(Lens<TInventory, TSt
         return this.reduce(lens, matches);
     }
 
+    private MutableLensSet<TInventory, TStack> indexedSearch(Lens<TInventory, TStack> lens, LensIndex.Selection<TInventory, TStack> selection) {
+        MutableLensSet<TInventory, TStack> matches = new MutableLensSetImpl<TInventory, TStack>(true);
+        if (selection.isEmpty()) {
+            return matches;
+        }
+        
+        for (Lens<TInventory, TStack> child : lens.getChildren()) {
+            if (child == null) {
+                continue;
+            }
+            if (selection.isBranch(child) && child.getChildren().size() > 0) {
+                matches.addAll(this.indexedSearch(child, selection));
+            }
+            if (selection.matches(lens, child)) {
+                matches.add(child);
+            }
+        }
+        
+        // Only a single match or no matches
+        if (matches.size() < 2) {
+            return matches;
+        }
+
+        return this.reduce(lens, matches);
+    }
+
     private MutableLensSet<TInventory, TStack> reduce(Lens<TInventory, TStack> lens, MutableLensSet<TInventory, TStack> matches) {
         if (lens.getSlots().equals(this.getSlots(matches))) {
             matches.clear();
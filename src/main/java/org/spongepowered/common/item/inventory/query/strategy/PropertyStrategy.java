@@ -44,6 +44,10 @@
         return this;
     }
     
+    public Set<InventoryProperty<?, ?>> getProperties() {
+        return this.properties;
+    }
+    
     @Override
     public boolean matches(Lens<TInventory, TStack> lens, Lens<TInventory, TStack> parent, Fabric<TInventory> inventory) {
         if (this.properties.isEmpty()) {
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Appends samples to one file per day and deletes the oldest files beyond
+ * the configured limit. Every metric family is described once per file.
+ */
+final class MetricsFileWriter {
+
+    private static final String PREFIX = "metrics-";
+    private static final String SUFFIX = ".prom";
+    private static final String TYPE_PREFIX = "# TYPE ";
+
+    private final Path directory;
+    private final int maxFiles;
+    private final Set<String> described = new HashSet<>();
+    private LocalDate currentDate;
+
+    MetricsFileWriter(Path directory, int maxFiles) {
+        this.directory = directory;
+        this.maxFiles = Math.max(1, maxFiles);
+    }
+
+    void write(MetricsWriter writer) {
+        final LocalDate date = Instant.ofEpochMilli(writer.getTimestamp()).atZone(ZoneId.systemDefault()).toLocalDate();
+        final Path file = this.directory.resolve(PREFIX + date + SUFFIX);
+        try {
+            if (!date.equals(this.currentDate)) {
+                Files.createDirectories(this.directory);
+                this.currentDate = date;
+                this.readDescribed(file);
+                this.deleteOldFiles(file);
+            }
+            Files.write(file, writer.render(true, this.described).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not write metrics to {}", this.directory, e);
+        }
+    }
+
+    // The file may have been started before a restart
+    private void readDescribed(Path file) throws IOException {
+        this.described.clear();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(TYPE_PREFIX)) {
+                    final int end = line.indexOf(' ', TYPE_PREFIX.length());
+                    this.described.add(end < 0 ? line.substring(TYPE_PREFIX.length()) : line.substring(TYPE_PREFIX.length(), end));
+                }
+            }
+        }
+    }
+
+    private void deleteOldFiles(Path currentFile) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : stream) {
+                if (!file.equals(currentFile)) {
+                    files.add(file);
+                }
+            }
+        }
+        // ISO dates sort in chronological order. Keep room for the current file.
+        Collections.sort(files);
+        for (int i = 0; i < files.size() - (this.maxFiles - 1); i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+}
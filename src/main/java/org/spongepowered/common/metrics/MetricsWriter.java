@@ -0,0 +1,189 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * Collects metric samples and renders them in the Prometheus text exposition
+ * format.
+ */
+public final class MetricsWriter {
+
+    public static final String COUNTER = "counter";
+    public static final String GAUGE = "gauge";
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    private final List<Family> families = Lists.newArrayList();
+    private final long timestamp = System.currentTimeMillis();
+    private Family current;
+
+    /**
+     * Starts a new metric family. All following samples belong to it.
+     *
+     * @param name The metric name
+     * @param type The metric type, {@link #COUNTER} or {@link #GAUGE}
+     * @param help The description of the metric
+     * @return This writer, for chaining
+     */
+    public MetricsWriter family(String name, String type, String help) {
+        checkArgument(NAME_PATTERN.matcher(name).matches(), "Invalid metric name: %s", name);
+        this.current = new Family(name, type, help);
+        this.families.add(this.current);
+        return this;
+    }
+
+    /**
+     * Adds a sample to the current family.
+     *
+     * @param value The value of the sample
+     * @param labels Alternating label names and values
+     * @return This writer, for chaining
+     */
+    public MetricsWriter sample(double value, String... labels) {
+        checkArgument(this.current != null, "No metric family started");
+        checkArgument(labels.length % 2 == 0, "Labels must be name and value pairs");
+        final StringBuilder builder = new StringBuilder(this.current.name);
+        if (labels.length != 0) {
+            builder.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i != 0) {
+                    builder.append(',');
+                }
+                builder.append(labels[i]).append("=\"");
+                escape(builder, labels[i + 1], true);
+                builder.append('"');
+            }
+            builder.append('}');
+        }
+        builder.append(' ').append(format(value));
+        this.current.samples.add(builder.toString());
+        return this;
+    }
+
+    /**
+     * Gets the time the samples were collected at.
+     *
+     * @return The collection time in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Renders all samples.
+     *
+     * @param withTimestamps Whether to append the collection time to every
+     *     sample, as done for the on-disk series
+     * @return The rendered samples
+     */
+    public String render(boolean withTimestamps) {
+        return render(withTimestamps, null);
+    }
+
+    /**
+     * Renders all samples, only describing the families which were not
+     * described before.
+     *
+     * @param withTimestamps Whether to append the collection time to every
+     *     sample, as done for the on-disk series
+     * @param described The names of the families which were already
+     *     described, the families described now are added to it, or null to
+     *     describe all families
+     * @return The rendered samples
+     */
+    String render(boolean withTimestamps, @Nullable Set<String> described) {
+        final StringBuilder builder = new StringBuilder(4096);
+        for (Family family : this.families) {
+            if (family.samples.isEmpty()) {
+                continue;
+            }
+            if (described == null || described.add(family.name)) {
+                builder.append("# HELP ").append(family.name).append(' ');
+                escape(builder, family.help, false);
+                builder.append('\n');
+                builder.append("# TYPE ").append(family.name).append(' ').append(family.type).append('\n');
+            }
+            for (String sample : family.samples) {
+                builder.append(sample);
+                if (withTimestamps) {
+                    builder.append(' ').append(this.timestamp);
+                }
+                builder.append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static void escape(StringBuilder builder, String value, boolean quotes) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\\') {
+                builder.append("\\\\");
+            } else if (c == '\n') {
+                builder.append("\\n");
+            } else if (c == '"' && quotes) {
+                builder.append("\\\"");
+            } else {
+                builder.append(c);
+            }
+        }
+    }
+
+    private static final class Family {
+
+        final String name;
+        final String type;
+        final String help;
+        final List<String> samples = Lists.newArrayList();
+
+        Family(String name, String type, String help) {
+            this.name = name;
+            this.type = type;
+            this.help = help;
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Tick times, player count and memory usage of the server.
+ */
+final class ServerMetricsSource implements MetricsSource {
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        final MinecraftServer server = MinecraftServer.getServer();
+        final long[] tickTimes = server.tickTimeArray;
+        long total = 0;
+        long max = 0;
+        for (long tickTime : tickTimes) {
+            total += tickTime;
+            max = Math.max(max, tickTime);
+        }
+        final double mean = total / (double) tickTimes.length;
+
+        writer.family("sponge_server_ticks_total", MetricsWriter.COUNTER, "Number of ticks run since the server started")
+                .sample(server.getTickCounter());
+        writer.family("sponge_server_tick_seconds", MetricsWriter.GAUGE, "Duration of the last 100 ticks")
+                .sample(mean / 1e9, "stat", "mean")
+                .sample(max / 1e9, "stat", "max");
+        writer.family("sponge_server_tps", MetricsWriter.GAUGE, "Ticks per second over the last 100 ticks, capped at 20")
+                .sample(1e9 / Math.max(50_000_000D, mean));
+        writer.family("sponge_server_players", MetricsWriter.GAUGE, "Number of online players")
+                .sample(server.getCurrentPlayerCount());
+
+        final Runtime runtime = Runtime.getRuntime();
+        writer.family("sponge_jvm_memory_bytes", MetricsWriter.GAUGE, "Memory of the JVM heap")
+                .sample(runtime.totalMemory() - runtime.freeMemory(), "area", "used")
+                .sample(runtime.totalMemory(), "area", "committed")
+                .sample(runtime.maxMemory(), "area", "max");
+    }
+
+}
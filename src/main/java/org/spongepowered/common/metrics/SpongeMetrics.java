@@ -0,0 +1,191 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import co.aikar.timings.TimingsMetricsSource;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig.MetricsCategory;
+import org.spongepowered.common.event.SpongeEventManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Samples server metrics every few ticks and exports them in the Prometheus
+ * text format, both on a local HTTP endpoint and to rolling files on disk.
+ *
+ * <p>Sources are collected on the server thread. Rendering, serving and
+ * writing the samples happens on a separate thread.</p>
+ */
+public final class SpongeMetrics {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final List<MetricsSource> SOURCES = new CopyOnWriteArrayList<>();
+
+    static {
+        SOURCES.add(new ServerMetricsSource());
+        SOURCES.add(new WorldMetricsSource());
+        SOURCES.add(new SchedulerMetricsSource());
+        SOURCES.add(new EventMetricsSource());
+        SOURCES.add(new TimingsMetricsSource());
+    }
+
+    private static boolean initialized;
+    private static volatile boolean enabled;
+    private static int interval;
+    private static int ticks;
+    @Nullable private static volatile ExecutorService executor;
+    @Nullable private static HttpServer server;
+    @Nullable private static volatile MetricsFileWriter fileWriter;
+    private static volatile byte[] latest = new byte[0];
+
+    private SpongeMetrics() {
+    }
+
+    /**
+     * Adds a source of samples to the export.
+     *
+     * @param source The source to add
+     */
+    public static void registerSource(MetricsSource source) {
+        SOURCES.add(source);
+    }
+
+    /**
+     * Called by the server thread at the end of every tick.
+     */
+    public static void onTick() {
+        if (!initialized) {
+            initialized = true;
+            start();
+        }
+        if (!enabled || ++ticks < interval) {
+            return;
+        }
+        ticks = 0;
+        final MetricsWriter writer = new MetricsWriter();
+        for (MetricsSource source : SOURCES) {
+            try {
+                source.collect(writer);
+            } catch (Exception e) {
+                SpongeImpl.getLogger().error("Could not collect metrics from {}", source.getClass().getName(), e);
+            }
+        }
+        // Both may be cleared by stop() at any time
+        final ExecutorService executor = SpongeMetrics.executor;
+        final MetricsFileWriter fileWriter = SpongeMetrics.fileWriter;
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                latest = writer.render(false).getBytes(StandardCharsets.UTF_8);
+                if (fileWriter != null) {
+                    fileWriter.write(writer);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Stopped in the meantime
+        }
+    }
+
+    private static void start() {
+        final MetricsCategory config = SpongeImpl.getGlobalConfig().getConfig().getMetrics();
+        if (!config.isEnabled()) {
+            return;
+        }
+        enabled = true;
+        interval = Math.max(1, config.getInterval());
+        executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("Sponge Metrics Thread")
+                .setDaemon(true)
+                .build());
+        if (config.isFilesEnabled()) {
+            fileWriter = new MetricsFileWriter(SpongeImpl.getGameDir().resolve(config.getFilesDirectory()), config.getFilesMax());
+        }
+        if (!config.getAddress().isEmpty()) {
+            try {
+                server = HttpServer.create(new InetSocketAddress(config.getAddress(), config.getPort()), 0);
+                server.createContext("/metrics", SpongeMetrics::handle);
+                server.setExecutor(executor);
+                server.start();
+                SpongeImpl.getLogger().info("Serving metrics on http://{}:{}/metrics", config.getAddress(), config.getPort());
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Could not serve metrics on {}:{}", config.getAddress(), config.getPort(), e);
+                server = null;
+            }
+        }
+        ((SpongeEventManager) SpongeImpl.getGame().getEventManager()).setCountPosts(true);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            final byte[] body = latest;
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+            if (body.length != 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Stops serving and writing metrics.
+     */
+    public static void stop() {
+        if (!enabled) {
+            return;
+        }
+        enabled = false;
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        final ExecutorService executor = SpongeMetrics.executor;
+        SpongeMetrics.executor = null;
+        fileWriter = null;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+}
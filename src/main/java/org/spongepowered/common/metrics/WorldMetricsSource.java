@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.world.World;
+
+/**
+ * Loaded chunk, entity and tile entity counts of every world.
+ */
+final class WorldMetricsSource implements MetricsSource {
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        final WorldServer[] worlds = MinecraftServer.getServer().worldServers;
+        writer.family("sponge_world_loaded_chunks", MetricsWriter.GAUGE, "Number of loaded chunks");
+        for (WorldServer world : worlds) {
+            writer.sample(world.theChunkProviderServer.getLoadedChunkCount(), "world", getName(world));
+        }
+        writer.family("sponge_world_entities", MetricsWriter.GAUGE, "Number of loaded entities");
+        for (WorldServer world : worlds) {
+            writer.sample(world.loadedEntityList.size(), "world", getName(world));
+        }
+        writer.family("sponge_world_tile_entities", MetricsWriter.GAUGE, "Number of loaded tile entities");
+        for (WorldServer world : worlds) {
+            writer.sample(world.loadedTileEntityList.size(), "world", getName(world));
+        }
+        writer.family("sponge_world_ticking_tile_entities", MetricsWriter.GAUGE, "Number of loaded tile entities which are ticked");
+        for (WorldServer world : worlds) {
+            writer.sample(world.tickableTileEntities.size(), "world", getName(world));
+        }
+        writer.family("sponge_world_players", MetricsWriter.GAUGE, "Number of players in the world");
+        for (WorldServer world : worlds) {
+            writer.sample(world.playerEntities.size(), "world", getName(world));
+        }
+    }
+
+    private static String getName(WorldServer world) {
+        return ((World) world).getName();
+    }
+
+}
@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.api.text;
 
 import com.google.common.collect.ImmutableList;
+import io.netty.handler.codec.EncoderException;
 import net.minecraft.util.ChatComponentStyle;
 import net.minecraft.util.ChatStyle;
 import net.minecraft.util.IChatComponent;
@@ -39,12 +40,15 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.interfaces.text.IMixinChatComponent;
 import org.spongepowered.common.interfaces.text.IMixinText;
+import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.text.action.SpongeClickAction;
 import org.spongepowered.common.text.action.SpongeHoverAction;
 import org.spongepowered.common.text.format.SpongeTextColor;
 
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 @Mixin(value = Text.class, remap = false)
 public abstract class MixinText implements IMixinText {
 
@@ -54,8 +58,13 @@ public abstract class MixinText implements IMixinText {
     @Shadow @Final protected Optional<HoverAction<?>> hoverAction;
     @Shadow @Final protected Optional<ShiftClickAction<?>> shiftClickAction;
 
+    private static final int CHAT_TYPES = 3;
+    private static final byte ACTION_BAR = 2;
+
     private IChatComponent component;
     private String json;
+    @Nullable private IChatComponent actionBarComponent;
+    @Nullable private byte[][] chatPackets;
 
     protected ChatComponentStyle createComponent() {
         throw new UnsupportedOperationException();
@@ -121,6 +130,41 @@ public String toJson() {
         return this.json;
     }
 
+    @Override
+    public IChatComponent getSharedComponent(byte type) {
+        if (type != ACTION_BAR) {
+            return getHandle();
+        }
+        if (this.actionBarComponent == null) {
+            this.actionBarComponent = SpongeTexts.fixActionBarFormatting(toComponent());
+        }
+        return this.actionBarComponent;
+    }
+
+    @Override
+    @Nullable
+    public byte[] toChatPacket(byte type) {
+        if (type < 0 || type >= CHAT_TYPES) {
+            return null;
+        }
+        byte[][] packets = this.chatPackets;
+        if (packets == null) {
+            this.chatPackets = packets = new byte[CHAT_TYPES][];
+        }
+        byte[] packet = packets[type];
+        if (packet == null) {
+            String json = type == ACTION_BAR ? IChatComponent.Serializer.componentToJson(getSharedComponent(type)) : toJson();
+            try {
+                packet = SpongeTexts.encodeChatPacket(json, type);
+            } catch (EncoderException e) {
+                // Too long, leave it to the packet to fail like Vanilla does
+                return null;
+            }
+            packets[type] = packet;
+        }
+        return packet;
+    }
+
     @Override
     public String getLegacyFormatting() {
         return ((IMixinChatComponent) getHandle()).getLegacyFormatting();
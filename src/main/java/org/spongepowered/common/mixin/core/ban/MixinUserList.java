@@ -32,19 +32,23 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.IMixinUserList;
 
 import java.io.File;
 import java.util.List;
 
 @Mixin(UserList.class)
-public abstract class MixinUserList {
+public abstract class MixinUserList implements IMixinUserList {
 
     @Shadow private static Logger logger;
     @Shadow public File saveFile;
     @Shadow public abstract String getObjectKey(Object obj);
 
+    private int modificationCount;
+
     @Redirect(method = "removeExpired", at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z"))
     public boolean onAdd(List<Object> list, Object object) {
+        this.modificationCount++; // The expired entry is removed right after
         return list.add(this.getObjectKey(object)); // Mojang didn't implement this correctly, so we'll fix it
     }
 
@@ -57,4 +61,24 @@ private void onReadSavedFile(CallbackInfo ci) {
         }
     }
 
+    @Inject(method = "readSavedFile", at = @At("RETURN"))
+    private void onReadSavedFileReturn(CallbackInfo ci) {
+        this.modificationCount++;
+    }
+
+    @Inject(method = {"addEntry", "removeEntry"}, at = @At("RETURN"))
+    private void onModifyEntries(CallbackInfo ci) {
+        this.modificationCount++;
+    }
+
+    @Override
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
+    @Override
+    public void markModified() {
+        this.modificationCount++;
+    }
+
 }
@@ -31,7 +31,6 @@
 import co.aikar.timings.Timing;
 import net.minecraft.entity.Entity;
 import net.minecraft.item.ItemStack;
-import net.minecraft.server.MinecraftServer;
 import net.minecraft.tileentity.TileEntity;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataHolder;
@@ -78,127 +77,73 @@ public abstract class MixinDataHolder implements DataHolder {
     @SuppressWarnings("unchecked")
     @Override
     public <T extends DataManipulator<?, ?>> Optional<T> getOrCreate(Class<T> containerClass) {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataGetOrCreateManipulator.startTiming();
-        }
-
-        final Optional<DataProcessor<?, ?>> optional = SpongeDataManager.getInstance().getWildProcessor(containerClass);
-        if (optional.isPresent()) {
-            Optional<T> created = (Optional<T>) optional.get().createFrom(this);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataGetOrCreateManipulator.stopTiming();
-            }
-            return created;
-        } else if (this instanceof IMixinCustomDataHolder) {
-            Optional<T> custom = ((IMixinCustomDataHolder) this).getCustom(containerClass);
-            if (custom.isPresent()) {
-                if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                    SpongeTimings.dataGetOrCreateManipulator.stopTiming();
+        try (Timing timing = SpongeTimings.dataGetOrCreateManipulator.startTiming()) {
+            final Optional<DataProcessor<?, ?>> optional = SpongeDataManager.getInstance().getWildProcessor(containerClass);
+            if (optional.isPresent()) {
+                return (Optional<T>) optional.get().createFrom(this);
+            } else if (this instanceof IMixinCustomDataHolder) {
+                Optional<T> custom = ((IMixinCustomDataHolder) this).getCustom(containerClass);
+                if (custom.isPresent()) {
+                    return custom;
                 }
-                return custom;
-            } else { // Try to construct it from the DataManipulatorBuilder
+                // Try to construct it from the DataManipulatorBuilder
                 Optional<DataManipulatorBuilder<?, ?>> builder = SpongeDataManager.getInstance().getWildManipulatorBuilder(containerClass);
                 checkState(builder.isPresent(), "A DataManipulatorBuilder is not registered for the manipulator class: "
                                                 + containerClass.getName());
                 T manipulator = (T) builder.get().create();
                 // Basically at this point, it's up to plugins to validate whether it's supported
-                Optional<T> other = manipulator.fill(this).map(customManipulator -> (T) customManipulator);
-                if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                    SpongeTimings.dataGetOrCreateManipulator.stopTiming();
-                }
-                return other;
+                return manipulator.fill(this).map(customManipulator -> (T) customManipulator);
             }
+            return Optional.empty();
         }
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataGetOrCreateManipulator.stopTiming();
-        }
-
-        return Optional.empty();
     }
 
     @Override
     public boolean supports(Class<? extends DataManipulator<?, ?>> holderClass) {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataSupportsManipulator.startTiming();
-        }
-
-        final Optional<DataProcessor<?, ?>> optional = SpongeDataManager.getInstance().getWildProcessor(holderClass);
-        if (optional.isPresent()) {
-            boolean supports = optional.get().supports(this);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataSupportsManipulator.stopTiming();
+        try (Timing timing = SpongeTimings.dataSupportsManipulator.startTiming()) {
+            final Optional<DataProcessor<?, ?>> optional = SpongeDataManager.getInstance().getWildProcessor(holderClass);
+            if (optional.isPresent()) {
+                return optional.get().supports(this);
             }
-            return supports;
-        }
-        if (this instanceof IMixinCustomDataHolder) {
-            Optional<?> custom = ((IMixinCustomDataHolder) this).getCustom(holderClass);
-            if (custom.isPresent()) {
-                if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                    SpongeTimings.dataSupportsManipulator.stopTiming();
+            if (this instanceof IMixinCustomDataHolder) {
+                Optional<?> custom = ((IMixinCustomDataHolder) this).getCustom(holderClass);
+                if (custom.isPresent()) {
+                    return true;
                 }
-                return true;
-            } else { // Try to construct it from the DataManipulatorBuilder
+                // Try to construct it from the DataManipulatorBuilder
                 Optional<DataManipulatorBuilder<?, ?>> builder = SpongeDataManager.getInstance().getWildManipulatorBuilder(holderClass);
                 checkState(builder.isPresent(), "A DataManipulatorBuilder is not registered for the manipulator class: "
                                                 + holderClass.getName());
                 DataManipulator<?, ?> manipulator = builder.get().create();
                 // Basically at this point, it's up to plugins to validate whether it's supported
-                boolean present = manipulator.fill(this).isPresent();
-                if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                    SpongeTimings.dataSupportsManipulator.stopTiming();
-                }
-                return present;
+                return manipulator.fill(this).isPresent();
             }
+            return false;
         }
-        return false;
-
     }
 
     @Override
     public <E> DataTransactionResult offer(Key<? extends BaseValue<E>> key, E value) {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataOfferKey.startTiming();
-        }
-        final Optional<ValueProcessor<E, ? extends BaseValue<E>>> optional = SpongeDataManager.getInstance().getBaseValueProcessor(key);
-        if (optional.isPresent()) {
-            final DataTransactionResult result = optional.get().offerToStore(this, value);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataOfferKey.stopTiming();
-            }
-            return result;
-        } else if (this instanceof IMixinCustomDataHolder) {
-            final DataTransactionResult result = ((IMixinCustomDataHolder) this).offerCustom(key, value);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataOfferKey.stopTiming();
+        try (Timing timing = SpongeTimings.dataOfferKey.startTiming()) {
+            final Optional<ValueProcessor<E, ? extends BaseValue<E>>> optional = SpongeDataManager.getInstance().getBaseValueProcessor(key);
+            if (optional.isPresent()) {
+                return optional.get().offerToStore(this, value);
+            } else if (this instanceof IMixinCustomDataHolder) {
+                return ((IMixinCustomDataHolder) this).offerCustom(key, value);
             }
-            return result;
-        }
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataOfferKey.stopTiming();
+            return DataTransactionResult.failNoData();
         }
-        return DataTransactionResult.failNoData();
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     public DataTransactionResult offer(DataManipulator<?, ?> valueContainer, MergeFunction function) {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataOfferManipulator.startTiming();
-        }
         try (Timing timing = SpongeTimings.dataOfferManipulator.startTiming()) {
             final Optional<DataProcessor> optional = SpongeDataManager.getInstance().getWildDataProcessor(valueContainer.getClass());
             if (optional.isPresent()) {
-                final DataTransactionResult result = optional.get().set(this, valueContainer, checkNotNull(function));
-                if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                    SpongeTimings.dataOfferManipulator.stopTiming();
-                }
-                return result;
+                return optional.get().set(this, valueContainer, checkNotNull(function));
             } else if (this instanceof IMixinCustomDataHolder) {
-                final DataTransactionResult result = ((IMixinCustomDataHolder) this).offerCustom(valueContainer, function);
-                if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                    SpongeTimings.dataOfferManipulator.stopTiming();
-                }
-                return result;
+                return ((IMixinCustomDataHolder) this).offerCustom(valueContainer, function);
             }
             return DataTransactionResult.failResult(valueContainer.getValues());
         }
@@ -206,119 +151,75 @@ public DataTransactionResult offer(DataManipulator<?, ?> valueContainer, MergeFu
 
     @Override
     public DataTransactionResult offer(Iterable<DataManipulator<?, ?>> valueContainers) {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataOfferMultiManipulators.startTiming();
-        }
-        DataTransactionResult.Builder builder = DataTransactionResult.builder();
-        for (DataManipulator<?, ?> manipulator : valueContainers) {
-            final DataTransactionResult result = offer(manipulator);
-            if (!result.getRejectedData().isEmpty()) {
-                builder.reject(result.getRejectedData());
-            }
-            if (!result.getReplacedData().isEmpty()) {
-                builder.replace(result.getReplacedData());
-            }
-            if (!result.getSuccessfulData().isEmpty()) {
-                builder.success(result.getSuccessfulData());
-            }
-            final DataTransactionResult.Type type = result.getType();
-            builder.result(type);
-            switch (type) {
-                case UNDEFINED:
-                case ERROR:
-                case CANCELLED:
-                    if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                        SpongeTimings.dataOfferMultiManipulators.stopTiming();
-                    }
-                    return builder.build();
-                default:
-                    break;
+        try (Timing timing = SpongeTimings.dataOfferMultiManipulators.startTiming()) {
+            DataTransactionResult.Builder builder = DataTransactionResult.builder();
+            for (DataManipulator<?, ?> manipulator : valueContainers) {
+                final DataTransactionResult result = offer(manipulator);
+                if (!result.getRejectedData().isEmpty()) {
+                    builder.reject(result.getRejectedData());
+                }
+                if (!result.getReplacedData().isEmpty()) {
+                    builder.replace(result.getReplacedData());
+                }
+                if (!result.getSuccessfulData().isEmpty()) {
+                    builder.success(result.getSuccessfulData());
+                }
+                final DataTransactionResult.Type type = result.getType();
+                builder.result(type);
+                switch (type) {
+                    case UNDEFINED:
+                    case ERROR:
+                    case CANCELLED:
+                        return builder.build();
+                    default:
+                        break;
+                }
             }
+            return builder.build();
         }
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataOfferMultiManipulators.stopTiming();
-        }
-        return builder.build();
-
     }
 
     @Override
     public DataTransactionResult remove(Class<? extends DataManipulator<?, ?>> containerClass) {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataRemoveManipulator.startTiming();
-        }
-
-        final Optional<DataProcessor<?, ?>> optional = SpongeDataManager.getInstance().getWildProcessor(containerClass);
-        if (optional.isPresent()) {
-            final DataTransactionResult result = optional.get().remove(this);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataRemoveManipulator.stopTiming();
-            }
-
-            return result;
-        } else if (this instanceof IMixinCustomDataHolder) {
-            final DataTransactionResult result = ((IMixinCustomDataHolder) this).removeCustom(containerClass);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataRemoveManipulator.stopTiming();
+        try (Timing timing = SpongeTimings.dataRemoveManipulator.startTiming()) {
+            final Optional<DataProcessor<?, ?>> optional = SpongeDataManager.getInstance().getWildProcessor(containerClass);
+            if (optional.isPresent()) {
+                return optional.get().remove(this);
+            } else if (this instanceof IMixinCustomDataHolder) {
+                return ((IMixinCustomDataHolder) this).removeCustom(containerClass);
             }
-            return result;
-        }
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataOfferMultiManipulators.stopTiming();
+            return DataTransactionResult.failNoData();
         }
-        return DataTransactionResult.failNoData();
     }
 
     @Override
     public DataTransactionResult remove(Key<?> key) {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataRemoveKey.startTiming();
-        }
-        final Optional<ValueProcessor<?, ?>> optional = SpongeDataManager.getInstance().getWildValueProcessor(checkNotNull(key));
-        if (optional.isPresent()) {
-            final DataTransactionResult result = optional.get().removeFrom(this);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataRemoveKey.stopTiming();
-            }
-
-            return result;
-        } else if (this instanceof IMixinCustomDataHolder) {
-            final DataTransactionResult result = ((IMixinCustomDataHolder) this).removeCustom(key);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataRemoveKey.stopTiming();
+        try (Timing timing = SpongeTimings.dataRemoveKey.startTiming()) {
+            final Optional<ValueProcessor<?, ?>> optional = SpongeDataManager.getInstance().getWildValueProcessor(checkNotNull(key));
+            if (optional.isPresent()) {
+                return optional.get().removeFrom(this);
+            } else if (this instanceof IMixinCustomDataHolder) {
+                return ((IMixinCustomDataHolder) this).removeCustom(key);
             }
-            return result;
-        }
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataRemoveKey.stopTiming();
+            return DataTransactionResult.failNoData();
         }
-        return DataTransactionResult.failNoData();
-
     }
 
     @Override
     public DataTransactionResult undo(DataTransactionResult result) {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataOfferManipulator.startTiming();
-        }
-        if (result.getReplacedData().isEmpty() && result.getSuccessfulData().isEmpty()) {
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataOfferManipulator.stopTiming();
+        try (Timing timing = SpongeTimings.dataOfferManipulator.startTiming()) {
+            if (result.getReplacedData().isEmpty() && result.getSuccessfulData().isEmpty()) {
+                return DataTransactionResult.successNoData();
             }
-            return DataTransactionResult.successNoData();
-        }
-        final DataTransactionResult.Builder builder = DataTransactionResult.builder();
-        for (ImmutableValue<?> replaced : result.getReplacedData()) {
-            builder.absorbResult(offer(replaced));
-        }
-        for (ImmutableValue<?> successful : result.getSuccessfulData()) {
-            builder.absorbResult(remove(successful));
-        }
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataOfferManipulator.stopTiming();
+            final DataTransactionResult.Builder builder = DataTransactionResult.builder();
+            for (ImmutableValue<?> replaced : result.getReplacedData()) {
+                builder.absorbResult(offer(replaced));
+            }
+            for (ImmutableValue<?> successful : result.getSuccessfulData()) {
+                builder.absorbResult(remove(successful));
+            }
+            return builder.build();
         }
-
-        return builder.build();
     }
 
     @Override
@@ -328,82 +229,43 @@ public DataTransactionResult copyFrom(DataHolder that, MergeFunction function) {
 
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataGetByKey.startTiming();
-        }
-        final Optional<ValueProcessor<E, ? extends BaseValue<E>>> optional = SpongeDataManager.getInstance().getBaseValueProcessor(checkNotNull(key));
-        if (optional.isPresent()) {
-            final Optional<E> value = optional.get().getValueFromContainer(this);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataGetByKey.stopTiming();
-            }
-            return value;
-        } else if (this instanceof IMixinCustomDataHolder) {
-            final Optional<E> custom = ((IMixinCustomDataHolder) this).getCustom(key);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataGetByKey.stopTiming();
+        try (Timing timing = SpongeTimings.dataGetByKey.startTiming()) {
+            final Optional<ValueProcessor<E, ? extends BaseValue<E>>> optional =
+                    SpongeDataManager.getInstance().getBaseValueProcessor(checkNotNull(key));
+            if (optional.isPresent()) {
+                return optional.get().getValueFromContainer(this);
+            } else if (this instanceof IMixinCustomDataHolder) {
+                return ((IMixinCustomDataHolder) this).getCustom(key);
             }
-            return custom;
-        }
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataGetByKey.stopTiming();
+            return Optional.empty();
         }
-        return Optional.empty();
-
     }
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataGetValue.startTiming();
-        }
-
-        final Optional<ValueProcessor<E, V>> optional = SpongeDataManager.getInstance().getValueProcessor(checkNotNull(key));
-        if (optional.isPresent()) {
-            final Optional<V> value = optional.get().getApiValueFromContainer(this);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataGetValue.stopTiming();
-            }
-            return value;
-        } else if (this instanceof IMixinCustomDataHolder) {
-            final Optional<V> customValue = ((IMixinCustomDataHolder) this).getCustomValue(key);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataGetValue.stopTiming();
+        try (Timing timing = SpongeTimings.dataGetValue.startTiming()) {
+            final Optional<ValueProcessor<E, V>> optional = SpongeDataManager.getInstance().getValueProcessor(checkNotNull(key));
+            if (optional.isPresent()) {
+                return optional.get().getApiValueFromContainer(this);
+            } else if (this instanceof IMixinCustomDataHolder) {
+                return ((IMixinCustomDataHolder) this).getCustomValue(key);
             }
-            return customValue;
-        }
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataGetValue.stopTiming();
+            return Optional.empty();
         }
-
-        return Optional.empty();
     }
 
     @Override
     public boolean supports(Key<?> key) {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataSupportsKey.startTiming();
-        }
-
-        final Optional<ValueProcessor<?, ?>> optional = SpongeDataManager.getInstance().getWildValueProcessor(checkNotNull(key));
-        if (optional.isPresent()) {
-            final boolean supports = optional.get().supports(this);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataSupportsKey.stopTiming();
+        try (Timing timing = SpongeTimings.dataSupportsKey.startTiming()) {
+            final Optional<ValueProcessor<?, ?>> optional = SpongeDataManager.getInstance().getWildValueProcessor(checkNotNull(key));
+            if (optional.isPresent()) {
+                return optional.get().supports(this);
             }
-            return supports;
-        }
-        if (this instanceof IMixinCustomDataHolder) {
-            final boolean customSupport = ((IMixinCustomDataHolder) this).supportsCustom(key);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeTimings.dataSupportsKey.stopTiming();
+            if (this instanceof IMixinCustomDataHolder) {
+                return ((IMixinCustomDataHolder) this).supportsCustom(key);
             }
-            return customSupport;
+            return false;
         }
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            SpongeTimings.dataSupportsKey.stopTiming();
-        }
-        return false;
     }
 
     @Override
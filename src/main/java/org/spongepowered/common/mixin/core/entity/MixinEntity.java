@@ -108,12 +108,12 @@
 import org.spongepowered.common.data.value.immutable.ImmutableSpongeValue;
 import org.spongepowered.common.entity.SpongeEntitySnapshotBuilder;
 import org.spongepowered.common.event.DamageEventHandler;
+import org.spongepowered.common.event.EntityMovementTracker;
 import org.spongepowered.common.event.MinecraftBlockDamageSource;
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
 import org.spongepowered.common.interfaces.data.IMixinCustomDataHolder;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.mixin.core.item.MixinItemStack;
-import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.entity.IMixinGriefer;
 import org.spongepowered.common.registry.type.world.DimensionRegistryModule;
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
@@ -155,6 +155,8 @@ public abstract class MixinEntity implements Entity, IMixinEntity {
     @Nullable private DamageSource originalLava;
     protected boolean isConstructing = true;
     @Nullable private Text displayName;
+    @Nullable private Vector3d pendingRotation;
+    @Nullable private EntityMovementTracker movementTracker;
 
     @Shadow private UUID entityUniqueID;
     @Shadow public net.minecraft.world.World worldObj;
@@ -590,7 +592,7 @@ public Vector3d getRotation() {
     @Override
     public void setRotation(Vector3d rotation) {
         checkNotNull(rotation, "Rotation was null!");
-        ((IMixinWorld) getWorld()).addEntityRotationUpdate((net.minecraft.entity.Entity) (Entity) this, rotation);
+        this.pendingRotation = rotation;
         if (((Entity) this) instanceof EntityPlayerMP) {
             // Force an update, this also set the rotation in this entity
             ((EntityPlayerMP) (Entity) this).playerNetServerHandler.setPlayerLocation(getPosition().getX(), getPosition().getY(),
@@ -601,6 +603,23 @@ public void setRotation(Vector3d rotation) {
         }
     }
 
+    @Override
+    public void applyPendingRotation() {
+        if (this.pendingRotation != null) {
+            this.rotationPitch = (float) this.pendingRotation.getX();
+            this.rotationYaw = (float) this.pendingRotation.getY();
+            this.pendingRotation = null;
+        }
+    }
+
+    @Override
+    public EntityMovementTracker getMovementTracker() {
+        if (this.movementTracker == null) {
+            this.movementTracker = new EntityMovementTracker();
+        }
+        return this.movementTracker;
+    }
+
     @Override
     public boolean isOnGround() {
         return this.onGround;
@@ -113,6 +113,8 @@
 import org.spongepowered.common.interfaces.IMixinServerScoreboard;
 import org.spongepowered.common.interfaces.IMixinSubject;
 import org.spongepowered.common.interfaces.IMixinTeam;
+import org.spongepowered.common.interfaces.network.play.server.IMixinSPacketChat;
+import org.spongepowered.common.interfaces.text.IMixinText;
 import org.spongepowered.common.interfaces.text.IMixinTitle;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.text.SpongeTexts;
@@ -261,12 +263,24 @@ public void sendMessage(ChatType type, Text message) {
         checkNotNull(type, "type");
         checkNotNull(message, "message");
 
+        final byte typeId = ((SpongeChatType) type).getByteId();
+        // A local connection hands the packet over without encoding it, so it gets its own component
+        final byte[] encoded = this.playerNetServerHandler.getNetworkManager().isLocalChannel() ? null
+                : ((IMixinText) message).toChatPacket(typeId);
+        if (encoded != null) {
+            // The same text sent to many players is encoded once and shared by their packets
+            S02PacketChat packet = new S02PacketChat(((IMixinText) message).getSharedComponent(typeId), typeId);
+            ((IMixinSPacketChat) packet).setEncoded(encoded);
+            this.playerNetServerHandler.sendPacket(packet);
+            return;
+        }
+
         IChatComponent component = SpongeTexts.toComponent(message);
         if (type == ChatTypes.ACTION_BAR) {
             component = SpongeTexts.fixActionBarFormatting(component);
         }
 
-        this.playerNetServerHandler.sendPacket(new S02PacketChat(component, ((SpongeChatType) type).getByteId()));
+        this.playerNetServerHandler.sendPacket(new S02PacketChat(component, typeId));
     }
 
     @Override
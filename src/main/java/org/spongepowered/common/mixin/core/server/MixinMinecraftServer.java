@@ -93,6 +93,7 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.interfaces.world.IMixinWorldSettings;
+import org.spongepowered.common.metrics.SpongeMetrics;
 import org.spongepowered.common.profile.SpongeProfileManager;
 import org.spongepowered.common.registry.type.world.DimensionRegistryModule;
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
@@ -102,6 +103,7 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.world.DimensionManager;
+import org.spongepowered.common.world.SpongeChunkTicketManager;
 import org.spongepowered.common.world.SpongeDimensionType;
 import org.spongepowered.common.world.WorldMigrator;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
@@ -315,6 +317,17 @@ public void shutdown(Text kickMessage) {
     @Inject(method = "stopServer()V", at = @At("HEAD"))
     public void onServerStopping(CallbackInfo ci) {
         ((MinecraftServer) (Object) this).getPlayerProfileCache().save();
+        if (this.profileManager instanceof SpongeProfileManager) {
+            // Keep the instance, so late callers get failed lookups instead
+            // of a new queue with threads nobody shuts down
+            ((SpongeProfileManager) this.profileManager).shutdown();
+        }
+        SpongeMetrics.stop();
+    }
+
+    @Inject(method = "tick()V", at = @At("RETURN"))
+    private void onServerTickEnd(CallbackInfo ci) {
+        SpongeMetrics.onTick();
     }
 
     @Overwrite
@@ -444,6 +457,7 @@ protected void loadAllWorlds(String overworldFolder, String worldName, long seed
                 worldServer.getWorldInfo().setGameType(this.getGameType());
             }
 
+            SpongeChunkTicketManager.getInstance().loadTickets(worldServer);
             SpongeImpl.postEvent(SpongeImplHooks.createLoadWorldEvent((World) worldServer));
         }
 
@@ -693,6 +707,7 @@ public Optional<World> loadWorld(String worldName) {
         ((IMixinWorldProvider) worldServer.provider).setDimension(dim);
 
         worldServer.addWorldAccess(new WorldManager((MinecraftServer) (Object) this, worldServer));
+        SpongeChunkTicketManager.getInstance().loadTickets(worldServer);
         SpongeImpl.postEvent(SpongeImplHooks.createLoadWorldEvent((World) worldServer));
         if (!isSinglePlayer()) {
             worldServer.getWorldInfo().setGameType(getGameType());
@@ -943,7 +958,7 @@ public boolean saveWorldProperties(WorldProperties properties) {
 
     @Override
     public ChunkTicketManager getChunkTicketManager() {
-        throw new UnsupportedOperationException();
+        return SpongeChunkTicketManager.getInstance();
     }
 
     @Override
@@ -95,6 +95,7 @@
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
+import org.spongepowered.common.service.user.UserIndex;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.DimensionManager;
@@ -169,6 +170,7 @@ public void initializeConnectionToPlayer(NetworkManager netManager, EntityPlayer
         GameProfile gameprofile1 = playerprofilecache.getProfileByUUID(gameprofile.getId());
         String s = gameprofile1 == null ? gameprofile.getName() : gameprofile1.getName();
         playerprofilecache.addEntry(gameprofile);
+        UserIndex.markSeen(gameprofile); // Sponge
         // Sponge - save changes to offline User before reading player data
         SpongeUser user = (SpongeUser) ((IMixinEntityPlayerMP) playerIn).getUserObject();
         if (SpongeUser.dirtyUsers.contains(user)) {
@@ -507,6 +509,7 @@ private void onPlayerLogOut(EntityPlayerMP player, CallbackInfo ci) {
         NBTTagCompound nbt = new NBTTagCompound();
         player.writeToNBT(nbt);
         ((SpongeUser) ((IMixinEntityPlayerMP) player).getUserObject()).readFromNbt(nbt);
+        UserIndex.markSeen(player.getGameProfile());
     }
 
     @Inject(method = "saveAllPlayerData()V", at = @At("RETURN"))
@@ -514,6 +517,7 @@ private void onSaveAllPlayerData(CallbackInfo ci) {
         for (SpongeUser user : SpongeUser.dirtyUsers) {
             user.save();
         }
+        UserIndex.save();
     }
 
     @Inject(method = "playerLoggedIn", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/ServerConfigurationManager;"
@@ -73,6 +73,7 @@
 public abstract class MixinTileEntity implements TileEntity, IMixinTileEntity {
 
     private final TileEntityType tileType = SpongeImpl.getRegistry().getTranslated(this.getClass(), TileEntityType.class);
+    private int countedBlockId = -1;
 
     @Shadow protected boolean tileEntityInvalid;
     @Shadow protected net.minecraft.world.World worldObj;
@@ -263,4 +264,14 @@ public void supplyVanillaManipulators(List<DataManipulator<?, ?>> manipulators)
         }
         return list;
     }
+
+    @Override
+    public int getCountedBlockId() {
+        return this.countedBlockId;
+    }
+
+    @Override
+    public void setCountedBlockId(int blockId) {
+        this.countedBlockId = blockId;
+    }
 }
@@ -28,8 +28,9 @@
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.Predicate;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
@@ -59,7 +60,6 @@
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.entity.CollideEntityEvent;
 import org.spongepowered.api.item.inventory.ItemStack;
-import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.util.Direction;
 import org.spongepowered.api.util.DiscreteTransform3;
 import org.spongepowered.api.util.PositionOutOfBoundsException;
@@ -75,12 +75,16 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerStore;
+import org.spongepowered.common.entity.SpongeEntityType;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.interfaces.IMixinChunk;
+import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.util.SpongeHooks;
@@ -98,13 +102,24 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nullable;
 
 @NonnullByDefault
 @Mixin(net.minecraft.world.chunk.Chunk.class)
 public abstract class MixinChunk implements Chunk, IMixinChunk {
 
-    public Map<Integer, PlayerTracker> trackedIntBlockPositions = Maps.newHashMap();
-    public Map<Short, PlayerTracker> trackedShortBlockPositions = Maps.newHashMap();
+    private static final String CLASS_MAP_ADD = "Lnet/minecraft/util/ClassInheritanceMultiMap;add(Ljava/lang/Object;)Z";
+    private static final String CLASS_MAP_REMOVE = "Lnet/minecraft/util/ClassInheritanceMultiMap;remove(Ljava/lang/Object;)Z";
+    private static final String MAP_PUT = "Ljava/util/Map;put(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;";
+    private static final String MAP_REMOVE = "Ljava/util/Map;remove(Ljava/lang/Object;)Ljava/lang/Object;";
+
+    private final PlayerTrackerStore trackedBlockPositions = new PlayerTrackerStore();
+    // Entities by entity type id and tile entities by block id, kept up to
+    // date as the chunk lists change so timings never walk the lists
+    private final TIntIntMap entityTypeCounts = new TIntIntHashMap();
+    private final TIntIntMap tileEntityTypeCounts = new TIntIntHashMap();
     private Cause populateCause;
     private org.spongepowered.api.world.World world;
     private UUID uuid;
@@ -169,6 +184,10 @@ public void onConstructed(World world, int x, int z, CallbackInfo ci) {
     public void onChunkLoadInject(CallbackInfo ci) {
         if (!this.worldObj.isRemote) {
             SpongeHooks.logChunkLoad(this.worldObj, this.chunkPos);
+            if (!this.trackedBlockPositions.isEmpty()) {
+                // Resolve offline owners before anyone interacts with the chunk
+                ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getTrackedUserCache().prefetch(this.trackedBlockPositions);
+            }
         }
     }
 
@@ -179,6 +198,79 @@ public void onChunkUnloadInject(CallbackInfo ci) {
         }
     }
 
+    @Redirect(method = "addEntity", at = @At(value = "INVOKE", target = CLASS_MAP_ADD))
+    private boolean onAddEntityToList(ClassInheritanceMultiMap<Entity> entityList, Object entity) {
+        if (!entityList.add((Entity) entity)) {
+            return false;
+        }
+        final EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
+        if (type != null) {
+            this.entityTypeCounts.adjustOrPutValue(((SpongeEntityType) type).entityTypeId, 1, 1);
+        }
+        return true;
+    }
+
+    @Redirect(method = "removeEntityAtIndex", at = @At(value = "INVOKE", target = CLASS_MAP_REMOVE))
+    private boolean onRemoveEntityFromList(ClassInheritanceMultiMap<Entity> entityList, Object entity) {
+        if (!entityList.remove(entity)) {
+            return false;
+        }
+        final EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
+        if (type != null) {
+            decrement(this.entityTypeCounts, ((SpongeEntityType) type).entityTypeId);
+        }
+        return true;
+    }
+
+    @Redirect(method = "addTileEntity(Lnet/minecraft/util/BlockPos;Lnet/minecraft/tileentity/TileEntity;)V",
+            at = @At(value = "INVOKE", target = MAP_PUT))
+    private Object onPutTileEntity(Map<BlockPos, TileEntity> tileEntityMap, Object pos, Object tileEntity) {
+        final TileEntity previous = tileEntityMap.put((BlockPos) pos, (TileEntity) tileEntity);
+        if (previous != tileEntity) {
+            this.uncountTileEntity(previous);
+            // Use the block of this chunk, the world may not know about the
+            // chunk yet while it is being read from disk
+            final int blockId = Block.getIdFromBlock(this.getBlockState((BlockPos) pos).getBlock());
+            ((IMixinTileEntity) tileEntity).setCountedBlockId(blockId);
+            this.tileEntityTypeCounts.adjustOrPutValue(blockId, 1, 1);
+        }
+        return previous;
+    }
+
+    @Redirect(method = {"removeTileEntity", "getTileEntity"}, at = @At(value = "INVOKE", target = MAP_REMOVE))
+    private Object onRemoveTileEntity(Map<BlockPos, TileEntity> tileEntityMap, Object pos) {
+        final TileEntity removed = tileEntityMap.remove(pos);
+        this.uncountTileEntity(removed);
+        return removed;
+    }
+
+    private void uncountTileEntity(@Nullable TileEntity tileEntity) {
+        if (tileEntity == null) {
+            return;
+        }
+        final int blockId = ((IMixinTileEntity) tileEntity).getCountedBlockId();
+        if (blockId != -1) {
+            ((IMixinTileEntity) tileEntity).setCountedBlockId(-1);
+            decrement(this.tileEntityTypeCounts, blockId);
+        }
+    }
+
+    private static void decrement(TIntIntMap counts, int key) {
+        if (counts.adjustOrPutValue(key, -1, 0) <= 0) {
+            counts.remove(key);
+        }
+    }
+
+    @Override
+    public TIntIntMap getEntityTypeCounts() {
+        return this.entityTypeCounts;
+    }
+
+    @Override
+    public TIntIntMap getTileEntityTypeCounts() {
+        return this.tileEntityTypeCounts;
+    }
+
     @Override
     public UUID getUniqueId() {
         return this.uuid;
@@ -376,7 +468,7 @@ public MutableBlockVolumeWorker<? extends Chunk> getBlockWorker() {
     @SuppressWarnings({"unchecked"})
     @Inject(method = "getEntitiesWithinAABBForEntity", at = @At(value = "RETURN"))
     public void onGetEntitiesWithinAABBForEntity(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<Entity> p_177414_4_, CallbackInfo ci) {
-        if (this.worldObj.isRemote) {
+        if (this.worldObj.isRemote || !SpongeImpl.hasListeners(CollideEntityEvent.class)) {
             return;
         }
 
@@ -397,7 +489,7 @@ public void onGetEntitiesWithinAABBForEntity(Entity entityIn, AxisAlignedBB aabb
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Inject(method = "getEntitiesOfTypeWithinAAAB", at = @At(value = "RETURN"))
     public void onGetEntitiesOfTypeWithinAAAB(Class<? extends Entity> entityClass, AxisAlignedBB aabb, List listToFill, Predicate<Entity> p_177430_4_, CallbackInfo ci) {
-        if (this.worldObj.isRemote) {
+        if (this.worldObj.isRemote || !SpongeImpl.hasListeners(CollideEntityEvent.class)) {
             return;
         }
 
@@ -553,98 +645,152 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
             SpongeHooks.logBlockTrack(this.worldObj, block, pos, user, false);
         }
 
+        final int index = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
         if (pos.getY() <= 255) {
             short blockPos = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(blockPos) != null) {
+            if (this.trackedBlockPositions.contains(blockPos)) {
                 if (trackerType == PlayerTracker.Type.OWNER) {
-                    this.trackedShortBlockPositions.get(blockPos).ownerIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                    this.trackedShortBlockPositions.get(blockPos).notifierIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
+                    this.trackedBlockPositions.set(blockPos, index, index);
                 } else {
-                    this.trackedShortBlockPositions.get(blockPos).notifierIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
+                    this.trackedBlockPositions.setNotifier(blockPos, index);
                 }
+            } else if (trackerType == PlayerTracker.Type.OWNER) {
+                this.trackedBlockPositions.setOwner(blockPos, index);
             } else {
-                this.trackedShortBlockPositions.put(blockPos, new PlayerTracker(((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId()), trackerType));
+                this.trackedBlockPositions.setNotifier(blockPos, index);
             }
         } else {
             int blockPos = blockPosToInt(pos);
-            if (this.trackedIntBlockPositions.get(blockPos) != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    this.trackedIntBlockPositions.get(blockPos).ownerIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                } else {
-                    this.trackedIntBlockPositions.get(blockPos).notifierIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                }
+            if (trackerType == PlayerTracker.Type.OWNER) {
+                this.trackedBlockPositions.setOwner(blockPos, index);
             } else {
-                this.trackedIntBlockPositions.put(blockPos, new PlayerTracker(((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId()), trackerType));
+                this.trackedBlockPositions.setNotifier(blockPos, index);
             }
         }
     }
 
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
-        return this.trackedIntBlockPositions;
+    public PlayerTrackerStore getTrackedBlockPositions() {
+        return this.trackedBlockPositions;
     }
 
     @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
-        return this.trackedShortBlockPositions;
+    public Optional<User> getBlockOwner(BlockPos pos) {
+        final int intPos = blockPosToInt(pos);
+        if (this.trackedBlockPositions.contains(intPos)) {
+            return getTrackedUser(this.trackedBlockPositions.getOwner(intPos));
+        }
+        final short shortPos = blockPosToShort(pos);
+        if (this.trackedBlockPositions.contains(shortPos)) {
+            return getTrackedUser(this.trackedBlockPositions.getOwner(shortPos));
+        }
+
+        return Optional.empty();
     }
 
     @Override
-    public Optional<User> getBlockOwner(BlockPos pos) {
-        if (this.trackedIntBlockPositions.get(blockPosToInt(pos)) != null) {
-            PlayerTracker tracker = this.trackedIntBlockPositions.get(blockPosToInt(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.ownerIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
-            }
-        } else if (this.trackedShortBlockPositions.get(blockPosToShort(pos)) != null) {
-            PlayerTracker tracker = this.trackedShortBlockPositions.get(blockPosToShort(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.ownerIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
-            }
+    public Optional<User> getBlockNotifier(BlockPos pos) {
+        final int intPos = blockPosToInt(pos);
+        if (this.trackedBlockPositions.contains(intPos)) {
+            return getTrackedUser(this.trackedBlockPositions.getNotifier(intPos));
+        }
+        final short shortPos = blockPosToShort(pos);
+        if (this.trackedBlockPositions.contains(shortPos)) {
+            return getTrackedUser(this.trackedBlockPositions.getNotifier(shortPos));
         }
 
         return Optional.empty();
     }
 
     @Override
-    public Optional<User> getBlockNotifier(BlockPos pos) {
-        if (this.trackedIntBlockPositions.get(blockPosToInt(pos)) != null) {
-            PlayerTracker tracker = this.trackedIntBlockPositions.get(blockPosToInt(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.notifierIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
-            }
-        } else if (this.trackedShortBlockPositions.get(blockPosToShort(pos)) != null) {
-            PlayerTracker tracker = this.trackedShortBlockPositions.get(blockPosToShort(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.notifierIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
+    public Optional<UUID> getBlockOwnerUniqueId(BlockPos pos) {
+        final int intPos = blockPosToInt(pos);
+        if (this.trackedBlockPositions.contains(intPos)) {
+            return getTrackedUniqueId(this.trackedBlockPositions.getOwner(intPos));
+        }
+        final short shortPos = blockPosToShort(pos);
+        if (this.trackedBlockPositions.contains(shortPos)) {
+            return getTrackedUniqueId(this.trackedBlockPositions.getOwner(shortPos));
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<UUID> getBlockNotifierUniqueId(BlockPos pos) {
+        final int intPos = blockPosToInt(pos);
+        if (this.trackedBlockPositions.contains(intPos)) {
+            return getTrackedUniqueId(this.trackedBlockPositions.getNotifier(intPos));
+        }
+        final short shortPos = blockPosToShort(pos);
+        if (this.trackedBlockPositions.contains(shortPos)) {
+            return getTrackedUniqueId(this.trackedBlockPositions.getNotifier(shortPos));
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> getBlockOwnerAsync(BlockPos pos) {
+        final int intPos = blockPosToInt(pos);
+        if (this.trackedBlockPositions.contains(intPos)) {
+            return getTrackedUserAsync(this.trackedBlockPositions.getOwner(intPos));
+        }
+        final short shortPos = blockPosToShort(pos);
+        if (this.trackedBlockPositions.contains(shortPos)) {
+            return getTrackedUserAsync(this.trackedBlockPositions.getOwner(shortPos));
+        }
+
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> getBlockNotifierAsync(BlockPos pos) {
+        final int intPos = blockPosToInt(pos);
+        if (this.trackedBlockPositions.contains(intPos)) {
+            return getTrackedUserAsync(this.trackedBlockPositions.getNotifier(intPos));
+        }
+        final short shortPos = blockPosToShort(pos);
+        if (this.trackedBlockPositions.contains(shortPos)) {
+            return getTrackedUserAsync(this.trackedBlockPositions.getNotifier(shortPos));
+        }
+
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    private Optional<User> getTrackedUser(int index) {
+        Optional<User> online = getOnlineTrackedUser(index);
+        if (online.isPresent()) {
+            return online;
+        }
+        // player is not online, get user from the resolved cache or storage
+        return ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getTrackedUserCache().get(index);
+    }
+
+    private Optional<UUID> getTrackedUniqueId(int index) {
+        if (index == PlayerTrackerStore.NO_INDEX) {
+            return Optional.empty();
+        }
+        return ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(index);
+    }
+
+    private CompletableFuture<Optional<User>> getTrackedUserAsync(int index) {
+        Optional<User> online = getOnlineTrackedUser(index);
+        if (online.isPresent()) {
+            return CompletableFuture.completedFuture(online);
+        }
+        return ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getTrackedUserCache().getAsync(index);
+    }
+
+    private Optional<User> getOnlineTrackedUser(int index) {
+        if (index == PlayerTrackerStore.NO_INDEX) {
+            return Optional.empty();
+        }
+        Optional<UUID> uuid = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(index);
+        if (uuid.isPresent()) {
+            EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
+            if (player != null) {
+                return Optional.of((User) player);
             }
         }
 
@@ -654,63 +800,25 @@ public Optional<User> getBlockNotifier(BlockPos pos) {
     // Special setter used by API
     @Override
     public void setBlockNotifier(BlockPos pos, UUID uuid) {
+        final int index = uuid == null ? PlayerTrackerStore.NO_INDEX : ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid);
         if (pos.getY() <= 255) {
-            short blockPos = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(blockPos) != null) {
-                this.trackedShortBlockPositions.get(blockPos).notifierIndex = uuid == null ? -1 :
-                        ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedShortBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
+            this.trackedBlockPositions.setNotifier(blockPosToShort(pos), index);
         } else {
-            int blockPos = blockPosToInt(pos);
-            if (this.trackedIntBlockPositions.get(blockPos) != null) {
-                this.trackedIntBlockPositions.get(blockPos).notifierIndex = uuid == null ? -1 :
-                        ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedIntBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
+            this.trackedBlockPositions.setNotifier(blockPosToInt(pos), index);
         }
     }
 
     // Special setter used by API
     @Override
     public void setBlockCreator(BlockPos pos, UUID uuid) {
+        final int index = uuid == null ? PlayerTrackerStore.NO_INDEX : ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid);
         if (pos.getY() <= 255) {
-            short blockPos = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(blockPos) != null) {
-                this.trackedShortBlockPositions.get(blockPos).ownerIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo())
-                        .getIndexForUniqueId(uuid);
-            } else {
-                this.trackedShortBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo())
-                        .getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
+            this.trackedBlockPositions.setOwner(blockPosToShort(pos), index);
         } else {
-            int blockPos = blockPosToInt(pos);
-            if (this.trackedIntBlockPositions.get(blockPos) != null) {
-                this.trackedIntBlockPositions.get(blockPos).ownerIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo())
-                        .getIndexForUniqueId(uuid);
-            } else {
-                this.trackedIntBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo())
-                        .getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
+            this.trackedBlockPositions.setOwner(blockPosToInt(pos), index);
         }
     }
 
-    @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
-        this.trackedIntBlockPositions = trackedPositions;
-    }
-
-    @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
-        this.trackedShortBlockPositions = trackedPositions;
-    }
-
     /**
     * Modifies bits in an integer.
     *
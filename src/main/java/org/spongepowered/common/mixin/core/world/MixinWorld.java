@@ -78,7 +78,6 @@
 import org.spongepowered.api.entity.EntitySnapshot;
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.entity.living.player.Player;
-import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.entity.projectile.EnderPearl;
 import org.spongepowered.api.entity.projectile.source.ProjectileSource;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -244,19 +243,24 @@ public void onEntityRemoval(net.minecraft.entity.Entity entityIn, CallbackInfo c
 
     @Override
     public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag) {
+        return createSpongeBlockSnapshot(state, extended, pos, updateFlag, getCreator(pos.getX(), pos.getY(), pos.getZ()).orElse(null),
+                getNotifier(pos.getX(), pos.getY(), pos.getZ()).orElse(null));
+    }
+
+    @Override
+    public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag,
+            @Nullable UUID creator, @Nullable UUID notifier) {
         this.builder.reset();
         Location<World> location = new Location<>((World) this, VecHelper.toVector(pos));
         this.builder.blockState((BlockState) state)
                 .extendedState((BlockState) extended)
                 .worldId(location.getExtent().getUniqueId())
                 .position(location.getBlockPosition());
-        Optional<UUID> creator = getCreator(pos.getX(), pos.getY(), pos.getZ());
-        Optional<UUID> notifier = getNotifier(pos.getX(), pos.getY(), pos.getZ());
-        if (creator.isPresent()) {
-            this.builder.creator(creator.get());
+        if (creator != null) {
+            this.builder.creator(creator);
         }
-        if (notifier.isPresent()) {
-            this.builder.notifier(notifier.get());
+        if (notifier != null) {
+            this.builder.notifier(notifier);
         }
         if (state.getBlock() instanceof ITileEntityProvider) {
             net.minecraft.tileentity.TileEntity te = getTileEntity(pos);
@@ -807,24 +811,14 @@ public boolean restoreSnapshot(int x, int y, int z, BlockSnapshot snapshot, bool
     public Optional<UUID> getCreator(int x, int y, int z) {
         BlockPos pos = new BlockPos(x, y, z);
         IMixinChunk spongeChunk = (IMixinChunk) getChunkFromBlockCoords(pos);
-        Optional<User> user = spongeChunk.getBlockOwner(pos);
-        if (user.isPresent()) {
-            return Optional.of(user.get().getUniqueId());
-        } else {
-            return Optional.empty();
-        }
+        return spongeChunk.getBlockOwnerUniqueId(pos);
     }
 
     @Override
     public Optional<UUID> getNotifier(int x, int y, int z) {
         BlockPos pos = new BlockPos(x, y, z);
         IMixinChunk spongeChunk = (IMixinChunk) getChunkFromBlockCoords(pos);
-        Optional<User> user = spongeChunk.getBlockNotifier(pos);
-        if (user.isPresent()) {
-            return Optional.of(user.get().getUniqueId());
-        } else {
-            return Optional.empty();
-        }
+        return spongeChunk.getBlockNotifierUniqueId(pos);
     }
 
     @Override
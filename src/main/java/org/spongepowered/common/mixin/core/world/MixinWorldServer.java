@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.mixin.core.world;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEventData;
@@ -67,9 +66,12 @@
 import org.spongepowered.common.event.CauseTracker;
 import org.spongepowered.common.interfaces.IMixinBlockUpdate;
 import org.spongepowered.common.interfaces.IMixinChunk;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ForcedChunkIndex;
+import org.spongepowered.common.world.ScheduledUpdateIndex;
 
 import java.util.Collection;
 import java.util.Map;
@@ -83,9 +85,14 @@
 
 @NonnullByDefault
 @Mixin(WorldServer.class)
-public abstract class MixinWorldServer extends MixinWorld {
+public abstract class MixinWorldServer extends MixinWorld implements IMixinWorldServer {
+
+    private static final String SET_ADD = "Ljava/util/Set;add(Ljava/lang/Object;)Z";
+    private static final String SET_REMOVE = "Ljava/util/Set;remove(Ljava/lang/Object;)Z";
 
     private Map<BlockPos, User> trackedBlockEvents = Maps.newHashMap();
+    private final ScheduledUpdateIndex scheduledUpdateIndex = new ScheduledUpdateIndex();
+    private final ForcedChunkIndex forcedChunkIndex = new ForcedChunkIndex();
 
     @Shadow @Final private Set<NextTickListEntry> pendingTickListEntriesHashSet;
     @Shadow @Final private TreeSet<NextTickListEntry> pendingTickListEntriesTreeSet;
@@ -224,19 +231,28 @@ public boolean onFireBlockEvent(net.minecraft.world.WorldServer worldIn, BlockEv
         return result;
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public Collection<ScheduledBlockUpdate> getScheduledUpdates(int x, int y, int z) {
-        BlockPos position = new BlockPos(x, y, z);
-        ImmutableList.Builder<ScheduledBlockUpdate> builder = ImmutableList.builder();
-        for (NextTickListEntry sbu : this.pendingTickListEntriesTreeSet) {
-            if (sbu.position.equals(position)) {
-                builder.add((ScheduledBlockUpdate) sbu);
-            }
+        return (Collection) this.scheduledUpdateIndex.get(new BlockPos(x, y, z));
+    }
+
+    @Redirect(method = {"updateBlockTick(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V",
+            "scheduleBlockUpdate(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V"}, at = @At(value = "INVOKE", target = SET_ADD))
+    private boolean onAddScheduledUpdate(Set<NextTickListEntry> pendingSet, Object entry) {
+        if (pendingSet.add((NextTickListEntry) entry)) {
+            this.scheduledUpdateIndex.add((NextTickListEntry) entry);
+            return true;
         }
-        return builder.build();
+        return false;
     }
 
-    private NextTickListEntry tmpScheduledObj;
+    @Redirect(method = {"tickUpdates", "getPendingBlockUpdates(Lnet/minecraft/world/gen/structure/StructureBoundingBox;Z)Ljava/util/List;"},
+            at = @At(value = "INVOKE", target = SET_REMOVE))
+    private boolean onRemoveScheduledUpdate(Set<NextTickListEntry> pendingSet, Object entry) {
+        this.scheduledUpdateIndex.remove((NextTickListEntry) entry);
+        return pendingSet.remove(entry);
+    }
 
     @Redirect(method = "updateBlockTick(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V",
             at = @At(value = "INVOKE", target = "Lnet/minecraft/world/NextTickListEntry;setPriority(I)V"))
@@ -249,14 +265,12 @@ private void onUpdateScheduledBlock(NextTickListEntry sbu, int priority) {
     private void onCreateScheduledBlockUpdate(NextTickListEntry sbu, int priority) {
         final CauseTracker causeTracker = this.getCauseTracker();
         if (this.isRemote || causeTracker.isCapturingTerrainGen() || causeTracker.isWorldSpawnerRunning() || causeTracker.isChunkSpawnerRunning()) {
-            this.tmpScheduledObj = sbu;
             return;
         }
 
         sbu.setPriority(priority);
         ((IMixinBlockUpdate) sbu).setWorld((WorldServer) (Object) this);
         if (!((net.minecraft.world.World)(Object) this).isBlockLoaded(sbu.position)) {
-            this.tmpScheduledObj = sbu;
             return;
         }
 
@@ -265,24 +279,42 @@ private void onCreateScheduledBlockUpdate(NextTickListEntry sbu, int priority) {
             BlockPos pos = VecHelper.toBlockPos(causeTracker.getCurrentTickBlock().get().getPosition());
             SpongeHooks.tryToTrackBlock((net.minecraft.world.World)(Object) this, causeTracker.getCurrentTickBlock().get(), pos, sbu.getBlock(), sbu.position, PlayerTracker.Type.NOTIFIER);
         }
-
-        this.tmpScheduledObj = sbu;
     }
 
     @Override
     public ScheduledBlockUpdate addScheduledUpdate(int x, int y, int z, int priority, int ticks) {
         BlockPos pos = new BlockPos(x, y, z);
-        ((WorldServer) (Object) this).scheduleBlockUpdate(pos, getBlockState(pos).getBlock(), ticks, priority);
-        ScheduledBlockUpdate sbu = (ScheduledBlockUpdate) this.tmpScheduledObj;
-        this.tmpScheduledObj = null;
-        return sbu;
+        Block block = getBlockState(pos).getBlock();
+        ((WorldServer) (Object) this).scheduleBlockUpdate(pos, block, ticks, priority);
+        // Either the update just scheduled or the one which was already pending for this block
+        for (NextTickListEntry entry : this.scheduledUpdateIndex.get(pos)) {
+            if (Block.isEqualTo(entry.getBlock(), block)) {
+                return (ScheduledBlockUpdate) entry;
+            }
+        }
+        throw new IllegalStateException("The update scheduled at " + pos + " is not pending");
     }
 
     @Override
     public void removeScheduledUpdate(int x, int y, int z, ScheduledBlockUpdate update) {
         // Note: Ignores position argument
-        this.pendingTickListEntriesHashSet.remove(update);
-        this.pendingTickListEntriesTreeSet.remove(update);
+        if (this.scheduledUpdateIndex.remove((NextTickListEntry) update)) {
+            this.pendingTickListEntriesHashSet.remove(update);
+            this.pendingTickListEntriesTreeSet.remove(update);
+        }
+    }
+
+    @Override
+    public ForcedChunkIndex getForcedChunkIndex() {
+        return this.forcedChunkIndex;
+    }
+
+    @Override
+    public void dropScheduledUpdates(int chunkX, int chunkZ) {
+        for (NextTickListEntry entry : this.scheduledUpdateIndex.removeChunk(chunkX, chunkZ)) {
+            this.pendingTickListEntriesHashSet.remove(entry);
+            this.pendingTickListEntriesTreeSet.remove(entry);
+        }
     }
 
     @Redirect(method = "updateAllPlayersSleepingFlag()V", at = @At(value = "INVOKE",
@@ -27,7 +27,6 @@
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.flowpowered.math.vector.Vector2i;
-import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -59,19 +58,20 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.block.CapturedBlock;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.event.CauseTracker;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.interfaces.IMixinChunk;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.registry.provider.DirectionFacingProvider;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.world.CaptureType;
 
 import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Random;
 
 import javax.annotation.Nullable;
@@ -87,7 +87,6 @@ public abstract class MixinWorld_Tracker implements World, IMixinWorld {
     private static final Vector2i BIOME_MAX = BLOCK_MAX.toVector2(true);
 
     private final CauseTracker causeTracker = new CauseTracker((net.minecraft.world.World) (Object) this);
-    private final Map<net.minecraft.entity.Entity, Vector3d> rotationUpdates = new HashMap<>();
 
     @Shadow @Final public boolean isRemote;
     @Shadow @Final public Profiler theProfiler;
@@ -129,32 +128,39 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
             }
 
             Block block = newState.getBlock();
-            BlockSnapshot originalBlockSnapshot = null;
+            boolean capturing = false;
+            CapturedBlock capturedBlock = null;
             BlockSnapshot newBlockSnapshot = null;
 
             // Don't capture if we are restoring blocks
             final CauseTracker causeTracker = this.getCauseTracker();
             if (!this.isRemote && !causeTracker.isRestoringBlocks() && !causeTracker.isWorldSpawnerRunning() && !causeTracker.isChunkSpawnerRunning()
                     && !causeTracker.isCapturingTerrainGen()) {
-                originalBlockSnapshot = null;
-                originalBlockSnapshot = createSpongeBlockSnapshot(currentState, currentState.getBlock().getActualState(currentState,
-                        (IBlockAccess) this, pos), pos, flags);
-
+                capturing = true;
+                CaptureType captureType = null;
                 if (causeTracker.isCaptureBlockDecay()) {
                     // Only capture final state of decay, ignore the rest
                     if (block == Blocks.air) {
-                        ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.DECAY;
-                        causeTracker.getCapturedSpongeBlockSnapshots().add(originalBlockSnapshot);
+                        captureType = CaptureType.DECAY;
                     }
                 } else if (block == Blocks.air) {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.BREAK;
-                    causeTracker.getCapturedSpongeBlockSnapshots().add(originalBlockSnapshot);
+                    captureType = CaptureType.BREAK;
                 } else if (block != currentState.getBlock()) {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.PLACE;
-                    causeTracker.getCapturedSpongeBlockSnapshots().add(originalBlockSnapshot);
+                    captureType = CaptureType.PLACE;
                 } else {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.MODIFY;
-                    causeTracker.getCapturedSpongeBlockSnapshots().add(originalBlockSnapshot);
+                    captureType = CaptureType.MODIFY;
+                }
+
+                if (captureType != null) {
+                    if (SpongeImplHooks.blockHasTileEntity(currentState.getBlock(), currentState)) {
+                        // Tile entity data is lost once the block changes, so it has to be snapshotted now
+                        SpongeBlockSnapshot originalBlockSnapshot = (SpongeBlockSnapshot) createSpongeBlockSnapshot(currentState, currentState.getBlock()
+                                .getActualState(currentState, (IBlockAccess) this, pos), pos, flags);
+                        capturedBlock = new CapturedBlock(pos, originalBlockSnapshot, captureType);
+                    } else {
+                        capturedBlock = new CapturedBlock(this, pos, currentState, flags, captureType);
+                    }
+                    causeTracker.getCapturedBlocks().add(capturedBlock);
                 }
             }
 
@@ -163,8 +169,8 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
             IBlockState iblockstate1 = ((IMixinChunk) chunk).setBlockState(pos, newState, currentState, newBlockSnapshot);
 
             if (iblockstate1 == null) {
-                if (originalBlockSnapshot != null) {
-                    causeTracker.getCapturedSpongeBlockSnapshots().remove(originalBlockSnapshot);
+                if (capturedBlock != null) {
+                    causeTracker.getCapturedBlocks().remove(capturedBlock);
                 }
                 return false;
             } else {
@@ -180,7 +186,7 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
                     causeTracker.handleBlockCaptures(causeTracker.getPluginCause().get());
                 } else {
                     // Don't notify clients or update physics while capturing blockstates
-                    if (originalBlockSnapshot == null) {
+                    if (!capturing) {
                         // Modularize client and physic updates
                         markAndNotifyNeighbors(pos, chunk, iblockstate1, newState, flags);
                     }
@@ -192,20 +198,6 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
     }
 
 
-    @Override
-    public void addEntityRotationUpdate(net.minecraft.entity.Entity entity, Vector3d rotation) {
-        this.rotationUpdates.put(entity, rotation);
-    }
-
-    private void updateRotation(net.minecraft.entity.Entity entityIn) {
-        Vector3d rotationUpdate = this.rotationUpdates.get(entityIn);
-        if (rotationUpdate != null) {
-            entityIn.rotationPitch = (float) rotationUpdate.getX();
-            entityIn.rotationYaw = (float) rotationUpdate.getY();
-        }
-        this.rotationUpdates.remove(entityIn);
-    }
-
 
     @Override
     public void markAndNotifyNeighbors(BlockPos pos, @Nullable net.minecraft.world.chunk.Chunk chunk, IBlockState old, IBlockState new_, int flags) {
@@ -234,7 +226,9 @@ public void onForceBlockUpdateTick(Block block, net.minecraft.world.World worldI
         causeTracker.setProcessingCaptureCause(true);
         causeTracker.setCurrentTickBlock(createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, (IBlockAccess) this, pos), pos, 0));
         block.updateTick(worldIn, pos, state, rand);
-        causeTracker.handlePostTickCaptures(Cause.of(NamedCause.source(causeTracker.getCurrentTickBlock().get())));
+        if (causeTracker.hasCaptures()) {
+            causeTracker.handlePostTickCaptures(Cause.of(NamedCause.source(causeTracker.getCurrentTickBlock().get())));
+        }
         causeTracker.setCurrentTickBlock(null);
         causeTracker.setProcessingCaptureCause(false);
     }
@@ -250,9 +244,11 @@ public void onUpdateEntities(net.minecraft.entity.Entity entityIn) {
         causeTracker.setProcessingCaptureCause(true);
         causeTracker.setCurrentTickEntity((Entity) entityIn);
         entityIn.onUpdate();
-        updateRotation(entityIn);
+        ((IMixinEntity) entityIn).applyPendingRotation();
         SpongeCommonEventFactory.handleEntityMovement(entityIn);
-        causeTracker.handlePostTickCaptures(Cause.of(NamedCause.source(entityIn)));
+        if (causeTracker.hasCaptures()) {
+            causeTracker.handlePostTickCaptures(Cause.of(NamedCause.source(entityIn)));
+        }
         causeTracker.setCurrentTickEntity(null);
         causeTracker.setProcessingCaptureCause(false);
     }
@@ -268,7 +264,9 @@ public void onUpdateTileEntities(ITickable tile) {
         causeTracker.setProcessingCaptureCause(true);
         causeTracker.setCurrentTickTileEntity((TileEntity) tile);
         tile.update();
-        causeTracker.handlePostTickCaptures(Cause.of(NamedCause.source(tile)));
+        if (causeTracker.hasCaptures()) {
+            causeTracker.handlePostTickCaptures(Cause.of(NamedCause.source(tile)));
+        }
         causeTracker.setCurrentTickTileEntity(null);
         causeTracker.setProcessingCaptureCause(false);
     }
@@ -284,9 +282,11 @@ public void onCallEntityUpdate(net.minecraft.entity.Entity entity) {
         causeTracker.setProcessingCaptureCause(true);
         causeTracker.setCurrentTickEntity((Entity) entity);
         entity.onUpdate();
-        updateRotation(entity);
+        ((IMixinEntity) entity).applyPendingRotation();
         SpongeCommonEventFactory.handleEntityMovement(entity);
-        causeTracker.handlePostTickCaptures(Cause.of(NamedCause.source(entity)));
+        if (causeTracker.hasCaptures()) {
+            causeTracker.handlePostTickCaptures(Cause.of(NamedCause.source(entity)));
+        }
         causeTracker.setCurrentTickEntity(null);
         causeTracker.setProcessingCaptureCause(false);
     }
@@ -318,7 +318,7 @@ public void notifyNeighborsOfStateChange(BlockPos pos, Block blockType) {
         }
 
         final CauseTracker causeTracker = this.getCauseTracker();
-        if (this.isRemote) {
+        if (this.isRemote || !SpongeImpl.hasListeners(NotifyNeighborBlockEvent.class)) {
             for (EnumFacing facing : EnumFacing.values()) {
                 causeTracker.notifyBlockOfStateChange(pos.offset(facing), blockType, pos);
             }
@@ -351,18 +351,19 @@ public void notifyNeighborsOfStateExcept(BlockPos pos, Block blockType, EnumFaci
             return;
         }
 
-        EnumSet directions = EnumSet.allOf(EnumFacing.class);
-        directions.remove(skipSide);
-
         final CauseTracker causeTracker = this.getCauseTracker();
-        if (this.isRemote) {
-            for (Object obj : directions) {
-                EnumFacing facing = (EnumFacing) obj;
-                causeTracker.notifyBlockOfStateChange(pos.offset(facing), blockType, pos);
+        if (this.isRemote || !SpongeImpl.hasListeners(NotifyNeighborBlockEvent.class)) {
+            for (EnumFacing facing : EnumFacing.values()) {
+                if (facing != skipSide) {
+                    causeTracker.notifyBlockOfStateChange(pos.offset(facing), blockType, pos);
+                }
             }
             return;
         }
 
+        EnumSet directions = EnumSet.allOf(EnumFacing.class);
+        directions.remove(skipSide);
+
         NotifyNeighborBlockEvent event = SpongeCommonEventFactory.callNotifyNeighborEvent(this, pos, directions);
         if (event.isCancelled()) {
             return;
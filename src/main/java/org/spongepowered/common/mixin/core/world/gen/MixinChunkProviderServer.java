@@ -31,14 +31,18 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 
 @Mixin(ChunkProviderServer.class)
 public abstract class MixinChunkProviderServer {
 
     @Shadow public WorldServer worldObj;
     @Shadow public abstract Chunk provideChunk(int x, int z);
+    @Shadow abstract void saveChunkExtraData(Chunk chunk);
 
     @Redirect(method = "populate", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/IChunkProvider;populate(Lnet/minecraft/world/chunk/IChunkProvider;II)V"))
     public void onChunkPopulate(IChunkProvider serverChunkGenerator, IChunkProvider chunkProvider, int x, int z) {
@@ -49,4 +53,20 @@ public void onChunkPopulate(IChunkProvider serverChunkGenerator, IChunkProvider
         world.getCauseTracker().setCapturingTerrainGen(false);
         world.getCauseTracker().setProcessingCaptureCause(false);
     }
+
+    @Inject(method = "dropChunk", at = @At("HEAD"), cancellable = true)
+    public void onDropChunk(int x, int z, CallbackInfo ci) {
+        // Chunks forced by a loading ticket are never queued for unloading
+        if (((IMixinWorldServer) this.worldObj).getForcedChunkIndex().isForced(x, z)) {
+            ci.cancel();
+        }
+    }
+
+    @Redirect(method = "unloadQueuedChunks", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/world/gen/ChunkProviderServer;saveChunkExtraData(Lnet/minecraft/world/chunk/Chunk;)V"))
+    public void onUnloadChunk(ChunkProviderServer chunkProvider, Chunk chunk) {
+        this.saveChunkExtraData(chunk);
+        // The pending block updates were saved with the chunk and are scheduled again when it is loaded
+        ((IMixinWorldServer) this.worldObj).dropScheduledUpdates(chunk.xPosition, chunk.zPosition);
+    }
 }
@@ -27,6 +27,7 @@
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.WorldServer;
 import net.minecraft.world.storage.SaveHandler;
 import net.minecraft.world.storage.WorldInfo;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
@@ -45,6 +46,7 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.world.DimensionManager;
+import org.spongepowered.common.world.SpongeChunkTicketManager;
 import org.spongepowered.common.world.storage.SpongePlayerDataHandler;
 
 import java.io.File;
@@ -129,6 +131,10 @@ public void loadSpongeDatData(WorldInfo info) throws IOException {
     }
 
     private void saveSpongeDatData(WorldInfo info) {
+        final WorldServer world = DimensionManager.getWorldFromDimId(((IMixinWorldInfo) info).getDimensionId());
+        if (world != null && world.getWorldInfo() == info) {
+            SpongeChunkTicketManager.getInstance().saveTickets(world);
+        }
         try {
             final File spongeFile1 = new File(this.worldDirectory, "level_sponge.dat_new");
             final File spongeFile2 = new File(this.worldDirectory, "level_sponge.dat_old");
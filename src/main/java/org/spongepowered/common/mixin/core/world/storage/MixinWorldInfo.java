@@ -68,6 +68,7 @@
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.entity.TrackedUserCache;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldSettings;
 import org.spongepowered.common.registry.type.entity.GameModeRegistryModule;
@@ -100,6 +101,7 @@ public abstract class MixinWorldInfo implements WorldProperties, IMixinWorldInfo
     private BiMap<Integer, UUID> playerUniqueIdMap = HashBiMap.create();
     private List<UUID> pendingUniqueIds = new ArrayList<>();
     private int trackedUniqueIdCount = 0;
+    private TrackedUserCache trackedUserCache;
     private SpongeConfig<SpongeConfig.WorldConfig> worldConfig;
     private ServerScoreboard scoreboard;
 
@@ -649,6 +651,14 @@ public Optional<UUID> getUniqueIdForIndex(int index) {
         return Optional.ofNullable(this.playerUniqueIdMap.get(index));
     }
 
+    @Override
+    public TrackedUserCache getTrackedUserCache() {
+        if (this.trackedUserCache == null) {
+            this.trackedUserCache = new TrackedUserCache(this, SpongeImpl.getGlobalConfig().getConfig().getBlockTracking().getUserCacheSize());
+        }
+        return this.trackedUserCache;
+    }
+
     @Override
     public NBTTagCompound getSpongeRootLevelNbt() {
         writeSpongeNbt();
@@ -40,6 +40,7 @@
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public final class SpongeMessageHandler {
 
@@ -75,28 +76,29 @@ public static void handleRequest(MessageTrackerDataRequest message, RemoteConnec
             return;
         }
 
-        String ownerName;
-        String notifierName;
-        Optional<User> owner = Optional.empty();
-        Optional<User> notifier = Optional.empty();
+        CompletableFuture<Optional<User>> owner = CompletableFuture.completedFuture(Optional.empty());
+        CompletableFuture<Optional<User>> notifier = CompletableFuture.completedFuture(Optional.empty());
 
         if (message.type == 0) { // block
+            // Resolve offline users in the background instead of blocking
+            // the main thread on storage
             IMixinChunk spongeChunk = (IMixinChunk) sender.worldObj.getChunkFromBlockCoords(pos);
-            owner = spongeChunk.getBlockOwner(pos);
-            notifier = spongeChunk.getBlockNotifier(pos);
+            owner = spongeChunk.getBlockOwnerAsync(pos);
+            notifier = spongeChunk.getBlockNotifierAsync(pos);
         } else if (message.type == 1) { // entity
             Entity entity = sender.worldObj.getEntityByID(message.entityId);
             if (entity != null) {
                 IMixinEntity spongeEntity = (IMixinEntity) entity;
-                owner = spongeEntity.getTrackedPlayer(NbtDataUtil.SPONGE_ENTITY_CREATOR);
-                notifier = spongeEntity.getTrackedPlayer(NbtDataUtil.SPONGE_ENTITY_NOTIFIER);
+                owner = CompletableFuture.completedFuture(spongeEntity.getTrackedPlayer(NbtDataUtil.SPONGE_ENTITY_CREATOR));
+                notifier = CompletableFuture.completedFuture(spongeEntity.getTrackedPlayer(NbtDataUtil.SPONGE_ENTITY_NOTIFIER));
             }
         }
 
-        ownerName = owner.isPresent() ? owner.get().getName() : "";
-        notifierName = notifier.isPresent() ? notifier.get().getName() : "";
-
-        channel.sendTo(player, new MessageTrackerDataResponse(ownerName, notifierName));
+        owner.thenCombine(notifier, (ownerUser, notifierUser) -> {
+            String ownerName = ownerUser.isPresent() ? ownerUser.get().getName() : "";
+            String notifierName = notifierUser.isPresent() ? notifierUser.get().getName() : "";
+            return new MessageTrackerDataResponse(ownerName, notifierName);
+        }).thenAccept(response -> channel.sendTo(player, response));
     }
 
 }
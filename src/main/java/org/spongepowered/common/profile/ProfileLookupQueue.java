@@ -0,0 +1,485 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.profile.GameProfileCache;
+import org.spongepowered.api.profile.ProfileNotFoundException;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.profile.query.GameProfileQuery;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Resolves game profiles for the {@link SpongeProfileManager}.
+ *
+ * <p>Concurrent requests for the same profile share a single lookup, single
+ * lookups made within a short window are merged into one multi-get query,
+ * queries run on a bounded pool at a limited rate, and profiles which could
+ * not be found are remembered for a while. Lookups which failed without an
+ * answer are only held back for a short backoff before they are tried
+ * again.</p>
+ */
+public final class ProfileLookupQueue {
+
+    private final Supplier<GameProfileCache> cache;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService batcher;
+    private final RateLimiter rateLimiter;
+    private final long windowMillis;
+    private final int maxBatchSize;
+
+    private final Map<LookupKey, CompletableFuture<GameProfile>> inFlight = new ConcurrentHashMap<>();
+    private final Batch<UUID> cachedIdBatch = new Batch<>(true, GameProfileCache::getOrLookupByIds, GameProfile::getUniqueId,
+            Function.identity());
+    private final Batch<UUID> idBatch = new Batch<>(false, GameProfileCache::lookupByIds, GameProfile::getUniqueId, Function.identity());
+    private final Batch<String> cachedNameBatch = new Batch<>(true, ProfileLookupQueue::getOrLookupByNames, ProfileLookupQueue::lowerCaseName,
+            ProfileLookupQueue::lowerCase);
+    private final Batch<String> nameBatch = new Batch<>(false, GameProfileCache::lookupByNames, ProfileLookupQueue::lowerCaseName,
+            ProfileLookupQueue::lowerCase);
+
+    private final NegativeCache negativeCache;
+    private volatile boolean shutdown;
+
+    public ProfileLookupQueue(Supplier<GameProfileCache> cache, int threads, long windowMillis, int maxBatchSize, double lookupsPerSecond,
+            long negativeTtlMillis, long failureBackoffMillis, @Nullable File negativeCacheFile) {
+        this.cache = cache;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads),
+                new ThreadFactoryBuilder().setNameFormat("Sponge Profile Lookup #%d").setDaemon(true).build());
+        this.batcher = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("Sponge Profile Lookup Batcher").setDaemon(true).build());
+        this.rateLimiter = RateLimiter.create(lookupsPerSecond > 0 ? lookupsPerSecond : Double.MAX_VALUE);
+        this.windowMillis = Math.max(0, windowMillis);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.negativeCache = new NegativeCache(negativeTtlMillis, failureBackoffMillis, negativeCacheFile);
+        this.batcher.scheduleWithFixedDelay(this.negativeCache::save, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public CompletableFuture<GameProfile> get(UUID uniqueId, boolean useCache) {
+        if (useCache) {
+            Optional<GameProfile> cached = this.cache.get().getById(uniqueId);
+            if (cached.isPresent()) {
+                return CompletableFuture.completedFuture(cached.get());
+            }
+        }
+        return this.lookup(new LookupKey(uniqueId, useCache, 0), uniqueId.toString(), useCache ? this.cachedIdBatch : this.idBatch, uniqueId);
+    }
+
+    public CompletableFuture<GameProfile> get(String name, boolean useCache) {
+        String key = name.toLowerCase(Locale.ROOT);
+        return this.lookup(new LookupKey(key, useCache, 0), key, useCache ? this.cachedNameBatch : this.nameBatch, key);
+    }
+
+    public CompletableFuture<Collection<GameProfile>> getAllById(Iterable<UUID> uniqueIds, boolean useCache) {
+        List<CompletableFuture<GameProfile>> futures = new ArrayList<>();
+        for (UUID uniqueId : uniqueIds) {
+            futures.add(this.get(uniqueId, useCache));
+        }
+        return collect(futures);
+    }
+
+    public CompletableFuture<Collection<GameProfile>> getAllByName(Iterable<String> names, boolean useCache) {
+        List<CompletableFuture<GameProfile>> futures = new ArrayList<>();
+        for (String name : names) {
+            futures.add(this.get(name, useCache));
+        }
+        return collect(futures);
+    }
+
+    public CompletableFuture<GameProfile> fill(GameProfile profile, boolean signed, boolean useCache) {
+        LookupKey key = new LookupKey(profile.getUniqueId(), useCache, signed ? 2 : 1);
+        String negativeKey = "fill:" + profile.getUniqueId();
+        if (this.shutdown) {
+            return failed(new IllegalStateException("The profile lookup queue was shut down"));
+        }
+        if (useCache) {
+            if (this.negativeCache.isNotFound(negativeKey)) {
+                return failed(new ProfileNotFoundException("Profile: " + profile));
+            }
+            if (this.negativeCache.isBackingOff(negativeKey)) {
+                return failed(new IOException("Profile: " + profile + " failed to be looked up recently"));
+            }
+        }
+        return this.track(key, future -> this.workers.execute(() -> {
+            try {
+                this.rateLimiter.acquire();
+                future.complete(new GameProfileQuery.SingleFill(this.cache.get(), profile, signed, useCache).call());
+            } catch (ProfileNotFoundException e) {
+                this.negativeCache.add(negativeKey);
+                future.completeExceptionally(e);
+            } catch (Throwable t) {
+                this.negativeCache.addFailure(negativeKey);
+                future.completeExceptionally(t);
+            }
+        }));
+    }
+
+    /**
+     * Writes the negative cache to disk if it changed and stops the lookup
+     * threads. Lookups made after this fail right away.
+     */
+    public void shutdown() {
+        this.shutdown = true;
+        this.batcher.shutdown();
+        this.workers.shutdown();
+        this.negativeCache.save();
+    }
+
+    private <K> CompletableFuture<GameProfile> lookup(LookupKey key, String negativeKey, Batch<K> batch, K value) {
+        if (this.shutdown) {
+            return failed(new IllegalStateException("The profile lookup queue was shut down"));
+        }
+        if (batch.useCache) {
+            if (this.negativeCache.isNotFound(negativeKey)) {
+                return failed(new ProfileNotFoundException("Profile: " + value));
+            }
+            if (this.negativeCache.isBackingOff(negativeKey)) {
+                return failed(new IOException("Profile: " + value + " failed to be looked up recently"));
+            }
+        }
+        return this.track(key, future -> batch.add(value, future));
+    }
+
+    private CompletableFuture<GameProfile> track(LookupKey key, Consumer<CompletableFuture<GameProfile>> starter) {
+        CompletableFuture<GameProfile> created = new CompletableFuture<>();
+        CompletableFuture<GameProfile> existing = this.inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        created.whenComplete((profile, error) -> this.inFlight.remove(key, created));
+        try {
+            starter.accept(created);
+        } catch (RejectedExecutionException e) {
+            // Shut down in the meantime
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    private static CompletableFuture<Collection<GameProfile>> collect(List<CompletableFuture<GameProfile>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).handle((ignored, error) -> {
+            List<GameProfile> profiles = new ArrayList<>(futures.size());
+            for (CompletableFuture<GameProfile> future : futures) {
+                if (!future.isCompletedExceptionally()) {
+                    profiles.add(future.join());
+                }
+            }
+            return profiles;
+        });
+    }
+
+    private static String lowerCaseName(GameProfile profile) {
+        return lowerCase(profile.getName().orElse(""));
+    }
+
+    private static String lowerCase(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Optional<GameProfile>> getOrLookupByNames(GameProfileCache cache, Collection<String> names) {
+        // Unlike GameProfileCache#getOrLookupByNames this looks up all
+        // missing names in one request and keeps failed lookups apart
+        Map<String, Optional<GameProfile>> result = new HashMap<>();
+        List<String> pending = new ArrayList<>();
+        for (Map.Entry<String, Optional<GameProfile>> entry : cache.getByNames(names).entrySet()) {
+            if (entry.getValue().isPresent()) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (String name : names) {
+            if (!result.containsKey(name)) {
+                pending.add(name);
+            }
+        }
+        if (!pending.isEmpty()) {
+            result.putAll(cache.lookupByNames(pending));
+        }
+        return result;
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable t) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(t);
+        return future;
+    }
+
+    private static final class LookupKey {
+
+        private final Object value;
+        private final boolean useCache;
+        private final int type;
+
+        LookupKey(Object value, boolean useCache, int type) {
+            this.value = value;
+            this.useCache = useCache;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LookupKey)) {
+                return false;
+            }
+            LookupKey other = (LookupKey) o;
+            return this.useCache == other.useCache && this.type == other.type && this.value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.value, this.useCache, this.type);
+        }
+    }
+
+    /**
+     * Collects single lookups until the batching window closes, then runs
+     * them as multi-get lookups.
+     */
+    private final class Batch<K> {
+
+        final boolean useCache;
+        private final BiFunction<GameProfileCache, Collection<K>, Map<K, Optional<GameProfile>>> lookup;
+        private final Function<GameProfile, K> keyFunction;
+        private final Function<K, K> resultKeyFunction;
+        private Map<K, CompletableFuture<GameProfile>> pending = new HashMap<>();
+
+        Batch(boolean useCache, BiFunction<GameProfileCache, Collection<K>, Map<K, Optional<GameProfile>>> lookup,
+                Function<GameProfile, K> keyFunction, Function<K, K> resultKeyFunction) {
+            this.useCache = useCache;
+            this.lookup = lookup;
+            this.keyFunction = keyFunction;
+            this.resultKeyFunction = resultKeyFunction;
+        }
+
+        synchronized void add(K value, CompletableFuture<GameProfile> future) {
+            if (this.pending.isEmpty()) {
+                ProfileLookupQueue.this.batcher.schedule(this::flush, ProfileLookupQueue.this.windowMillis, TimeUnit.MILLISECONDS);
+            }
+            this.pending.put(value, future);
+            if (this.pending.size() >= ProfileLookupQueue.this.maxBatchSize) {
+                this.flush();
+            }
+        }
+
+        synchronized void flush() {
+            if (this.pending.isEmpty()) {
+                return;
+            }
+            Map<K, CompletableFuture<GameProfile>> drained = this.pending;
+            this.pending = new HashMap<>();
+            try {
+                ProfileLookupQueue.this.workers.execute(() -> this.run(drained));
+            } catch (RejectedExecutionException e) {
+                // Shut down while the batching window was open
+                for (CompletableFuture<GameProfile> future : drained.values()) {
+                    future.completeExceptionally(e);
+                }
+            }
+        }
+
+        private void run(Map<K, CompletableFuture<GameProfile>> drained) {
+            final NegativeCache negativeCache = ProfileLookupQueue.this.negativeCache;
+            try {
+                ProfileLookupQueue.this.rateLimiter.acquire();
+                Map<K, Optional<GameProfile>> results = this.lookup.apply(ProfileLookupQueue.this.cache.get(), new ArrayList<>(drained.keySet()));
+                for (Map.Entry<K, Optional<GameProfile>> result : results.entrySet()) {
+                    K key = result.getValue().isPresent() ? this.keyFunction.apply(result.getValue().get())
+                            : this.resultKeyFunction.apply(result.getKey());
+                    CompletableFuture<GameProfile> future = drained.remove(key);
+                    if (future == null) {
+                        continue;
+                    }
+                    if (result.getValue().isPresent()) {
+                        future.complete(result.getValue().get());
+                    } else {
+                        // Answered, but there is no such profile
+                        negativeCache.add(key.toString().toLowerCase(Locale.ROOT));
+                        future.completeExceptionally(new ProfileNotFoundException("Profile: " + key));
+                    }
+                }
+                // Keys without an answer failed, they may exist after all
+                for (Map.Entry<K, CompletableFuture<GameProfile>> entry : drained.entrySet()) {
+                    negativeCache.addFailure(entry.getKey().toString().toLowerCase(Locale.ROOT));
+                    entry.getValue().completeExceptionally(new IOException("Profile: " + entry.getKey() + " could not be looked up"));
+                }
+            } catch (Throwable t) {
+                for (Map.Entry<K, CompletableFuture<GameProfile>> entry : drained.entrySet()) {
+                    negativeCache.addFailure(entry.getKey().toString().toLowerCase(Locale.ROOT));
+                    entry.getValue().completeExceptionally(t);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remembers profiles which could not be found, persisted so that a
+     * restart does not repeat all failed lookups. Lookups which failed
+     * without an answer are kept apart and only remembered in memory for
+     * the failure backoff.
+     */
+    private static final class NegativeCache {
+
+        private static final Gson GSON = new Gson();
+
+        private final long ttlMillis;
+        private final long failureBackoffMillis;
+        @Nullable private final File file;
+        private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+        private final Map<String, Long> failures = new ConcurrentHashMap<>();
+        private volatile boolean dirty;
+
+        NegativeCache(long ttlMillis, long failureBackoffMillis, @Nullable File file) {
+            this.ttlMillis = ttlMillis;
+            this.failureBackoffMillis = failureBackoffMillis;
+            this.file = file;
+            this.load();
+        }
+
+        boolean isNotFound(String key) {
+            if (this.ttlMillis <= 0) {
+                return false;
+            }
+            Long expiry = this.expiries.get(key);
+            if (expiry == null) {
+                return false;
+            }
+            if (expiry < System.currentTimeMillis()) {
+                this.expiries.remove(key, expiry);
+                this.dirty = true;
+                return false;
+            }
+            return true;
+        }
+
+        boolean isBackingOff(String key) {
+            Long expiry = this.failures.get(key);
+            if (expiry == null) {
+                return false;
+            }
+            if (expiry < System.currentTimeMillis()) {
+                this.failures.remove(key, expiry);
+                return false;
+            }
+            return true;
+        }
+
+        void add(String key) {
+            this.failures.remove(key);
+            if (this.ttlMillis > 0) {
+                this.expiries.put(key, System.currentTimeMillis() + this.ttlMillis);
+                this.dirty = true;
+            }
+        }
+
+        void addFailure(String key) {
+            if (this.failureBackoffMillis > 0) {
+                this.failures.put(key, System.currentTimeMillis() + this.failureBackoffMillis);
+            }
+        }
+
+        private void load() {
+            if (this.file == null || !this.file.isFile()) {
+                return;
+            }
+            try (Reader reader = Files.newBufferedReader(this.file.toPath(), StandardCharsets.UTF_8)) {
+                Map<String, Long> stored = GSON.fromJson(reader, new TypeToken<Map<String, Long>>() {}.getType());
+                if (stored != null) {
+                    long now = System.currentTimeMillis();
+                    stored.forEach((key, expiry) -> {
+                        if (key != null && expiry != null && expiry >= now) {
+                            this.expiries.put(key, expiry);
+                        }
+                    });
+                }
+            } catch (IOException | RuntimeException e) {
+                SpongeImpl.getLogger().warn("Could not read the negative profile cache {}.", this.file, e);
+            }
+        }
+
+        synchronized void save() {
+            if (this.file == null || !this.dirty) {
+                return;
+            }
+            this.dirty = false;
+            long now = System.currentTimeMillis();
+            Map<String, Long> snapshot = new HashMap<>();
+            for (Iterator<Map.Entry<String, Long>> it = this.expiries.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<String, Long> entry = it.next();
+                if (entry.getValue() < now) {
+                    it.remove();
+                } else {
+                    snapshot.put(entry.getKey(), entry.getValue());
+                }
+            }
+            File tmp = new File(this.file.getPath() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+                GSON.toJson(snapshot, writer);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Could not save the negative profile cache {}.", this.file, e);
+                return;
+            }
+            try {
+                Files.move(tmp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Could not save the negative profile cache {}.", this.file, e);
+            }
+        }
+    }
+}
@@ -32,22 +32,29 @@
 import org.spongepowered.api.profile.GameProfileCache;
 import org.spongepowered.api.profile.GameProfileManager;
 import org.spongepowered.api.profile.property.ProfileProperty;
-import org.spongepowered.common.profile.query.GameProfileQuery;
-import org.spongepowered.common.profile.query.NameQuery;
-import org.spongepowered.common.profile.query.UniqueIdQuery;
-import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.UUID;
-import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
 public final class SpongeProfileManager implements GameProfileManager {
 
     private final GameProfileCache defaultCache = (GameProfileCache) ((MinecraftServer) Sponge.getServer()).getPlayerProfileCache();
-    private GameProfileCache cache = this.defaultCache;
+    private volatile GameProfileCache cache = this.defaultCache;
+    private final ProfileLookupQueue lookups;
+
+    public SpongeProfileManager() {
+        SpongeConfig.ProfileLookupCategory config = SpongeImpl.getGlobalConfig().getConfig().getProfileLookups();
+        this.lookups = new ProfileLookupQueue(() -> this.cache, config.getThreads(), config.getBatchWindow(), config.getBatchSize(),
+                config.getRateLimit(), TimeUnit.MINUTES.toMillis(config.getNegativeCacheTtl()), TimeUnit.SECONDS.toMillis(config.getFailureBackoff()),
+                new File(MinecraftServer.USER_CACHE_FILE.getAbsoluteFile().getParentFile(), "usercache_negative.json"));
+    }
 
     @Override
     public GameProfile createProfile(UUID uniqueId, @Nullable String name) {
@@ -62,27 +69,27 @@ public ProfileProperty createProfileProperty(String name, String value, @Nullabl
 
     @Override
     public CompletableFuture<GameProfile> get(UUID uniqueId, final boolean useCache) {
-        return this.submitTask(new UniqueIdQuery.SingleGet(this.cache, checkNotNull(uniqueId, "unique id"), useCache));
+        return this.lookups.get(checkNotNull(uniqueId, "unique id"), useCache);
     }
 
     @Override
     public CompletableFuture<Collection<GameProfile>> getAllById(Iterable<UUID> uniqueIds, boolean useCache) {
-        return this.submitTask(new UniqueIdQuery.MultiGet(this.cache, checkNotNull(uniqueIds, "unique ids"), useCache));
+        return this.lookups.getAllById(checkNotNull(uniqueIds, "unique ids"), useCache);
     }
 
     @Override
     public CompletableFuture<GameProfile> get(String name, boolean useCache) {
-        return this.submitTask(new NameQuery.SingleGet(this.cache, checkNotNull(name, "name"), useCache));
+        return this.lookups.get(checkNotNull(name, "name"), useCache);
     }
 
     @Override
     public CompletableFuture<Collection<GameProfile>> getAllByName(Iterable<String> names, boolean useCache) {
-        return this.submitTask(new NameQuery.MultiGet(this.cache, checkNotNull(names, "names"), useCache));
+        return this.lookups.getAllByName(checkNotNull(names, "names"), useCache);
     }
 
     @Override
     public CompletableFuture<GameProfile> fill(GameProfile profile, boolean signed, boolean useCache) {
-        return this.submitTask(new GameProfileQuery.SingleFill(this.cache, checkNotNull(profile, "profile"), signed, useCache));
+        return this.lookups.fill(checkNotNull(profile, "profile"), signed, useCache);
     }
 
     @Override
@@ -100,8 +107,8 @@ public GameProfileCache getDefaultCache() {
         return this.defaultCache;
     }
 
-    private <T> CompletableFuture<T> submitTask(Callable<T> callable) {
-        return SpongeScheduler.getInstance().submitAsyncTask(callable);
+    public void shutdown() {
+        this.lookups.shutdown();
     }
 
 }
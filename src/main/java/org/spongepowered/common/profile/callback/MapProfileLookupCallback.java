@@ -28,6 +28,7 @@
 
 import com.mojang.authlib.GameProfile;
 import com.mojang.authlib.ProfileLookupCallback;
+import com.mojang.authlib.yggdrasil.ProfileNotFoundException;
 
 import java.util.Map;
 import java.util.Optional;
@@ -47,7 +48,11 @@ public void onProfileLookupSucceeded(GameProfile profile) {
 
     @Override
     public void onProfileLookupFailed(GameProfile profile, Exception e) {
-        this.profiles.put(profile.getName(), Optional.empty());
+        // Other failures, like being rate limited, leave the name without
+        // a result as it may exist after all
+        if (e instanceof ProfileNotFoundException) {
+            this.profiles.put(profile.getName(), Optional.empty());
+        }
     }
 
 }
@@ -27,6 +27,7 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
 import com.google.inject.Singleton;
 import ninja.leaping.configurate.objectmapping.serialize.TypeSerializers;
@@ -99,6 +100,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 @Singleton
@@ -403,14 +405,34 @@ public Locale getLocale(String locale) {
     }
 
     private void registerModulePhase() {
+        final long phaseStart = System.nanoTime();
+        final int scannedBefore = RegistryModuleLoader.getScannedModuleCount();
+        final List<Map.Entry<Class<? extends RegistryModule>, Long>> moduleTimes = new ArrayList<>(this.orderedModules.size());
         for (Class<? extends RegistryModule> moduleClass : this.orderedModules) {
             if (!this.classMap.containsKey(moduleClass)) {
                 throw new IllegalStateException("Something funky happened!");
             }
             final RegistryModule module = this.classMap.get(moduleClass);
+            final long moduleStart = System.nanoTime();
             RegistryModuleLoader.tryModulePhaseRegistration(module);
+            moduleTimes.add(Maps.immutableEntry(moduleClass, System.nanoTime() - moduleStart));
         }
+        final long additionalStart = System.nanoTime();
         registerAdditionalPhase();
+        final long phaseEnd = System.nanoTime();
+
+        if (SpongeImpl.getLogger().isDebugEnabled()) {
+            moduleTimes.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+            final StringBuilder slowest = new StringBuilder();
+            for (Map.Entry<Class<? extends RegistryModule>, Long> entry : moduleTimes.subList(0, Math.min(5, moduleTimes.size()))) {
+                slowest.append(slowest.length() == 0 ? "" : ", ").append(entry.getKey().getSimpleName())
+                        .append(" (").append(TimeUnit.NANOSECONDS.toMillis(entry.getValue())).append(" ms)");
+            }
+            SpongeImpl.getLogger().debug("Registry phase {} took {} ms ({} ms additional registrations) for {} modules, {} of them scanned in "
+                    + "this phase as they were missing from the bootstrap index. Slowest modules: {}", this.phase,
+                    TimeUnit.NANOSECONDS.toMillis(phaseEnd - phaseStart), TimeUnit.NANOSECONDS.toMillis(phaseEnd - additionalStart),
+                    moduleTimes.size(), RegistryModuleLoader.getScannedModuleCount() - scannedBefore, slowest);
+        }
     }
 
     private void registerAdditionalPhase() {
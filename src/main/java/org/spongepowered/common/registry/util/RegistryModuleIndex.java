@@ -0,0 +1,169 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.registry.util;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import org.spongepowered.api.registry.RegistrationPhase;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reader for the registry bootstrap index written at compile time by the
+ * registry module annotation processor. The index describes how each known
+ * registry module is registered so that the {@link RegistryModuleLoader}
+ * does not need to scan the module reflectively.
+ */
+final class RegistryModuleIndex {
+
+    static final String INDEX_RESOURCE = "META-INF/sponge/registry-modules.index";
+
+    static final class Entry {
+
+        final RegistrationPhase defaultsPhase;
+        @Nullable final String customMethod;
+        @Nullable final RegistrationPhase customPhase;
+        @Nullable final String catalogField;
+        @Nullable final String catalogClass;
+        @Nullable final String additionalMethod;
+
+        Entry(RegistrationPhase defaultsPhase, @Nullable String customMethod, @Nullable RegistrationPhase customPhase,
+                @Nullable String catalogField, @Nullable String catalogClass, @Nullable String additionalMethod) {
+            this.defaultsPhase = defaultsPhase;
+            this.customMethod = customMethod;
+            this.customPhase = customPhase;
+            this.catalogField = catalogField;
+            this.catalogClass = catalogClass;
+            this.additionalMethod = additionalMethod;
+        }
+
+    }
+
+    @Nullable private static Map<String, Entry> entries;
+
+    private RegistryModuleIndex() {
+    }
+
+    @Nullable
+    static Entry get(Class<?> moduleClass) {
+        if (entries == null) {
+            entries = load();
+        }
+        return entries.get(moduleClass.getName());
+    }
+
+    private static Map<String, Entry> load() {
+        Map<String, Entry> loaded = new HashMap<>();
+        try {
+            Enumeration<URL> resources = RegistryModuleIndex.class.getClassLoader().getResources(INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), Charsets.UTF_8))) {
+                    read(reader, resource, loaded);
+                }
+            }
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to read the registry module index, modules will be scanned instead", e);
+        }
+        return ImmutableMap.copyOf(loaded);
+    }
+
+    /**
+     * Reads all lines of an index, skipping the invalid ones.
+     *
+     * @param reader The reader of the index
+     * @param source The source of the index, for logging
+     * @param entries The map to put the entries into by module class name
+     * @throws IOException If the index could not be read
+     */
+    static void read(BufferedReader reader, Object source, Map<String, Entry> entries) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                parse(line, entries);
+            } catch (IllegalArgumentException e) {
+                SpongeImpl.getLogger().warn("Skipping invalid registry index entry \"{}\" in {}", line, source, e);
+            }
+        }
+    }
+
+    /**
+     * Parses a single line of the index.
+     *
+     * @param line The line
+     * @param entries The map to put the entry into by module class name
+     * @throws IllegalArgumentException If the line is not a valid entry
+     */
+    static void parse(String line, Map<String, Entry> entries) {
+        List<String> tokens = Splitter.on(' ').omitEmptyStrings().splitToList(line);
+        RegistrationPhase defaultsPhase = RegistrationPhase.PRE_REGISTRY;
+        String customMethod = null;
+        RegistrationPhase customPhase = null;
+        String catalogField = null;
+        String catalogClass = null;
+        String additionalMethod = null;
+        for (String token : tokens.subList(1, tokens.size())) {
+            int split = token.indexOf('=');
+            if (split < 0) {
+                throw new IllegalArgumentException("Missing value for " + token);
+            }
+            String key = token.substring(0, split);
+            String value = token.substring(split + 1);
+            if ("defaults".equals(key)) {
+                defaultsPhase = RegistrationPhase.valueOf(value);
+            } else if ("custom".equals(key)) {
+                int at = value.indexOf('@');
+                customMethod = at < 0 ? value : value.substring(0, at);
+                customPhase = at < 0 ? RegistrationPhase.PRE_REGISTRY : RegistrationPhase.valueOf(value.substring(at + 1));
+            } else if ("catalog".equals(key)) {
+                int at = value.indexOf('@');
+                if (at < 0) {
+                    throw new IllegalArgumentException("Missing catalog class for " + token);
+                }
+                catalogField = value.substring(0, at);
+                catalogClass = value.substring(at + 1);
+            } else if ("additional".equals(key)) {
+                additionalMethod = value;
+            }
+        }
+        entries.put(tokens.get(0), new Entry(defaultsPhase, customMethod, customPhase, catalogField, catalogClass, additionalMethod));
+    }
+
+}
@@ -40,29 +40,61 @@
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 public final class RegistryModuleLoader {
 
+    /**
+     * How a registry module class is registered, resolved once per class
+     * either from the bootstrap index or by scanning the class.
+     */
+    static final class ModuleRegistration {
+
+        final RegistrationPhase defaultsPhase;
+        @Nullable final Method customRegistration;
+        @Nullable final RegistrationPhase customPhase;
+        @Nullable final Field catalogField;
+        @Nullable final Class<?> catalogClass;
+        @Nullable final Method additionalRegistration;
+        final boolean indexed;
+
+        ModuleRegistration(RegistrationPhase defaultsPhase, @Nullable Method customRegistration, @Nullable RegistrationPhase customPhase,
+                @Nullable Field catalogField, @Nullable Class<?> catalogClass, @Nullable Method additionalRegistration, boolean indexed) {
+            this.defaultsPhase = defaultsPhase;
+            this.customRegistration = customRegistration;
+            this.customPhase = customPhase;
+            this.catalogField = catalogField;
+            this.catalogClass = catalogClass;
+            this.additionalRegistration = additionalRegistration;
+            this.indexed = indexed;
+        }
+
+    }
+
+    private static final Map<Class<?>, ModuleRegistration> registrations = new IdentityHashMap<>();
+
     private RegistryModuleLoader() {
     }
 
     public static void tryModulePhaseRegistration(RegistryModule module) {
         try {
-            if (requiresCustomRegistration(module)) {
-                if (isCustomProperPhase(module)) {
-                    Method method = getCustomRegistration(module);
-                    invokeCustomRegistration(module, checkNotNull(method, "Custom registration module was null!"));
-
+            ModuleRegistration registration = getRegistration(module.getClass());
+            RegistrationPhase phase = SpongeImpl.getRegistry().getPhase();
+            if (registration.customRegistration != null) {
+                if (registration.customPhase == phase) {
+                    invokeCustomRegistration(module, registration.customRegistration);
                 }
-            } else if (isDefaultProperPhase(module)) {
+            } else if (registration.defaultsPhase == phase) {
                 module.registerDefaults();
-                if (hasCatalogRegistration(module)) {
-                    Map<String, ?> map = getCatalogMap(module);
+                if (registration.catalogField != null) {
+                    Map<String, ?> map = getCatalogMap(module, registration.catalogField);
                     if (map.isEmpty()) {
                         return;
                     }
-                    RegistryHelper.mapFields(getCatalogClass(module), map);
+                    RegistryHelper.mapFields(registration.catalogClass, map);
                 }
             }
         } catch (Exception e) {
@@ -70,103 +102,126 @@ public static void tryModulePhaseRegistration(RegistryModule module) {
         }
     }
 
-    private static Method getCustomRegistration(RegistryModule module) {
-        for (Method method : module.getClass().getMethods()) {
-            CustomCatalogRegistration registration = method.getDeclaredAnnotation(CustomCatalogRegistration.class);
+    /**
+     * Gets the number of registry module classes resolved so far which were
+     * not present in the bootstrap index and had to be scanned.
+     */
+    public static int getScannedModuleCount() {
+        int count = 0;
+        for (ModuleRegistration registration : registrations.values()) {
+            if (!registration.indexed) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static ModuleRegistration getRegistration(Class<?> moduleClass) {
+        ModuleRegistration registration = registrations.get(moduleClass);
+        if (registration == null) {
+            registration = resolve(moduleClass, RegistryModuleIndex.get(moduleClass));
+            registrations.put(moduleClass, registration);
+        }
+        return registration;
+    }
+
+    /**
+     * Resolves how the module class is registered from its index entry, or
+     * by scanning the class if it has no entry or the entry is out of date.
+     *
+     * @param moduleClass The registry module class
+     * @param entry The index entry of the class, if any
+     * @return The registration
+     */
+    static ModuleRegistration resolve(Class<?> moduleClass, @Nullable RegistryModuleIndex.Entry entry) {
+        if (entry != null) {
+            ModuleRegistration registration = fromIndex(moduleClass, entry);
             if (registration != null) {
-                return method;
+                return registration;
             }
         }
-        return null;
+        return scan(moduleClass);
+    }
+
+    @Nullable
+    private static ModuleRegistration fromIndex(Class<?> moduleClass, RegistryModuleIndex.Entry entry) {
+        try {
+            Method customRegistration = entry.customMethod == null ? null : moduleClass.getMethod(entry.customMethod);
+            Field catalogField = entry.catalogField == null ? null : moduleClass.getDeclaredField(entry.catalogField);
+            Class<?> catalogClass = entry.catalogClass == null ? null : Class.forName(entry.catalogClass, false, moduleClass.getClassLoader());
+            Method additionalRegistration = entry.additionalMethod == null ? null : moduleClass.getMethod(entry.additionalMethod);
+            return new ModuleRegistration(entry.defaultsPhase, customRegistration, entry.customPhase, catalogField, catalogClass,
+                    additionalRegistration, true);
+        } catch (NoSuchMethodException | NoSuchFieldException | ClassNotFoundException e) {
+            SpongeImpl.getLogger().debug("Registry index entry for {} is out of date, scanning the module instead", moduleClass.getName(), e);
+            return null;
+        }
+    }
+
+    private static ModuleRegistration scan(Class<?> moduleClass) {
+        Method customRegistration = getCustomRegistration(moduleClass);
+        Field catalogField = getCatalogField(moduleClass);
+        return new ModuleRegistration(getDefaultsPhase(moduleClass), customRegistration,
+                customRegistration == null ? null : getPhase(customRegistration), catalogField,
+                catalogField == null ? null : catalogField.getAnnotation(RegisterCatalog.class).value(), getAdditionalMethod(moduleClass), false);
     }
 
-    private static boolean requiresCustomRegistration(RegistryModule module) {
-        for (Method method : module.getClass().getMethods()) {
+    @Nullable
+    private static Method getCustomRegistration(Class<?> moduleClass) {
+        for (Method method : moduleClass.getMethods()) {
             CustomCatalogRegistration registration = method.getDeclaredAnnotation(CustomCatalogRegistration.class);
             if (registration != null) {
-                return true;
+                return method;
             }
         }
-        return false;
+        return null;
     }
 
-    private static boolean hasCatalogRegistration(RegistryModule module) {
-        for (Field field : module.getClass().getDeclaredFields()) {
+    @Nullable
+    private static Field getCatalogField(Class<?> moduleClass) {
+        for (Field field : moduleClass.getDeclaredFields()) {
             RegisterCatalog annotation = field.getAnnotation(RegisterCatalog.class);
             if (annotation != null) {
-                return true;
+                return field;
             }
         }
-        return false;
+        return null;
     }
 
-    private static boolean isDefaultProperPhase(RegistryModule module) {
+    private static RegistrationPhase getDefaultsPhase(Class<?> moduleClass) {
         try {
-            Method method = module.getClass().getMethod("registerDefaults");
-            DelayedRegistration delay = method.getDeclaredAnnotation(DelayedRegistration.class);
-            if (delay == null) {
-                return SpongeImpl.getRegistry().getPhase() == RegistrationPhase.PRE_REGISTRY;
-            } else {
-                return SpongeImpl.getRegistry().getPhase() == delay.value();
-            }
+            return getPhase(moduleClass.getMethod("registerDefaults"));
         } catch (NoSuchMethodException e) {
             e.printStackTrace();
         }
-        return false;
+        return RegistrationPhase.PRE_REGISTRY;
     }
 
-    private static boolean isCustomProperPhase(RegistryModule module) {
-        for (Method method : module.getClass().getMethods()) {
-            CustomCatalogRegistration registration = method.getDeclaredAnnotation(CustomCatalogRegistration.class);
-            DelayedRegistration delay = method.getDeclaredAnnotation(DelayedRegistration.class);
-            if (registration != null) {
-                if (delay == null) {
-                    return SpongeImpl.getRegistry().getPhase() == RegistrationPhase.PRE_REGISTRY;
-                } else {
-                    return SpongeImpl.getRegistry().getPhase() == delay.value();
-                }
-            }
-        }
-        return false;
+    private static RegistrationPhase getPhase(Method method) {
+        DelayedRegistration delay = method.getDeclaredAnnotation(DelayedRegistration.class);
+        return delay == null ? RegistrationPhase.PRE_REGISTRY : delay.value();
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private static Map<String, ?> getCatalogMap(RegistryModule module) {
+    private static Map<String, ?> getCatalogMap(RegistryModule module, Field field) {
         if (module instanceof AlternateCatalogRegistryModule) {
             return checkNotNull(((AlternateCatalogRegistryModule) module).provideCatalogMap());
         }
-        for (Field field : module.getClass().getDeclaredFields()) {
-            RegisterCatalog annotation = field.getAnnotation(RegisterCatalog.class);
-            if (annotation != null) {
-                try {
-                    field.setAccessible(true);
-                    Map<String, ?> map = (Map<String, ?>) field.get(module);
-                    checkState(!map.isEmpty(), "The registered module: "+ module.getClass().getSimpleName()
-                                               + " cannot have an empty mapping during registration!");
-                    return checkNotNull(map);
-                } catch (Exception e) {
-                    SpongeImpl.getLogger().error("Failed to retrieve a registry field from module: " + module.getClass().getCanonicalName());
-                }
-            }
+        try {
+            field.setAccessible(true);
+            Map<String, ?> map = (Map<String, ?>) field.get(module);
+            checkState(!map.isEmpty(), "The registered module: "+ module.getClass().getSimpleName()
+                                       + " cannot have an empty mapping during registration!");
+            return checkNotNull(map);
+        } catch (Exception e) {
+            SpongeImpl.getLogger().error("Failed to retrieve a registry field from module: " + module.getClass().getCanonicalName());
         }
         throw new IllegalStateException("Registry module does not have a catalog map! Registry: " + module.getClass().getCanonicalName());
     }
 
-    private static Class<?> getCatalogClass(RegistryModule module) {
-        for (Field field : module.getClass().getDeclaredFields()) {
-            RegisterCatalog annotation = field.getAnnotation(RegisterCatalog.class);
-            if (annotation != null) {
-                return annotation.value();
-            }
-        }
-        throw new IllegalArgumentException("The module does not have a registry to register! " + module.getClass().getCanonicalName());
-    }
-
     private static void invokeCustomRegistration(RegistryModule module, Method method) {
         try {
-            if (isCustomProperPhase(module)) {
-                method.invoke(module);
-            }
+            method.invoke(module);
         } catch (IllegalAccessException | InvocationTargetException e) {
             SpongeImpl.getLogger().error("Error when calling custom catalog registration for module: "
                     + module.getClass().getCanonicalName(), e);
@@ -174,7 +229,7 @@ private static void invokeCustomRegistration(RegistryModule module, Method metho
     }
 
     public static void tryAdditionalRegistration(RegistryModule module) {
-        Method additionalRegistration = getAdditionalMethod(module);
+        Method additionalRegistration = getRegistration(module.getClass()).additionalRegistration;
         if (additionalRegistration != null) {
             try {
                 additionalRegistration.invoke(module);
@@ -184,8 +239,9 @@ public static void tryAdditionalRegistration(RegistryModule module) {
         }
     }
 
-    private static Method getAdditionalMethod(RegistryModule module) {
-        for (Method method : module.getClass().getMethods()) {
+    @Nullable
+    private static Method getAdditionalMethod(Class<?> moduleClass) {
+        for (Method method : moduleClass.getMethods()) {
             AdditionalRegistration registration = method.getDeclaredAnnotation(AdditionalRegistration.class);
             if (registration != null) {
                 return method;
@@ -49,6 +49,10 @@ public class ScheduledTask implements Task {
     private final String name;
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
+    // The scheduler this task was submitted to, and the timestamp it is
+    // queued for there
+    SchedulerBase scheduler;
+    long queuedTimestamp;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -130,6 +134,9 @@ public boolean cancel() {
             success = true;
         }
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        if (this.scheduler != null) {
+            this.scheduler.removeTask(this);
+        }
         return success;
     }
 
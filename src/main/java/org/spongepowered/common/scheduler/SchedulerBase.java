@@ -30,15 +30,28 @@
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.UUID;
 
 abstract class SchedulerBase {
 
-    // The simple queue of all pending (and running) ScheduledTasks
+    private static final Comparator<ScheduledTask> EXECUTION_ORDER = (first, second) -> Long.compare(first.queuedTimestamp, second.queuedTimestamp);
+
+    // All pending (and running) ScheduledTasks by id
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // The next execution of every task, ordered by the time it becomes due.
+    // Tasks are timed either in ticks or in nanoseconds, so each clock has
+    // its own queue. Cancelled tasks are deleted lazily, they are skipped
+    // once they reach the head of their queue.
+    private final PriorityQueue<ScheduledTask> tickQueue = new PriorityQueue<>(EXECUTION_ORDER);
+    private final PriorityQueue<ScheduledTask> timeQueue = new PriorityQueue<>(EXECUTION_ORDER);
+    private final List<ScheduledTask> dueTasks = new ArrayList<>();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -62,7 +75,28 @@ protected String nextName(PluginContainer plugin) {
      * @return Timestamp for the task
      */
     protected long getTimestamp(ScheduledTask task) {
-        return System.nanoTime();
+        return isTickBased(task) ? getCurrentTick() : System.nanoTime();
+    }
+
+    /**
+     * Gets whether the current delay or interval of the task is measured in
+     * ticks rather than in nanoseconds.
+     *
+     * @param task The task
+     * @return Whether the task is currently timed in ticks
+     */
+    protected boolean isTickBased(ScheduledTask task) {
+        return false;
+    }
+
+    /**
+     * Gets the number of ticks processed by this scheduler, for schedulers
+     * which support tick based tasks.
+     *
+     * @return The current tick
+     */
+    protected long getCurrentTick() {
+        return 0L;
     }
 
     /**
@@ -73,11 +107,15 @@ protected long getTimestamp(ScheduledTask task) {
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
+        task.scheduler = this;
         this.taskMap.put(task.getUniqueId(), task);
+        this.enqueue(task);
     }
 
     /**
-     * Removes the task from the task map.
+     * Removes the task from the task map. A pending execution of the task is
+     * skipped once it reaches the head of its queue, so removal is constant
+     * time.
      *
      * @param task The task to remove
      */
@@ -85,10 +123,66 @@ protected void removeTask(ScheduledTask task) {
         this.taskMap.remove(task.getUniqueId());
     }
 
+    /**
+     * Queues the next execution of the task, based on its current state and
+     * timestamp.
+     *
+     * @param task The task to queue
+     */
+    private void enqueue(ScheduledTask task) {
+        final PriorityQueue<ScheduledTask> queue = isTickBased(task) ? this.tickQueue : this.timeQueue;
+        synchronized (queue) {
+            task.queuedTimestamp = task.nextExecutionTimestamp();
+            queue.add(task);
+        }
+    }
+
+    /**
+     * Gets the time in nanoseconds until the next execution of a nanosecond
+     * based task is due.
+     *
+     * @param now The current time in nanoseconds
+     * @return The time until the next execution, or {@link Long#MAX_VALUE}
+     *     if none is pending
+     */
+    protected long getTimeUntilNextExecution(long now) {
+        synchronized (this.timeQueue) {
+            ScheduledTask next;
+            // Don't wake up for executions of cancelled tasks
+            while ((next = this.timeQueue.peek()) != null && next.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                this.timeQueue.poll();
+            }
+            return next == null ? Long.MAX_VALUE : Math.max(0, next.queuedTimestamp - now);
+        }
+    }
+
+    /**
+     * Moves all executions of the queue which are due into the list of due
+     * tasks.
+     *
+     * @param queue The queue to poll
+     * @param now The current time of the clock of the queue
+     */
+    private void pollDue(PriorityQueue<ScheduledTask> queue, long now) {
+        synchronized (queue) {
+            ScheduledTask next;
+            while ((next = queue.peek()) != null && next.queuedTimestamp <= now) {
+                queue.poll();
+                if (next.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+                    this.dueTasks.add(next);
+                }
+            }
+        }
+    }
+
     protected Optional<Task> getTask(UUID id) {
         return Optional.<Task>ofNullable(this.taskMap.get(id));
     }
 
+    protected int getScheduledTaskCount() {
+        return this.taskMap.size();
+    }
+
     protected Set<Task> getScheduledTasks() {
         synchronized (this.taskMap) {
             return Sets.<Task>newHashSet(this.taskMap.values());
@@ -96,14 +190,20 @@ protected Set<Task> getScheduledTasks() {
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks which are due. Tasks are collected before any of them
+     * runs, so a task that is due again right away waits for the next tick.
      */
     protected final void runTick() {
         this.preTick();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            this.pollDue(this.tickQueue, this.getCurrentTick());
+            this.pollDue(this.timeQueue, System.nanoTime());
+            for (int i = 0; i < this.dueTasks.size(); i++) {
+                this.processTask(this.dueTasks.get(i));
+            }
             this.postTick();
         } finally {
+            this.dueTasks.clear();
             this.finallyPostTick();
         }
     }
@@ -128,7 +228,7 @@ protected void finallyPostTick() {
     }
 
     /**
-     * Processes the task.
+     * Processes a task whose next execution is due.
      *
      * @param task The task to process
      */
@@ -139,29 +239,18 @@ protected void processTask(ScheduledTask task) {
             this.removeTask(task);
             return;
         }
-        long threshold = Long.MAX_VALUE;
-        // Figure out if we start a delayed Task after threshold ticks or, start
-        // it after the interval (period) of the repeating task parameter.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-            threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            threshold = task.period;
-        }
-        // This moment is 'now'
-        long now = this.getTimestamp(task);
-        // So, if the current time minus the timestamp of the task is greater
-        // than the delay to wait before starting the task, then start the task.
         // Repeating tasks get a reset-timestamp each time they are set RUNNING
         // If the task has a period of 0 (zero) this task will not repeat, and
         // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
-            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
-            task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
-            // If task is one time shot, remove it from the map.
-            if (task.period == 0L) {
-                this.removeTask(task);
-            }
+        task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        task.setTimestamp(this.getTimestamp(task));
+        startTask(task);
+        // If task is one time shot, remove it from the map. A task which
+        // cancelled itself while running is not queued again.
+        if (task.period == 0L) {
+            this.removeTask(task);
+        } else if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+            this.enqueue(task);
         }
     }
 
@@ -30,6 +30,7 @@
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Scheduler;
 import org.spongepowered.api.scheduler.SpongeExecutorService;
@@ -114,6 +115,17 @@ public Set<Task> getScheduledTasks(boolean async) {
         }
     }
 
+    /**
+     * Gets the number of pending and running tasks of either scheduler,
+     * without copying them.
+     *
+     * @param async Whether to count the asynchronous tasks
+     * @return The number of tasks
+     */
+    public int getScheduledTaskCount(boolean async) {
+        return async ? this.asyncScheduler.getScheduledTaskCount() : this.syncScheduler.getScheduledTaskCount();
+    }
+
     @Override
     public Set<Task> getScheduledTasks(Object plugin) {
         String testOwnerId = checkPluginInstance(plugin).getId();
@@ -194,4 +206,16 @@ public void tickSyncScheduler() {
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
         return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
     }
+
+    /**
+     * Calls the callable on the main thread. It is called directly if this
+     * is already the main thread, otherwise it is queued for the next tick.
+     *
+     * @param callable The callable
+     * @param <T> The result type
+     * @return The future result
+     */
+    public <T> CompletableFuture<T> submitSyncTask(Callable<T> callable) {
+        return Functional.asyncFailableFuture(callable, runnable -> MinecraftServer.getServer().addScheduledTask(runnable));
+    }
 }
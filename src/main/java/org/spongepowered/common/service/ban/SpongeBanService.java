@@ -37,10 +37,13 @@
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.util.ban.Ban;
 import org.spongepowered.api.util.ban.BanTypes;
+import org.spongepowered.common.interfaces.IMixinUserList;
+import org.spongepowered.common.util.IpTrie;
 import org.spongepowered.common.util.UserListUtils;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
@@ -57,6 +60,11 @@
  */
 public class SpongeBanService implements BanService {
 
+    // Index of the IP ban list, rebuilt only when the list is modified
+    private BanList indexedIpBanList;
+    private int indexedIpBanCount = -1;
+    private IpTrie<Ban.Ip> ipBanIndex = IpTrie.of();
+
     @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban> getBans() {
@@ -90,10 +98,18 @@ public Optional<Ban.Profile> getBanFor(GameProfile profile) {
 
     @Override
     public Optional<Ban.Ip> getBanFor(InetAddress address) {
-        BanList bans = this.getIPBanList();
-
-        bans.removeExpired();
-        return Optional.ofNullable((Ban.Ip) bans.getValues().get(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0)))));
+        boolean expired = false;
+        for (Ban.Ip ban : this.getIpBanIndex().getAll(address)) {
+            if (hasExpired(ban)) {
+                expired = true;
+            } else {
+                return Optional.of(ban);
+            }
+        }
+        if (expired) {
+            this.getIPBanList().removeExpired();
+        }
+        return Optional.empty();
     }
 
     @Override
@@ -106,10 +122,7 @@ public boolean isBanned(GameProfile profile) {
 
     @Override
     public boolean isBanned(InetAddress address) {
-        BanList bans = this.getIPBanList();
-
-        bans.removeExpired();
-        return bans.getValues().containsKey(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0))));
+        return this.getBanFor(address).isPresent();
     }
 
     @Override
@@ -174,6 +187,27 @@ public boolean hasBan(Ban ban) {
         throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
     }
 
+    private synchronized IpTrie<Ban.Ip> getIpBanIndex() {
+        BanList bans = this.getIPBanList();
+        int modificationCount = ((IMixinUserList) bans).getModificationCount();
+        if (bans != this.indexedIpBanList || modificationCount != this.indexedIpBanCount) {
+            IpTrie.Builder<Ban.Ip> builder = IpTrie.builder();
+            for (Object entry : bans.getValues().values()) {
+                Ban.Ip ban = (Ban.Ip) entry;
+                builder.put(ban.getAddress(), ban);
+            }
+            this.ipBanIndex = builder.build();
+            this.indexedIpBanList = bans;
+            this.indexedIpBanCount = modificationCount;
+        }
+        return this.ipBanIndex;
+    }
+
+    private static boolean hasExpired(Ban ban) {
+        Optional<Instant> expiration = ban.getExpirationDate();
+        return expiration.isPresent() && expiration.get().isBefore(Instant.now());
+    }
+
     private UserListBans getUserBanList() {
         return MinecraftServer.getServer().getConfigurationManager().getBannedPlayers();
     }
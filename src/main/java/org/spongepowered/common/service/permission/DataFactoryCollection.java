@@ -105,10 +105,10 @@ public MemorySubjectData getSubjectData() {
         }
 
         @Override
-        public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-            Tristate ret = super.getPermissionValue(contexts, permission);
+        protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
+            Tristate ret = super.resolvePermissionValue(contexts, permission);
             if (ret == Tristate.UNDEFINED) {
-                ret = getDataPermissionValue(DataFactoryCollection.this.service.getDefaultData(), permission);
+                ret = getDataPermissionValue(DataFactoryCollection.this.service.getDefaultData(), contexts, permission);
             }
             return ret;
 
@@ -73,6 +73,7 @@ public boolean setParent(Subject parent) {
                 } else {
                     SpongePermissionService.getOps().removeEntry(player);
                 }
+                SpongeSubject.invalidateResolvedPermissions();
                 return true;
             }
         };
@@ -113,10 +114,16 @@ public MemorySubjectData getSubjectData() {
     }
 
     @Override
-    public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        Tristate ret = super.getPermissionValue(contexts, permission);
+    protected int getPermissionStamp() {
+        // The op level is read from the ops list, which can change without going through the subject data
+        return getOpLevel() * 31 + this.collection.getService().getServerOpLevel();
+    }
+
+    @Override
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
+        Tristate ret = super.resolvePermissionValue(contexts, permission);
         if (ret == Tristate.UNDEFINED) {
-            ret = getDataPermissionValue(this.collection.getService().getDefaultData(), permission);
+            ret = getDataPermissionValue(this.collection.getService().getDefaultData(), contexts, permission);
         }
         if (ret == Tristate.UNDEFINED && getOpLevel() >= this.collection.getService().getServerOpLevel()) {
             ret = Tristate.TRUE;
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.service.permission.base;
 
+import com.google.common.collect.ImmutableSet;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
@@ -31,10 +32,28 @@
 import org.spongepowered.api.util.Tristate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class SpongeSubject implements Subject {
 
+    // Incremented on every change to permissions or parents of any subject,
+    // which invalidates all resolved values
+    private static final AtomicLong DATA_VERSION = new AtomicLong();
+
+    private volatile ResolvedPermissions resolved = new ResolvedPermissions(-1, 0);
+
+    /**
+     * Discards the resolved permission values of all subjects. Must be called
+     * whenever subject data changes.
+     */
+    public static void invalidateResolvedPermissions() {
+        DATA_VERSION.incrementAndGet();
+    }
+
     @Override
     public SubjectData getTransientSubjectData() {
         return getSubjectData();
@@ -50,24 +69,76 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        return getDataPermissionValue(getSubjectData(), permission);
+        final long version = DATA_VERSION.get();
+        final int stamp = getPermissionStamp();
+        ResolvedPermissions resolved = this.resolved;
+        if (resolved.version != version || resolved.stamp != stamp) {
+            resolved = new ResolvedPermissions(version, stamp);
+            this.resolved = resolved;
+        }
+        Map<String, Tristate> values = resolved.values.get(contexts);
+        if (values == null) {
+            values = new ConcurrentHashMap<>();
+            final Map<String, Tristate> existing = resolved.values.putIfAbsent(ImmutableSet.copyOf(contexts), values);
+            if (existing != null) {
+                values = existing;
+            }
+        }
+        Tristate value = values.get(permission);
+        if (value == null) {
+            value = resolvePermissionValue(contexts, permission);
+            values.put(permission, value);
+        }
+        return value;
+    }
+
+    /**
+     * Gets a value which changes whenever permissions of this subject change
+     * due to state outside of its subject data.
+     *
+     * @return The current stamp
+     */
+    protected int getPermissionStamp() {
+        return 0;
+    }
+
+    /**
+     * Resolves the value of a permission without using resolved values of
+     * this subject.
+     *
+     * @param contexts The contexts to resolve the permission in
+     * @param permission The permission
+     * @return The value of the permission
+     */
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
+        return getDataPermissionValue(getSubjectData(), contexts, permission);
     }
 
-    protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
-        Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+    protected Tristate getDataPermissionValue(MemorySubjectData subject, Set<Context> contexts, String permission) {
+        Tristate res = subject.getNodeTree(contexts).get(permission);
+        if (res == Tristate.UNDEFINED && !SubjectData.GLOBAL_CONTEXT.equals(contexts)) {
+            res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+        }
 
         if (res == Tristate.UNDEFINED) {
-            for (Subject parent : subject.getParents(SubjectData.GLOBAL_CONTEXT)) {
-                Tristate tempRes = parent.getPermissionValue(SubjectData.GLOBAL_CONTEXT, permission);
-                if (tempRes != Tristate.UNDEFINED) {
-                    res = tempRes;
-                    break;
-                }
-            }
+            res = getParentPermissionValue(subject.getParents(contexts), contexts, permission);
+        }
+        if (res == Tristate.UNDEFINED && !SubjectData.GLOBAL_CONTEXT.equals(contexts)) {
+            res = getParentPermissionValue(subject.getParents(SubjectData.GLOBAL_CONTEXT), contexts, permission);
         }
         return res;
     }
 
+    private static Tristate getParentPermissionValue(List<Subject> parents, Set<Context> contexts, String permission) {
+        for (Subject parent : parents) {
+            Tristate tempRes = parent.getPermissionValue(contexts, permission);
+            if (tempRes != Tristate.UNDEFINED) {
+                return tempRes;
+            }
+        }
+        return Tristate.UNDEFINED;
+    }
+
     @Override
     public boolean isChildOf(Set<Context> contexts, Subject parent) {
         return getSubjectData().getParents(contexts).contains(parent);
@@ -82,4 +153,16 @@ public List<Subject> getParents(Set<Context> contexts) {
     public Set<Context> getActiveContexts() {
         return SubjectData.GLOBAL_CONTEXT;
     }
+
+    private static final class ResolvedPermissions {
+
+        final long version;
+        final int stamp;
+        final ConcurrentMap<Set<Context>, Map<String, Tristate>> values = new ConcurrentHashMap<>();
+
+        ResolvedPermissions(long version, int stamp) {
+            this.version = version;
+            this.stamp = stamp;
+        }
+    }
 }
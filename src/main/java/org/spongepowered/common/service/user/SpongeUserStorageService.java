@@ -27,15 +27,21 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.service.user.UserStorageService;
+import org.spongepowered.common.scheduler.SpongeScheduler;
 
+import java.time.Instant;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public class SpongeUserStorageService implements UserStorageService {
 
@@ -58,6 +64,60 @@ public Optional<User> get(GameProfile profile) {
         return Optional.ofNullable(UserDiscoverer.findByUuid(checkNotNull(checkNotNull(profile, "profile").getUniqueId(), "profile id")));
     }
 
+    /**
+     * Gets the users with the given unique ids. Profile lookups needed for
+     * users with stored data are made as a single batch.
+     *
+     * @param uniqueIds The unique ids
+     * @return The users which were found, by unique id
+     */
+    public Map<UUID, User> getAll(Iterable<UUID> uniqueIds) {
+        return UserDiscoverer.findAllByUuid(checkNotNull(uniqueIds, "uniqueIds"));
+    }
+
+    /**
+     * Gets the user with the given unique id without blocking on file I/O.
+     * The future completes on the main thread.
+     *
+     * @param uniqueId The unique id
+     * @return The future user
+     */
+    public CompletableFuture<Optional<User>> getAsync(UUID uniqueId) {
+        checkNotNull(uniqueId, "uniqueId");
+        return UserDiscoverer.findAllByUuidAsync(Collections.singleton(uniqueId)).thenApply(users -> Optional.ofNullable(users.get(uniqueId)));
+    }
+
+    public CompletableFuture<Optional<User>> getAsync(String lastKnownName) {
+        checkNotNull(lastKnownName, "lastKnownName");
+        checkArgument(lastKnownName.length() >= 3 && lastKnownName.length() <= 16, "Invalid username %s", lastKnownName);
+        return UserDiscoverer.findByUsernameAsync(lastKnownName).thenApply(Optional::ofNullable);
+    }
+
+    public CompletableFuture<Map<UUID, User>> getAllAsync(Iterable<UUID> uniqueIds) {
+        return UserDiscoverer.findAllByUuidAsync(ImmutableSet.copyOf(checkNotNull(uniqueIds, "uniqueIds")));
+    }
+
+    public CompletableFuture<Collection<GameProfile>> getAllAsync() {
+        return UserDiscoverer.preloadIndex().thenCompose(loaded -> SpongeScheduler.getInstance().submitSyncTask(this::getAll));
+    }
+
+    public CompletableFuture<Collection<GameProfile>> matchAsync(String lastKnownName) {
+        checkNotNull(lastKnownName, "lastKnownName");
+        return UserDiscoverer.preloadIndex().thenCompose(loaded -> SpongeScheduler.getInstance().submitSyncTask(() -> match(lastKnownName)));
+    }
+
+    /**
+     * Gets the last time the user with the given unique id joined or left
+     * the server, as recorded in the user index.
+     *
+     * @param uniqueId The unique id
+     * @return The last time the user was seen, if known
+     */
+    public Optional<Instant> getLastSeen(UUID uniqueId) {
+        UserIndex.Entry entry = UserIndex.get(checkNotNull(uniqueId, "uniqueId"));
+        return entry == null ? Optional.empty() : Optional.of(Instant.ofEpochMilli(entry.getLastSeen()));
+    }
+
     @Override
     public User getOrCreate(GameProfile profile) {
         if (profile.getUniqueId() == null) {
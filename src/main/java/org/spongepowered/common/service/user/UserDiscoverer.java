@@ -29,6 +29,7 @@
 import com.google.common.collect.Sets;
 import com.mojang.authlib.GameProfile;
 import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.BanEntry;
 import net.minecraft.server.management.PlayerProfileCache;
@@ -37,20 +38,24 @@
 import net.minecraft.server.management.UserListBansEntry;
 import net.minecraft.server.management.UserListWhitelist;
 import net.minecraft.server.management.UserListWhitelistEntry;
-import net.minecraft.world.storage.SaveHandler;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.profile.GameProfileCache;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.player.SpongeUser;
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
+import org.spongepowered.common.scheduler.SpongeScheduler;
 import org.spongepowered.common.util.SpongeHooks;
-import org.spongepowered.common.world.DimensionManager;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Locale;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -58,6 +63,8 @@
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 class UserDiscoverer {
 
     private static final Cache<UUID, User> userCache = CacheBuilder.newBuilder()
@@ -100,14 +107,264 @@ static User findByUuid(UUID uniqueId) {
         return user;
     }
 
+    /**
+     * Finds the users with the given unique ids. Profiles which are needed to
+     * read stored user data but are not known locally are requested in a
+     * single batch.
+     *
+     * @param uniqueIds The unique ids of the users
+     * @return The users found, by unique id
+     */
+    static Map<UUID, User> findAllByUuid(Iterable<UUID> uniqueIds) {
+        Map<UUID, User> users = new HashMap<>();
+        Map<UUID, File> unknownProfiles = new HashMap<>();
+        for (UUID uniqueId : uniqueIds) {
+            if (users.containsKey(uniqueId)) {
+                continue;
+            }
+            User user = userCache.getIfPresent(uniqueId);
+            if (user == null) {
+                user = getOnlinePlayer(uniqueId);
+            }
+            if (user == null) {
+                File dataFile = UserIndex.getPlayerDataFile(uniqueId);
+                if (dataFile != null) {
+                    GameProfile profile = getLocalProfile(uniqueId);
+                    if (profile == null) {
+                        unknownProfiles.put(uniqueId, dataFile);
+                        continue;
+                    }
+                    user = readStoredData(profile, dataFile);
+                }
+            }
+            if (user == null) {
+                user = getFromWhitelist(uniqueId);
+            }
+            if (user == null) {
+                user = getFromBanlist(uniqueId);
+            }
+            users.put(uniqueId, user);
+        }
+
+        if (!unknownProfiles.isEmpty()) {
+            for (org.spongepowered.api.profile.GameProfile profile : getProfilesFromServer(unknownProfiles.keySet())) {
+                users.put(profile.getUniqueId(), readStoredData((GameProfile) profile, unknownProfiles.get(profile.getUniqueId())));
+            }
+            for (UUID uniqueId : unknownProfiles.keySet()) {
+                if (users.get(uniqueId) == null) {
+                    User user = getFromWhitelist(uniqueId);
+                    users.put(uniqueId, user == null ? getFromBanlist(uniqueId) : user);
+                }
+            }
+        }
+        users.values().removeIf(user -> user == null);
+        return users;
+    }
+
+    /**
+     * Finds the users with the given unique ids without blocking on file
+     * I/O. Only the user index and the player data files are read on the
+     * async scheduler, everything touching the server, the user cache and
+     * the users themselves runs on the main thread.
+     *
+     * @param uniqueIds The unique ids of the users
+     * @return The future users found, by unique id
+     */
+    static CompletableFuture<Map<UUID, User>> findAllByUuidAsync(Collection<UUID> uniqueIds) {
+        final SpongeScheduler scheduler = SpongeScheduler.getInstance();
+        final AsyncLookup lookup = new AsyncLookup(uniqueIds);
+        return scheduler.submitSyncTask(lookup::resolveKnown)
+                .thenCompose(l -> l.dataFiles.isEmpty() ? CompletableFuture.completedFuture(l) : scheduler.submitAsyncTask(l::readStoredData))
+                .thenCompose(l -> scheduler.submitSyncTask(l::createStoredUsers))
+                .thenCompose(l -> l.unknownProfiles.isEmpty() ? CompletableFuture.completedFuture(l) : Sponge.getServer().getGameProfileManager()
+                        .getAllById(l.unknownProfiles.keySet(), true)
+                        .exceptionally(e -> {
+                            SpongeImpl.getLogger().warn("Error while getting profiles for {} users.", l.unknownProfiles.size(), e);
+                            return Collections.emptyList();
+                        })
+                        .thenCompose(profiles -> scheduler.submitSyncTask(() -> l.createUsers(profiles))))
+                .thenCompose(l -> scheduler.submitSyncTask(l::finish));
+    }
+
+    static CompletableFuture<User> findByUsernameAsync(String username) {
+        return preloadIndex()
+                .thenCompose(loaded -> SpongeScheduler.getInstance().submitSyncTask(() -> {
+                    UserIndex.Entry entry = UserIndex.get(username);
+                    if (entry != null) {
+                        return entry.uniqueId;
+                    }
+                    PlayerProfileCache cache = MinecraftServer.getServer().getPlayerProfileCache();
+                    return ((GameProfileCache) cache).getByName(username).map(org.spongepowered.api.profile.GameProfile::getUniqueId).orElse(null);
+                }))
+                .thenCompose(uniqueId -> uniqueId == null ? CompletableFuture.<User>completedFuture(null)
+                        : findAllByUuidAsync(Collections.singleton(uniqueId)).thenApply(users -> users.get(uniqueId)));
+    }
+
+    /**
+     * Reads the user index on the async scheduler, so that following
+     * lookups on the main thread don't have to.
+     *
+     * @return Whether the index could be read
+     */
+    static CompletableFuture<Boolean> preloadIndex() {
+        return SpongeScheduler.getInstance().submitSyncTask(UserIndex::getIndexFile)
+                .thenCompose(file -> SpongeScheduler.getInstance().submitAsyncTask(() -> UserIndex.preload(file)));
+    }
+
+    /**
+     * Reads the stored player data of the given users. This only does file
+     * I/O and may be called off the main thread.
+     *
+     * @param indexFile The user index file
+     * @param dataFiles The player data locations, by unique id
+     * @return The data of the users whose player data exists, by unique id
+     */
+    static Map<UUID, StoredData> readStoredData(File indexFile, Map<UUID, File> dataFiles) {
+        boolean indexLoaded = UserIndex.preload(indexFile);
+        Map<UUID, StoredData> stored = new HashMap<>();
+        for (Map.Entry<UUID, File> entry : dataFiles.entrySet()) {
+            File file = entry.getValue();
+            if (!file.isFile()) {
+                continue;
+            }
+            NBTTagCompound nbt = null;
+            try (InputStream in = new FileInputStream(file)) {
+                nbt = CompressedStreamTools.readCompressed(in);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Corrupt user file {}.", file, e);
+            }
+            UserIndex.Entry indexEntry = indexLoaded ? UserIndex.getIfLoaded(entry.getKey()) : null;
+            stored.put(entry.getKey(), new StoredData(entry.getKey(), indexEntry == null ? null : indexEntry.name, file.lastModified(), nbt));
+        }
+        return stored;
+    }
+
+    /**
+     * Player data of a user read off the main thread.
+     */
+    static final class StoredData {
+
+        final UUID uniqueId;
+        @Nullable final String name;
+        final long lastModified;
+        @Nullable final NBTTagCompound nbt;
+
+        StoredData(UUID uniqueId, @Nullable String name, long lastModified, @Nullable NBTTagCompound nbt) {
+            this.uniqueId = uniqueId;
+            this.name = name;
+            this.lastModified = lastModified;
+            this.nbt = nbt;
+        }
+
+    }
+
+    /**
+     * State of a lookup made by {@link #findAllByUuidAsync}, passed between
+     * the main thread and the async scheduler.
+     */
+    private static final class AsyncLookup {
+
+        private final Set<UUID> requested;
+        private final Map<UUID, User> users = new HashMap<>();
+        private final Map<UUID, File> dataFiles = new HashMap<>();
+        private final Map<UUID, StoredData> unknownProfiles = new HashMap<>();
+        private Map<UUID, StoredData> stored = Collections.emptyMap();
+        @Nullable private File indexFile;
+
+        AsyncLookup(Collection<UUID> requested) {
+            this.requested = new LinkedHashSet<>(requested);
+        }
+
+        // Main thread
+        AsyncLookup resolveKnown() {
+            for (UUID uniqueId : this.requested) {
+                User user = userCache.getIfPresent(uniqueId);
+                if (user == null) {
+                    user = getOnlinePlayer(uniqueId);
+                }
+                if (user != null) {
+                    this.users.put(uniqueId, user);
+                } else {
+                    this.dataFiles.put(uniqueId, UserIndex.getPlayerDataLocation(uniqueId));
+                }
+            }
+            if (!this.dataFiles.isEmpty()) {
+                this.indexFile = UserIndex.getIndexFile();
+            }
+            return this;
+        }
+
+        // Async
+        AsyncLookup readStoredData() {
+            this.stored = UserDiscoverer.readStoredData(this.indexFile, this.dataFiles);
+            return this;
+        }
+
+        // Main thread
+        AsyncLookup createStoredUsers() {
+            for (StoredData data : this.stored.values()) {
+                GameProfile profile = data.name != null ? new GameProfile(data.uniqueId, data.name) : getLocalProfile(data.uniqueId);
+                if (profile == null) {
+                    this.unknownProfiles.put(data.uniqueId, data);
+                } else {
+                    this.users.put(data.uniqueId, createFromStoredData(profile, data));
+                }
+            }
+            return this;
+        }
+
+        // Main thread
+        AsyncLookup createUsers(Collection<org.spongepowered.api.profile.GameProfile> profiles) {
+            for (org.spongepowered.api.profile.GameProfile profile : profiles) {
+                StoredData data = this.unknownProfiles.get(profile.getUniqueId());
+                if (data != null) {
+                    this.users.put(data.uniqueId, createFromStoredData((GameProfile) profile, data));
+                }
+            }
+            return this;
+        }
+
+        // Main thread
+        Map<UUID, User> finish() {
+            for (UUID uniqueId : this.requested) {
+                if (this.users.get(uniqueId) == null) {
+                    User user = getFromWhitelist(uniqueId);
+                    if (user == null) {
+                        user = getFromBanlist(uniqueId);
+                    }
+                    if (user != null) {
+                        this.users.put(uniqueId, user);
+                    }
+                }
+            }
+            return this.users;
+        }
+
+        private static User createFromStoredData(GameProfile profile, StoredData data) {
+            // The user may have been created while the data was being read
+            User user = userCache.getIfPresent(profile.getId());
+            if (user != null) {
+                return user;
+            }
+            user = create(profile);
+            if (data.nbt != null) {
+                ((SpongeUser) user).readFromNbt(data.nbt);
+            }
+            UserIndex.update(profile.getId(), profile.getName(), data.lastModified);
+            return user;
+        }
+
+    }
+
     static User findByUsername(String username) {
+        UserIndex.Entry entry = UserIndex.get(username);
+        if (entry != null) {
+            return findByUuid(entry.uniqueId);
+        }
         PlayerProfileCache cache = MinecraftServer.getServer().getPlayerProfileCache();
-        HashSet<String> names = Sets.newHashSet(cache.getUsernames());
-        if (names.contains(username.toLowerCase(Locale.ROOT))) {
-            GameProfile profile = cache.getGameProfileForUsername(username);
-            if (profile != null) {
-                return findByUuid(profile.getId());
-            }
+        Optional<org.spongepowered.api.profile.GameProfile> profile = ((GameProfileCache) cache).getByName(username);
+        if (profile.isPresent()) {
+            return findByUuid(profile.get().getUniqueId());
         }
         return null;
     }
@@ -122,19 +379,9 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         }
 
         // Add all known profiles from the data files
-        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-
-            // Some mods store other files in the 'playerdata' folder, so
-            // we need to ensure that the filename is a valid UUID
-            if (playerUuid.split("-").length != 5) {
-                continue;
-            }
-
-            GameProfile profile = MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(UUID.fromString(playerUuid));
-            if (profile != null) {
-                profiles.add((org.spongepowered.api.profile.GameProfile) profile);
+        for (UserIndex.Entry entry : UserIndex.getAll()) {
+            if (entry.name != null) {
+                profiles.add((org.spongepowered.api.profile.GameProfile) entry.toProfile());
             }
         }
 
@@ -184,23 +431,39 @@ private static User getOnlinePlayer(UUID uniqueId) {
 
     private static User getFromStoredData(UUID uniqueId) {
         // Note: Uses the overworld's player data
-        File dataFile = getPlayerDataFile(uniqueId);
+        File dataFile = UserIndex.getPlayerDataFile(uniqueId);
         if (dataFile == null) {
             return null;
         }
-        Optional<org.spongepowered.api.profile.GameProfile> profile = getProfileFromServer(uniqueId);
-
-        if (profile.isPresent()) {
-            User user = create((GameProfile) profile.get());
-            try {
-                ((SpongeUser) user).readFromNbt(CompressedStreamTools.readCompressed(new FileInputStream(dataFile)));
-            } catch (IOException e) {
-                SpongeHooks.logWarning("Corrupt user file {}. {}", dataFile, e);
+        GameProfile profile = getLocalProfile(uniqueId);
+        if (profile == null) {
+            Optional<org.spongepowered.api.profile.GameProfile> remoteProfile = getProfileFromServer(uniqueId);
+            if (!remoteProfile.isPresent()) {
+                return null;
             }
-            return user;
-        } else {
-            return null;
+            profile = (GameProfile) remoteProfile.get();
         }
+        return readStoredData(profile, dataFile);
+    }
+
+    private static User readStoredData(GameProfile profile, File dataFile) {
+        User user = create(profile);
+        try (InputStream in = new FileInputStream(dataFile)) {
+            ((SpongeUser) user).readFromNbt(CompressedStreamTools.readCompressed(in));
+        } catch (IOException e) {
+            SpongeHooks.logWarning("Corrupt user file {}. {}", dataFile, e);
+        }
+        UserIndex.update(profile.getId(), profile.getName(), dataFile.lastModified());
+        return user;
+    }
+
+    @Nullable
+    private static GameProfile getLocalProfile(UUID uniqueId) {
+        UserIndex.Entry entry = UserIndex.get(uniqueId);
+        if (entry != null && entry.name != null) {
+            return entry.toProfile();
+        }
+        return MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(uniqueId);
     }
 
     private static Optional<org.spongepowered.api.profile.GameProfile> getProfileFromServer(UUID uuid) {
@@ -219,6 +482,15 @@ private static Optional<org.spongepowered.api.profile.GameProfile> getProfileFro
         }
     }
 
+    private static Collection<org.spongepowered.api.profile.GameProfile> getProfilesFromServer(Collection<UUID> uuids) {
+        try {
+            return Sponge.getServer().getGameProfileManager().getAllById(uuids, true).get();
+        } catch (InterruptedException | ExecutionException e) {
+            SpongeHooks.logWarning("Error while getting profiles for {} users. {}", uuids.size(), e);
+            return Collections.emptyList();
+        }
+    }
+
     private static User getFromWhitelist(UUID uniqueId) {
         GameProfile profile = null;
         UserListWhitelist whiteList = MinecraftServer.getServer().getConfigurationManager().getWhitelistedPlayers();
@@ -245,23 +517,15 @@ private static User getFromBanlist(UUID uniqueId) {
         return null;
     }
 
-    private static File getPlayerDataFile(UUID uniqueId) {
-        // Note: Uses the overworld's player data
-        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-            if (uniqueId.toString().equals(playerUuid)) {
-                return new File(saveHandler.playersDirectory, playerUuid + ".dat");
-            }
-        }
-        return null;
-    }
-
     private static boolean deleteStoredPlayerData(UUID uniqueId) {
-        File dataFile = getPlayerDataFile(uniqueId);
+        File dataFile = UserIndex.getPlayerDataFile(uniqueId);
         if (dataFile != null) {
             try {
-                return dataFile.delete();
+                if (!dataFile.delete()) {
+                    return false;
+                }
+                UserIndex.remove(uniqueId);
+                return true;
             } catch (SecurityException e) {
                 SpongeHooks.logWarning("Unable to delete file {} due to a security error. {}", dataFile, e);
                 return false;
@@ -0,0 +1,341 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import com.mojang.authlib.GameProfile;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.storage.SaveHandler;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.world.DimensionManager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * A persistent index of every user known to have stored player data, kept in
+ * the overworld's save folder. This avoids listing the player data folder and
+ * querying the profile cache for each user on lookups.
+ */
+public final class UserIndex {
+
+    private static final String FILE_NAME = "users_sponge.dat";
+    private static final String USERS = "Users";
+    private static final String NAME = "Name";
+    private static final String LAST_SEEN = "LastSeen";
+
+    private static final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private static final Map<String, UUID> byName = new ConcurrentHashMap<>();
+    @Nullable private static volatile File loadedFrom;
+    private static boolean dirty;
+
+    private UserIndex() {
+    }
+
+    public static final class Entry {
+
+        final UUID uniqueId;
+        @Nullable volatile String name;
+        volatile long lastSeen;
+
+        Entry(UUID uniqueId, @Nullable String name, long lastSeen) {
+            this.uniqueId = uniqueId;
+            this.name = name;
+            this.lastSeen = lastSeen;
+        }
+
+        public GameProfile toProfile() {
+            return new GameProfile(this.uniqueId, this.name);
+        }
+
+        @Nullable
+        public String getName() {
+            return this.name;
+        }
+
+        public long getLastSeen() {
+            return this.lastSeen;
+        }
+    }
+
+    @Nullable
+    public static Entry get(UUID uniqueId) {
+        ensureLoaded();
+        return byId.get(uniqueId);
+    }
+
+    @Nullable
+    public static Entry get(String name) {
+        ensureLoaded();
+        UUID uniqueId = byName.get(name.toLowerCase(Locale.ROOT));
+        return uniqueId == null ? null : byId.get(uniqueId);
+    }
+
+    /**
+     * Gets the entry of the user if the index is already loaded, without
+     * touching the world. Used off the main thread after {@link #preload}.
+     */
+    @Nullable
+    static Entry getIfLoaded(UUID uniqueId) {
+        return byId.get(uniqueId);
+    }
+
+    public static Collection<Entry> getAll() {
+        ensureLoaded();
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    /**
+     * Records that the given user has been seen now, for example when they
+     * join or leave the server.
+     *
+     * @param profile The profile of the user
+     */
+    public static void markSeen(GameProfile profile) {
+        update(profile.getId(), profile.getName(), System.currentTimeMillis());
+    }
+
+    static void update(UUID uniqueId, @Nullable String name, long lastSeen) {
+        ensureLoaded();
+        put(uniqueId, name, lastSeen);
+    }
+
+    static void put(UUID uniqueId, @Nullable String name, long lastSeen) {
+        final boolean[] changed = new boolean[1];
+        byId.compute(uniqueId, (id, entry) -> {
+            if (entry == null) {
+                entry = new Entry(id, name, lastSeen);
+            } else {
+                boolean renamed = name != null && !name.equals(entry.name);
+                if (!renamed && lastSeen <= entry.lastSeen) {
+                    return entry;
+                }
+                if (renamed && entry.name != null) {
+                    byName.remove(entry.name.toLowerCase(Locale.ROOT), id);
+                }
+                if (renamed) {
+                    entry.name = name;
+                }
+                entry.lastSeen = Math.max(entry.lastSeen, lastSeen);
+            }
+            // Updated while the entry is locked, so the name mapping can't be
+            // reordered with a concurrent rename of the same user
+            if (name != null) {
+                byName.put(name.toLowerCase(Locale.ROOT), id);
+            }
+            changed[0] = true;
+            return entry;
+        });
+        if (changed[0]) {
+            synchronized (UserIndex.class) {
+                dirty = true;
+            }
+        }
+    }
+
+    static void remove(UUID uniqueId) {
+        ensureLoaded();
+        Entry entry = byId.remove(uniqueId);
+        if (entry != null) {
+            if (entry.name != null) {
+                byName.remove(entry.name.toLowerCase(Locale.ROOT), uniqueId);
+            }
+            synchronized (UserIndex.class) {
+                dirty = true;
+            }
+        }
+    }
+
+    @Nullable
+    static File getPlayerDataFile(UUID uniqueId) {
+        File file = getPlayerDataLocation(uniqueId);
+        return file.isFile() ? file : null;
+    }
+
+    /**
+     * Gets where the player data of the user would be stored, without
+     * checking whether it exists.
+     */
+    static File getPlayerDataLocation(UUID uniqueId) {
+        // Note: Uses the overworld's player data
+        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
+        return new File(saveHandler.playersDirectory, uniqueId.toString() + ".dat");
+    }
+
+    static File getIndexFile() {
+        return new File(DimensionManager.getWorldFromDimId(0).getSaveHandler().getWorldDirectory(), FILE_NAME);
+    }
+
+    private static void ensureLoaded() {
+        File file = getIndexFile();
+        if (!file.equals(loadedFrom)) {
+            load(file);
+        }
+    }
+
+    /**
+     * Reads the index from the file if it exists and isn't loaded yet. This
+     * only does file I/O, so unlike the other methods it may be called off
+     * the main thread. A missing or unreadable index is left to be rebuilt
+     * by the next lookup on the main thread.
+     *
+     * @param file The index file of the overworld
+     * @return Whether the index is loaded from the file
+     */
+    static synchronized boolean preload(File file) {
+        if (file.equals(loadedFrom)) {
+            return true;
+        }
+        if (read(file)) {
+            loadedFrom = file;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Forgets the loaded index without saving it.
+     */
+    static synchronized void reset() {
+        byId.clear();
+        byName.clear();
+        dirty = false;
+        loadedFrom = null;
+    }
+
+    private static synchronized void load(File file) {
+        if (file.equals(loadedFrom)) {
+            return;
+        }
+        if (!read(file)) {
+            rebuild();
+        }
+        loadedFrom = file;
+    }
+
+    private static boolean read(File file) {
+        byId.clear();
+        byName.clear();
+        if (!file.isFile()) {
+            return false;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            NBTTagList users = CompressedStreamTools.readCompressed(in).getTagList(USERS, NbtDataUtil.TAG_COMPOUND);
+            for (int i = 0; i < users.tagCount(); i++) {
+                NBTTagCompound user = users.getCompoundTagAt(i);
+                UUID uniqueId = new UUID(user.getLong(NbtDataUtil.UUID_MOST), user.getLong(NbtDataUtil.UUID_LEAST));
+                String name = user.hasKey(NAME) ? user.getString(NAME) : null;
+                byId.put(uniqueId, new Entry(uniqueId, name, user.getLong(LAST_SEEN)));
+                if (name != null) {
+                    byName.put(name.toLowerCase(Locale.ROOT), uniqueId);
+                }
+            }
+            dirty = false;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            SpongeImpl.getLogger().warn("Could not read the user index {}, rebuilding it from the player data.", file, e);
+            byId.clear();
+            byName.clear();
+            return false;
+        }
+    }
+
+    private static void rebuild() {
+        // Done once per world, when the index does not exist yet
+        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
+        for (String playerUuid : saveHandler.getAvailablePlayerDat()) {
+            // Some mods store other files in the 'playerdata' folder, so
+            // we need to ensure that the filename is a valid UUID
+            if (playerUuid.split("-").length != 5) {
+                continue;
+            }
+            UUID uniqueId;
+            try {
+                uniqueId = UUID.fromString(playerUuid);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            GameProfile profile = MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(uniqueId);
+            String name = profile == null ? null : profile.getName();
+            long lastSeen = new File(saveHandler.playersDirectory, playerUuid + ".dat").lastModified();
+            byId.put(uniqueId, new Entry(uniqueId, name, lastSeen));
+            if (name != null) {
+                byName.put(name.toLowerCase(Locale.ROOT), uniqueId);
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * Writes the index to the world folder if it has changed.
+     */
+    public static synchronized void save() {
+        if (!dirty || loadedFrom == null) {
+            return;
+        }
+        NBTTagList users = new NBTTagList();
+        for (Entry entry : byId.values()) {
+            NBTTagCompound user = new NBTTagCompound();
+            user.setLong(NbtDataUtil.UUID_MOST, entry.uniqueId.getMostSignificantBits());
+            user.setLong(NbtDataUtil.UUID_LEAST, entry.uniqueId.getLeastSignificantBits());
+            String name = entry.name;
+            if (name != null) {
+                user.setString(NAME, name);
+            }
+            user.setLong(LAST_SEEN, entry.lastSeen);
+            users.appendTag(user);
+        }
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag(USERS, users);
+
+        File newFile = new File(loadedFrom.getParentFile(), FILE_NAME + "_new");
+        try (OutputStream out = new FileOutputStream(newFile)) {
+            CompressedStreamTools.writeCompressed(compound, out);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not save the user index {}.", loadedFrom, e);
+            return;
+        }
+        if (loadedFrom.exists() && !loadedFrom.delete() || !newFile.renameTo(loadedFrom)) {
+            SpongeImpl.getLogger().warn("Could not replace the user index {}.", loadedFrom);
+            return;
+        }
+        dirty = false;
+    }
+}
@@ -25,8 +25,10 @@
 package org.spongepowered.common.text;
 
 import com.google.common.collect.Lists;
+import io.netty.buffer.Unpooled;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.nbt.NBTTagString;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.ChatComponentText;
 import net.minecraft.util.ChatComponentTranslation;
 import net.minecraft.util.IChatComponent;
@@ -35,6 +37,7 @@
 import org.spongepowered.common.interfaces.text.IMixinChatComponent;
 import org.spongepowered.common.interfaces.text.IMixinText;
 
+import java.util.Arrays;
 import java.util.List;
 
 public final class SpongeTexts {
@@ -109,6 +112,21 @@ public static IChatComponent fixActionBarFormatting(IChatComponent component) {
         return result;
     }
 
+    /**
+     * Encodes the body of a chat packet, so it can be shared by the packets
+     * sent to many players and written to each connection as is.
+     *
+     * @param json The JSON of the chat component
+     * @param type The chat type id
+     * @return The encoded packet body
+     */
+    public static byte[] encodeChatPacket(String json, byte type) {
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer(json.length() + 6));
+        buf.writeString(json);
+        buf.writeByte(type);
+        return Arrays.copyOf(buf.array(), buf.writerIndex());
+    }
+
     public static List<String> asJson(List<Text> list) {
         List<String> json = Lists.newArrayList();
         for (Text line : list) {
@@ -28,9 +28,12 @@
 import static org.spongepowered.common.util.OptionalUtils.asSet;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.MathHelper;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
 import org.spongepowered.api.data.manipulator.mutable.entity.ExperienceHolderData;
@@ -43,7 +46,6 @@
 import org.spongepowered.api.entity.living.player.gamemode.GameModes;
 import org.spongepowered.api.scoreboard.Team;
 import org.spongepowered.api.scoreboard.TeamMember;
-import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.selector.Argument;
 import org.spongepowered.api.text.selector.Argument.Invertible;
 import org.spongepowered.api.text.selector.ArgumentHolder;
@@ -55,7 +57,6 @@
 import org.spongepowered.api.util.Functional;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.source.LocatedSource;
-import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.Extent;
@@ -69,7 +70,8 @@
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
 
 /**
  * A resolver that acts like Vanilla Minecraft in many regards.
@@ -82,6 +84,8 @@ public class SelectorResolver {
     private static final Set<ArgumentType<?>> LOCATION_BASED_ARGUMENTS;
     private static final Function<Number, Double> TO_DOUBLE = Number::doubleValue;
     private static final Collection<SelectorType> INFINITE_TYPES = ImmutableSet.of(SelectorTypes.ALL_ENTITIES, SelectorTypes.ALL_PLAYERS);
+    private static final int MIN_INDEXED_CHUNKS = 64;
+    private static final double MAX_HEIGHT = 1 << 20;
 
     static {
         ImmutableSet.Builder<ArgumentType<?>> builder = ImmutableSet.builder();
@@ -116,7 +120,8 @@ private static <I, R> Predicate<I> requireTypePredicate(Class<I> inputType, fina
     private final Optional<CommandSource> original;
     private final Selector selector;
     private final Predicate<Entity> selectorFilter;
-    private final boolean alwaysUsePosition;
+    private final boolean usesLocation;
+    private final boolean playerOnly;
 
     public SelectorResolver(Collection<? extends Extent> extents, Selector selector, boolean force) {
         this(extents, null, null, selector, force);
@@ -136,14 +141,35 @@ private SelectorResolver(Collection<? extends Extent> extents, Vector3d position
         this.position = position == null ? ORIGIN : position;
         this.original = Optional.ofNullable(original);
         this.selector = checkNotNull(selector);
-        this.selectorFilter = makeFilter();
-        this.alwaysUsePosition = force;
+        this.playerOnly = isPlayerOnlySelector(selector);
+        if (selector instanceof SpongeSelector) {
+            this.selectorFilter = ((SpongeSelector) selector).getFilter(this.position, this::makeFilter);
+        } else {
+            this.selectorFilter = makeFilter(this.position);
+        }
+        this.usesLocation = force || hasLocationArguments(selector);
     }
 
-    private Predicate<Entity> makeFilter() {
-        // for easier reading
-        final Selector sel = this.selector;
-        Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+    private static boolean hasLocationArguments(Selector selector) {
+        for (ArgumentType<?> type : LOCATION_BASED_ARGUMENTS) {
+            if (selector.has(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPlayerOnlySelector(Selector selector) {
+        SelectorType selectorType = selector.getType();
+        Optional<Invertible<EntityType>> type = selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
+        return selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
+                || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
+                && type.get().getValue() != EntityTypes.PLAYER);
+    }
+
+    private Predicate<Entity> makeFilter(Vector3d origin) {
+        Vector3d position = getPositionOrDefault(origin, ArgumentTypes.POSITION);
         List<Predicate<Entity>> filters = Lists.newArrayList();
         addTypeFilters(filters);
         addDimensionFilters(position, filters);
@@ -154,14 +180,7 @@ private Predicate<Entity> makeFilter() {
         addRotationFilters(filters);
         addTeamFilters(filters);
         addScoreFilters(filters);
-        SelectorType selectorType = sel.getType();
-        Optional<Invertible<EntityType>> type = sel.getArgument(ArgumentTypes.ENTITY_TYPE);
-        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
-        boolean isPlayerOnlySelector =
-            selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
-                || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
-                && type.get().getValue() != EntityTypes.PLAYER);
-        if (isPlayerOnlySelector) {
+        if (this.playerOnly) {
             // insert at the start so it applies first
             filters.add(0, requireTypePredicate(Entity.class, Player.class));
         }
@@ -295,25 +314,14 @@ private void addTeamFilters(List<Predicate<Entity>> filters) {
         if (teamOpt.isPresent()) {
             Invertible<String> teamArg = teamOpt.get();
             final boolean inverted = teamArg.isInverted();
-            final Collection<Team> teams = Sponge.getGame().getServer().getServerScoreboard().get().getTeams();
-            filters.add(new Predicate<Entity>() {
-
-                @Override
-                public boolean test(Entity input) {
-                    if (input instanceof TeamMember) {
-                        return inverted ^ collectMembers(teams).contains(((TeamMember) input).getTeamRepresentation());
-                    }
-                    return false;
-                }
-
-                private Collection<Text> collectMembers(Collection<Team> teams) {
-                    ImmutableSet.Builder<Text> users = ImmutableSet.builder();
-                    for (Team t : teams) {
-                        users.addAll(t.getMembers());
-                    }
-                    return users.build();
+            final String teamName = teamArg.getValue();
+            filters.add(input -> {
+                if (input instanceof TeamMember) {
+                    // Looked up on each test, as the compiled filter is reused between resolutions
+                    Optional<Team> team = Sponge.getGame().getServer().getServerScoreboard().get().getTeam(teamName);
+                    return inverted ^ (team.isPresent() && team.get().getMembers().contains(((TeamMember) input).getTeamRepresentation()));
                 }
-
+                return false;
             });
         }
     }
@@ -347,42 +355,114 @@ public Set<Entity> resolve() {
             defaultCount = 0;
         }
         int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
-        Set<? extends Extent> extents = getExtentSet();
+        boolean random = selectorType == SelectorTypes.RANDOM;
+        List<Entity> randomCandidates = random ? new ArrayList<>() : null;
+        AxisAlignedBB bounds = this.usesLocation ? getBounds() : null;
+        Class<? extends net.minecraft.entity.Entity> entityClass = getEntityClass();
         int count = 0;
         ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
-        for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
-            if (selectorType == SelectorTypes.RANDOM) {
-                List<Entity> entityList = new ArrayList<>(allEntities);
-                Collections.shuffle(entityList);
-                allEntities = entityList;
-            }
-
-            for (Entity e : allEntities) {
+        for (Extent extent : getExtents()) {
+            for (Object o : getCandidates(extent, bounds, entityClass)) {
+                Entity e = (Entity) o;
                 if (!this.selectorFilter.test(e)) {
                     continue;
                 }
+                if (random) {
+                    randomCandidates.add(e);
+                    continue;
+                }
                 entities.add(e);
                 count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
+                if (maxToSelect != 0 && count >= maxToSelect) {
+                    return entities.build();
                 }
             }
         }
+        if (random) {
+            Collections.shuffle(randomCandidates);
+            int limit = maxToSelect == 0 ? randomCandidates.size() : Math.min(Math.abs(maxToSelect), randomCandidates.size());
+            entities.addAll(randomCandidates.subList(0, limit));
+        }
         return entities.build();
     }
 
-    private Set<? extends Extent> getExtentSet() {
-        if (!this.alwaysUsePosition && Collections.disjoint(getArgumentTypes(this.selector.getArguments()), LOCATION_BASED_ARGUMENTS)) {
-            return ImmutableSet.copyOf(SpongeImpl.getGame().getServer().getWorlds());
+    private Collection<? extends Extent> getExtents() {
+        if (!this.usesLocation) {
+            return SpongeImpl.getGame().getServer().getWorlds();
+        }
+        return this.extents;
+    }
+
+    /**
+     * Gets the entities of an extent which may match the selector. For
+     * worlds, these are taken from the chunks within the bounds of the
+     * selector when it has any, otherwise from the world's player list if
+     * only players can match.
+     */
+    private static Collection<?> getCandidates(Extent extent, @Nullable AxisAlignedBB bounds,
+            Class<? extends net.minecraft.entity.Entity> entityClass) {
+        if (!(extent instanceof net.minecraft.world.World)) {
+            return extent.getEntities();
+        }
+        net.minecraft.world.World world = (net.minecraft.world.World) extent;
+        if (bounds != null) {
+            long chunks = (long) ((MathHelper.floor_double(bounds.maxX) >> 4) - (MathHelper.floor_double(bounds.minX) >> 4) + 1)
+                    * ((MathHelper.floor_double(bounds.maxZ) >> 4) - (MathHelper.floor_double(bounds.minZ) >> 4) + 1);
+            // Looking at every chunk of a huge box costs more than looking at every entity
+            if (chunks <= Math.max(MIN_INDEXED_CHUNKS, world.getChunkProvider().getLoadedChunkCount())) {
+                return world.getEntitiesWithinAABB(entityClass, bounds, Predicates.alwaysTrue());
+            }
+        }
+        if (EntityPlayer.class.isAssignableFrom(entityClass)) {
+            return world.playerEntities;
+        }
+        return world.loadedEntityList;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends net.minecraft.entity.Entity> getEntityClass() {
+        if (this.playerOnly) {
+            return EntityPlayer.class;
+        }
+        Optional<Invertible<EntityType>> type = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        if (type.isPresent() && !type.get().isInverted()
+                && net.minecraft.entity.Entity.class.isAssignableFrom(type.get().getValue().getEntityClass())) {
+            return (Class<? extends net.minecraft.entity.Entity>) type.get().getValue().getEntityClass();
         }
-        return ImmutableSet.copyOf(this.extents);
+        return net.minecraft.entity.Entity.class;
     }
 
-    private Collection<ArgumentType<?>> getArgumentTypes(Collection<Argument<?>> arguments) {
-        Collection<ArgumentType<?>> types = Sets.newHashSet();
-        types.addAll(arguments.stream().map(Argument::getType).collect(Collectors.toList()));
-        return types;
+    /**
+     * Gets the box which contains every position accepted by the radius and
+     * volume arguments, or null if it is unbounded horizontally.
+     */
+    @Nullable
+    private AxisAlignedBB getBounds() {
+        Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        double[] min = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        double[] max = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        Optional<Integer> radius = this.selector.get(ArgumentTypes.RADIUS.maximum());
+        if (radius.isPresent()) {
+            min = position.sub(radius.get(), radius.get(), radius.get()).toArray();
+            max = position.add(radius.get(), radius.get(), radius.get()).toArray();
+        }
+        Vector3d volume = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
+        double[] boxMin = position.min(position.add(volume)).toArray();
+        double[] boxMax = position.max(position.add(volume)).toArray();
+        ArgumentHolder.Vector3<?, ? extends Number> dimension = ArgumentTypes.DIMENSION;
+        ArgumentType<?>[] axes = {dimension.x(), dimension.y(), dimension.z()};
+        for (int i = 0; i < 3; i++) {
+            if (this.selector.has(axes[i])) {
+                min[i] = Math.max(min[i], boxMin[i]);
+                max[i] = Math.min(max[i], boxMax[i]);
+            }
+        }
+        if (Double.isInfinite(min[0]) || Double.isInfinite(max[0]) || Double.isInfinite(min[2]) || Double.isInfinite(max[2])) {
+            return null;
+        }
+        // Entities are found by their bounding boxes, so leave some room for entities right at the edge
+        return new AxisAlignedBB(min[0] - 1, Math.max(min[1], -MAX_HEIGHT) - 1, min[2] - 1,
+                max[0] + 1, Math.min(max[1], MAX_HEIGHT) + 1, max[2] + 1);
     }
 
 }
@@ -26,6 +26,7 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.flowpowered.math.vector.Vector3d;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -45,6 +46,10 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
 
 @NonnullByDefault
 public class SpongeSelector implements Selector {
@@ -53,6 +58,7 @@ public class SpongeSelector implements Selector {
     protected final ImmutableMap<ArgumentType<?>, Argument<?>> arguments;
 
     private final String plain;
+    @Nullable private volatile CompiledFilter filter;
 
     public SpongeSelector(SelectorType type, ImmutableMap<ArgumentType<?>, Argument<?>> arguments) {
         this.type = checkNotNull(type, "type");
@@ -102,6 +108,19 @@ public boolean isInverted(ArgumentType.Invertible<?> type) {
         return ((Argument.Invertible<?>) this.arguments.get(type)).isInverted();
     }
 
+    /**
+     * Gets the filter of this selector for the given position, compiling it
+     * only if the last resolution was made from another position.
+     */
+    Predicate<Entity> getFilter(Vector3d position, Function<Vector3d, Predicate<Entity>> compiler) {
+        CompiledFilter filter = this.filter;
+        if (filter == null || !filter.position.equals(position)) {
+            filter = new CompiledFilter(position, compiler.apply(position));
+            this.filter = filter;
+        }
+        return filter.predicate;
+    }
+
     @Override
     public Set<Entity> resolve(CommandSource origin) {
         return new SelectorResolver(origin, this, false).resolve();
@@ -173,4 +192,16 @@ private String buildString() {
         return result.toString();
     }
 
+    private static final class CompiledFilter {
+
+        final Vector3d position;
+        final Predicate<Entity> predicate;
+
+        CompiledFilter(Vector3d position, Predicate<Entity> predicate) {
+            this.position = position;
+            this.predicate = predicate;
+        }
+
+    }
+
 }
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.util;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.Predicate;
@@ -37,6 +38,8 @@
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 
+import javax.annotation.Nullable;
+
 public class IpSet implements Predicate<InetAddress> {
     private final InetAddress addr;
     private final int prefixLen;
@@ -62,7 +65,7 @@ public boolean apply(InetAddress input) {
             }
         }
         for (byte i = 0; i < overlap; ++i) {
-            if (((checkAddr[completeSegments + 1] >> (7 - i)) & 0x1) != ((address[completeSegments + 1] >> (7 - i)) & 0x1)) {
+            if (((checkAddr[completeSegments] >> (7 - i)) & 0x1) != ((address[completeSegments] >> (7 - i)) & 0x1)) {
                 return false;
             }
         }
@@ -70,6 +73,38 @@ public boolean apply(InetAddress input) {
         return true;
     }
 
+    public InetAddress getAddress() {
+        return this.addr;
+    }
+
+    public int getPrefixLength() {
+        return this.prefixLen;
+    }
+
+    /**
+     * Gets the set of addresses contained in all of the given sets.
+     *
+     * @param sets The sets to intersect, must not be empty
+     * @return The intersection, or null if no address is in all sets
+     */
+    @Nullable
+    public static IpSet intersection(Iterable<IpSet> sets) {
+        IpSet narrowest = null;
+        for (IpSet set : sets) {
+            if (narrowest == null || set.prefixLen > narrowest.prefixLen) {
+                narrowest = set;
+            }
+        }
+        checkArgument(narrowest != null, "No sets to intersect");
+        // Two prefixes either nest or are disjoint, so all sets must contain the narrowest
+        for (IpSet set : sets) {
+            if (!set.apply(narrowest.addr)) {
+                return null;
+            }
+        }
+        return narrowest;
+    }
+
     public static IpSet fromAddrPrefix(InetAddress address, int prefixLen) {
         validatePrefixLength(checkNotNull(address, "address"), checkNotNull(prefixLen, "prefixLen"));
         return new IpSet(address, prefixLen);
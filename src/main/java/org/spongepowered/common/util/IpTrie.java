@@ -0,0 +1,204 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable binary trie mapping IPv4 and IPv6 prefixes to values.
+ *
+ * <p>Looking up an address walks at most one node per bit of the address,
+ * independent of the number of prefixes in the trie.</p>
+ *
+ * @param <V> The type of value stored for each prefix
+ */
+public final class IpTrie<V> {
+
+    private static final IpTrie<Object> EMPTY = new IpTrie<>(null, null);
+
+    private final Node<V> ipv4Root;
+    private final Node<V> ipv6Root;
+
+    private IpTrie(Node<V> ipv4Root, Node<V> ipv6Root) {
+        this.ipv4Root = ipv4Root;
+        this.ipv6Root = ipv6Root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> IpTrie<V> of() {
+        return (IpTrie<V>) EMPTY;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    public boolean isEmpty() {
+        return this.ipv4Root == null && this.ipv6Root == null;
+    }
+
+    /**
+     * Gets the values of all prefixes containing the given address, ordered
+     * from the shortest to the longest prefix.
+     *
+     * @param address The address to look up
+     * @return The values of the matching prefixes
+     */
+    public List<V> getAll(InetAddress address) {
+        final byte[] bytes = checkNotNull(address, "address").getAddress();
+        Node<V> node = address instanceof Inet4Address ? this.ipv4Root : this.ipv6Root;
+        List<V> ret = null;
+        for (int bit = 0; node != null; bit++) {
+            if (!node.values.isEmpty()) {
+                if (ret == null) {
+                    ret = new ArrayList<>(node.values);
+                } else {
+                    ret.addAll(node.values);
+                }
+            }
+            if (bit == bytes.length * 8) {
+                break;
+            }
+            node = isSet(bytes, bit) ? node.one : node.zero;
+        }
+        return ret == null ? Collections.<V>emptyList() : ret;
+    }
+
+    /**
+     * Gets whether any prefix in this trie contains the given address.
+     *
+     * @param address The address to look up
+     * @return Whether the address is contained
+     */
+    public boolean contains(InetAddress address) {
+        final byte[] bytes = checkNotNull(address, "address").getAddress();
+        Node<V> node = address instanceof Inet4Address ? this.ipv4Root : this.ipv6Root;
+        for (int bit = 0; node != null; bit++) {
+            if (!node.values.isEmpty()) {
+                return true;
+            }
+            if (bit == bytes.length * 8) {
+                break;
+            }
+            node = isSet(bytes, bit) ? node.one : node.zero;
+        }
+        return false;
+    }
+
+    static boolean isSet(byte[] bytes, int bit) {
+        return (bytes[bit >> 3] & (0x80 >> (bit & 7))) != 0;
+    }
+
+    private static final class Node<V> {
+
+        final Node<V> zero;
+        final Node<V> one;
+        final List<V> values;
+
+        Node(Node<V> zero, Node<V> one, List<V> values) {
+            this.zero = zero;
+            this.one = one;
+            this.values = values;
+        }
+    }
+
+    private static final class MutableNode<V> {
+
+        MutableNode<V> zero;
+        MutableNode<V> one;
+        final List<V> values = new ArrayList<>(1);
+
+        Node<V> freeze() {
+            return new Node<>(this.zero == null ? null : this.zero.freeze(), this.one == null ? null : this.one.freeze(),
+                    ImmutableList.copyOf(this.values));
+        }
+    }
+
+    public static final class Builder<V> {
+
+        private MutableNode<V> ipv4Root;
+        private MutableNode<V> ipv6Root;
+
+        Builder() {
+        }
+
+        public Builder<V> put(IpSet set, V value) {
+            return put(checkNotNull(set, "set").getAddress(), set.getPrefixLength(), value);
+        }
+
+        public Builder<V> put(InetAddress address, V value) {
+            return put(address, checkNotNull(address, "address").getAddress().length * 8, value);
+        }
+
+        public Builder<V> put(InetAddress address, int prefixLen, V value) {
+            final byte[] bytes = checkNotNull(address, "address").getAddress();
+            checkNotNull(value, "value");
+            checkArgument(prefixLen >= 0 && prefixLen <= bytes.length * 8, "Invalid prefix length %s for %s", prefixLen, address);
+            MutableNode<V> node;
+            if (address instanceof Inet4Address) {
+                if (this.ipv4Root == null) {
+                    this.ipv4Root = new MutableNode<>();
+                }
+                node = this.ipv4Root;
+            } else {
+                if (this.ipv6Root == null) {
+                    this.ipv6Root = new MutableNode<>();
+                }
+                node = this.ipv6Root;
+            }
+            for (int bit = 0; bit < prefixLen; bit++) {
+                if (isSet(bytes, bit)) {
+                    if (node.one == null) {
+                        node.one = new MutableNode<>();
+                    }
+                    node = node.one;
+                } else {
+                    if (node.zero == null) {
+                        node.zero = new MutableNode<>();
+                    }
+                    node = node.zero;
+                }
+            }
+            node.values.add(value);
+            return this;
+        }
+
+        public IpTrie<V> build() {
+            if (this.ipv4Root == null && this.ipv6Root == null) {
+                return of();
+            }
+            return new IpTrie<>(this.ipv4Root == null ? null : this.ipv4Root.freeze(), this.ipv6Root == null ? null : this.ipv6Root.freeze());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A future for a long running file operation which reports how much of the
+ * work has been done.
+ *
+ * @param <T> The result type
+ */
+public class ProgressFuture<T> extends CompletableFuture<T> {
+
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong done = new AtomicLong();
+
+    /**
+     * Gets the amount of work known so far, in bytes for copies and in files
+     * for deletions. It can grow while the operation runs.
+     *
+     * @return The total amount of work
+     */
+    public long getTotal() {
+        return this.total.get();
+    }
+
+    public long getDone() {
+        return this.done.get();
+    }
+
+    /**
+     * Gets the fraction of the work which has been done.
+     *
+     * @return The progress, between 0 and 1
+     */
+    public double getProgress() {
+        if (isDone()) {
+            return 1;
+        }
+        long total = this.total.get();
+        return total == 0 ? 0 : Math.min(1, (double) this.done.get() / total);
+    }
+
+    void addTotal(long amount) {
+        this.total.addAndGet(amount);
+    }
+
+    void addDone(long amount) {
+        this.done.addAndGet(amount);
+    }
+}
@@ -28,12 +28,14 @@
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Futures;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.MinecraftException;
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.ThreadedFileIOBase;
 import net.minecraft.world.storage.WorldInfo;
-import org.apache.commons.io.FileUtils;
 import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
@@ -41,50 +43,78 @@
 import org.spongepowered.common.world.DimensionManager;
 
 import java.io.File;
-import java.io.FileFilter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 public class ServerUtils {
 
-
+    /**
+     * Copies a world. The returned future is a {@link ProgressFuture} which
+     * reports the number of bytes copied.
+     *
+     * <p>If the world is loaded, its files are first copied while the server
+     * keeps saving. Saving is then disabled, the world is saved and only the
+     * files which changed in the meantime are copied again.</p>
+     *
+     * @param server The server
+     * @param worldProperties The properties of the world to copy
+     * @param copyName The name of the copy
+     * @return The future for the properties of the copy
+     */
     public static CompletableFuture<Optional<WorldProperties>> copyWorld(MinecraftServer server, WorldProperties worldProperties, String copyName) {
         checkArgument(WorldPropertyRegistryModule.getInstance().isWorldRegistered(worldProperties.getUniqueId()), "World properties not registered");
         checkArgument(!WorldPropertyRegistryModule.getInstance().isWorldRegistered(copyName), "Destination world name already is registered");
         WorldInfo info = (WorldInfo) worldProperties;
-        WorldServer world = DimensionManager.getWorldFromDimId(((IMixinWorldInfo) info).getDimensionId());
-        if (world != null) {
-            try {
-                world.saveAllChunks(true, null);
-            } catch (MinecraftException e) {
-                Throwables.propagate(e);
+        ProgressFuture<Optional<WorldProperties>> progress = new ProgressFuture<>();
+        SpongeScheduler.getInstance().submitAsyncTask(new CopyWorldTask(server, info, copyName, progress)).whenComplete((result, error) -> {
+            if (error != null) {
+                progress.completeExceptionally(error);
+            } else {
+                progress.complete(result);
             }
-            ((IMixinMinecraftServer) server).setSaveEnabled(false);
-        }
-        CompletableFuture<Optional<WorldProperties>> future = SpongeScheduler.getInstance().submitAsyncTask(new CopyWorldTask(info, copyName));
-        if (world != null) { // World was loaded
-            future.thenRun(() -> ((IMixinMinecraftServer) server).setSaveEnabled(true));
-        }
-        return future;
+        });
+        return progress;
     }
 
+    /**
+     * Deletes an unloaded world. The returned future is a
+     * {@link ProgressFuture} which reports the number of files deleted.
+     *
+     * @param worldProperties The properties of the world to delete
+     * @return The future for whether the world was deleted
+     */
     public static CompletableFuture<Boolean> deleteWorld(WorldProperties worldProperties) {
         checkArgument(WorldPropertyRegistryModule.getInstance().isWorldRegistered(worldProperties.getUniqueId()), "World properties not registered");
         checkState(DimensionManager.getWorldFromDimId(((IMixinWorldInfo) worldProperties).getDimensionId()) == null, "World not unloaded");
-        return SpongeScheduler.getInstance().submitAsyncTask(new DeleteWorldTask(worldProperties));
+        ProgressFuture<Boolean> progress = new ProgressFuture<>();
+        SpongeScheduler.getInstance().submitAsyncTask(new DeleteWorldTask(worldProperties, progress)).whenComplete((result, error) -> {
+            if (error != null) {
+                progress.completeExceptionally(error);
+            } else {
+                progress.complete(result);
+            }
+        });
+        return progress;
     }
 
     private static class CopyWorldTask implements Callable<Optional<WorldProperties>> {
 
+        private final MinecraftServer server;
         private final WorldInfo oldInfo;
         private final String newName;
+        private final ProgressFuture<?> progress;
 
-        public CopyWorldTask(WorldInfo info, String newName) {
+        public CopyWorldTask(MinecraftServer server, WorldInfo info, String newName, ProgressFuture<?> progress) {
+            this.server = server;
             this.oldInfo = info;
             this.newName = newName;
+            this.progress = progress;
         }
 
         @Override
@@ -100,14 +130,36 @@ public Optional<WorldProperties> call() throws Exception {
                 return Optional.empty();
             }
 
-            FileFilter filter = null;
+            Predicate<Path> filter = null;
             if (((IMixinWorldInfo) this.oldInfo).getDimensionId() == 0) {
                 oldDir = rootDir;
-                filter = (file) -> !file.isDirectory() || !new File(file, "level.dat").exists();
+                // Skip the directories of other worlds
+                filter = (dir) -> !Files.exists(dir.resolve("level.dat"));
             }
             try {
-                FileUtils.copyDirectory(oldDir, newDir, filter);
+                WorldFiles.copy(oldDir.toPath(), newDir.toPath(), filter, this.progress);
+                if (isLoaded()) {
+                    // Flush the world and copy again whatever changed during the first pass
+                    Futures.getUnchecked(this.server.addScheduledTask(() -> {
+                        WorldServer world = DimensionManager.getWorldFromDimId(((IMixinWorldInfo) this.oldInfo).getDimensionId());
+                        if (world != null) {
+                            ((IMixinMinecraftServer) this.server).setSaveEnabled(false);
+                            try {
+                                world.saveAllChunks(true, null);
+                            } catch (MinecraftException e) {
+                                throw Throwables.propagate(e);
+                            }
+                        }
+                    }));
+                    try {
+                        ThreadedFileIOBase.getThreadedIOInstance().waitForFinish();
+                        WorldFiles.copyChanged(oldDir.toPath(), newDir.toPath(), filter, this.progress);
+                    } finally {
+                        this.server.addScheduledTask(() -> ((IMixinMinecraftServer) this.server).setSaveEnabled(true));
+                    }
+                }
             } catch (IOException e) {
+                SpongeImpl.getLogger().error("Could not copy world {} to {}", this.oldInfo.getWorldName(), this.newName, e);
                 return Optional.empty();
             }
 
@@ -122,14 +174,20 @@ public Optional<WorldProperties> call() throws Exception {
             return Optional.of((WorldProperties) info);
         }
 
+        private boolean isLoaded() {
+            return DimensionManager.getWorldFromDimId(((IMixinWorldInfo) this.oldInfo).getDimensionId()) != null;
+        }
+
     }
 
     private static class DeleteWorldTask implements Callable<Boolean> {
 
         private final WorldProperties props;
+        private final ProgressFuture<?> progress;
 
-        public DeleteWorldTask(WorldProperties props) {
+        public DeleteWorldTask(WorldProperties props, ProgressFuture<?> progress) {
             this.props = props;
+            this.progress = progress;
         }
 
         @Override
@@ -140,7 +198,7 @@ public Boolean call() throws Exception {
             }
             File dir = new File(rootDir, this.props.getWorldName());
             try {
-                FileUtils.deleteDirectory(dir);
+                WorldFiles.delete(dir.toPath(), this.progress);
                 WorldPropertyRegistryModule.getInstance().unregister(this.props);
                 return true;
             } catch (IOException e) {
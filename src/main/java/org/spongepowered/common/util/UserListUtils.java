@@ -26,6 +26,7 @@
 
 import net.minecraft.server.management.UserList;
 import net.minecraft.server.management.UserListEntry;
+import org.spongepowered.common.interfaces.IMixinUserList;
 
 import java.io.IOException;
 
@@ -34,6 +35,7 @@ public class UserListUtils {
     @SuppressWarnings("unchecked")
     public static void addEntry(UserList list, UserListEntry entry) {
         list.getValues().put(list.getObjectKey(entry.getValue()), entry);
+        ((IMixinUserList) list).markModified();
 
         try {
             list.writeChanges();
@@ -45,6 +47,7 @@ public static void addEntry(UserList list, UserListEntry entry) {
 
     public static void removeEntry(UserList list, Object object) {
         list.getValues().remove(list.getObjectKey(object));
+        ((IMixinUserList) list).markModified();
 
         try {
             list.writeChanges();
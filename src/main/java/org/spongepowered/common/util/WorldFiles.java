@@ -0,0 +1,247 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+import javax.annotation.Nullable;
+
+/**
+ * Copies and deletes world directories using several threads.
+ */
+final class WorldFiles {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private WorldFiles() {
+    }
+
+    /**
+     * Copies all files below the source directory into the target directory.
+     *
+     * <p>Files which already exist in the target with the same size and
+     * modification time are skipped, as are files with the same size and
+     * checksum. Every copied file is verified against the checksum of the
+     * data read from the source.</p>
+     *
+     * @param source The directory to copy
+     * @param target The directory to copy into
+     * @param directoryFilter A filter for directories below the source to
+     *     copy, or null to copy all
+     * @param progress The future to report the copied bytes to
+     * @throws IOException If a file could not be copied
+     */
+    static void copy(Path source, Path target, @Nullable Predicate<Path> directoryFilter, ProgressFuture<?> progress) throws IOException {
+        copy(source, target, directoryFilter, progress, false);
+    }
+
+    /**
+     * Copies the files below the source directory which changed since they
+     * were copied into the target directory by an earlier
+     * {@link #copy(Path, Path, Predicate, ProgressFuture)}. Only the files
+     * which are copied again are added to the progress.
+     *
+     * @param source The directory to copy
+     * @param target The directory to copy into
+     * @param directoryFilter A filter for directories below the source to
+     *     copy, or null to copy all
+     * @param progress The future to report the copied bytes to
+     * @throws IOException If a file could not be copied
+     */
+    static void copyChanged(Path source, Path target, @Nullable Predicate<Path> directoryFilter, ProgressFuture<?> progress)
+            throws IOException {
+        copy(source, target, directoryFilter, progress, true);
+    }
+
+    private static void copy(Path source, Path target, @Nullable Predicate<Path> directoryFilter, ProgressFuture<?> progress,
+            boolean changedOnly) throws IOException {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(source) && directoryFilter != null && !directoryFilter.test(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path destination = target.resolve(source.relativize(file));
+                if (!changedOnly) {
+                    progress.addTotal(attrs.size());
+                }
+                tasks.add(() -> {
+                    copyFile(file, attrs, destination, progress, changedOnly);
+                    return null;
+                });
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        runAll(tasks, "Sponge World Copy #%d");
+    }
+
+    /**
+     * Deletes a directory and everything below it.
+     *
+     * @param directory The directory to delete
+     * @param progress The future to report the deleted files to
+     * @throws IOException If a file could not be deleted
+     */
+    static void delete(Path directory, ProgressFuture<?> progress) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>();
+        List<Path> directories = new ArrayList<>();
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                progress.addTotal(1);
+                tasks.add(() -> {
+                    Files.deleteIfExists(file);
+                    progress.addDone(1);
+                    return null;
+                });
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                if (exc != null) {
+                    throw exc;
+                }
+                directories.add(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        runAll(tasks, "Sponge World Delete #%d");
+        // Visited after their contents, so children are deleted before parents
+        for (Path dir : directories) {
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void copyFile(Path source, BasicFileAttributes attrs, Path target, ProgressFuture<?> progress, boolean changedOnly)
+            throws IOException {
+        if (Files.exists(target)) {
+            BasicFileAttributes existing = Files.readAttributes(target, BasicFileAttributes.class);
+            if (existing.size() == attrs.size()
+                    && (existing.lastModifiedTime().equals(attrs.lastModifiedTime()) || checksum(source) == checksum(target))) {
+                Files.setLastModifiedTime(target, attrs.lastModifiedTime());
+                if (!changedOnly) {
+                    progress.addDone(attrs.size());
+                }
+                return;
+            }
+        }
+        if (changedOnly) {
+            progress.addTotal(attrs.size());
+        }
+
+        long expected;
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32 crc = new CRC32();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                buffer.flip();
+                crc.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+                progress.addDone(read);
+            }
+            expected = crc.getValue();
+        }
+        if (checksum(target) != expected) {
+            throw new IOException("Checksum mismatch after copying " + source + " to " + target);
+        }
+        // Kept equal so that a later copy into the same target can skip unchanged files
+        Files.setLastModifiedTime(target, attrs.lastModifiedTime());
+    }
+
+    private static long checksum(Path file) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            CRC32 crc = new CRC32();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+            return crc.getValue();
+        }
+    }
+
+    private static void runAll(List<Callable<Void>> tasks, String threadName) throws IOException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(THREADS, tasks.size()),
+                new ThreadFactoryBuilder().setNameFormat(threadName).setDaemon(true).build());
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -26,6 +26,7 @@
 
 import com.flowpowered.math.vector.Vector2i;
 import com.google.common.base.Objects;
+import net.minecraft.world.biome.BiomeGenBase;
 import org.spongepowered.api.util.PositionOutOfBoundsException;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.api.world.extent.BiomeArea;
@@ -61,6 +62,51 @@ protected int getIndex(int x, int y) {
         return (y - this.start.getY()) * this.xLine + (x - this.start.getX());
     }
 
+    /**
+     * Copies the biome ids of the region into the array, row by row along x.
+     * The array must be exactly as large as the region.
+     *
+     * @param min The minimum position of the region
+     * @param max The maximum position of the region
+     * @param destination The array to copy the ids into
+     */
+    public void copyBiomeIds(Vector2i min, Vector2i max, byte[] destination) {
+        checkRange(min.getX(), min.getY());
+        checkRange(max.getX(), max.getY());
+        int i = 0;
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            for (int x = min.getX(); x <= max.getX(); x++) {
+                destination[i++] = (byte) ((BiomeGenBase) getBiome(x, y)).biomeID;
+            }
+        }
+    }
+
+    /**
+     * Copies a region of a backing array laid out by {@link #getIndex(int,
+     * int)}, one {@link System#arraycopy} per row, or a single one if the
+     * region spans the full width of the buffer.
+     *
+     * @param biomes The backing array of this buffer
+     * @param min The minimum position of the region
+     * @param max The maximum position of the region
+     * @param destination The array to copy the ids into
+     */
+    protected final void copyBiomeIds(byte[] biomes, Vector2i min, Vector2i max, byte[] destination) {
+        checkRange(min.getX(), min.getY());
+        checkRange(max.getX(), max.getY());
+        final int xSize = max.getX() - min.getX() + 1;
+        final int ySize = max.getY() - min.getY() + 1;
+        if (xSize == this.xLine) {
+            System.arraycopy(biomes, getIndex(min.getX(), min.getY()), destination, 0, xSize * ySize);
+            return;
+        }
+        int i = 0;
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            System.arraycopy(biomes, getIndex(min.getX(), y), destination, i, xSize);
+            i += xSize;
+        }
+    }
+
     @Override
     public Vector2i getBiomeMin() {
         return this.start;
@@ -26,6 +26,8 @@
 
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.Objects;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.util.PositionOutOfBoundsException;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
@@ -63,6 +65,66 @@ protected int getIndex(int x, int y, int z) {
         return (x - this.start.getX()) * this.yzSlice + (z - this.start.getZ()) * this.yLine + (y - this.start.getY());
     }
 
+    /**
+     * Copies the block state ids of the region into the array, in the same
+     * x, z, y order used by the buffers. The array must be exactly as large
+     * as the region.
+     *
+     * @param min The minimum position of the region
+     * @param max The maximum position of the region
+     * @param destination The array to copy the ids into
+     */
+    public void copyBlockIds(Vector3i min, Vector3i max, short[] destination) {
+        checkRange(min.getX(), min.getY(), min.getZ());
+        checkRange(max.getX(), max.getY(), max.getZ());
+        int i = 0;
+        for (int x = min.getX(); x <= max.getX(); x++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                for (int y = min.getY(); y <= max.getY(); y++) {
+                    destination[i++] = (short) Block.BLOCK_STATE_IDS.get((IBlockState) getBlock(x, y, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies a region of a backing array laid out by {@link #getIndex(int,
+     * int, int)} with as few {@link System#arraycopy} calls as possible.
+     * Columns are contiguous along y, and whole x slices are contiguous when
+     * the region spans the full y and z size of the buffer.
+     *
+     * @param blocks The backing array of this buffer
+     * @param min The minimum position of the region
+     * @param max The maximum position of the region
+     * @param destination The array to copy the ids into
+     */
+    protected final void copyBlockIds(short[] blocks, Vector3i min, Vector3i max, short[] destination) {
+        checkRange(min.getX(), min.getY(), min.getZ());
+        checkRange(max.getX(), max.getY(), max.getZ());
+        final int xSize = max.getX() - min.getX() + 1;
+        final int ySize = max.getY() - min.getY() + 1;
+        final int zSize = max.getZ() - min.getZ() + 1;
+        if (ySize == this.yLine && zSize == this.size.getZ()) {
+            System.arraycopy(blocks, getIndex(min.getX(), min.getY(), min.getZ()), destination, 0, xSize * this.yzSlice);
+            return;
+        }
+        int i = 0;
+        if (ySize == this.yLine) {
+            final int length = zSize * ySize;
+            for (int x = min.getX(); x <= max.getX(); x++) {
+                System.arraycopy(blocks, getIndex(x, min.getY(), min.getZ()), destination, i, length);
+                i += length;
+            }
+            return;
+        }
+        for (int x = min.getX(); x <= max.getX(); x++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                System.arraycopy(blocks, getIndex(x, min.getY(), z), destination, i, ySize);
+                i += ySize;
+            }
+        }
+    }
+
     @Override
     public Vector3i getBlockMax() {
         return this.end;
@@ -58,6 +58,11 @@ private ByteArrayImmutableBiomeBuffer(Vector2i start, Vector2i size, byte[] biom
         this.biomes = biomes;
     }
 
+    @Override
+    public void copyBiomeIds(Vector2i min, Vector2i max, byte[] destination) {
+        copyBiomeIds(this.biomes, min, max, destination);
+    }
+
     @SuppressWarnings("ConstantConditions")
     @Override
     public BiomeType getBiome(int x, int z) {
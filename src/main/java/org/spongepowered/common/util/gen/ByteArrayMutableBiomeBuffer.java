@@ -79,6 +79,12 @@ public void setBiome(int x, int z, BiomeType biome) {
         this.biomes[getIndex(x, z)] = (byte) ((BiomeGenBase) biome).biomeID;
     }
 
+    @Override
+    public void copyBiomeIds(Vector2i min, Vector2i max, byte[] destination) {
+        checkOpen();
+        copyBiomeIds(this.biomes, min, max, destination);
+    }
+
     @SuppressWarnings("ConstantConditions")
     @Override
     public BiomeType getBiome(int x, int z) {
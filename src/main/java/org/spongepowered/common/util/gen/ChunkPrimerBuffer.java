@@ -28,7 +28,9 @@
 
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.util.DiscreteTransform3;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
@@ -43,6 +45,7 @@
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -64,6 +67,43 @@ private static Vector3i getBlockStart(int chunkX, int chunkZ) {
         return worldCoords.get();
     }
 
+    /**
+     * Replaces all blocks of this buffer with the blocks of the chunk, reading
+     * the block state ids straight from the chunk's storage arrays. Sections
+     * the chunk has no storage for are filled with air.
+     *
+     * @param chunk The chunk to copy, at the same position as this buffer
+     */
+    public void copyFrom(Chunk chunk) {
+        final short[] data = this.chunkPrimer.data;
+        final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        for (int sectionY = 0; sectionY < sections.length; sectionY++) {
+            final ExtendedBlockStorage section = sections[sectionY];
+            if (section == null) {
+                // Each column of a primer is contiguous, clear the section's part of all of them
+                final int yOffset = sectionY << 4;
+                for (int column = 0; column < 256; column++) {
+                    Arrays.fill(data, column << 8 | yOffset, (column << 8 | yOffset) + 16, (short) 0);
+                }
+                continue;
+            }
+            final char[] sectionData = section.getData();
+            final int yOffset = section.getYLocation();
+            for (int i = 0; i < sectionData.length; i++) {
+                // Sections are indexed y, z, x while primers are indexed x, z, y
+                final int x = i & 0xf;
+                final int z = (i >> 4) & 0xf;
+                final int y = yOffset + (i >> 8);
+                data[x << 12 | z << 8 | y] = (short) sectionData[i];
+            }
+        }
+    }
+
+    @Override
+    public void copyBlockIds(Vector3i min, Vector3i max, short[] destination) {
+        copyBlockIds(this.chunkPrimer.data, min, max, destination);
+    }
+
     @Override
     public BlockState getBlock(int x, int y, int z) {
         checkRange(x, y, z);
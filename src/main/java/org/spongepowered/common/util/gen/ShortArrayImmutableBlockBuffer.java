@@ -56,6 +56,11 @@ private ShortArrayImmutableBlockBuffer(Vector3i start, Vector3i size, short[] bl
         this.blocks = blocks;
     }
 
+    @Override
+    public void copyBlockIds(Vector3i min, Vector3i max, short[] destination) {
+        copyBlockIds(this.blocks, min, max, destination);
+    }
+
     @Override
     public BlockState getBlock(int x, int y, int z) {
         checkRange(x, y, z);
@@ -63,6 +63,11 @@ public void setBlock(int x, int y, int z, BlockState block) {
         this.blocks[getIndex(x, y, z)] = (short) Block.BLOCK_STATE_IDS.get((IBlockState) block);
     }
 
+    @Override
+    public void copyBlockIds(Vector3i min, Vector3i max, short[] destination) {
+        copyBlockIds(this.blocks, min, max, destination);
+    }
+
     @Override
     public BlockState getBlock(int x, int y, int z) {
         checkRange(x, y, z);
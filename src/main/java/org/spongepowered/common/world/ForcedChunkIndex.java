@@ -0,0 +1,75 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import gnu.trove.map.hash.TLongIntHashMap;
+import net.minecraft.world.ChunkCoordIntPair;
+
+/**
+ * Counts the tickets forcing each chunk of a world, keyed by the packed
+ * chunk coordinates, so the chunk provider can tell in constant time
+ * whether a chunk may be unloaded.
+ */
+public final class ForcedChunkIndex {
+
+    private final TLongIntHashMap counts = new TLongIntHashMap();
+
+    public boolean isForced(int chunkX, int chunkZ) {
+        return this.counts.containsKey(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+    }
+
+    /**
+     * Adds a ticket forcing the given chunk.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return Whether the chunk was not forced before
+     */
+    public boolean add(int chunkX, int chunkZ) {
+        return this.counts.adjustOrPutValue(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ), 1, 1) == 1;
+    }
+
+    /**
+     * Removes a ticket forcing the given chunk.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return Whether the chunk is no longer forced
+     */
+    public boolean remove(int chunkX, int chunkZ) {
+        long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+        int count = this.counts.get(key);
+        if (count > 1) {
+            this.counts.put(key, count - 1);
+            return false;
+        }
+        return count == 1 && this.counts.remove(key) == 1;
+    }
+
+    public int size() {
+        return this.counts.size();
+    }
+
+}
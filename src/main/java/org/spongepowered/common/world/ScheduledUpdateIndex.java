@@ -0,0 +1,123 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.NextTickListEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the pending block updates of a world by position and by chunk,
+ * next to the hash and tree sets Vanilla keeps them in.
+ */
+public final class ScheduledUpdateIndex {
+
+    private final Map<BlockPos, List<NextTickListEntry>> byPosition = new HashMap<>();
+    private final Map<Long, Set<BlockPos>> byChunk = new HashMap<>();
+
+    public void add(NextTickListEntry entry) {
+        List<NextTickListEntry> entries = this.byPosition.get(entry.position);
+        if (entries == null) {
+            entries = new ArrayList<>(1);
+            this.byPosition.put(entry.position, entries);
+            long chunk = getChunkKey(entry.position);
+            Set<BlockPos> positions = this.byChunk.get(chunk);
+            if (positions == null) {
+                positions = new HashSet<>();
+                this.byChunk.put(chunk, positions);
+            }
+            positions.add(entry.position);
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * Removes the given entry, compared by identity as entries for the same
+     * position and block are equal.
+     *
+     * @param entry The entry to remove
+     * @return Whether the entry was indexed
+     */
+    public boolean remove(NextTickListEntry entry) {
+        List<NextTickListEntry> entries = this.byPosition.get(entry.position);
+        if (entries == null) {
+            return false;
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i) == entry) {
+                entries.remove(i);
+                if (entries.isEmpty()) {
+                    this.byPosition.remove(entry.position);
+                    long chunk = getChunkKey(entry.position);
+                    Set<BlockPos> positions = this.byChunk.get(chunk);
+                    positions.remove(entry.position);
+                    if (positions.isEmpty()) {
+                        this.byChunk.remove(chunk);
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<NextTickListEntry> get(BlockPos position) {
+        List<NextTickListEntry> entries = this.byPosition.get(position);
+        return entries == null ? ImmutableList.of() : ImmutableList.copyOf(entries);
+    }
+
+    /**
+     * Removes every entry within the given chunk.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The removed entries
+     */
+    public Collection<NextTickListEntry> removeChunk(int chunkX, int chunkZ) {
+        Set<BlockPos> positions = this.byChunk.remove(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+        if (positions == null) {
+            return ImmutableList.of();
+        }
+        List<NextTickListEntry> removed = new ArrayList<>();
+        for (BlockPos position : positions) {
+            removed.addAll(this.byPosition.remove(position));
+        }
+        return removed;
+    }
+
+    private static long getChunkKey(BlockPos position) {
+        return ChunkCoordIntPair.chunkXZ2Int(position.getX() >> 4, position.getZ() >> 4);
+    }
+
+}
@@ -27,18 +27,32 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import co.aikar.timings.SpongeTimingsFactory;
+import co.aikar.timings.Timing;
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFileCache;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.WorldBorder;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.scheduler.SpongeScheduler;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Optional;
 import java.util.Queue;
@@ -141,6 +155,92 @@ public String toString() {
             '}';
     }
 
+    /**
+     * Reads whether a chunk was populated from its saved data, skipping over
+     * everything else instead of reading the whole chunk.
+     *
+     * @param input The uncompressed chunk data
+     * @return Whether the terrain of the chunk was populated
+     * @throws IOException If the data can't be read
+     */
+    static boolean readTerrainPopulated(DataInputStream input) throws IOException {
+        if (input.readByte() != NbtDataUtil.TAG_COMPOUND) {
+            return false;
+        }
+        skip(input, input.readUnsignedShort());
+        return findTag(input, NbtDataUtil.CHUNK_DATA_LEVEL, NbtDataUtil.TAG_COMPOUND)
+            && findTag(input, NbtDataUtil.CHUNK_DATA_TERRAIN_POPULATED, NbtDataUtil.TAG_BYTE)
+            && input.readByte() != 0;
+    }
+
+    // Moves the input to the payload of a tag in the compound being read
+    private static boolean findTag(DataInputStream input, String name, byte type) throws IOException {
+        byte tagType;
+        while ((tagType = input.readByte()) != NbtDataUtil.TAG_END) {
+            final String tagName = input.readUTF();
+            if (tagType == type && tagName.equals(name)) {
+                return true;
+            }
+            skipPayload(input, tagType);
+        }
+        return false;
+    }
+
+    private static void skipPayload(DataInputStream input, byte type) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                skip(input, 1);
+                break;
+            case NbtDataUtil.TAG_SHORT:
+                skip(input, 2);
+                break;
+            case NbtDataUtil.TAG_INT:
+            case NbtDataUtil.TAG_FLOAT:
+                skip(input, 4);
+                break;
+            case NbtDataUtil.TAG_LONG:
+            case NbtDataUtil.TAG_DOUBLE:
+                skip(input, 8);
+                break;
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                skip(input, input.readInt());
+                break;
+            case NbtDataUtil.TAG_STRING:
+                skip(input, input.readUnsignedShort());
+                break;
+            case NbtDataUtil.TAG_LIST:
+                final byte elementType = input.readByte();
+                final int length = input.readInt();
+                for (int i = 0; i < length; i++) {
+                    skipPayload(input, elementType);
+                }
+                break;
+            case NbtDataUtil.TAG_COMPOUND:
+                byte tagType;
+                while ((tagType = input.readByte()) != NbtDataUtil.TAG_END) {
+                    skip(input, input.readUnsignedShort());
+                    skipPayload(input, tagType);
+                }
+                break;
+            case NbtDataUtil.TAG_INT_ARRAY:
+                skip(input, input.readInt() * 4);
+                break;
+            default:
+                throw new IOException("Unknown tag type " + type);
+        }
+    }
+
+    private static void skip(DataInputStream input, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            final int skipped = input.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+
     private static class ChunkPreGenerator implements Consumer<Task> {
 
         private static final Vector3i[] OFFSETS = {
@@ -149,8 +249,15 @@ private static class ChunkPreGenerator implements Consumer<Task> {
             Vector3i.UNIT_X.negate(),
             Vector3i.UNIT_Z.negate()
         };
+        // The neighbours which have to be loaded for a chunk to be populated
+        private static final Vector3i[] POPULATION_OFFSETS = {
+            Vector3i.UNIT_X,
+            Vector3i.UNIT_Z,
+            Vector3i.UNIT_X.add(Vector3i.UNIT_Z)
+        };
         private static final String TIME_FORMAT = "s's 'S'ms'";
         private final World world;
+        private final Vector3i center;
         private final int chunkRadius;
         private final int chunkCount;
         private final float tickPercent;
@@ -158,11 +265,13 @@ private static class ChunkPreGenerator implements Consumer<Task> {
         @Nullable private final Logger logger;
         private final Queue<Chunk> unloadQueue = new ArrayDeque<>();
         private final int unloadQueueThreshold;
+        private final Timing generationTimer;
         private Vector3i currentPosition;
         private int currentLayerIndex;
         private int currentLayerSize;
         private int currentIndexInLayer;
         private int totalCount;
+        private int skippedCount;
         private long totalTime;
 
         ChunkPreGenerator(World world, Vector3d center, double diameter, int chunkCount, float tickPercent, @Nullable Logger logger) {
@@ -174,9 +283,11 @@ private static class ChunkPreGenerator implements Consumer<Task> {
             this.tickTimeLimit = Math.round(SpongeScheduler.getInstance().getPreferredTickInterval() * tickPercent);
             // Enough chunks to be for the last two layers to be full, so adjacent chunks always exist
             this.unloadQueueThreshold = 4 * this.chunkRadius - 2;
+            this.generationTimer = SpongeTimingsFactory.ofSafe(world.getName() + " - Chunk Pre-Generation");
             final Optional<Vector3i> currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt());
             if (currentPosition.isPresent()) {
-                this.currentPosition = currentPosition.get();
+                this.center = currentPosition.get();
+                this.currentPosition = this.center;
             } else {
                 throw new IllegalArgumentException("Center is not a valid chunk coordinate");
             }
@@ -185,25 +296,46 @@ private static class ChunkPreGenerator implements Consumer<Task> {
             this.currentIndexInLayer = 0;
             this.totalCount = 0;
             this.totalTime = 0;
+            restoreProgress();
         }
 
         @Override
         public void accept(Task task) {
             final long startTime = System.currentTimeMillis();
             int count = 0;
+            int skipped = 0;
             do {
-                this.world.loadChunk(nextChunkPosition(), true).ifPresent(this.unloadQueue::add);
-                if (this.unloadQueue.size() > this.unloadQueueThreshold) {
-                    this.unloadQueue.remove();
+                final Vector3i position = nextChunkPosition();
+                final boolean saved = isSaved(position);
+                if (saved && isPopulated(position)) {
+                    // Generated by an earlier run, loading it would only cost time
+                    skipped++;
+                    continue;
                 }
-            } while (hasNextChunkPosition() && checkChunkCount(++count) && checkTickTime(System.currentTimeMillis() - startTime));
+                this.generationTimer.startTimingIfSync();
+                load(position);
+                if (saved) {
+                    // Left unpopulated at the border of an earlier run, it is only
+                    // populated once its neighbours in the positive directions are
+                    // loaded as well, which may have been skipped
+                    for (Vector3i offset : POPULATION_OFFSETS) {
+                        load(position.add(offset));
+                    }
+                }
+                this.generationTimer.stopTimingIfSync();
+                while (this.unloadQueue.size() > this.unloadQueueThreshold) {
+                    unload(this.unloadQueue.remove());
+                }
+                count++;
+            } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - startTime));
+            this.totalCount += count;
+            this.skippedCount += skipped;
+            final long deltaTime = System.currentTimeMillis() - startTime;
+            this.totalTime += deltaTime;
             if (this.logger != null) {
-                this.totalCount += count;
-                final long deltaTime = System.currentTimeMillis() - startTime;
-                this.totalTime += deltaTime;
-                this.logger.info("Generated {} chunks in {}, {}% complete. Currently {} chunks are kept loaded", count,
+                this.logger.info("Generated {} chunks ({} already existed) in {}, {}% complete. Currently {} chunks are kept loaded", count, skipped,
                     DurationFormatUtils.formatDuration(deltaTime, TIME_FORMAT, false),
-                    GenericMath.floor(this.totalCount / Math.pow(this.chunkRadius * 2 + 1, 2) * 100),
+                    GenericMath.floor((this.totalCount + this.skippedCount) / Math.pow(this.chunkRadius * 2 + 1, 2) * 100),
                     this.unloadQueue.size()
                 );
             }
@@ -212,9 +344,115 @@ public void accept(Task task) {
                     this.logger.info("Done! Generated a total of {} chunks in {}", this.totalCount,
                         DurationFormatUtils.formatDuration(this.totalTime, TIME_FORMAT, false));
                 }
-                this.unloadQueue.clear();
+                while (!this.unloadQueue.isEmpty()) {
+                    unload(this.unloadQueue.remove());
+                }
+                clearProgress();
                 task.cancel();
+            } else {
+                saveProgress();
+            }
+        }
+
+        private void load(Vector3i position) {
+            // Chunks loaded by someone else are left alone, only the ones
+            // loaded by the generator are unloaded again
+            final boolean loaded = ((WorldServer) this.world).theChunkProviderServer.chunkExists(position.getX(), position.getZ());
+            final Optional<Chunk> chunk = this.world.loadChunk(position, true);
+            if (!loaded && chunk.isPresent()) {
+                this.unloadQueue.add(chunk.get());
+            }
+        }
+
+        private boolean isSaved(Vector3i position) {
+            final AnvilChunkLoader loader = getChunkLoader();
+            if (loader == null || ((WorldServer) this.world).theChunkProviderServer.chunkExists(position.getX(), position.getZ())) {
+                return false;
             }
+            // Loading the region file through the cache would create it if it doesn't exist
+            final File regionFile = new File(new File(loader.chunkSaveLocation, "region"),
+                "r." + (position.getX() >> 5) + "." + (position.getZ() >> 5) + ".mca");
+            if (!regionFile.exists()) {
+                return false;
+            }
+            return RegionFileCache.createOrLoadRegionFile(loader.chunkSaveLocation, position.getX(), position.getZ())
+                .isChunkSaved(position.getX() & 31, position.getZ() & 31);
+        }
+
+        private boolean isPopulated(Vector3i position) {
+            final AnvilChunkLoader loader = getChunkLoader();
+            if (loader == null) {
+                return false;
+            }
+            try (DataInputStream stream = RegionFileCache.getChunkInputStream(loader.chunkSaveLocation, position.getX(), position.getZ())) {
+                if (stream == null) {
+                    return false;
+                }
+                return readTerrainPopulated(stream);
+            } catch (IOException e) {
+                // Let loading the chunk deal with the broken data
+                return false;
+            }
+        }
+
+        @Nullable
+        private AnvilChunkLoader getChunkLoader() {
+            final IChunkLoader loader = ((WorldServer) this.world).theChunkProviderServer.chunkLoader;
+            return loader instanceof AnvilChunkLoader ? (AnvilChunkLoader) loader : null;
+        }
+
+        private void unload(Chunk chunk) {
+            final Vector3i position = chunk.getPosition();
+            final WorldServer world = (WorldServer) this.world;
+            // Keep chunks players moved into or that were forced in the meantime
+            if (!world.getPlayerManager().hasPlayerInstance(position.getX(), position.getZ())
+                && !((IMixinWorldServer) world).getForcedChunkIndex().isForced(position.getX(), position.getZ())) {
+                world.theChunkProviderServer.dropChunk(position.getX(), position.getZ());
+            }
+        }
+
+        /**
+         * Resumes from the cursor stored in the world's Sponge data, if it
+         * was saved by a pre-generation of the same area.
+         */
+        private void restoreProgress() {
+            final NBTTagCompound spongeData = ((IMixinWorldInfo) ((WorldServer) this.world).getWorldInfo()).getSpongeNbt();
+            if (!spongeData.hasKey(NbtDataUtil.SPONGE_CHUNK_PRE_GENERATE, NbtDataUtil.TAG_COMPOUND)) {
+                return;
+            }
+            final NBTTagCompound progress = spongeData.getCompoundTag(NbtDataUtil.SPONGE_CHUNK_PRE_GENERATE);
+            if (progress.getInteger(NbtDataUtil.PRE_GENERATE_CENTER_X) != this.center.getX()
+                || progress.getInteger(NbtDataUtil.PRE_GENERATE_CENTER_Z) != this.center.getZ()
+                || progress.getInteger(NbtDataUtil.PRE_GENERATE_RADIUS) != this.chunkRadius) {
+                return;
+            }
+            this.currentPosition = new Vector3i(progress.getInteger(NbtDataUtil.PRE_GENERATE_POSITION_X), 0,
+                progress.getInteger(NbtDataUtil.PRE_GENERATE_POSITION_Z));
+            this.currentLayerIndex = progress.getInteger(NbtDataUtil.PRE_GENERATE_LAYER_INDEX);
+            this.currentLayerSize = progress.getInteger(NbtDataUtil.PRE_GENERATE_LAYER_SIZE);
+            this.currentIndexInLayer = progress.getInteger(NbtDataUtil.PRE_GENERATE_INDEX_IN_LAYER);
+            this.totalCount = progress.getInteger(NbtDataUtil.PRE_GENERATE_TOTAL_COUNT);
+            if (this.logger != null) {
+                this.logger.info("Resuming chunk pre-generation at layer {} of {}", this.currentLayerIndex, this.chunkRadius);
+            }
+        }
+
+        private void saveProgress() {
+            final NBTTagCompound progress = new NBTTagCompound();
+            progress.setInteger(NbtDataUtil.PRE_GENERATE_CENTER_X, this.center.getX());
+            progress.setInteger(NbtDataUtil.PRE_GENERATE_CENTER_Z, this.center.getZ());
+            progress.setInteger(NbtDataUtil.PRE_GENERATE_RADIUS, this.chunkRadius);
+            progress.setInteger(NbtDataUtil.PRE_GENERATE_POSITION_X, this.currentPosition.getX());
+            progress.setInteger(NbtDataUtil.PRE_GENERATE_POSITION_Z, this.currentPosition.getZ());
+            progress.setInteger(NbtDataUtil.PRE_GENERATE_LAYER_INDEX, this.currentLayerIndex);
+            progress.setInteger(NbtDataUtil.PRE_GENERATE_LAYER_SIZE, this.currentLayerSize);
+            progress.setInteger(NbtDataUtil.PRE_GENERATE_INDEX_IN_LAYER, this.currentIndexInLayer);
+            progress.setInteger(NbtDataUtil.PRE_GENERATE_TOTAL_COUNT, this.totalCount);
+            ((IMixinWorldInfo) ((WorldServer) this.world).getWorldInfo()).getSpongeNbt().setTag(NbtDataUtil.SPONGE_CHUNK_PRE_GENERATE, progress);
+        }
+
+        private void clearProgress() {
+            ((IMixinWorldInfo) ((WorldServer) this.world).getWorldInfo()).getSpongeNbt().removeTag(NbtDataUtil.SPONGE_CHUNK_PRE_GENERATE);
         }
 
         private boolean hasNextChunkPosition() {
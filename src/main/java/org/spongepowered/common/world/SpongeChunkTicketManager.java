@@ -0,0 +1,573 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.ListMultimap;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.MemoryDataContainer;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.world.ChunkTicketManager;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the chunks of loading tickets forced, so they are never queued for
+ * unloading, and saves the tickets with the Sponge data of their world so
+ * they are restored when it loads again. Changed tickets are only written
+ * once the world info is saved or the world is unloaded.
+ */
+public final class SpongeChunkTicketManager implements ChunkTicketManager {
+
+    private static final SpongeChunkTicketManager INSTANCE = new SpongeChunkTicketManager();
+
+    public static SpongeChunkTicketManager getInstance() {
+        return INSTANCE;
+    }
+
+    private final Map<String, Callback> callbacks = new HashMap<>();
+    private final Map<WorldServer, List<SpongeLoadingTicket>> tickets = new HashMap<>();
+    private final Set<WorldServer> dirty = new HashSet<>();
+
+    private SpongeChunkTicketManager() {
+    }
+
+    private static SpongeConfig.ChunkTicketCategory getConfig() {
+        return SpongeImpl.getGlobalConfig().getConfig().getChunkTickets();
+    }
+
+    private static PluginContainer getPlugin(Object plugin) {
+        Optional<PluginContainer> container = Sponge.getPluginManager().fromInstance(checkNotNull(plugin, "plugin"));
+        checkArgument(container.isPresent(), "Unknown plugin: %s", plugin);
+        return container.get();
+    }
+
+    private List<SpongeLoadingTicket> getTickets(WorldServer world) {
+        List<SpongeLoadingTicket> tickets = this.tickets.get(world);
+        if (tickets == null) {
+            tickets = new ArrayList<>();
+            this.tickets.put(world, tickets);
+        }
+        return tickets;
+    }
+
+    @Override
+    public void registerCallback(Object plugin, Callback callback) {
+        this.callbacks.put(getPlugin(plugin).getId(), checkNotNull(callback, "callback"));
+    }
+
+    @Override
+    public Optional<LoadingTicket> createTicket(Object plugin, World world) {
+        return Optional.ofNullable(createTicket(getPlugin(plugin), (WorldServer) world, null, false));
+    }
+
+    @Override
+    public Optional<EntityLoadingTicket> createEntityTicket(Object plugin, World world) {
+        return Optional.ofNullable((EntityLoadingTicket) createTicket(getPlugin(plugin), (WorldServer) world, null, true));
+    }
+
+    @Override
+    public Optional<PlayerLoadingTicket> createPlayerTicket(Object plugin, World world, UUID player) {
+        return Optional.ofNullable((PlayerLoadingTicket) createTicket(getPlugin(plugin), (WorldServer) world, checkNotNull(player, "player"), false));
+    }
+
+    @Override
+    public Optional<PlayerEntityLoadingTicket> createPlayerEntityTicket(Object plugin, World world, UUID player) {
+        return Optional.ofNullable(
+                (PlayerEntityLoadingTicket) createTicket(getPlugin(plugin), (WorldServer) world, checkNotNull(player, "player"), true));
+    }
+
+    @Nullable
+    private SpongeLoadingTicket createTicket(PluginContainer plugin, WorldServer world, @Nullable UUID player, boolean entity) {
+        if (player == null ? getAvailableTickets(plugin.getId(), world) <= 0 : getAvailableTickets(player) <= 0) {
+            return null;
+        }
+        SpongeLoadingTicket ticket = newTicket(plugin.getId(), world, player, entity);
+        getTickets(world).add(ticket);
+        markDirty(world);
+        return ticket;
+    }
+
+    private static SpongeLoadingTicket newTicket(String plugin, WorldServer world, @Nullable UUID player, boolean entity) {
+        if (player != null) {
+            return entity ? new SpongePlayerEntityLoadingTicket(plugin, world, player) : new SpongePlayerLoadingTicket(plugin, world, player);
+        }
+        return entity ? new SpongeEntityLoadingTicket(plugin, world) : new SpongeLoadingTicket(plugin, world);
+    }
+
+    @Override
+    public int getMaxTickets(Object plugin) {
+        getPlugin(plugin);
+        return getConfig().getMaxTickets();
+    }
+
+    @Override
+    public int getAvailableTickets(Object plugin, World world) {
+        return getAvailableTickets(getPlugin(plugin).getId(), (WorldServer) world);
+    }
+
+    private int getAvailableTickets(String plugin, WorldServer world) {
+        int count = 0;
+        for (SpongeLoadingTicket ticket : getTickets(world)) {
+            // Player tickets are limited per player instead
+            if (ticket.plugin.equals(plugin) && !(ticket instanceof PlayerLoadingTicket)) {
+                count++;
+            }
+        }
+        return getConfig().getMaxTickets() - count;
+    }
+
+    @Override
+    public int getAvailableTickets(UUID player) {
+        int count = 0;
+        for (List<SpongeLoadingTicket> tickets : this.tickets.values()) {
+            for (SpongeLoadingTicket ticket : tickets) {
+                if (ticket instanceof PlayerLoadingTicket && ((PlayerLoadingTicket) ticket).getPlayerUniqueId().equals(player)) {
+                    count++;
+                }
+            }
+        }
+        return getConfig().getPlayerTickets() - count;
+    }
+
+    @Override
+    public ImmutableSetMultimap<Vector3i, LoadingTicket> getForcedChunks(World world) {
+        ImmutableSetMultimap.Builder<Vector3i, LoadingTicket> builder = ImmutableSetMultimap.builder();
+        for (SpongeLoadingTicket ticket : getTickets((WorldServer) world)) {
+            for (Vector3i chunk : ticket.chunks) {
+                builder.put(chunk, ticket);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Restores the tickets saved with a world which is being loaded, forcing
+     * their chunks again. Plugins which registered a callback are given
+     * their tickets, tickets of plugins which are no longer installed are
+     * dropped.
+     *
+     * @param world The world being loaded
+     */
+    public void loadTickets(WorldServer world) {
+        NBTTagCompound spongeData = ((IMixinWorldInfo) world.getWorldInfo()).getSpongeNbt();
+        if (!spongeData.hasKey(NbtDataUtil.SPONGE_CHUNK_TICKETS, NbtDataUtil.TAG_LIST)) {
+            return;
+        }
+        Map<String, List<SpongeLoadingTicket>> loaded = new HashMap<>();
+        Map<SpongeLoadingTicket, NBTTagCompound> data = new HashMap<>();
+        NBTTagList list = spongeData.getTagList(NbtDataUtil.SPONGE_CHUNK_TICKETS, NbtDataUtil.TAG_COMPOUND);
+        for (int i = 0; i < list.tagCount(); i++) {
+            NBTTagCompound compound = list.getCompoundTagAt(i);
+            String plugin = compound.getString(NbtDataUtil.CHUNK_TICKET_PLUGIN);
+            if (!Sponge.getPluginManager().getPlugin(plugin).isPresent()) {
+                SpongeImpl.getLogger().warn("Dropping a chunk loading ticket of plugin {} in world {}, the plugin is not installed", plugin,
+                        world.getWorldInfo().getWorldName());
+                continue;
+            }
+            UUID player = compound.hasKey(NbtDataUtil.CHUNK_TICKET_PLAYER) ? UUID.fromString(compound.getString(NbtDataUtil.CHUNK_TICKET_PLAYER))
+                    : null;
+            SpongeLoadingTicket ticket = newTicket(plugin, world, player, compound.getBoolean(NbtDataUtil.CHUNK_TICKET_IS_ENTITY));
+            ticket.numChunks = Math.min(compound.getInteger(NbtDataUtil.CHUNK_TICKET_NUM_CHUNKS), ticket.getMaxNumChunks());
+            int[] chunks = compound.getIntArray(NbtDataUtil.CHUNK_TICKET_CHUNKS);
+            for (int j = 0; j + 1 < chunks.length && ticket.chunks.size() < ticket.numChunks; j += 2) {
+                ticket.chunks.add(new Vector3i(chunks[j], 0, chunks[j + 1]));
+            }
+            if (compound.hasKey(NbtDataUtil.CHUNK_TICKET_DATA, NbtDataUtil.TAG_COMPOUND)) {
+                ticket.companionData = NbtTranslator.getInstance().translateFrom(compound.getCompoundTag(NbtDataUtil.CHUNK_TICKET_DATA));
+            }
+            data.put(ticket, compound);
+            List<SpongeLoadingTicket> tickets = loaded.get(plugin);
+            if (tickets == null) {
+                tickets = new ArrayList<>();
+                loaded.put(plugin, tickets);
+            }
+            tickets.add(ticket);
+        }
+
+        List<SpongeLoadingTicket> worldTickets = getTickets(world);
+        Map<Callback, List<LoadingTicket>> restored = new HashMap<>();
+        for (Map.Entry<String, List<SpongeLoadingTicket>> entry : loaded.entrySet()) {
+            List<LoadingTicket> kept = selectTickets(this.callbacks.get(entry.getKey()), entry.getValue(), world);
+            for (LoadingTicket ticket : kept) {
+                SpongeLoadingTicket spongeTicket = (SpongeLoadingTicket) ticket;
+                for (Vector3i chunk : spongeTicket.chunks) {
+                    force(world, chunk);
+                }
+                worldTickets.add(spongeTicket);
+            }
+            if (this.callbacks.containsKey(entry.getKey())) {
+                restored.put(this.callbacks.get(entry.getKey()), kept);
+            }
+        }
+        // Entities can only be found once the chunks they are in are loaded again
+        for (SpongeLoadingTicket ticket : new ArrayList<>(worldTickets)) {
+            NBTTagCompound compound = data.get(ticket);
+            if (compound != null && ticket instanceof SpongeEntityLoadingTicket && compound.hasKey(NbtDataUtil.CHUNK_TICKET_ENTITY)) {
+                Optional<Entity> entity = ((World) world).getEntity(UUID.fromString(compound.getString(NbtDataUtil.CHUNK_TICKET_ENTITY)));
+                if (entity.isPresent()) {
+                    ((SpongeEntityLoadingTicket) ticket).entity = entity.get();
+                } else {
+                    ticket.release();
+                }
+            }
+        }
+        markDirty(world);
+        for (Map.Entry<Callback, List<LoadingTicket>> entry : restored.entrySet()) {
+            List<LoadingTicket> tickets = new ArrayList<>(entry.getValue());
+            tickets.removeIf(ticket -> ((SpongeLoadingTicket) ticket).released);
+            entry.getKey().onLoaded(ImmutableList.copyOf(tickets), (World) world);
+        }
+    }
+
+    private static List<LoadingTicket> selectTickets(@Nullable Callback callback, List<SpongeLoadingTicket> tickets, WorldServer world) {
+        List<LoadingTicket> kept = new ArrayList<>();
+        List<LoadingTicket> playerTickets = new ArrayList<>();
+        for (SpongeLoadingTicket ticket : tickets) {
+            (ticket instanceof PlayerLoadingTicket ? playerTickets : kept).add(ticket);
+        }
+        if (callback instanceof OrderedCallback) {
+            int maxTickets = getConfig().getMaxTickets();
+            kept = ((OrderedCallback) callback).onLoaded(ImmutableList.copyOf(kept), (World) world, maxTickets);
+            if (kept.size() > maxTickets) {
+                kept = kept.subList(0, maxTickets);
+            }
+        } else if (kept.size() > getConfig().getMaxTickets()) {
+            kept = kept.subList(0, getConfig().getMaxTickets());
+        }
+        if (callback instanceof PlayerOrderedCallback) {
+            ImmutableListMultimap.Builder<UUID, LoadingTicket> builder = ImmutableListMultimap.builder();
+            for (LoadingTicket ticket : playerTickets) {
+                builder.put(((PlayerLoadingTicket) ticket).getPlayerUniqueId(), ticket);
+            }
+            ListMultimap<UUID, LoadingTicket> players = ((PlayerOrderedCallback) callback).onPlayerLoaded(builder.build(), (World) world);
+            playerTickets = new ArrayList<>(players.values());
+        }
+        List<LoadingTicket> result = new ArrayList<>(kept);
+        result.addAll(playerTickets);
+        return result;
+    }
+
+    /**
+     * Drops the tickets of a world which is being unloaded. They stay saved
+     * with the world and are restored when it is loaded again.
+     *
+     * @param world The world being unloaded
+     */
+    public void unloadTickets(WorldServer world) {
+        saveTickets(world);
+        List<SpongeLoadingTicket> tickets = this.tickets.remove(world);
+        if (tickets != null) {
+            for (SpongeLoadingTicket ticket : tickets) {
+                for (Vector3i chunk : ticket.chunks) {
+                    ((IMixinWorldServer) world).getForcedChunkIndex().remove(chunk.getX(), chunk.getZ());
+                }
+            }
+        }
+    }
+
+    private void markDirty(WorldServer world) {
+        this.dirty.add(world);
+    }
+
+    /**
+     * Writes the tickets of a world to its Sponge data if they changed
+     * since they were last written.
+     *
+     * @param world The world whose info is being saved
+     */
+    public void saveTickets(WorldServer world) {
+        if (!this.dirty.remove(world)) {
+            return;
+        }
+        NBTTagList list = new NBTTagList();
+        for (SpongeLoadingTicket ticket : getTickets(world)) {
+            list.appendTag(ticket.toNbt());
+        }
+        NBTTagCompound spongeData = ((IMixinWorldInfo) world.getWorldInfo()).getSpongeNbt();
+        if (list.hasNoTags()) {
+            spongeData.removeTag(NbtDataUtil.SPONGE_CHUNK_TICKETS);
+        } else {
+            spongeData.setTag(NbtDataUtil.SPONGE_CHUNK_TICKETS, list);
+        }
+    }
+
+    private static void force(WorldServer world, Vector3i chunk) {
+        if (((IMixinWorldServer) world).getForcedChunkIndex().add(chunk.getX(), chunk.getZ())) {
+            // Also takes the chunk off the unload queue if it was about to be unloaded
+            world.theChunkProviderServer.loadChunk(chunk.getX(), chunk.getZ());
+        }
+    }
+
+    private static void unforce(WorldServer world, Vector3i chunk) {
+        if (((IMixinWorldServer) world).getForcedChunkIndex().remove(chunk.getX(), chunk.getZ())
+                && !world.getPlayerManager().hasPlayerInstance(chunk.getX(), chunk.getZ())) {
+            world.theChunkProviderServer.dropChunk(chunk.getX(), chunk.getZ());
+        }
+    }
+
+    private static class SpongeLoadingTicket implements LoadingTicket {
+
+        final String plugin;
+        final WorldServer world;
+        // Ordered from the least to the most recently forced or prioritized
+        final LinkedHashSet<Vector3i> chunks = new LinkedHashSet<>();
+        int numChunks;
+        DataContainer companionData = new MemoryDataContainer();
+        boolean released;
+
+        SpongeLoadingTicket(String plugin, WorldServer world) {
+            this.plugin = plugin;
+            this.world = world;
+            this.numChunks = getMaxNumChunks();
+        }
+
+        @Override
+        public boolean setNumChunks(int numChunks) {
+            if (numChunks < 0 || numChunks > getMaxNumChunks()) {
+                return false;
+            }
+            this.numChunks = numChunks;
+            trim();
+            INSTANCE.markDirty(this.world);
+            return true;
+        }
+
+        @Override
+        public int getNumChunks() {
+            return this.numChunks;
+        }
+
+        @Override
+        public int getMaxNumChunks() {
+            return getConfig().getMaxChunksPerTicket();
+        }
+
+        @Override
+        public String getPlugin() {
+            return this.plugin;
+        }
+
+        @Override
+        public World getWorld() {
+            return (World) this.world;
+        }
+
+        @Override
+        public ImmutableSet<Vector3i> getChunkList() {
+            return ImmutableSet.copyOf(this.chunks);
+        }
+
+        @Override
+        public void forceChunk(Vector3i chunk) {
+            checkState(!this.released, "The ticket was released");
+            checkNotNull(chunk, "chunk");
+            if (this.chunks.add(chunk)) {
+                force(this.world, chunk);
+                trim();
+                INSTANCE.markDirty(this.world);
+            }
+        }
+
+        @Override
+        public void unforceChunk(Vector3i chunk) {
+            if (this.chunks.remove(checkNotNull(chunk, "chunk"))) {
+                unforce(this.world, chunk);
+                INSTANCE.markDirty(this.world);
+            }
+        }
+
+        @Override
+        public void prioritizeChunk(Vector3i chunk) {
+            if (this.chunks.remove(checkNotNull(chunk, "chunk"))) {
+                this.chunks.add(chunk);
+                INSTANCE.markDirty(this.world);
+            }
+        }
+
+        @Override
+        public DataContainer getCompanionData() {
+            return this.companionData;
+        }
+
+        @Override
+        public void setCompanionData(DataContainer container) {
+            this.companionData = checkNotNull(container, "container");
+            INSTANCE.markDirty(this.world);
+        }
+
+        @Override
+        public void release() {
+            if (this.released) {
+                return;
+            }
+            this.released = true;
+            for (Vector3i chunk : this.chunks) {
+                unforce(this.world, chunk);
+            }
+            this.chunks.clear();
+            List<SpongeLoadingTicket> tickets = INSTANCE.tickets.get(this.world);
+            if (tickets != null) {
+                tickets.remove(this);
+            }
+            INSTANCE.markDirty(this.world);
+        }
+
+        // Unforces the least recently forced chunks beyond the chunk limit
+        private void trim() {
+            for (Iterator<Vector3i> it = this.chunks.iterator(); this.chunks.size() > this.numChunks && it.hasNext();) {
+                Vector3i chunk = it.next();
+                it.remove();
+                unforce(this.world, chunk);
+            }
+        }
+
+        NBTTagCompound toNbt() {
+            NBTTagCompound compound = new NBTTagCompound();
+            compound.setString(NbtDataUtil.CHUNK_TICKET_PLUGIN, this.plugin);
+            compound.setInteger(NbtDataUtil.CHUNK_TICKET_NUM_CHUNKS, this.numChunks);
+            int[] chunks = new int[this.chunks.size() * 2];
+            int i = 0;
+            for (Vector3i chunk : this.chunks) {
+                chunks[i++] = chunk.getX();
+                chunks[i++] = chunk.getZ();
+            }
+            compound.setIntArray(NbtDataUtil.CHUNK_TICKET_CHUNKS, chunks);
+            compound.setTag(NbtDataUtil.CHUNK_TICKET_DATA, NbtTranslator.getInstance().translateData(this.companionData));
+            return compound;
+        }
+
+    }
+
+    private static class SpongeEntityLoadingTicket extends SpongeLoadingTicket implements EntityLoadingTicket {
+
+        @Nullable Entity entity;
+
+        SpongeEntityLoadingTicket(String plugin, WorldServer world) {
+            super(plugin, world);
+        }
+
+        @Override
+        public void bindToEntity(Entity entity) {
+            checkArgument(checkNotNull(entity, "entity").getWorld() == (World) this.world, "The entity is not in the world of the ticket");
+            this.entity = entity;
+            INSTANCE.markDirty(this.world);
+        }
+
+        @Override
+        public Entity getBoundEntity() {
+            return this.entity;
+        }
+
+        @Override
+        NBTTagCompound toNbt() {
+            NBTTagCompound compound = super.toNbt();
+            compound.setBoolean(NbtDataUtil.CHUNK_TICKET_IS_ENTITY, true);
+            if (this.entity != null) {
+                compound.setString(NbtDataUtil.CHUNK_TICKET_ENTITY, this.entity.getUniqueId().toString());
+            }
+            return compound;
+        }
+
+    }
+
+    private static class SpongePlayerLoadingTicket extends SpongeLoadingTicket implements PlayerLoadingTicket {
+
+        private final UUID player;
+
+        SpongePlayerLoadingTicket(String plugin, WorldServer world, UUID player) {
+            super(plugin, world);
+            this.player = player;
+        }
+
+        @Override
+        public UUID getPlayerUniqueId() {
+            return this.player;
+        }
+
+        @Override
+        NBTTagCompound toNbt() {
+            NBTTagCompound compound = super.toNbt();
+            compound.setString(NbtDataUtil.CHUNK_TICKET_PLAYER, this.player.toString());
+            return compound;
+        }
+
+    }
+
+    private static class SpongePlayerEntityLoadingTicket extends SpongeEntityLoadingTicket implements PlayerEntityLoadingTicket {
+
+        private final UUID player;
+
+        SpongePlayerEntityLoadingTicket(String plugin, WorldServer world, UUID player) {
+            super(plugin, world);
+            this.player = player;
+        }
+
+        @Override
+        public UUID getPlayerUniqueId() {
+            return this.player;
+        }
+
+        @Override
+        NBTTagCompound toNbt() {
+            NBTTagCompound compound = super.toNbt();
+            compound.setString(NbtDataUtil.CHUNK_TICKET_PLAYER, this.player.toString());
+            return compound;
+        }
+
+    }
+
+}
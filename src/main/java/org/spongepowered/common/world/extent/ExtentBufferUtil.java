@@ -28,9 +28,14 @@
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.api.world.extent.BiomeArea;
 import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.common.util.gen.AbstractBiomeBuffer;
+import org.spongepowered.common.util.gen.AbstractBlockBuffer;
 
 public class ExtentBufferUtil {
 
@@ -42,6 +47,11 @@ public static byte[] copyToArray(BiomeArea area, Vector2i min, Vector2i max, Vec
             throw new OutOfMemoryError("Cannot copy the biomes to an array because the size limit was reached");
         }
         final byte[] copy = new byte[(int) memory];
+        final BiomeArea backing = getBackingArea(area);
+        if (backing instanceof AbstractBiomeBuffer) {
+            ((AbstractBiomeBuffer) backing).copyBiomeIds(min, max, copy);
+            return copy;
+        }
         int i = 0;
         for (int y = min.getY(); y <= max.getY(); y++) {
             for (int x = min.getX(); x <= max.getX(); x++) {
@@ -59,6 +69,26 @@ public static short[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max
             throw new OutOfMemoryError("Cannot copy the blocks to an array because the size limit was reached");
         }
         final short[] copy = new short[(int) memory];
+        final BlockVolume backing = getBackingVolume(volume);
+        if (backing instanceof AbstractBlockBuffer) {
+            ((AbstractBlockBuffer) backing).copyBlockIds(min, max, copy);
+            return copy;
+        }
+        if (backing instanceof Chunk) {
+            copyFromChunk((Chunk) backing, min, max, min, size, copy);
+            return copy;
+        }
+        if (backing instanceof World) {
+            final World world = (World) backing;
+            for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+                for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                    final Vector3i chunkMin = new Vector3i(Math.max(min.getX(), chunkX << 4), min.getY(), Math.max(min.getZ(), chunkZ << 4));
+                    final Vector3i chunkMax = new Vector3i(Math.min(max.getX(), (chunkX << 4) + 15), max.getY(), Math.min(max.getZ(), (chunkZ << 4) + 15));
+                    copyFromChunk(world.getChunkFromChunkCoords(chunkX, chunkZ), chunkMin, chunkMax, min, size, copy);
+                }
+            }
+            return copy;
+        }
         int i = 0;
         for (int x = min.getX(); x <= max.getX(); x++) {
             for (int z = min.getZ(); z <= max.getZ(); z++) {
@@ -70,4 +100,66 @@ public static short[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max
         return copy;
     }
 
+    /**
+     * Copies the block state ids of a region within a single chunk straight
+     * from its storage arrays. Positions in empty sections are left as air.
+     *
+     * @param chunk The chunk to copy from
+     * @param min The minimum position to copy, inside the chunk
+     * @param max The maximum position to copy, inside the chunk
+     * @param origin The position of the first element in the copy
+     * @param size The size of the whole copy
+     * @param copy The array to copy into
+     */
+    private static void copyFromChunk(Chunk chunk, Vector3i min, Vector3i max, Vector3i origin, Vector3i size, short[] copy) {
+        final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        final int yLine = size.getY();
+        final int yzSlice = yLine * size.getZ();
+        final int yMin = Math.max(0, min.getY());
+        final int yMax = Math.min(255, max.getY());
+        for (int y = yMin; y <= yMax; y++) {
+            final ExtendedBlockStorage section = sections[y >> 4];
+            if (section == null) {
+                continue;
+            }
+            final char[] data = section.getData();
+            final int sectionY = (y & 0xf) << 8;
+            for (int x = min.getX(); x <= max.getX(); x++) {
+                final int xIndex = (x - origin.getX()) * yzSlice + (y - origin.getY());
+                for (int z = min.getZ(); z <= max.getZ(); z++) {
+                    copy[xIndex + (z - origin.getZ()) * yLine] = (short) data[sectionY | (z & 0xf) << 4 | (x & 0xf)];
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the volume that actually stores the blocks of a downsized or
+     * unmodifiable view, so its blocks can be copied without going through
+     * the view. Transformed views are returned as is.
+     */
+    private static BlockVolume getBackingVolume(BlockVolume volume) {
+        while (true) {
+            if (volume instanceof AbstractBlockViewDownsize) {
+                volume = ((AbstractBlockViewDownsize<?>) volume).volume;
+            } else if (volume instanceof UnmodifiableBlockVolumeWrapper) {
+                volume = ((UnmodifiableBlockVolumeWrapper) volume).getWrappedVolume();
+            } else {
+                return volume;
+            }
+        }
+    }
+
+    private static BiomeArea getBackingArea(BiomeArea area) {
+        while (true) {
+            if (area instanceof AbstractBiomeViewDownsize) {
+                area = ((AbstractBiomeViewDownsize<?>) area).area;
+            } else if (area instanceof UnmodifiableBiomeAreaWrapper) {
+                area = ((UnmodifiableBiomeAreaWrapper) area).getWrappedArea();
+            } else {
+                return area;
+            }
+        }
+    }
+
 }
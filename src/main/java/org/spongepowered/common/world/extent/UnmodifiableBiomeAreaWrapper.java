@@ -42,6 +42,10 @@ public UnmodifiableBiomeAreaWrapper(MutableBiomeArea area) {
         this.area = area;
     }
 
+    MutableBiomeArea getWrappedArea() {
+        return this.area;
+    }
+
     @Override
     public Vector2i getBiomeMin() {
         return this.area.getBiomeMin();
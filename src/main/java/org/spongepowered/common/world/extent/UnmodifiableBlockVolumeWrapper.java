@@ -43,6 +43,10 @@ public UnmodifiableBlockVolumeWrapper(MutableBlockVolume volume) {
         this.volume = volume;
     }
 
+    MutableBlockVolume getWrappedVolume() {
+        return this.volume;
+    }
+
     @Override
     public Vector3i getBlockMin() {
         return this.volume.getBlockMin();
@@ -0,0 +1,200 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import org.spongepowered.api.world.extent.BiomeArea;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.gen.AbstractBiomeBuffer;
+import org.spongepowered.common.util.gen.AbstractBlockBuffer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+
+/**
+ * Splits the work of the volume and area workers into slabs along the
+ * outermost loop axis and runs them on the common {@link ForkJoinPool}.
+ *
+ * <p>Only buffers are processed in parallel. They are backed by plain arrays
+ * and can be read and written from any thread, as long as each slab only
+ * writes its own positions. Anything backed by a world is always processed
+ * sequentially on the calling thread.</p>
+ */
+final class ParallelSlabs {
+
+    /**
+     * The minimum number of positions before splitting work is worth the
+     * overhead of the fork-join tasks.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    /**
+     * The minimum number of positions in a single slab.
+     */
+    private static final int MIN_SLAB_SIZE = 1 << 12;
+
+    private ParallelSlabs() {
+    }
+
+    interface SlabAction {
+
+        void run(int from, int to);
+
+    }
+
+    interface SlabReduction<T> {
+
+        T reduce(int from, int to, T identity);
+
+    }
+
+    static boolean isEnabled() {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useParallelVolumeWorkers();
+    }
+
+    static boolean canSplit(BlockVolume... volumes) {
+        for (BlockVolume volume : volumes) {
+            if (!(volume instanceof AbstractBlockBuffer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean canSplit(BiomeArea... areas) {
+        for (BiomeArea area : areas) {
+            if (!(area instanceof AbstractBiomeBuffer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of slabs along the split axis that make up one unit
+     * of work.
+     *
+     * @param sliceSize The number of positions in a single slab
+     * @return The number of slabs per task
+     */
+    static int grain(int sliceSize) {
+        return Math.max(1, MIN_SLAB_SIZE / Math.max(1, sliceSize));
+    }
+
+    /**
+     * Runs the action over the inclusive range, split into tasks of at most
+     * {@code grain} slabs.
+     *
+     * @param min The first slab
+     * @param max The last slab
+     * @param grain The number of slabs per task
+     * @param action The action to run for each range
+     */
+    static void run(int min, int max, int grain, SlabAction action) {
+        ForkJoinPool.commonPool().invoke(new ActionTask(min, max, grain, action));
+    }
+
+    /**
+     * Reduces the inclusive range, split into tasks of at most {@code grain}
+     * slabs. Every task starts from the identity and the partial results are
+     * combined in slab order.
+     *
+     * @param min The first slab
+     * @param max The last slab
+     * @param grain The number of slabs per task
+     * @param reduction The reduction to run for each range
+     * @param merge The function combining two partial results
+     * @param identity The identity value
+     * @param <T> The type of the reduction
+     * @return The combined result
+     */
+    static <T> T reduce(int min, int max, int grain, SlabReduction<T> reduction, BiFunction<T, T, T> merge, T identity) {
+        return ForkJoinPool.commonPool().invoke(new ReductionTask<>(min, max, grain, reduction, merge, identity));
+    }
+
+    private static final class ActionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final SlabAction action;
+
+        ActionTask(int from, int to, int grain, SlabAction action) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from < this.grain) {
+                this.action.run(this.from, this.to);
+                return;
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            invokeAll(new ActionTask(this.from, middle, this.grain, this.action),
+                    new ActionTask(middle + 1, this.to, this.grain, this.action));
+        }
+
+    }
+
+    private static final class ReductionTask<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final SlabReduction<T> reduction;
+        private final BiFunction<T, T, T> merge;
+        private final T identity;
+
+        ReductionTask(int from, int to, int grain, SlabReduction<T> reduction, BiFunction<T, T, T> merge, T identity) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.reduction = reduction;
+            this.merge = merge;
+            this.identity = identity;
+        }
+
+        @Override
+        protected T compute() {
+            if (this.to - this.from < this.grain) {
+                return this.reduction.reduce(this.from, this.to, this.identity);
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            final ReductionTask<T> first = new ReductionTask<>(this.from, middle, this.grain, this.reduction, this.merge, this.identity);
+            final ReductionTask<T> second = new ReductionTask<>(middle + 1, this.to, this.grain, this.reduction, this.merge, this.identity);
+            second.fork();
+            final T firstResult = first.compute();
+            return this.merge.apply(firstResult, second.join());
+        }
+
+    }
+
+}
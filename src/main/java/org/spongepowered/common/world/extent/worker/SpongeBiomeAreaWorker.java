@@ -65,11 +65,18 @@ public void map(BiomeAreaMapper mapper, MutableBiomeArea destination) {
         final int zMin = unmodifiableArea.getBiomeMin().getY();
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int zMax = unmodifiableArea.getBiomeMax().getY();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int x = xMin; x <= xMax; x++) {
-                final BiomeType biome = mapper.map(unmodifiableArea, x, z);
-                destination.setBiome(x + xOffset, z + zOffset, biome);
+        final ParallelSlabs.SlabAction slab = (zFrom, zTo) -> {
+            for (int z = zFrom; z <= zTo; z++) {
+                for (int x = xMin; x <= xMax; x++) {
+                    final BiomeType biome = mapper.map(unmodifiableArea, x, z);
+                    destination.setBiome(x + xOffset, z + zOffset, biome);
+                }
             }
+        };
+        if (shouldSplit(destination)) {
+            ParallelSlabs.run(zMin, zMax, grain(), slab);
+        } else {
+            slab.run(zMin, zMax);
         }
     }
 
@@ -87,11 +94,18 @@ public void merge(BiomeArea second, BiomeAreaMerger merger, MutableBiomeArea des
         final int xMax = firstUnmodifiableArea.getBiomeMax().getX();
         final int zMax = firstUnmodifiableArea.getBiomeMax().getY();
         final UnmodifiableBiomeArea secondUnmodifiableArea = second.getUnmodifiableBiomeView();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int x = xMin; x <= xMax; x++) {
-                final BiomeType biome = merger.merge(firstUnmodifiableArea, x, z, secondUnmodifiableArea, x + xOffsetSecond, z + zOffsetSecond);
-                destination.setBiome(x + xOffsetDestination, z + zOffsetDestination, biome);
+        final ParallelSlabs.SlabAction slab = (zFrom, zTo) -> {
+            for (int z = zFrom; z <= zTo; z++) {
+                for (int x = xMin; x <= xMax; x++) {
+                    final BiomeType biome = merger.merge(firstUnmodifiableArea, x, z, secondUnmodifiableArea, x + xOffsetSecond, z + zOffsetSecond);
+                    destination.setBiome(x + xOffsetDestination, z + zOffsetDestination, biome);
+                }
             }
+        };
+        if (shouldSplit(second, destination)) {
+            ParallelSlabs.run(zMin, zMax, grain(), slab);
+        } else {
+            slab.run(zMin, zMax);
         }
     }
 
@@ -115,13 +129,37 @@ public <T> T reduce(BiomeAreaReducer<T> reducer, BiFunction<T, T, T> merge, T id
         final int zMin = unmodifiableArea.getBiomeMin().getY();
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int zMax = unmodifiableArea.getBiomeMax().getY();
-        T reduction = identity;
-        for (int z = zMin; z <= zMax; z++) {
-            for (int x = xMin; x <= xMax; x++) {
-                reduction = reducer.reduce(unmodifiableArea, x, z, reduction);
+        final ParallelSlabs.SlabReduction<T> slab = (zFrom, zTo, start) -> {
+            T reduction = start;
+            for (int z = zFrom; z <= zTo; z++) {
+                for (int x = xMin; x <= xMax; x++) {
+                    reduction = reducer.reduce(unmodifiableArea, x, z, reduction);
+                }
             }
+            return reduction;
+        };
+        if (shouldSplit()) {
+            return ParallelSlabs.reduce(zMin, zMax, grain(), slab, merge, identity);
         }
-        return reduction;
+        return slab.reduce(zMin, zMax, identity);
+    }
+
+    /**
+     * Checks whether the work should be split into parallel Z rows. This is
+     * only done for large enough buffers, when every area involved is a
+     * buffer that is safe to access off the main thread.
+     *
+     * @param others The other areas read from or written to
+     * @return Whether to split the work
+     */
+    protected boolean shouldSplit(BiomeArea... others) {
+        final Vector2i size = this.area.getBiomeSize();
+        return (long) size.getX() * size.getY() >= ParallelSlabs.PARALLEL_THRESHOLD
+            && ParallelSlabs.canSplit(this.area) && ParallelSlabs.canSplit(others) && ParallelSlabs.isEnabled();
+    }
+
+    protected int grain() {
+        return ParallelSlabs.grain(this.area.getBiomeSize().getX());
     }
 
     private Vector2i align(BiomeArea other) {
@@ -68,13 +68,20 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    final BlockState block = mapper.map(unmodifiableVolume, x, y, z);
-                    destination.setBlock(x + xOffset, y + yOffset, z + zOffset, block);
+        final ParallelSlabs.SlabAction slab = (zFrom, zTo) -> {
+            for (int z = zFrom; z <= zTo; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        final BlockState block = mapper.map(unmodifiableVolume, x, y, z);
+                        destination.setBlock(x + xOffset, y + yOffset, z + zOffset, block);
+                    }
                 }
             }
+        };
+        if (shouldSplit(destination)) {
+            ParallelSlabs.run(zMin, zMax, grain(), slab);
+        } else {
+            slab.run(zMin, zMax);
         }
     }
 
@@ -96,14 +103,21 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         final int yMax = firstUnmodifiableVolume.getBlockMax().getY();
         final int zMax = firstUnmodifiableVolume.getBlockMax().getZ();
         final UnmodifiableBlockVolume secondUnmodifiableVolume = second.getUnmodifiableBlockView();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    final BlockState block = merger.merge(firstUnmodifiableVolume, x, y, z,
-                        secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
-                    destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block);
+        final ParallelSlabs.SlabAction slab = (zFrom, zTo) -> {
+            for (int z = zFrom; z <= zTo; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        final BlockState block = merger.merge(firstUnmodifiableVolume, x, y, z,
+                            secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
+                        destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block);
+                    }
                 }
             }
+        };
+        if (shouldSplit(second, destination)) {
+            ParallelSlabs.run(zMin, zMax, grain(), slab);
+        } else {
+            slab.run(zMin, zMax);
         }
     }
 
@@ -133,15 +147,40 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
-        T reduction = identity;
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    reduction = reducer.reduce(unmodifiableVolume, x, y, z, reduction);
+        final ParallelSlabs.SlabReduction<T> slab = (zFrom, zTo, start) -> {
+            T reduction = start;
+            for (int z = zFrom; z <= zTo; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        reduction = reducer.reduce(unmodifiableVolume, x, y, z, reduction);
+                    }
                 }
             }
+            return reduction;
+        };
+        if (shouldSplit()) {
+            return ParallelSlabs.reduce(zMin, zMax, grain(), slab, merge, identity);
         }
-        return reduction;
+        return slab.reduce(zMin, zMax, identity);
+    }
+
+    /**
+     * Checks whether the work should be split into parallel Z slabs. This is
+     * only done for large enough buffers, when every volume involved is a
+     * buffer that is safe to access off the main thread.
+     *
+     * @param others The other volumes read from or written to
+     * @return Whether to split the work
+     */
+    protected boolean shouldSplit(BlockVolume... others) {
+        final Vector3i size = this.volume.getBlockSize();
+        return (long) size.getX() * size.getY() * size.getZ() >= ParallelSlabs.PARALLEL_THRESHOLD
+            && ParallelSlabs.canSplit(this.volume) && ParallelSlabs.canSplit(others) && ParallelSlabs.isEnabled();
+    }
+
+    protected int grain() {
+        final Vector3i size = this.volume.getBlockSize();
+        return ParallelSlabs.grain(size.getX() * size.getY());
     }
 
     private Vector3i align(BlockVolume other) {
@@ -44,11 +44,18 @@ public void fill(BiomeAreaFiller filler) {
         final int zMin = this.area.getBiomeMin().getY();
         final int xMax = this.area.getBiomeMax().getX();
         final int zMax = this.area.getBiomeMax().getY();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int x = xMin; x <= xMax; x++) {
-                final BiomeType biome = filler.produce(x, z);
-                this.area.setBiome(x, z, biome);
+        final ParallelSlabs.SlabAction slab = (zFrom, zTo) -> {
+            for (int z = zFrom; z <= zTo; z++) {
+                for (int x = xMin; x <= xMax; x++) {
+                    final BiomeType biome = filler.produce(x, z);
+                    this.area.setBiome(x, z, biome);
+                }
             }
+        };
+        if (shouldSplit()) {
+            ParallelSlabs.run(zMin, zMax, grain(), slab);
+        } else {
+            slab.run(zMin, zMax);
         }
     }
 }
@@ -46,13 +46,20 @@ public void fill(BlockVolumeFiller filler) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    final BlockState block = filler.produce(x, y, z);
-                    this.volume.setBlock(x, y, z, block);
+        final ParallelSlabs.SlabAction slab = (zFrom, zTo) -> {
+            for (int z = zFrom; z <= zTo; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        final BlockState block = filler.produce(x, y, z);
+                        this.volume.setBlock(x, y, z, block);
+                    }
                 }
             }
+        };
+        if (shouldSplit()) {
+            ParallelSlabs.run(zMin, zMax, grain(), slab);
+        } else {
+            slab.run(zMin, zMax);
         }
     }
 }
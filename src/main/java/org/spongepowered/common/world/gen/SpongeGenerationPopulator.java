@@ -40,6 +40,7 @@
 import org.spongepowered.api.world.extent.ImmutableBiomeArea;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.gen.GenerationPopulator;
+import org.spongepowered.common.util.gen.ChunkPrimerBuffer;
 
 /**
  * Generator populator that wraps a Minecraft {@link IChunkProvider}.
@@ -97,6 +98,12 @@ public void populate(org.spongepowered.api.world.World world, MutableBlockVolume
 
     private void placeChunkInBuffer(Chunk chunk, MutableBlockVolume buffer, int chunkX, int chunkZ) {
 
+        if (buffer instanceof ChunkPrimerBuffer && buffer.getBlockMin().getX() == chunkX * 16 && buffer.getBlockMin().getZ() == chunkZ * 16) {
+            // The buffer is exactly this chunk, copy the storage arrays directly
+            ((ChunkPrimerBuffer) buffer).copyFrom(chunk);
+            return;
+        }
+
         // Calculate bounds
         int xOffset = chunkX * 16;
         int zOffset = chunkZ * 16;
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.ap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
+
+import com.google.common.base.Joiner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+public class RegistryModuleProcessorTest {
+
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File compile(String className, String... lines) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeNotNull(compiler);
+        File output = this.folder.newFolder();
+        JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return Joiner.on('\n').join(lines);
+            }
+        };
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(output));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    Arrays.asList("-proc:only", "-classpath", System.getProperty("java.class.path")), null, Collections.singleton(source));
+            task.setProcessors(Collections.singleton(new RegistryModuleProcessor()));
+            assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        }
+        return new File(output, RegistryModuleProcessor.INDEX_RESOURCE);
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        File index = compile("test.TestModule",
+                "package test;",
+                "import java.util.HashMap;",
+                "import java.util.Map;",
+                "import org.spongepowered.api.registry.RegistrationPhase;",
+                "import org.spongepowered.api.registry.RegistryModule;",
+                "import org.spongepowered.api.registry.util.AdditionalRegistration;",
+                "import org.spongepowered.api.registry.util.CustomCatalogRegistration;",
+                "import org.spongepowered.api.registry.util.DelayedRegistration;",
+                "import org.spongepowered.api.registry.util.RegisterCatalog;",
+                "public class TestModule implements RegistryModule {",
+                "    @RegisterCatalog(TestCatalogs.class) private final Map<String, Object> catalogMap = new HashMap<>();",
+                "    @Override @DelayedRegistration(RegistrationPhase.POST_INIT) public void registerDefaults() {}",
+                "    @AdditionalRegistration public void registerAdditional() {}",
+                "    public static class Nested implements RegistryModule {",
+                "        @Override public void registerDefaults() {}",
+                "        @CustomCatalogRegistration @DelayedRegistration(RegistrationPhase.INIT) public void registerCustom() {}",
+                "    }",
+                "    public static class Inherited extends TestModule {",
+                "    }",
+                "    public abstract static class Abstract implements RegistryModule {",
+                "    }",
+                "    public static class TestCatalogs {",
+                "    }",
+                "}");
+        List<String> lines = Files.readAllLines(index.toPath(), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList(
+                "test.TestModule defaults=POST_INIT catalog=catalogMap@test.TestModule$TestCatalogs additional=registerAdditional",
+                // Declared fields are not inherited, like the reflective scan
+                "test.TestModule$Inherited defaults=POST_INIT additional=registerAdditional",
+                "test.TestModule$Nested defaults=PRE_REGISTRY custom=registerCustom@INIT"), lines);
+    }
+
+    @Test
+    public void testNoModules() throws Exception {
+        File index = compile("test.NotAModule",
+                "package test;",
+                "public class NotAModule {",
+                "}");
+        assertFalse(index.exists());
+    }
+
+}
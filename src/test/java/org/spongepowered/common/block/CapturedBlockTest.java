@@ -0,0 +1,140 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.world.CaptureType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public class CapturedBlockTest {
+
+    private static final BlockPos LOWER = new BlockPos(0, 64, 0);
+    private static final BlockPos UPPER = LOWER.up();
+
+    private final Map<BlockPos, IBlockState> blocks = new HashMap<>();
+    private final Map<BlockPos, UUID> creators = new HashMap<>();
+    private final Map<BlockPos, UUID> notifiers = new HashMap<>();
+
+    private IMixinWorld world;
+    private IBlockState air;
+    private IBlockState door;
+    private IBlockState connectedDoor;
+
+    @Before
+    public void setUp() {
+        this.world = mock(IMixinWorld.class, withSettings().extraInterfaces(IBlockAccess.class, World.class));
+        when(((IBlockAccess) this.world).getBlockState(any(BlockPos.class)))
+                .thenAnswer(invocation -> this.blocks.getOrDefault(invocation.getArguments()[0], this.air));
+        when(((World) this.world).getCreator(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            return Optional.ofNullable(this.creators.get(new BlockPos((int) args[0], (int) args[1], (int) args[2])));
+        });
+        when(((World) this.world).getNotifier(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            return Optional.ofNullable(this.notifiers.get(new BlockPos((int) args[0], (int) args[1], (int) args[2])));
+        });
+
+        this.air = mock(IBlockState.class);
+        this.door = mock(IBlockState.class);
+        this.connectedDoor = mock(IBlockState.class);
+
+        // The actual state of a door half depends on the other half, like vanilla doors
+        Block doorBlock = mock(Block.class);
+        when(this.door.getBlock()).thenReturn(doorBlock);
+        when(doorBlock.getActualState(eq(this.door), any(IBlockAccess.class), any(BlockPos.class))).thenAnswer(invocation -> {
+            IBlockAccess access = (IBlockAccess) invocation.getArguments()[1];
+            BlockPos pos = (BlockPos) invocation.getArguments()[2];
+            boolean connected = access.getBlockState(pos.up()) == this.door || access.getBlockState(pos.down()) == this.door;
+            return connected ? this.connectedDoor : this.door;
+        });
+    }
+
+    @Test
+    public void testOriginalStateIsCapturedBeforeNeighbourChanges() {
+        UUID notifier = UUID.randomUUID();
+        this.blocks.put(LOWER, this.door);
+        this.blocks.put(UPPER, this.door);
+        this.notifiers.put(LOWER, notifier);
+        this.notifiers.put(UPPER, notifier);
+
+        // Break both halves, the way a door is removed
+        CapturedBlock lower = new CapturedBlock(this.world, LOWER, this.door, 3, CaptureType.BREAK);
+        this.blocks.remove(LOWER);
+        this.notifiers.remove(LOWER);
+        CapturedBlock upper = new CapturedBlock(this.world, UPPER, this.door, 3, CaptureType.BREAK);
+        this.blocks.remove(UPPER);
+        this.notifiers.remove(UPPER);
+
+        when(this.world.createSpongeBlockSnapshot(any(IBlockState.class), any(IBlockState.class), any(BlockPos.class), anyInt(),
+                any(UUID.class), any(UUID.class))).thenReturn(mock(SpongeBlockSnapshot.class));
+        lower.getSnapshot(this.world);
+        upper.getSnapshot(this.world);
+
+        verify(this.world).createSpongeBlockSnapshot(eq(this.door), eq(this.connectedDoor), eq(LOWER), eq(3), eq((UUID) null),
+                eq(notifier));
+        // The lower half was already gone when the upper half was captured
+        verify(this.world).createSpongeBlockSnapshot(eq(this.door), eq(this.door), eq(UPPER), eq(3), eq((UUID) null), eq(notifier));
+    }
+
+    @Test
+    public void testOwnerIsResolvedWithSnapshot() {
+        UUID creator = UUID.randomUUID();
+        this.blocks.put(LOWER, this.door);
+        this.creators.put(LOWER, creator);
+
+        CapturedBlock captured = new CapturedBlock(this.world, LOWER, this.door, 3, CaptureType.BREAK);
+        verify((World) this.world, never()).getCreator(anyInt(), anyInt(), anyInt());
+
+        when(this.world.createSpongeBlockSnapshot(any(IBlockState.class), any(IBlockState.class), any(BlockPos.class), anyInt(),
+                any(UUID.class), any(UUID.class))).thenReturn(mock(SpongeBlockSnapshot.class));
+        captured.getSnapshot(this.world);
+        captured.getSnapshot(this.world);
+
+        verify((World) this.world, times(1)).getCreator(LOWER.getX(), LOWER.getY(), LOWER.getZ());
+        verify(this.world).createSpongeBlockSnapshot(eq(this.door), eq(this.door), eq(LOWER), eq(3), eq(creator), eq((UUID) null));
+    }
+
+}
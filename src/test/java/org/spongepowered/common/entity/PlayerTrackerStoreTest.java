@@ -0,0 +1,76 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PlayerTrackerStoreTest {
+
+    @Test
+    public void testOwnerAndNotifierAreIndependent() {
+        PlayerTrackerStore store = new PlayerTrackerStore();
+        store.setOwner((short) 12, 3);
+        store.setNotifier((short) 12, 7);
+        store.setNotifier(1 << 20, 5);
+        assertEquals(3, store.getOwner((short) 12));
+        assertEquals(7, store.getNotifier((short) 12));
+        assertEquals(PlayerTrackerStore.NO_INDEX, store.getOwner(1 << 20));
+        assertEquals(5, store.getNotifier(1 << 20));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void testMissingPositions() {
+        PlayerTrackerStore store = new PlayerTrackerStore();
+        assertTrue(store.isEmpty());
+        assertFalse(store.contains((short) 1));
+        assertEquals(PlayerTrackerStore.NO_INDEX, store.getOwner((short) 1));
+        assertEquals(PlayerTrackerStore.NO_INDEX, store.getNotifier(1));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        PlayerTrackerStore store = new PlayerTrackerStore();
+        store.set((short) -200, 1, 2);
+        store.set((short) 4, 0, PlayerTrackerStore.NO_INDEX);
+        store.set(Integer.MAX_VALUE, 9, 8);
+
+        PlayerTrackerStore read = new PlayerTrackerStore();
+        read.readShortPositions(store.writeShortPositions());
+        read.readIntPositions(store.writeIntPositions());
+        assertEquals(3, read.size());
+        assertEquals(1, read.getOwner((short) -200));
+        assertEquals(2, read.getNotifier((short) -200));
+        assertEquals(0, read.getOwner((short) 4));
+        assertEquals(PlayerTrackerStore.NO_INDEX, read.getNotifier((short) 4));
+        assertEquals(9, read.getOwner(Integer.MAX_VALUE));
+        assertEquals(8, read.getNotifier(Integer.MAX_VALUE));
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class TrackedUserCacheTest {
+
+    private static final UUID FIRST = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private final Map<UUID, CompletableFuture<Optional<User>>> lookups = new HashMap<>();
+    private final List<UUID> requested = new ArrayList<>();
+    private final Map<UUID, User> stored = new HashMap<>();
+    private final List<UUID> requestedNow = new ArrayList<>();
+    private final FakeTicker ticker = new FakeTicker();
+    private TrackedUserCache cache;
+
+    @Before
+    public void setUp() {
+        IMixinWorldInfo worldInfo = mock(IMixinWorldInfo.class);
+        when(worldInfo.getUniqueIdForIndex(0)).thenReturn(Optional.of(FIRST));
+        when(worldInfo.getUniqueIdForIndex(1)).thenReturn(Optional.of(SECOND));
+        when(worldInfo.getUniqueIdForIndex(2)).thenReturn(Optional.empty());
+        this.cache = new TrackedUserCache(worldInfo, 16, uuid -> {
+            this.requested.add(uuid);
+            CompletableFuture<Optional<User>> future = new CompletableFuture<>();
+            this.lookups.put(uuid, future);
+            return future;
+        }, uuid -> {
+            this.requestedNow.add(uuid);
+            return Optional.ofNullable(this.stored.get(uuid));
+        }, this.ticker);
+    }
+
+    @Test
+    public void testMissIsResolvedRightAway() {
+        User user = mock(User.class);
+        this.stored.put(FIRST, user);
+        assertSame(user, this.cache.get(0).get());
+        assertSame(user, this.cache.get(0).get());
+        assertSame(user, this.cache.getIfResolved(0).get());
+        assertSame(user, this.cache.getAsync(0).join().get());
+        assertEquals(1, this.requestedNow.size());
+        assertTrue(this.requested.isEmpty());
+    }
+
+    @Test
+    public void testHitFromBackgroundLookup() {
+        CompletableFuture<Optional<User>> future = this.cache.getAsync(0);
+        assertFalse(future.isDone());
+        assertFalse(this.cache.getIfResolved(0).isPresent());
+        // Lookups in flight are shared
+        assertSame(future, this.cache.getAsync(0));
+        assertEquals(1, this.requested.size());
+
+        User user = mock(User.class);
+        this.lookups.get(FIRST).complete(Optional.of(user));
+        assertSame(user, future.join().get());
+        assertSame(user, this.cache.get(0).get());
+        assertTrue(this.requestedNow.isEmpty());
+    }
+
+    @Test
+    public void testMissingUserIsCachedUntilExpired() {
+        assertFalse(this.cache.get(0).isPresent());
+        assertFalse(this.cache.get(0).isPresent());
+        assertFalse(this.cache.getAsync(0).join().isPresent());
+        assertEquals(1, this.requestedNow.size());
+        assertTrue(this.requested.isEmpty());
+
+        this.ticker.advance(TrackedUserCache.MISSING_USER_TTL_MINUTES, TimeUnit.MINUTES);
+        this.cache.get(0);
+        assertEquals(2, this.requestedNow.size());
+    }
+
+    @Test
+    public void testFailedLookupIsRetried() {
+        this.cache.getAsync(0);
+        this.lookups.get(FIRST).completeExceptionally(new IllegalStateException());
+
+        this.cache.getAsync(0);
+        assertEquals(2, this.requested.size());
+    }
+
+    @Test
+    public void testUnknownIndexIsNotLookedUp() {
+        assertFalse(this.cache.get(PlayerTrackerStore.NO_INDEX).isPresent());
+        assertFalse(this.cache.get(2).isPresent());
+        assertFalse(this.cache.getAsync(2).join().isPresent());
+        assertTrue(this.requested.isEmpty());
+        assertTrue(this.requestedNow.isEmpty());
+    }
+
+    @Test
+    public void testPrefetch() {
+        PlayerTrackerStore store = new PlayerTrackerStore();
+        store.set((short) 1, 0, 1);
+        store.set((short) 2, 0, PlayerTrackerStore.NO_INDEX);
+        store.set(1 << 20, 1, 0);
+
+        this.cache.prefetch(store);
+        assertEquals(2, this.requested.size());
+        assertTrue(this.requested.contains(FIRST));
+        assertTrue(this.requested.contains(SECOND));
+
+        // Lookups in flight are not started again
+        this.cache.prefetch(store);
+        assertEquals(2, this.requested.size());
+
+        User user = mock(User.class);
+        this.lookups.get(FIRST).complete(Optional.of(user));
+        this.lookups.get(SECOND).complete(Optional.empty());
+        assertSame(user, this.cache.getIfResolved(0).get());
+
+        // Neither resolved nor missing users are looked up again
+        this.cache.prefetch(store);
+        assertEquals(2, this.requested.size());
+        assertSame(user, this.cache.get(0).get());
+        assertFalse(this.cache.get(1).isPresent());
+        assertTrue(this.requestedNow.isEmpty());
+    }
+
+    private static final class FakeTicker extends Ticker {
+
+        private long nanos;
+
+        @Override
+        public long read() {
+            return this.nanos;
+        }
+
+        void advance(long duration, TimeUnit unit) {
+            this.nanos += unit.toNanos(duration);
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventDispatcherTest {
+
+    private final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
+    private final ClassEventDispatcherFactory dispatcherFactory = new ClassEventDispatcherFactory("org.spongepowered.common.event.dispatcher",
+            this.classLoader);
+    private final PluginContainer plugin = mock(PluginContainer.class);
+
+    @Test
+    public void testDispatchOrder() throws Exception {
+        List<Integer> calls = new ArrayList<>();
+        List<RegisteredListener<?>> listeners = Lists.newArrayList();
+        for (int i = 0; i < 5; i++) {
+            final int index = i;
+            listeners.add(new RegisteredListener<>(this.plugin, EventFilterTest.SubEvent.class, Order.DEFAULT, event -> calls.add(index), false));
+        }
+
+        EventDispatcher dispatcher = this.dispatcherFactory.create(EventFilterTest.SubEvent.class, listeners);
+        dispatcher.dispatch(new EventFilterTest.SubEvent(Cause.source(this).build()));
+
+        Assert.assertEquals("Listeners were not called in order!", Lists.newArrayList(0, 1, 2, 3, 4), calls);
+    }
+
+    @Test
+    public void testDispatchersAreIndependent() throws Exception {
+        List<String> calls = new ArrayList<>();
+        List<RegisteredListener<?>> first = Lists.newArrayList(
+                new RegisteredListener<>(this.plugin, EventFilterTest.SubEvent.class, Order.DEFAULT, event -> calls.add("first"), false));
+        List<RegisteredListener<?>> second = Lists.newArrayList(
+                new RegisteredListener<>(this.plugin, EventFilterTest.SubEvent.class, Order.DEFAULT, event -> calls.add("second"), false));
+
+        EventDispatcher firstDispatcher = this.dispatcherFactory.create(EventFilterTest.SubEvent.class, first);
+        EventDispatcher secondDispatcher = this.dispatcherFactory.create(EventFilterTest.SubEvent.class, second);
+        Assert.assertNotSame(firstDispatcher.getClass(), secondDispatcher.getClass());
+
+        secondDispatcher.dispatch(new EventFilterTest.SubEvent(Cause.source(this).build()));
+        Assert.assertEquals(Lists.newArrayList("second"), calls);
+    }
+
+    @Test
+    public void testDispatcherClassesAreShared() throws Exception {
+        List<String> calls = new ArrayList<>();
+        List<EventDispatcher> dispatchers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final String name = "listener" + i;
+            List<RegisteredListener<?>> listeners = Lists.newArrayList(
+                    new RegisteredListener<>(this.plugin, EventFilterTest.SubEvent.class, Order.DEFAULT, event -> calls.add(name), false));
+            dispatchers.add(this.dispatcherFactory.create(EventFilterTest.SubEvent.class, listeners));
+        }
+
+        Assert.assertSame(dispatchers.get(0).getClass(), dispatchers.get(1).getClass());
+        Assert.assertSame(dispatchers.get(0).getClass(), dispatchers.get(2).getClass());
+
+        dispatchers.get(1).dispatch(new EventFilterTest.SubEvent(Cause.source(this).build()));
+        Assert.assertEquals(Lists.newArrayList("listener1"), calls);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class MetricsWriterTest {
+
+    @Test
+    public void testRender() {
+        final MetricsWriter writer = new MetricsWriter();
+        writer.family("test_players", MetricsWriter.GAUGE, "Number of players")
+                .sample(3, "world", "world")
+                .sample(0.5, "world", "DIM-1");
+        writer.family("test_empty", MetricsWriter.COUNTER, "Not rendered without samples");
+        assertEquals("# HELP test_players Number of players\n"
+                + "# TYPE test_players gauge\n"
+                + "test_players{world=\"world\"} 3\n"
+                + "test_players{world=\"DIM-1\"} 0.5\n", writer.render(false));
+    }
+
+    @Test
+    public void testRenderWithTimestamps() {
+        final MetricsWriter writer = new MetricsWriter();
+        writer.family("test_total", MetricsWriter.COUNTER, "Total").sample(42);
+        assertEquals("# HELP test_total Total\n"
+                + "# TYPE test_total counter\n"
+                + "test_total 42 " + writer.getTimestamp() + "\n", writer.render(true));
+    }
+
+    @Test
+    public void testFamiliesAreDescribedOnce() {
+        final Set<String> described = new HashSet<>();
+        final MetricsWriter first = new MetricsWriter();
+        first.family("test_total", MetricsWriter.COUNTER, "Total").sample(1);
+        assertEquals("# HELP test_total Total\n"
+                + "# TYPE test_total counter\n"
+                + "test_total 1\n", first.render(false, described));
+
+        final MetricsWriter second = new MetricsWriter();
+        second.family("test_total", MetricsWriter.COUNTER, "Total").sample(2);
+        second.family("test_players", MetricsWriter.GAUGE, "Number of players").sample(3);
+        assertEquals("test_total 2\n"
+                + "# HELP test_players Number of players\n"
+                + "# TYPE test_players gauge\n"
+                + "test_players 3\n", second.render(false, described));
+    }
+
+    @Test
+    public void testEscapeLabelValues() {
+        final MetricsWriter writer = new MetricsWriter();
+        writer.family("test_escape", MetricsWriter.GAUGE, "Help with \\ and\nnewline")
+                .sample(Double.NaN, "name", "a\"b\\c\nd");
+        assertEquals("# HELP test_escape Help with \\\\ and\\nnewline\n"
+                + "# TYPE test_escape gauge\n"
+                + "test_escape{name=\"a\\\"b\\\\c\\nd\"} NaN\n", writer.render(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidName() {
+        new MetricsWriter().family("invalid-name", MetricsWriter.GAUGE, "");
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.profile.GameProfileCache;
+import org.spongepowered.api.profile.ProfileNotFoundException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ProfileLookupQueueTest {
+
+    private final Map<UUID, GameProfile> known = new HashMap<>();
+    private final Set<UUID> failing = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger queries = new AtomicInteger();
+    private final AtomicInteger queried = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    private ProfileLookupQueue createQueue() {
+        GameProfileCache cache = mock(GameProfileCache.class);
+        when(cache.getById(any(UUID.class))).thenReturn(Optional.empty());
+        when(cache.getOrLookupByIds(any(Iterable.class))).then(invocation -> {
+            this.queries.incrementAndGet();
+            Map<UUID, Optional<GameProfile>> result = new HashMap<>();
+            for (UUID uniqueId : (Iterable<UUID>) invocation.getArguments()[0]) {
+                this.queried.incrementAndGet();
+                if (!this.failing.contains(uniqueId)) {
+                    result.put(uniqueId, Optional.ofNullable(this.known.get(uniqueId)));
+                }
+            }
+            return ImmutableMap.copyOf(result);
+        });
+        return new ProfileLookupQueue(() -> cache, 2, 50, 100, 0, 60000, 200, null);
+    }
+
+    private GameProfile addProfile(UUID uniqueId) {
+        GameProfile profile = mock(GameProfile.class);
+        when(profile.getUniqueId()).thenReturn(uniqueId);
+        this.known.put(uniqueId, profile);
+        return profile;
+    }
+
+    @Test
+    public void testConcurrentLookupsAreCoalesced() throws Exception {
+        UUID uniqueId = UUID.randomUUID();
+        GameProfile profile = addProfile(uniqueId);
+        ProfileLookupQueue queue = createQueue();
+
+        List<CompletableFuture<GameProfile>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(queue.get(uniqueId, true));
+        }
+        for (CompletableFuture<GameProfile> future : futures) {
+            assertSame(profile, future.get());
+        }
+        assertEquals(1, this.queries.get());
+        assertEquals(1, this.queried.get());
+        queue.shutdown();
+    }
+
+    @Test
+    public void testSingleLookupsAreBatched() throws Exception {
+        List<UUID> uniqueIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            UUID uniqueId = UUID.randomUUID();
+            addProfile(uniqueId);
+            uniqueIds.add(uniqueId);
+        }
+        ProfileLookupQueue queue = createQueue();
+
+        Collection<GameProfile> profiles = queue.getAllById(uniqueIds, true).get();
+        assertEquals(20, profiles.size());
+        assertEquals(1, this.queries.get());
+        queue.shutdown();
+    }
+
+    @Test
+    public void testMissingProfilesAreRemembered() throws Exception {
+        UUID uniqueId = UUID.randomUUID();
+        ProfileLookupQueue queue = createQueue();
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                queue.get(uniqueId, true).get();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ProfileNotFoundException);
+            }
+        }
+        assertEquals(1, this.queries.get());
+        queue.shutdown();
+    }
+
+    @Test
+    public void testFailedLookupsAreRetriedAfterBackoff() throws Exception {
+        UUID uniqueId = UUID.randomUUID();
+        GameProfile profile = addProfile(uniqueId);
+        this.failing.add(uniqueId);
+        ProfileLookupQueue queue = createQueue();
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                queue.get(uniqueId, true).get();
+                fail();
+            } catch (ExecutionException e) {
+                // The profile may still exist, so it must not be reported as not found
+                assertTrue(e.getCause() instanceof IOException);
+            }
+        }
+        // Held back only for the backoff, not the negative cache ttl
+        assertEquals(1, this.queries.get());
+        this.failing.clear();
+        Thread.sleep(250);
+        assertSame(profile, queue.get(uniqueId, true).get());
+        assertEquals(2, this.queries.get());
+        queue.shutdown();
+    }
+
+    @Test
+    public void testLookupsFailAfterShutdown() throws Exception {
+        ProfileLookupQueue queue = createQueue();
+        queue.shutdown();
+
+        try {
+            queue.get(UUID.randomUUID(), true).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(0, this.queries.get());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.registry.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.spongepowered.api.registry.RegistrationPhase;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+public class RegistryModuleIndexTest {
+
+    private final Map<String, RegistryModuleIndex.Entry> entries = new HashMap<>();
+
+    @Test
+    public void testParseFullEntry() {
+        RegistryModuleIndex.parse("com.example.Module$Nested defaults=POST_INIT custom=registerCustom@INIT catalog=catalogMap@com.example.Catalogs "
+                + "additional=registerAdditional", this.entries);
+        RegistryModuleIndex.Entry entry = this.entries.get("com.example.Module$Nested");
+        assertEquals(RegistrationPhase.POST_INIT, entry.defaultsPhase);
+        assertEquals("registerCustom", entry.customMethod);
+        assertEquals(RegistrationPhase.INIT, entry.customPhase);
+        assertEquals("catalogMap", entry.catalogField);
+        assertEquals("com.example.Catalogs", entry.catalogClass);
+        assertEquals("registerAdditional", entry.additionalMethod);
+    }
+
+    @Test
+    public void testParseDefaults() {
+        RegistryModuleIndex.parse("com.example.Module custom=registerCustom", this.entries);
+        RegistryModuleIndex.Entry entry = this.entries.get("com.example.Module");
+        assertEquals(RegistrationPhase.PRE_REGISTRY, entry.defaultsPhase);
+        assertEquals(RegistrationPhase.PRE_REGISTRY, entry.customPhase);
+        assertNull(entry.catalogField);
+        assertNull(entry.catalogClass);
+        assertNull(entry.additionalMethod);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownPhase() {
+        RegistryModuleIndex.parse("com.example.Module defaults=SOMETIME", this.entries);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownCustomPhase() {
+        RegistryModuleIndex.parse("com.example.Module custom=registerCustom@SOMETIME", this.entries);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingCatalogClass() {
+        RegistryModuleIndex.parse("com.example.Module catalog=catalogMap", this.entries);
+    }
+
+    @Test
+    public void testReadSkipsInvalidEntries() throws Exception {
+        String index = "com.example.First defaults=INIT\n"
+                + "\n"
+                + "com.example.Broken defaults=SOMETIME\n"
+                + "com.example.Unfinished catalog=catalogMap\n"
+                + "  com.example.Second additional=registerAdditional  \n";
+        RegistryModuleIndex.read(new BufferedReader(new StringReader(index)), "test", this.entries);
+        assertEquals(2, this.entries.size());
+        assertEquals(RegistrationPhase.INIT, this.entries.get("com.example.First").defaultsPhase);
+        assertEquals("registerAdditional", this.entries.get("com.example.Second").additionalMethod);
+        assertFalse(this.entries.containsKey("com.example.Broken"));
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.registry.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.spongepowered.api.registry.RegistrationPhase;
+import org.spongepowered.api.registry.RegistryModule;
+import org.spongepowered.api.registry.util.AdditionalRegistration;
+import org.spongepowered.api.registry.util.DelayedRegistration;
+import org.spongepowered.api.registry.util.RegisterCatalog;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class RegistryModuleLoaderTest {
+
+    private static RegistryModuleIndex.Entry entry(String line) {
+        Map<String, RegistryModuleIndex.Entry> entries = new HashMap<>();
+        RegistryModuleIndex.parse(line, entries);
+        return entries.values().iterator().next();
+    }
+
+    private static void assertScanned(RegistryModuleLoader.ModuleRegistration registration) {
+        assertFalse(registration.indexed);
+        assertEquals(RegistrationPhase.POST_INIT, registration.defaultsPhase);
+        assertNull(registration.customRegistration);
+        assertEquals("catalogMap", registration.catalogField.getName());
+        assertSame(TestCatalogs.class, registration.catalogClass);
+        assertEquals("registerAdditional", registration.additionalRegistration.getName());
+    }
+
+    @Test
+    public void testIndexedEntry() {
+        RegistryModuleLoader.ModuleRegistration registration = RegistryModuleLoader.resolve(TestModule.class,
+                entry(TestModule.class.getName() + " defaults=INIT catalog=catalogMap@" + TestCatalogs.class.getName()
+                        + " additional=registerAdditional"));
+        assertTrue(registration.indexed);
+        // The index is trusted as is, the scan would find POST_INIT
+        assertEquals(RegistrationPhase.INIT, registration.defaultsPhase);
+        assertSame(TestCatalogs.class, registration.catalogClass);
+        assertEquals("registerAdditional", registration.additionalRegistration.getName());
+    }
+
+    @Test
+    public void testMissingEntryIsScanned() {
+        assertScanned(RegistryModuleLoader.resolve(TestModule.class, null));
+    }
+
+    @Test
+    public void testStaleMethodIsScanned() {
+        assertScanned(RegistryModuleLoader.resolve(TestModule.class,
+                entry(TestModule.class.getName() + " defaults=POST_INIT additional=registerRemoved")));
+    }
+
+    @Test
+    public void testStaleFieldIsScanned() {
+        assertScanned(RegistryModuleLoader.resolve(TestModule.class,
+                entry(TestModule.class.getName() + " defaults=POST_INIT catalog=removedMap@" + TestCatalogs.class.getName())));
+    }
+
+    @Test
+    public void testMissingCatalogClassIsScanned() {
+        assertScanned(RegistryModuleLoader.resolve(TestModule.class,
+                entry(TestModule.class.getName() + " defaults=POST_INIT catalog=catalogMap@com.example.RemovedCatalogs")));
+    }
+
+    public static final class TestCatalogs {
+    }
+
+    public static final class TestModule implements RegistryModule {
+
+        @RegisterCatalog(TestCatalogs.class)
+        private final Map<String, Object> catalogMap = new HashMap<>();
+
+        @Override
+        @DelayedRegistration(RegistrationPhase.POST_INIT)
+        public void registerDefaults() {
+        }
+
+        @AdditionalRegistration
+        public void registerAdditional() {
+        }
+    }
+
+}
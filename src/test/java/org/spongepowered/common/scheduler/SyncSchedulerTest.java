@@ -0,0 +1,128 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.mockito.Mockito.mock;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SyncSchedulerTest {
+
+    private final PluginContainer plugin = mock(PluginContainer.class);
+    private final SyncScheduler scheduler = new SyncScheduler();
+
+    private ScheduledTask submit(long delayTicks, long intervalTicks, AtomicInteger runs) {
+        ScheduledTask task = new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, t -> runs.incrementAndGet(), "test", delayTicks,
+                true, intervalTicks, true, this.plugin);
+        this.scheduler.addTask(task);
+        return task;
+    }
+
+    @Test
+    public void testDelayedTaskRunsOnce() {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledTask task = submit(3, 0, runs);
+        this.scheduler.tick();
+        this.scheduler.tick();
+        Assert.assertEquals(0, runs.get());
+        this.scheduler.tick();
+        Assert.assertEquals(1, runs.get());
+        for (int i = 0; i < 5; i++) {
+            this.scheduler.tick();
+        }
+        Assert.assertEquals(1, runs.get());
+        Assert.assertFalse(this.scheduler.getTask(task.getUniqueId()).isPresent());
+    }
+
+    @Test
+    public void testRepeatingTask() {
+        AtomicInteger runs = new AtomicInteger();
+        submit(1, 2, runs);
+        for (int i = 0; i < 9; i++) {
+            this.scheduler.tick();
+        }
+        // Ticks 1, 3, 5, 7 and 9
+        Assert.assertEquals(5, runs.get());
+    }
+
+    @Test
+    public void testCancelledTaskIsRemoved() {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledTask task = submit(1, 1, runs);
+        this.scheduler.tick();
+        Assert.assertEquals(1, runs.get());
+        task.cancel();
+        Assert.assertTrue(this.scheduler.getScheduledTasks().isEmpty());
+        this.scheduler.tick();
+        this.scheduler.tick();
+        Assert.assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testCancelledTaskLeavesQueue() {
+        ScheduledTask task = new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, t -> { }, "test", TimeUnit.HOURS.toNanos(1),
+                false, 0, false, this.plugin);
+        this.scheduler.addTask(task);
+        Assert.assertNotEquals(Long.MAX_VALUE, this.scheduler.getTimeUntilNextExecution(System.nanoTime()));
+        task.cancel();
+        Assert.assertEquals(Long.MAX_VALUE, this.scheduler.getTimeUntilNextExecution(System.nanoTime()));
+    }
+
+    @Test
+    public void testTaskCancellingItselfIsNotQueuedAgain() {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledTask task = new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, t -> {
+            runs.incrementAndGet();
+            t.cancel();
+        }, "test", 0, false, TimeUnit.HOURS.toNanos(1), false, this.plugin);
+        this.scheduler.addTask(task);
+        this.scheduler.tick();
+        Assert.assertEquals(1, runs.get());
+        Assert.assertTrue(this.scheduler.getScheduledTasks().isEmpty());
+        Assert.assertEquals(Long.MAX_VALUE, this.scheduler.getTimeUntilNextExecution(System.nanoTime()));
+    }
+
+    @Test
+    public void testManyTasksOnlyRunWhenDue() {
+        AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < 10000; i++) {
+            submit(100 + i, 0, runs);
+        }
+        for (int i = 0; i < 100; i++) {
+            this.scheduler.tick();
+        }
+        Assert.assertEquals(1, runs.get());
+        for (int i = 0; i < 9999; i++) {
+            this.scheduler.tick();
+        }
+        Assert.assertEquals(10000, runs.get());
+    }
+
+}
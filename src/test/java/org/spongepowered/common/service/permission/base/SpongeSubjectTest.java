@@ -0,0 +1,172 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.permission.SubjectCollection;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.Optional;
+import java.util.Set;
+
+public class SpongeSubjectTest {
+
+    private static final String PERMISSION = "test.permission";
+    private static final Set<Context> WORLD_CONTEXT = ImmutableSet.of(new Context("world", "overworld"));
+
+    private final PermissionService service = mock(PermissionService.class);
+    private final SubjectCollection collection = mock(SubjectCollection.class);
+    private MemorySubjectData defaults;
+
+    @Before
+    public void setUp() {
+        when(this.collection.getIdentifier()).thenReturn("test");
+        when(this.service.getSubjects("test")).thenReturn(this.collection);
+        this.defaults = new GlobalMemorySubjectData(this.service);
+    }
+
+    private TestSubject subject(String identifier) {
+        TestSubject subject = new TestSubject(identifier);
+        when(this.collection.get(identifier)).thenReturn(subject);
+        return subject;
+    }
+
+    private static void assertValue(Tristate expected, TestSubject subject) {
+        assertEquals(expected, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, PERMISSION));
+        assertEquals(expected, subject.getPermissionValue(WORLD_CONTEXT, PERMISSION));
+    }
+
+    @Test
+    public void testResolvedValuesAreCached() {
+        TestSubject subject = subject("subject");
+        assertValue(Tristate.UNDEFINED, subject);
+        assertValue(Tristate.UNDEFINED, subject);
+        // Resolved once for each context set
+        assertEquals(2, subject.resolveCount);
+    }
+
+    @Test
+    public void testOwnDataChangeInvalidates() {
+        TestSubject subject = subject("subject");
+        assertValue(Tristate.UNDEFINED, subject);
+        subject.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.TRUE);
+        assertValue(Tristate.TRUE, subject);
+        subject.getSubjectData().clearPermissions();
+        assertValue(Tristate.UNDEFINED, subject);
+    }
+
+    @Test
+    public void testParentDataChangeInvalidates() {
+        TestSubject parent = subject("parent");
+        TestSubject child = subject("child");
+        child.getSubjectData().addParent(SubjectData.GLOBAL_CONTEXT, parent);
+        assertValue(Tristate.UNDEFINED, child);
+        parent.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.FALSE);
+        assertValue(Tristate.FALSE, child);
+        child.getSubjectData().removeParent(SubjectData.GLOBAL_CONTEXT, parent);
+        assertValue(Tristate.UNDEFINED, child);
+    }
+
+    @Test
+    public void testDefaultDataChangeInvalidates() {
+        TestSubject subject = subject("subject");
+        assertValue(Tristate.UNDEFINED, subject);
+        this.defaults.setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.TRUE);
+        assertValue(Tristate.TRUE, subject);
+        // The subject's own data still takes precedence
+        subject.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.FALSE);
+        assertValue(Tristate.FALSE, subject);
+    }
+
+    @Test
+    public void testPermissionStampChangeInvalidates() {
+        TestSubject subject = subject("subject");
+        assertValue(Tristate.UNDEFINED, subject);
+        subject.stamp = 1;
+        subject.defaultValue = Tristate.TRUE;
+        assertValue(Tristate.TRUE, subject);
+        assertEquals(4, subject.resolveCount);
+    }
+
+    private final class TestSubject extends SpongeSubject {
+
+        private final String identifier;
+        private final MemorySubjectData data = new GlobalMemorySubjectData(SpongeSubjectTest.this.service);
+        int resolveCount;
+        int stamp;
+        Tristate defaultValue = Tristate.UNDEFINED;
+
+        TestSubject(String identifier) {
+            this.identifier = identifier;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return this.identifier;
+        }
+
+        @Override
+        public Optional<CommandSource> getCommandSource() {
+            return Optional.empty();
+        }
+
+        @Override
+        public SubjectCollection getContainingCollection() {
+            return SpongeSubjectTest.this.collection;
+        }
+
+        @Override
+        public MemorySubjectData getSubjectData() {
+            return this.data;
+        }
+
+        @Override
+        protected int getPermissionStamp() {
+            return this.stamp;
+        }
+
+        @Override
+        protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
+            this.resolveCount++;
+            Tristate ret = super.resolvePermissionValue(contexts, permission);
+            if (ret == Tristate.UNDEFINED) {
+                ret = getDataPermissionValue(SpongeSubjectTest.this.defaults, contexts, permission);
+            }
+            return ret == Tristate.UNDEFINED ? this.defaultValue : ret;
+        }
+    }
+
+}
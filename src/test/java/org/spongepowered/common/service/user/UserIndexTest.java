@@ -0,0 +1,184 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class UserIndexTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private File indexFile;
+
+    @Before
+    public void setUp() throws IOException {
+        UserIndex.reset();
+        this.indexFile = new File(this.folder.getRoot(), "users_sponge.dat");
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag("Users", new NBTTagList());
+        write(this.indexFile, compound);
+    }
+
+    @After
+    public void tearDown() {
+        UserIndex.reset();
+    }
+
+    private static void write(File file, NBTTagCompound compound) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            CompressedStreamTools.writeCompressed(compound, out);
+        }
+    }
+
+    @Test
+    public void testMissingIndexIsNotLoaded() {
+        assertFalse(UserIndex.preload(new File(this.folder.getRoot(), "missing.dat")));
+    }
+
+    @Test
+    public void testSaveAndReload() {
+        UUID alice = UUID.randomUUID();
+        UUID unnamed = UUID.randomUUID();
+        assertTrue(UserIndex.preload(this.indexFile));
+        UserIndex.put(alice, "Alice", 10);
+        UserIndex.put(unnamed, null, 20);
+        UserIndex.save();
+
+        UserIndex.reset();
+        assertNull(UserIndex.getIfLoaded(alice));
+        assertTrue(UserIndex.preload(this.indexFile));
+
+        UserIndex.Entry entry = UserIndex.getIfLoaded(alice);
+        assertNotNull(entry);
+        assertEquals("Alice", entry.getName());
+        assertEquals(10, entry.getLastSeen());
+        entry = UserIndex.getIfLoaded(unnamed);
+        assertNotNull(entry);
+        assertNull(entry.getName());
+        assertEquals(20, entry.getLastSeen());
+    }
+
+    @Test
+    public void testUpdateKeepsLatestSeenAndName() {
+        UUID uniqueId = UUID.randomUUID();
+        assertTrue(UserIndex.preload(this.indexFile));
+        UserIndex.put(uniqueId, "Alice", 10);
+        UserIndex.put(uniqueId, null, 5);
+        assertEquals("Alice", UserIndex.getIfLoaded(uniqueId).getName());
+        assertEquals(10, UserIndex.getIfLoaded(uniqueId).getLastSeen());
+
+        UserIndex.put(uniqueId, "Alicia", 7);
+        assertEquals("Alicia", UserIndex.getIfLoaded(uniqueId).getName());
+        assertEquals(10, UserIndex.getIfLoaded(uniqueId).getLastSeen());
+    }
+
+    @Test
+    public void testConcurrentUpdatesAreNotLost() throws Exception {
+        UUID shared = UUID.randomUUID();
+        assertTrue(UserIndex.preload(this.indexFile));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<UUID> distinct = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                final long lastSeen = i;
+                final UUID uniqueId = UUID.randomUUID();
+                distinct.add(uniqueId);
+                futures.add(executor.submit(() -> {
+                    UserIndex.put(shared, null, lastSeen);
+                    UserIndex.put(uniqueId, "user" + lastSeen, lastSeen);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(999, UserIndex.getIfLoaded(shared).getLastSeen());
+        for (UUID uniqueId : distinct) {
+            assertNotNull(UserIndex.getIfLoaded(uniqueId));
+        }
+    }
+
+    @Test
+    public void testBatchReadStoredData() throws IOException {
+        UUID alice = UUID.randomUUID();
+        UUID unnamed = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        assertTrue(UserIndex.preload(this.indexFile));
+        UserIndex.put(alice, "Alice", 10);
+        UserIndex.save();
+        UserIndex.reset();
+
+        Map<UUID, File> dataFiles = new HashMap<>();
+        for (UUID uniqueId : new UUID[] {alice, unnamed, missing}) {
+            File file = new File(this.folder.getRoot(), uniqueId + ".dat");
+            dataFiles.put(uniqueId, file);
+            if (uniqueId != missing) {
+                NBTTagCompound compound = new NBTTagCompound();
+                compound.setString("Id", uniqueId.toString());
+                write(file, compound);
+            }
+        }
+
+        Map<UUID, UserDiscoverer.StoredData> stored = UserDiscoverer.readStoredData(this.indexFile, dataFiles);
+        assertEquals(2, stored.size());
+        assertFalse(stored.containsKey(missing));
+        assertEquals("Alice", stored.get(alice).name);
+        assertNull(stored.get(unnamed).name);
+        assertEquals(alice.toString(), stored.get(alice).nbt.getString("Id"));
+        assertEquals(unnamed.toString(), stored.get(unnamed).nbt.getString("Id"));
+    }
+
+}
@@ -24,13 +24,16 @@
  */
 package org.spongepowered.common.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Arrays;
 
 public class IpSetTest {
     @Test
@@ -55,6 +58,20 @@ public void testNonByteAlignedSets() throws UnknownHostException {
         assertFalse(spec.apply(InetAddress.getByName("2064:45:410::cafe")));
     }
 
+    @Test
+    public void testPartialBytePrefix() throws UnknownHostException {
+        IpSet spec = IpSet.fromCidr("10.0.0.0/9");
+        assertTrue(spec.apply(InetAddress.getByName("10.127.0.1")));
+        assertFalse(spec.apply(InetAddress.getByName("10.128.0.1")));
+    }
+
+    @Test
+    public void testIntersection() {
+        IpSet narrow = IpSet.fromCidr("10.42.0.0/16");
+        assertEquals(narrow, IpSet.intersection(Arrays.asList(IpSet.fromCidr("10.0.0.0/8"), narrow)));
+        assertNull(IpSet.intersection(Arrays.asList(IpSet.fromCidr("10.0.0.0/8"), IpSet.fromCidr("11.0.0.0/16"))));
+    }
+
     @Test
     public void testFullLengthSets() throws UnknownHostException {
         IpSet specv4 = IpSet.fromCidr("10.0.0.1/32");
@@ -0,0 +1,76 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class IpTrieTest {
+
+    private final IpTrie<String> trie = IpTrie.<String>builder()
+            .put(IpSet.fromCidr("10.0.0.0/8"), "internal")
+            .put(IpSet.fromCidr("10.42.0.0/15"), "office")
+            .put(IpSet.fromCidr("192.168.1.7/32"), "host")
+            .put(IpSet.fromCidr("[2064:45:300::]/40"), "v6")
+            .build();
+
+    @Test
+    public void testNestedPrefixes() throws UnknownHostException {
+        assertEquals(Arrays.asList("internal", "office"), this.trie.getAll(InetAddress.getByName("10.43.1.1")));
+        assertEquals(Collections.singletonList("internal"), this.trie.getAll(InetAddress.getByName("10.44.1.1")));
+        assertTrue(this.trie.getAll(InetAddress.getByName("11.42.1.1")).isEmpty());
+    }
+
+    @Test
+    public void testFullLengthPrefix() throws UnknownHostException {
+        assertTrue(this.trie.contains(InetAddress.getByName("192.168.1.7")));
+        assertFalse(this.trie.contains(InetAddress.getByName("192.168.1.6")));
+    }
+
+    @Test
+    public void testAddressFamilies() throws UnknownHostException {
+        assertEquals(Collections.singletonList("v6"), this.trie.getAll(InetAddress.getByName("2064:45:310::cafe")));
+        assertFalse(this.trie.contains(InetAddress.getByName("::a00:1")));
+        assertFalse(IpTrie.<String>builder().build().contains(InetAddress.getByName("10.0.0.1")));
+    }
+
+    @Test
+    public void testMatchesIpSet() throws UnknownHostException {
+        IpSet set = IpSet.fromCidr("172.16.0.0/12");
+        IpTrie<IpSet> single = IpTrie.<IpSet>builder().put(set, set).build();
+        for (String address : new String[] {"172.15.255.255", "172.16.0.0", "172.31.255.255", "172.32.0.0"}) {
+            InetAddress addr = InetAddress.getByName(address);
+            assertEquals(set.apply(addr), single.contains(addr));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+public class WorldFilesTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path createWorld() throws IOException {
+        Path world = this.folder.newFolder("world").toPath();
+        Files.createDirectories(world.resolve("region"));
+        Files.createDirectories(world.resolve("other"));
+        Random random = new Random(1);
+        for (int i = 0; i < 10; i++) {
+            byte[] data = new byte[random.nextInt(100000)];
+            random.nextBytes(data);
+            Files.write(world.resolve("region/r." + i + ".0.mca"), data);
+        }
+        Files.write(world.resolve("level.dat"), new byte[] {1, 2, 3});
+        Files.write(world.resolve("other/level.dat"), new byte[] {4});
+        return world;
+    }
+
+    @Test
+    public void testCopy() throws IOException {
+        Path world = createWorld();
+        Path copy = this.folder.getRoot().toPath().resolve("copy");
+        ProgressFuture<Void> progress = new ProgressFuture<>();
+        WorldFiles.copy(world, copy, dir -> !Files.exists(dir.resolve("level.dat")), progress);
+
+        assertEquals(progress.getTotal(), progress.getDone());
+        assertFalse(Files.exists(copy.resolve("other")));
+        for (int i = 0; i < 10; i++) {
+            Path region = region(i);
+            assertArrayEquals(Files.readAllBytes(world.resolve(region)), Files.readAllBytes(copy.resolve(region)));
+        }
+    }
+
+    @Test
+    public void testIncrementalCopy() throws IOException {
+        Path world = createWorld();
+        Path copy = this.folder.getRoot().toPath().resolve("copy");
+        WorldFiles.copy(world, copy, null, new ProgressFuture<>());
+
+        Files.write(world.resolve(region(3)), new byte[] {5, 5, 5});
+        WorldFiles.copy(world, copy, null, new ProgressFuture<>());
+        assertArrayEquals(new byte[] {5, 5, 5}, Files.readAllBytes(copy.resolve(region(3))));
+    }
+
+    @Test
+    public void testChangedFilesAreCountedOnce() throws IOException {
+        Path world = createWorld();
+        Path copy = this.folder.getRoot().toPath().resolve("copy");
+        ProgressFuture<Void> progress = new ProgressFuture<>();
+        WorldFiles.copy(world, copy, null, progress);
+        long total = progress.getTotal();
+
+        Files.write(world.resolve(region(3)), new byte[] {5, 5, 5});
+        WorldFiles.copyChanged(world, copy, null, progress);
+        assertArrayEquals(new byte[] {5, 5, 5}, Files.readAllBytes(copy.resolve(region(3))));
+        assertEquals(total + 3, progress.getTotal());
+        assertEquals(progress.getTotal(), progress.getDone());
+    }
+
+    @Test
+    public void testDelete() throws IOException {
+        Path world = createWorld();
+        ProgressFuture<Void> progress = new ProgressFuture<>();
+        WorldFiles.delete(world, progress);
+
+        assertFalse(Files.exists(world));
+        assertTrue(progress.getTotal() > 0);
+        assertEquals(progress.getTotal(), progress.getDone());
+    }
+
+    private static Path region(int x) {
+        return Paths.get("region", "r." + x + ".0.mca");
+    }
+}
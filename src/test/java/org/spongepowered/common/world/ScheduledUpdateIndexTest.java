@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import net.minecraft.block.Block;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.NextTickListEntry;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+public class ScheduledUpdateIndexTest {
+
+    private final Block block = mock(Block.class);
+
+    @Test
+    public void testAddAndRemove() {
+        ScheduledUpdateIndex index = new ScheduledUpdateIndex();
+        BlockPos position = new BlockPos(5, 64, -3);
+        NextTickListEntry entry = new NextTickListEntry(position, this.block);
+        index.add(entry);
+        assertEquals(1, index.get(position).size());
+        assertSame(entry, index.get(position).get(0));
+        assertTrue(index.get(position.up()).isEmpty());
+
+        assertTrue(index.remove(entry));
+        assertFalse(index.remove(entry));
+        assertTrue(index.get(position).isEmpty());
+        assertTrue(index.removeChunk(0, -1).isEmpty());
+    }
+
+    @Test
+    public void testDuplicateEntriesAreRemovedByIdentity() {
+        ScheduledUpdateIndex index = new ScheduledUpdateIndex();
+        BlockPos position = new BlockPos(0, 10, 0);
+        NextTickListEntry first = new NextTickListEntry(position, this.block);
+        NextTickListEntry second = new NextTickListEntry(position, this.block);
+        index.add(first);
+        index.add(second);
+        assertEquals(2, index.get(position).size());
+
+        assertTrue(index.remove(second));
+        List<NextTickListEntry> remaining = index.get(position);
+        assertEquals(1, remaining.size());
+        assertSame(first, remaining.get(0));
+        assertFalse(index.remove(new NextTickListEntry(position, this.block)));
+
+        assertTrue(index.remove(first));
+        assertTrue(index.get(position).isEmpty());
+    }
+
+    @Test
+    public void testRemoveChunk() {
+        ScheduledUpdateIndex index = new ScheduledUpdateIndex();
+        NextTickListEntry inside = new NextTickListEntry(new BlockPos(16, 64, 31), this.block);
+        NextTickListEntry insideDuplicate = new NextTickListEntry(new BlockPos(16, 64, 31), this.block);
+        NextTickListEntry insideOther = new NextTickListEntry(new BlockPos(31, 0, 16), this.block);
+        NextTickListEntry outside = new NextTickListEntry(new BlockPos(15, 64, 31), this.block);
+        NextTickListEntry negative = new NextTickListEntry(new BlockPos(-1, 64, -1), this.block);
+        index.add(inside);
+        index.add(insideDuplicate);
+        index.add(insideOther);
+        index.add(outside);
+        index.add(negative);
+
+        Collection<NextTickListEntry> removed = index.removeChunk(1, 1);
+        assertEquals(3, removed.size());
+        assertTrue(removed.contains(inside));
+        assertTrue(removed.contains(insideOther));
+        assertTrue(index.get(inside.position).isEmpty());
+        assertTrue(index.get(insideOther.position).isEmpty());
+        assertFalse(index.remove(inside));
+        assertTrue(index.removeChunk(1, 1).isEmpty());
+
+        assertSame(outside, index.get(outside.position).get(0));
+        assertEquals(1, index.removeChunk(-1, -1).size());
+        assertTrue(index.remove(outside));
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import org.junit.Test;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class SpongeChunkPreGenerateTest {
+
+    private static NBTTagCompound createChunk() {
+        NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", 3);
+        level.setLong("LastUpdate", 1234L);
+        level.setByteArray("Biomes", new byte[256]);
+        level.setIntArray("HeightMap", new int[256]);
+        NBTTagList sections = new NBTTagList();
+        for (int i = 0; i < 4; i++) {
+            NBTTagCompound section = new NBTTagCompound();
+            section.setByte("Y", (byte) i);
+            section.setByteArray("Blocks", new byte[4096]);
+            sections.appendTag(section);
+        }
+        level.setTag("Sections", sections);
+        NBTTagList names = new NBTTagList();
+        names.appendTag(new NBTTagString("entity"));
+        level.setTag("Entities", names);
+        level.setDouble("Inhabited", 2.5);
+        level.setString("Status", "full");
+        NBTTagCompound chunk = new NBTTagCompound();
+        chunk.setInteger("DataVersion", 1);
+        chunk.setTag(NbtDataUtil.CHUNK_DATA_LEVEL, level);
+        return chunk;
+    }
+
+    private static boolean read(NBTTagCompound chunk) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            CompressedStreamTools.write(chunk, output);
+        }
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return SpongeChunkPreGenerate.readTerrainPopulated(input);
+        }
+    }
+
+    @Test
+    public void testPopulatedChunk() throws IOException {
+        NBTTagCompound chunk = createChunk();
+        chunk.getCompoundTag(NbtDataUtil.CHUNK_DATA_LEVEL).setBoolean(NbtDataUtil.CHUNK_DATA_TERRAIN_POPULATED, true);
+        assertTrue(read(chunk));
+    }
+
+    @Test
+    public void testUnpopulatedChunk() throws IOException {
+        NBTTagCompound chunk = createChunk();
+        chunk.getCompoundTag(NbtDataUtil.CHUNK_DATA_LEVEL).setBoolean(NbtDataUtil.CHUNK_DATA_TERRAIN_POPULATED, false);
+        assertFalse(read(chunk));
+        assertFalse(read(createChunk()));
+    }
+
+    @Test
+    public void testChunkWithoutLevel() throws IOException {
+        NBTTagCompound chunk = new NBTTagCompound();
+        chunk.setBoolean(NbtDataUtil.CHUNK_DATA_TERRAIN_POPULATED, true);
+        assertFalse(read(chunk));
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ParallelSlabsTest {
+
+    @Test
+    public void testEverySlabRunsOnce() {
+        final int min = -37;
+        final int max = 250;
+        final AtomicIntegerArray runs = new AtomicIntegerArray(max - min + 1);
+        ParallelSlabs.run(min, max, 4, (from, to) -> {
+            for (int i = from; i <= to; i++) {
+                runs.incrementAndGet(i - min);
+            }
+        });
+        for (int i = 0; i < runs.length(); i++) {
+            assertEquals(1, runs.get(i));
+        }
+    }
+
+    @Test
+    public void testReductionKeepsSlabOrder() {
+        final String result = ParallelSlabs.reduce(0, 99, 3, (from, to, start) -> {
+            StringBuilder builder = new StringBuilder(start);
+            for (int i = from; i <= to; i++) {
+                builder.append(i).append(',');
+            }
+            return builder.toString();
+        }, (first, second) -> first + second, "");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i <= 99; i++) {
+            expected.append(i).append(',');
+        }
+        assertEquals(expected.toString(), result);
+    }
+
+    @Test
+    public void testGrain() {
+        assertEquals(1, ParallelSlabs.grain(1 << 16));
+        assertEquals(16, ParallelSlabs.grain(256));
+        assertEquals(1 << 12, ParallelSlabs.grain(0));
+    }
+
+}